@@ -10,7 +10,6 @@ import java.util.Deque;
 import java.util.LinkedList;
 import java.util.Queue;
 import java.util.Random;
-import javafx.scene.image.Image;
 
 public class Hero implements Serializable {
 
@@ -28,7 +27,6 @@ public class Hero implements Serializable {
     private String spriteLeftPath;
     private String spriteRightPath;
 
-    private transient Image fxImage;
     private int expMax;
     private int expActual;
     private int attack;
@@ -73,7 +71,6 @@ public class Hero implements Serializable {
         unlockedClasses = new GeneralTree<>(heroRoot);
         tasks = new ArrayDeque<>();
         completedTasks = new ArrayDeque<>();
-        loadFxImage();
         defeatedMonsters = 0;
     }
 
@@ -213,45 +210,20 @@ public class Hero implements Serializable {
         this.actualLife = actualLife;
     }
 
-    private void loadFxImage() {
-        if (!(spritePath == null || spritePath.isEmpty())) {
-            try {
-                fxImage = new Image(getClass().getResourceAsStream(spritePath));
-                if (fxImage.isError()) {
-                    fxImage = null;
-                }
-            } catch (Throwable ignored) {
-                fxImage = null;
-            }
-        }
-    }
-
-    public Image getImage() {
-        if (fxImage != null) {
-            return fxImage;
-        }
-        loadFxImage();
-        return fxImage;
-    }
-
     public void setSpritePath(String spritePath) {
         this.spritePath = spritePath;
-        this.fxImage = null;
     }
     
     public void setSpriteUpPath(String spritePath) {
         this.spriteUpPath = spritePath;
-        this.fxImage = null;
     }
 
     public void setSpriteLeftPath(String spritePath) {
         this.spriteLeftPath = spritePath;
-        this.fxImage = null;
     }
     
     public void setSpriteRightPath(String spritePath) {
         this.spriteRightPath = spritePath;
-        this.fxImage = null;
     }
     public String getSpritePath() {
         return spritePath;
@@ -432,8 +404,9 @@ public class Hero implements Serializable {
         return t;
     }
 
-    public Image getSpriteForDirection(String direcc) {
-        String path = spritePath; 
+    // Ruta logica del sprite; las cuatro direcciones viven en la misma hoja del atlas (SpriteAtlas)
+    public String getSpritePathForDirection(String direcc) {
+        String path = spritePath;
         switch (direcc) {
             case "Up" -> path = spriteUpPath;
             case "Down" -> path = spritePath;
@@ -442,11 +415,7 @@ public class Hero implements Serializable {
             default -> {
             }
         }
-        try {
-            return new Image(getClass().getResourceAsStream(path));
-        } catch (Throwable t) {
-            return fxImage;
-        }
+        return path;
     }
 
 }
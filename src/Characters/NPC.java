@@ -1,5 +1,6 @@
 package Characters;
 
+import Engine.SpriteAtlas;
 import java.util.ArrayList;
 import javafx.scene.image.Image;
 
@@ -13,7 +14,6 @@ public abstract class NPC {
 
     public NPC(String name, String sprite) {
         setSpritePath(sprite);
-        loadFxImage(spritePath);
         setName(name);
         dialogue = new ArrayList<>();
     }
@@ -37,19 +37,15 @@ public abstract class NPC {
 
     public void setSpritePath(String spritePath) {
         this.spritePath = spritePath;
+        this.fxImage = null;
     }
 
     private void loadFxImage(String spritePath) {
         if (!(spritePath == null || spritePath.isEmpty())) {
 
-            try {
-                fxImage = new Image(getClass().getResourceAsStream(spritePath));
-                if (fxImage.isError()) {
-                    fxImage = null;
-                }
-            } catch (Throwable ignored) {
-                fxImage = null;
-            }
+            // Todos los Monster con el mismo sprite comparten la imagen. Se carga al pedirla: las vistas
+            // usan SpriteAtlas.apply y casi nunca necesitan el sprite como imagen propia
+            fxImage = SpriteAtlas.getImage(spritePath);
         }
     }
 
@@ -62,6 +58,9 @@ public abstract class NPC {
     }
 
     public Image getFxImage() {
+        if (fxImage == null) {
+            loadFxImage(spritePath);
+        }
         return fxImage;
     }
 
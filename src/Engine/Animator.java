@@ -0,0 +1,201 @@
+package Engine;
+
+import java.util.Arrays;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+/*
+ * Animacion por cuadros de hojas de sprites. Un Clip es una secuencia de cuadros, cada uno una
+ * imagen compartida (hoja del atlas o tira) con su viewport, todo resuelto al crearlo: reproducir
+ * solo cambia el viewport de la vista (y la imagen si el cuadro esta en otra hoja), sin decodificar
+ * ni crear objetos.
+ *
+ * El estado de cada entidad animada (vista, clip, tiempo, cuadro) vive en arreglos paralelos; attach
+ * devuelve un indice que se recicla con release. tick se llama desde el paso fijo del GameLoop.
+ */
+public final class Animator {
+
+    public static final class Clip {
+
+        private final Image[] images;
+        private final Rectangle2D[] viewports;
+        private final double frameTime;
+        private final boolean loop;
+
+        private Clip(Image[] images, Rectangle2D[] viewports, double fps, boolean loop) {
+            this.images = images;
+            this.viewports = viewports;
+            this.frameTime = fps > 0 ? 1.0 / fps : Double.MAX_VALUE;
+            this.loop = loop;
+        }
+
+        /*
+         * Cuadros tomados de sprites sueltos por su ruta logica: del atlas si estan empaquetados (misma
+         * hoja y viewport que usa SpriteAtlas) o la imagen entera si no. null si ninguno se pudo cargar.
+         */
+        public static Clip ofSprites(double fps, boolean loop, String... paths) {
+            Image[] images = new Image[paths.length];
+            Rectangle2D[] viewports = new Rectangle2D[paths.length];
+            int count = 0;
+            for (String path : paths) {
+                Image img = null;
+                Rectangle2D viewport = null;
+                SpriteAtlas.Region region = SpriteAtlas.find(path);
+                if (region != null) {
+                    img = ImageCache.get(region.getPage());
+                    viewport = region.getViewport();
+                }
+                if (img == null) {
+                    img = ImageCache.get(path);
+                    viewport = null;
+                }
+                if (img != null) {
+                    images[count] = img;
+                    viewports[count] = viewport;
+                    count++;
+                }
+            }
+            return count > 0 ? new Clip(Arrays.copyOf(images, count), Arrays.copyOf(viewports, count), fps, loop) : null;
+        }
+
+        /*
+         * Tira horizontal de frames cuadros del mismo ancho. Si la tira esta empaquetada los cuadros
+         * salen de su rectangulo en la hoja del atlas; si no, de la imagen suelta. null si no existe
+         * ninguna de las dos (se consulta antes de decodificar, para que el arte opcional no ensucie
+         * el log).
+         */
+        public static Clip strip(String sheetPath, int frames, double fps, boolean loop) {
+            Clip clip = null;
+            Image sheet = null;
+            Rectangle2D area = null;
+            if (frames > 0) {
+                SpriteAtlas.Region region = SpriteAtlas.find(sheetPath);
+                if (region != null) {
+                    sheet = ImageCache.get(region.getPage());
+                    area = region.getViewport();
+                } else if (Animator.class.getResource(sheetPath) != null) {
+                    sheet = ImageCache.get(sheetPath);
+                    if (sheet != null) {
+                        area = new Rectangle2D(0, 0, sheet.getWidth(), sheet.getHeight());
+                    }
+                }
+            }
+            if (sheet != null) {
+                double w = area.getWidth() / frames;
+                Image[] images = new Image[frames];
+                Rectangle2D[] viewports = new Rectangle2D[frames];
+                for (int i = 0; i < frames; i++) {
+                    images[i] = sheet;
+                    viewports[i] = new Rectangle2D(area.getMinX() + i * w, area.getMinY(), w, area.getHeight());
+                }
+                clip = new Clip(images, viewports, fps, loop);
+            }
+            return clip;
+        }
+
+        public int getFrameCount() {
+            return images.length;
+        }
+
+        public double getDuration() {
+            return images.length * frameTime;
+        }
+    }
+
+    private ImageView[] views = new ImageView[8];
+    private Clip[] clips = new Clip[8];
+    private double[] elapsed = new double[8];
+    private int[] frames = new int[8];
+    private int[] free = new int[8];
+    private int freeCount = 0;
+    private int size = 0;
+
+    // Registra la vista y devuelve su indice
+    public int attach(ImageView view) {
+        int slot;
+        if (freeCount > 0) {
+            freeCount--;
+            slot = free[freeCount];
+        } else {
+            if (size == views.length) {
+                grow();
+            }
+            slot = size;
+            size++;
+        }
+        views[slot] = view;
+        clips[slot] = null;
+        elapsed[slot] = 0;
+        frames[slot] = 0;
+        return slot;
+    }
+
+    public void release(int slot) {
+        if (slot >= 0 && slot < size && views[slot] != null) {
+            views[slot] = null;
+            clips[slot] = null;
+            free[freeCount] = slot;
+            freeCount++;
+        }
+    }
+
+    // Cambia de clip y muestra su primer cuadro; si ya se esta reproduciendo ese clip no hace nada
+    public void play(int slot, Clip clip) {
+        if (slot >= 0 && slot < size && views[slot] != null && clip != null && clips[slot] != clip) {
+            clips[slot] = clip;
+            elapsed[slot] = 0;
+            frames[slot] = 0;
+            show(slot);
+        }
+    }
+
+    public Clip getClip(int slot) {
+        return slot >= 0 && slot < size ? clips[slot] : null;
+    }
+
+    public void tick(double dt) {
+        for (int i = 0; i < size; i++) {
+            Clip clip = clips[i];
+            if (clip != null && clip.images.length > 1) {
+                elapsed[i] += dt;
+                if (elapsed[i] >= clip.frameTime) {
+                    int steps = (int) (elapsed[i] / clip.frameTime);
+                    elapsed[i] -= steps * clip.frameTime;
+                    int count = clip.images.length;
+                    int next = clip.loop ? (frames[i] + steps) % count : Math.min(count - 1, frames[i] + steps);
+                    if (next != frames[i]) {
+                        frames[i] = next;
+                        show(i);
+                    }
+                }
+            }
+        }
+    }
+
+    // Entidades registradas (sin contar los indices libres)
+    public int getActiveCount() {
+        return size - freeCount;
+    }
+
+    private void show(int slot) {
+        ImageView view = views[slot];
+        Clip clip = clips[slot];
+        int f = frames[slot];
+        if (view.getImage() != clip.images[f]) {
+            view.setImage(clip.images[f]);
+        }
+        if (view.getViewport() != clip.viewports[f]) {
+            view.setViewport(clip.viewports[f]);
+        }
+    }
+
+    private void grow() {
+        int n = views.length * 2;
+        views = Arrays.copyOf(views, n);
+        clips = Arrays.copyOf(clips, n);
+        elapsed = Arrays.copyOf(elapsed, n);
+        frames = Arrays.copyOf(frames, n);
+        free = Arrays.copyOf(free, n);
+    }
+}
@@ -0,0 +1,251 @@
+package Engine;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleConsumer;
+import javafx.application.Platform;
+import javafx.scene.media.Media;
+
+/*
+ * Carga de recursos en segundo plano para las pantallas de carga. Un lote (Batch) junta imagenes,
+ * musica y geometria; cada recurso se decodifica en un hilo del pool y queda en su cache
+ * (ImageCache, SceneGeometryLoader o la cache de Media de aqui). El progreso y el fin se avisan en
+ * el hilo de JavaFX, asi la escena arma sus nodos con todo ya en memoria y sin esperas fijas.
+ */
+public final class AssetLoader {
+
+    private static final int THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final ExecutorService pool = Executors.newFixedThreadPool(THREADS, r -> {
+        Thread t = new Thread(r, "asset-loader-" + threadCount.incrementAndGet());
+        // Daemon: una carga pendiente no impide cerrar el juego
+        t.setDaemon(true);
+        t.setPriority(Thread.NORM_PRIORITY - 1);
+        return t;
+    });
+
+    private static final Map<String, Media> mediaCache = new HashMap<>();
+
+    // Donde se avisan progreso y fin: el hilo de JavaFX, o la cola del simulador sin ventana
+    private static volatile Executor callbacks = Platform::runLater;
+
+    private AssetLoader() {
+    }
+
+    // null vuelve al hilo de JavaFX
+    public static void setCallbackExecutor(Executor executor) {
+        callbacks = executor != null ? executor : Platform::runLater;
+    }
+
+    public static Batch batch() {
+        return new Batch();
+    }
+
+    /*
+     * Media compartida por URL: construirla lee la cabecera del archivo, asi que se hace una sola vez
+     * (normalmente en el pool) y cada MediaPlayer nuevo la reutiliza. Devuelve null si no se pudo crear.
+     */
+    public static Media getMedia(URL url) {
+        Media media = null;
+        if (url != null) {
+            String key = url.toExternalForm();
+            synchronized (mediaCache) {
+                media = mediaCache.get(key);
+            }
+            if (media == null) {
+                try {
+                    media = new Media(key);
+                    synchronized (mediaCache) {
+                        Media existing = mediaCache.putIfAbsent(key, media);
+                        if (existing != null) {
+                            media = existing;
+                        }
+                    }
+                } catch (Throwable t) {
+                    System.err.println("No se pudo cargar el audio: " + key + " (" + t.getMessage() + ")");
+                    media = null;
+                }
+            }
+        }
+        return media;
+    }
+
+    public static Media getMedia(String resourcePath) {
+        return getMedia(AssetLoader.class.getResource(resourcePath));
+    }
+
+    // Un audio que no existe cuenta como cargado: intentarlo otra vez solo repetiria el error
+    public static boolean hasMedia(String resourcePath) {
+        URL url = AssetLoader.class.getResource(resourcePath);
+        boolean found = url == null;
+        if (!found) {
+            synchronized (mediaCache) {
+                found = mediaCache.containsKey(url.toExternalForm());
+            }
+        }
+        return found;
+    }
+
+    private enum Kind {
+        IMAGE, SPRITE, MEDIA, GEOMETRY
+    }
+
+    private static final class Entry {
+
+        final Kind kind;
+        final String path;
+
+        Entry(Kind kind, String path) {
+            this.kind = kind;
+            this.path = path;
+        }
+
+        void load() {
+            switch (kind) {
+                case IMAGE -> ImageCache.get(path);
+                case SPRITE -> SpriteAtlas.getPageImage(path);
+                case MEDIA -> getMedia(path);
+                case GEOMETRY -> SceneGeometryLoader.load(path);
+            }
+        }
+
+        boolean isLoaded() {
+            boolean ready = false;
+            switch (kind) {
+                case IMAGE -> ready = ImageCache.contains(path);
+                case SPRITE -> {
+                    SpriteAtlas.Region region = SpriteAtlas.find(path);
+                    ready = ImageCache.contains(region != null ? region.getPage() : path);
+                }
+                case MEDIA -> ready = hasMedia(path);
+                case GEOMETRY -> ready = SceneGeometryLoader.isLoaded(path);
+            }
+            return ready;
+        }
+    }
+
+    public static final class Batch {
+
+        private final List<Entry> entries = new ArrayList<>();
+        private boolean started = false;
+
+        private Batch() {
+        }
+
+        public Batch image(String path) {
+            entries.add(new Entry(Kind.IMAGE, path));
+            return this;
+        }
+
+        // Lista de imagenes en un recurso de texto, una ruta por linea (como preload.txt)
+        public Batch imageList(String listResource) {
+            for (String path : readList(listResource)) {
+                image(path);
+            }
+            return this;
+        }
+
+        // Precarga la hoja de atlas del sprite (o la imagen suelta si no esta empaquetado)
+        public Batch sprite(String path) {
+            entries.add(new Entry(Kind.SPRITE, path));
+            return this;
+        }
+
+        public Batch media(String path) {
+            entries.add(new Entry(Kind.MEDIA, path));
+            return this;
+        }
+
+        public Batch geometry(String path) {
+            entries.add(new Entry(Kind.GEOMETRY, path));
+            return this;
+        }
+
+        public int size() {
+            return entries.size();
+        }
+
+        // true si todo ya esta en cache (por ejemplo porque ScenePrefetcher se adelanto)
+        public boolean isReady() {
+            boolean ready = true;
+            for (int i = 0; i < entries.size() && ready; i++) {
+                ready = entries.get(i).isLoaded();
+            }
+            return ready;
+        }
+
+        /*
+         * Lanza todas las cargas. onProgress recibe la fraccion terminada en [0, 1] y onComplete se
+         * llama una sola vez cuando termina la ultima (aunque alguna haya fallado: cada cache ya
+         * informa su error y la escena usa su respaldo de siempre). Ambos corren en el hilo de JavaFX.
+         */
+        public void start(DoubleConsumer onProgress, Runnable onComplete) {
+            if (!started) {
+                started = true;
+                int total = entries.size();
+                AtomicInteger done = new AtomicInteger();
+                if (total == 0) {
+                    callbacks.execute(() -> finish(1.0, onProgress, onComplete));
+                }
+                for (Entry entry : entries) {
+                    pool.execute(() -> {
+                        try {
+                            entry.load();
+                        } catch (Throwable t) {
+                            System.err.println("Error cargando recurso: " + t.getMessage());
+                        }
+                        int finished = done.incrementAndGet();
+                        double fraction = finished / (double) total;
+                        if (finished == total) {
+                            callbacks.execute(() -> finish(fraction, onProgress, onComplete));
+                        } else if (onProgress != null) {
+                            callbacks.execute(() -> onProgress.accept(fraction));
+                        }
+                    });
+                }
+            }
+        }
+
+        private static void finish(double fraction, DoubleConsumer onProgress, Runnable onComplete) {
+            if (onProgress != null) {
+                onProgress.accept(fraction);
+            }
+            if (onComplete != null) {
+                onComplete.run();
+            }
+        }
+    }
+
+    private static List<String> readList(String listResource) {
+        List<String> paths = new ArrayList<>();
+        try (InputStream in = AssetLoader.class.getResourceAsStream(listResource)) {
+            if (in == null) {
+                System.err.println("Lista de recursos no encontrada: " + listResource);
+            } else {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String path = line.trim();
+                    if (!path.isEmpty() && !path.startsWith("#")) {
+                        paths.add(path);
+                    }
+                }
+            }
+        } catch (Throwable t) {
+            System.err.println("Error leyendo la lista " + listResource + ": " + t.getMessage());
+        }
+        return paths;
+    }
+}
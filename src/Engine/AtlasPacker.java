@@ -0,0 +1,212 @@
+package Engine;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.imageio.ImageIO;
+
+/*
+ * Herramienta de autoria: empaqueta los sprites en unas pocas hojas (atlas) y escribe su manifiesto.
+ *
+ * Cada subcarpeta de <raiz>/sprites (hero, NPC, Monsters) es un grupo y produce <grupo>.png y
+ * <grupo>.atlas en la carpeta de salida; si no cabe en una hoja se abren <grupo>_1.png, etc. Se
+ * pueden pasar varias raices: las rutas logicas siempre son "/Resources/" + ruta relativa a la raiz,
+ * asi un sprite que solo existe como fuente en assets/ se sigue pidiendo por su ruta de siempre.
+ * Los sprites mas grandes que MAX_SPRITE (jefes, retratos) se dejan sueltos: meterlos en la hoja
+ * obligaria a tener en memoria una hoja enorme aunque la escena solo use uno.
+ *
+ * Formato del manifiesto:
+ *   # comentario
+ *   page /Resources/atlas/hero.png
+ *   /Resources/sprites/hero/heroDown.png x y w h
+ *
+ * Uso: java Engine.AtlasPacker src/Resources/atlas src/Resources assets
+ */
+public final class AtlasPacker {
+
+    static final int MAX_SHEET = 1024;
+    static final int MAX_SPRITE = 256;
+    static final int PADDING = 2;
+    static final String RESOURCE_PREFIX = "/Resources/";
+
+    private AtlasPacker() {
+    }
+
+    static final class Sprite {
+
+        final String path;
+        final BufferedImage image;
+        int page;
+        int x;
+        int y;
+
+        Sprite(String path, BufferedImage image) {
+            this.path = path;
+            this.image = image;
+        }
+
+        int width() {
+            return image.getWidth();
+        }
+
+        int height() {
+            return image.getHeight();
+        }
+    }
+
+    /*
+     * Empaquetado por estantes: ordenados de mas alto a mas bajo, se llenan filas de izquierda a
+     * derecha. Se prueban anchos potencia de dos y se queda el de menos paginas y, entre esos, el de
+     * menor area (cada pagina es una textura aparte).
+     * Devuelve el alto de cada pagina (el ancho es el elegido, devuelto en la posicion 0).
+     */
+    static int[] pack(List<Sprite> sprites) {
+        sprites.sort((a, b) -> b.height() != a.height() ? b.height() - a.height()
+                : b.width() != a.width() ? b.width() - a.width() : a.path.compareTo(b.path));
+        int widest = 0;
+        for (Sprite s : sprites) {
+            widest = Math.max(widest, s.width() + PADDING * 2);
+        }
+
+        int[] best = null;
+        long bestArea = Long.MAX_VALUE;
+        for (int width = 64; width <= MAX_SHEET; width *= 2) {
+            if (width >= widest) {
+                int[] layout = layout(sprites, width);
+                long area = 0;
+                for (int i = 1; i < layout.length; i++) {
+                    area += (long) width * layout[i];
+                }
+                if (best == null || layout.length < best.length || (layout.length == best.length && area < bestArea)) {
+                    bestArea = area;
+                    best = layout;
+                }
+            }
+        }
+        // Vuelve a colocar con el ancho ganador (layout() escribe las posiciones en los sprites)
+        return layout(sprites, best[0]);
+    }
+
+    private static int[] layout(List<Sprite> sprites, int width) {
+        List<Integer> heights = new ArrayList<>();
+        int page = 0;
+        int shelfY = 0;
+        int shelfH = 0;
+        int cursorX = 0;
+        for (Sprite s : sprites) {
+            int w = s.width() + PADDING * 2;
+            int h = s.height() + PADDING * 2;
+            if (cursorX + w > width) {
+                shelfY += shelfH;
+                shelfH = 0;
+                cursorX = 0;
+            }
+            if (shelfY + h > MAX_SHEET) {
+                heights.add(shelfY);
+                page++;
+                shelfY = 0;
+                shelfH = 0;
+                cursorX = 0;
+            }
+            s.page = page;
+            s.x = cursorX + PADDING;
+            s.y = shelfY + PADDING;
+            cursorX += w;
+            shelfH = Math.max(shelfH, h);
+        }
+        heights.add(shelfY + shelfH);
+
+        int[] result = new int[heights.size() + 1];
+        result[0] = width;
+        for (int i = 0; i < heights.size(); i++) {
+            result[i + 1] = heights.get(i);
+        }
+        return result;
+    }
+
+    static String pageName(String group, int page) {
+        return page == 0 ? group + ".png" : group + "_" + page + ".png";
+    }
+
+    public static void writeGroup(String group, List<Sprite> sprites, File targetDir, String targetResource) throws IOException {
+        int[] layout = pack(sprites);
+        int width = layout[0];
+        try (PrintWriter out = new PrintWriter(new File(targetDir, group + ".atlas"), StandardCharsets.UTF_8)) {
+            out.print("# Generado por Engine.AtlasPacker a partir de sprites/" + group + "; no editar a mano\r\n");
+            for (int page = 0; page < layout.length - 1; page++) {
+                BufferedImage sheet = new BufferedImage(width, Math.max(1, layout[page + 1]), BufferedImage.TYPE_INT_ARGB);
+                Graphics2D g = sheet.createGraphics();
+                for (Sprite s : sprites) {
+                    if (s.page == page) {
+                        g.drawImage(s.image, s.x, s.y, null);
+                    }
+                }
+                g.dispose();
+                File target = new File(targetDir, pageName(group, page));
+                ImageIO.write(sheet, "png", target);
+                out.print("page " + targetResource + pageName(group, page) + "\r\n");
+                for (Sprite s : sprites) {
+                    if (s.page == page) {
+                        out.print(s.path + " " + s.x + " " + s.y + " " + s.width() + " " + s.height() + "\r\n");
+                    }
+                }
+                System.out.println(group + " -> " + target.getPath() + " (" + width + "x" + layout[page + 1] + ")");
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        File targetDir = new File(args.length > 0 ? args[0] : "src/Resources/atlas");
+        List<File> roots = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            roots.add(new File(args[i]));
+        }
+        if (roots.isEmpty()) {
+            roots.add(new File("src/Resources"));
+            roots.add(new File("assets"));
+        }
+        targetDir.mkdirs();
+        String targetResource = RESOURCE_PREFIX + targetDir.getName() + "/";
+
+        // Grupo -> sprites (TreeMap para que el manifiesto salga siempre en el mismo orden)
+        Map<String, List<Sprite>> groups = new TreeMap<>();
+        int skipped = 0;
+        for (File root : roots) {
+            File[] groupDirs = new File(root, "sprites").listFiles(File::isDirectory);
+            if (groupDirs != null) {
+                for (File dir : groupDirs) {
+                    File[] files = dir.listFiles((d, n) -> n.toLowerCase().endsWith(".png"));
+                    if (files != null) {
+                        for (File f : files) {
+                            BufferedImage img = ImageIO.read(f);
+                            String path = RESOURCE_PREFIX + "sprites/" + dir.getName() + "/" + f.getName();
+                            if (img == null) {
+                                System.err.println("No se pudo leer " + f.getPath());
+                            } else if (img.getWidth() > MAX_SPRITE || img.getHeight() > MAX_SPRITE) {
+                                skipped++;
+                            } else {
+                                groups.computeIfAbsent(dir.getName(), k -> new ArrayList<>()).add(new Sprite(path, img));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        try (PrintWriter index = new PrintWriter(new File(targetDir, "index.txt"), StandardCharsets.UTF_8)) {
+            index.print("# Manifiestos de atlas que carga SpriteAtlas; generado por Engine.AtlasPacker\r\n");
+            for (Map.Entry<String, List<Sprite>> e : groups.entrySet()) {
+                writeGroup(e.getKey(), e.getValue(), targetDir, targetResource);
+                index.print(targetResource + e.getKey() + ".atlas\r\n");
+            }
+        }
+        System.out.println(skipped + " sprites grandes quedan como imagenes sueltas");
+    }
+}
@@ -0,0 +1,217 @@
+package Engine;
+
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.geometry.Pos;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Text;
+import javafx.scene.transform.Transform;
+
+/*
+ * Backend de dibujo opcional para los mundos de las escenas. Los nodos del mundo (fondo, NPC, hero,
+ * rectangulos de debug, textos) siguen siendo el modelo: la logica los mueve como siempre, pero el
+ * Pane queda oculto y cada cuadro se pinta en un unico Canvas del tamano de la vista. Solo se dibuja
+ * lo que cae dentro de la vista y del fondo solo el recorte visible, en lugar de que JavaFX recorra
+ * y componga todo el arbol de nodos del mapa.
+ *
+ * La camara (translate y escala del Pane) se lee de su transformacion local a padre, asi funciona
+ * igual para las escenas (solo traslacion) que para el mapa con zoom.
+ * Se activa con -Dgame.renderer=canvas o con setEnabled antes de crear la escena.
+ */
+public class CanvasWorldRenderer {
+
+    public static final String PROPERTY = "game.renderer";
+
+    private static boolean enabled = "canvas".equalsIgnoreCase(System.getProperty(PROPERTY, "nodes"));
+
+    private final Pane source;
+    private final Canvas canvas;
+    private final GraphicsContext gc;
+    private StackPane host = null;
+
+    // Estadisticas del ultimo cuadro
+    private int drawn = 0;
+    private int culled = 0;
+    private long lastFrameNanos = 0;
+
+    // Vista del cuadro actual en coordenadas del mundo
+    private double viewMinX;
+    private double viewMinY;
+    private double viewMaxX;
+    private double viewMaxY;
+
+    public CanvasWorldRenderer(Pane source, double viewW, double viewH) {
+        this.source = source;
+        canvas = new Canvas(viewW, viewH);
+        canvas.setMouseTransparent(true);
+        gc = canvas.getGraphicsContext2D();
+        gc.setImageSmoothing(true);
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    // Pone el Canvas justo encima del mundo en el contenedor y oculta el arbol de nodos
+    public void attach(StackPane target) {
+        if (host == null) {
+            host = target;
+            int index = target.getChildren().indexOf(source);
+            StackPane.setAlignment(canvas, Pos.TOP_LEFT);
+            target.getChildren().add(index >= 0 ? index + 1 : target.getChildren().size(), canvas);
+            source.setVisible(false);
+        }
+    }
+
+    public void detach() {
+        if (host != null) {
+            host.getChildren().remove(canvas);
+            source.setVisible(true);
+            host = null;
+        }
+    }
+
+    public boolean isAttached() {
+        return host != null;
+    }
+
+    public Canvas getCanvas() {
+        return canvas;
+    }
+
+    public void draw() {
+        long start = System.nanoTime();
+        drawn = 0;
+        culled = 0;
+        double w = canvas.getWidth();
+        double h = canvas.getHeight();
+
+        gc.setTransform(1, 0, 0, 1, 0, 0);
+        gc.setGlobalAlpha(1.0);
+        gc.setFill(Color.BLACK);
+        gc.fillRect(0, 0, w, h);
+
+        // Vista en coordenadas del mundo, para descartar lo que no se ve
+        Bounds view = source.parentToLocal(new BoundingBox(0, 0, w, h));
+        viewMinX = view.getMinX();
+        viewMinY = view.getMinY();
+        viewMaxX = view.getMaxX();
+        viewMaxY = view.getMaxY();
+        Transform t = source.getLocalToParentTransform();
+        gc.setTransform(t.getMxx(), t.getMyx(), t.getMxy(), t.getMyy(), t.getTx(), t.getTy());
+        drawChildren(source, 0, 0, 1.0);
+
+        lastFrameNanos = System.nanoTime() - start;
+    }
+
+    // Los bounds en el padre los cachea JavaFX; se comparan contra la vista sin crear objetos por nodo
+    private void drawChildren(Parent parent, double ox, double oy, double alpha) {
+        for (Node node : parent.getChildrenUnmodifiable()) {
+            if (node.isVisible() && node.getOpacity() > 0) {
+                double a = alpha * node.getOpacity();
+                double nx = ox + node.getLayoutX() + node.getTranslateX();
+                double ny = oy + node.getLayoutY() + node.getTranslateY();
+                Bounds b = node.getBoundsInParent();
+                double minX = ox + b.getMinX();
+                double minY = oy + b.getMinY();
+                double maxX = ox + b.getMaxX();
+                double maxY = oy + b.getMaxY();
+                if (maxX < viewMinX || maxY < viewMinY || minX > viewMaxX || minY > viewMaxY) {
+                    culled++;
+                } else if (node instanceof ImageView) {
+                    drawImageView((ImageView) node, minX, minY, maxX, maxY, a);
+                } else if (node instanceof Rectangle) {
+                    drawRectangle((Rectangle) node, nx, ny, a);
+                } else if (node instanceof Text) {
+                    Text text = (Text) node;
+                    gc.setGlobalAlpha(a);
+                    gc.setFont(text.getFont());
+                    gc.setFill(text.getFill() != null ? text.getFill() : Color.BLACK);
+                    gc.fillText(text.getText(), nx + text.getX(), ny + text.getY());
+                    drawn++;
+                } else if (node instanceof Parent) {
+                    drawChildren((Parent) node, nx, ny, a);
+                }
+            }
+        }
+    }
+
+    // Solo se copia la parte de la imagen que cae dentro de la vista (clave para los fondos grandes)
+    private void drawImageView(ImageView iv, double destMinX, double destMinY, double destMaxX, double destMaxY, double alpha) {
+        Image img = iv.getImage();
+        double destW = destMaxX - destMinX;
+        double destH = destMaxY - destMinY;
+        if (img != null && destW > 0 && destH > 0) {
+            Rectangle2D vp = iv.getViewport();
+            double sx = vp != null ? vp.getMinX() : 0;
+            double sy = vp != null ? vp.getMinY() : 0;
+            double sw = vp != null ? vp.getWidth() : img.getWidth();
+            double sh = vp != null ? vp.getHeight() : img.getHeight();
+
+            double minX = Math.max(destMinX, viewMinX);
+            double minY = Math.max(destMinY, viewMinY);
+            double maxX = Math.min(destMaxX, viewMaxX);
+            double maxY = Math.min(destMaxY, viewMaxY);
+            double kx = sw / destW;
+            double ky = sh / destH;
+
+            gc.setGlobalAlpha(alpha);
+            gc.drawImage(img,
+                    sx + (minX - destMinX) * kx, sy + (minY - destMinY) * ky,
+                    (maxX - minX) * kx, (maxY - minY) * ky,
+                    minX, minY, maxX - minX, maxY - minY);
+            drawn++;
+        }
+    }
+
+    private void drawRectangle(Rectangle r, double nx, double ny, double alpha) {
+        double x = nx + r.getX();
+        double y = ny + r.getY();
+        boolean round = r.getArcWidth() > 0 || r.getArcHeight() > 0;
+        gc.setGlobalAlpha(alpha);
+        if (r.getFill() != null && r.getFill() != Color.TRANSPARENT) {
+            gc.setFill(r.getFill());
+            if (round) {
+                gc.fillRoundRect(x, y, r.getWidth(), r.getHeight(), r.getArcWidth(), r.getArcHeight());
+            } else {
+                gc.fillRect(x, y, r.getWidth(), r.getHeight());
+            }
+        }
+        if (r.getStroke() != null && r.getStrokeWidth() > 0) {
+            gc.setStroke(r.getStroke());
+            gc.setLineWidth(r.getStrokeWidth());
+            if (round) {
+                gc.strokeRoundRect(x, y, r.getWidth(), r.getHeight(), r.getArcWidth(), r.getArcHeight());
+            } else {
+                gc.strokeRect(x, y, r.getWidth(), r.getHeight());
+            }
+        }
+        drawn++;
+    }
+
+    public int getDrawnCount() {
+        return drawn;
+    }
+
+    public int getCulledCount() {
+        return culled;
+    }
+
+    public long getLastFrameNanos() {
+        return lastFrameNanos;
+    }
+}
@@ -0,0 +1,68 @@
+package Engine;
+
+/*
+ * Reloj de simulacion de paso fijo. advance() acumula el tiempo real del frame y dice cuantos pasos
+ * de tamano getStep() hay que simular; si el frame fue muy largo se simulan como maximo maxSteps y el
+ * resto se descarta (la simulacion se frena en vez de quedarse atras para siempre). getAlpha() es la
+ * fraccion de paso que sobra, para interpolar el dibujo entre el estado anterior y el actual.
+ */
+public class FixedStepClock {
+
+    private final double step;
+    private final int maxSteps;
+    private long last = -1;
+    private double accumulator = 0;
+    private double alpha = 0;
+
+    private long totalSteps = 0;
+    private long clampedFrames = 0;
+
+    public FixedStepClock(double hz, int maxSteps) {
+        this.step = 1.0 / hz;
+        this.maxSteps = Math.max(1, maxSteps);
+    }
+
+    public double getStep() {
+        return step;
+    }
+
+    // Llamar al inicio de cada frame con el tiempo en nanosegundos (AnimationTimer.handle)
+    public int advance(long nowNanos) {
+        if (last < 0) {
+            last = nowNanos;
+        }
+        accumulator += (nowNanos - last) / 1e9;
+        last = nowNanos;
+
+        int steps = (int) Math.floor(accumulator / step);
+        if (steps > maxSteps) {
+            steps = maxSteps;
+            accumulator = step * maxSteps;
+            clampedFrames++;
+        }
+        accumulator -= steps * step;
+        alpha = accumulator / step;
+        totalSteps += steps;
+        return steps;
+    }
+
+    public double getAlpha() {
+        return alpha;
+    }
+
+    // Olvida el tiempo acumulado (al cambiar de escena o tras una pausa)
+    public void reset() {
+        last = -1;
+        accumulator = 0;
+        alpha = 0;
+    }
+
+    public long getTotalSteps() {
+        return totalSteps;
+    }
+
+    // Frames en los que se alcanzo el limite de pasos y se descarto tiempo
+    public long getClampedFrames() {
+        return clampedFrames;
+    }
+}
@@ -0,0 +1,275 @@
+package Engine;
+
+import java.util.Arrays;
+
+/*
+ * Campo de distancias hacia el heroe sobre una NavigationGrid (Dijkstra con 8 vecinos, sin cortar
+ * esquinas). Se calcula una sola vez por celda del heroe y lo comparten todos los perseguidores:
+ * cada uno solo mira sus 8 vecinos y baja por el campo, asi el costo no depende de cuantos monstruos
+ * haya. El recalculo se reparte entre frames (time-sliced): se hace en un buffer trasero con un
+ * presupuesto de celdas por update() y se intercambia al terminar; mientras tanto los perseguidores siguen leyendo el campo
+ * anterior, que solo esta atrasado unas pocas celdas.
+ */
+public class FlowField {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    // Costos enteros (1 y raiz de 2 escalados) para comparar sin errores de redondeo
+    private static final int STRAIGHT = 10;
+    private static final int DIAGONAL = 14;
+    private static final int[] DX = {1, -1, 0, 0, 1, 1, -1, -1};
+    private static final int[] DY = {0, 0, 1, -1, 1, -1, 1, -1};
+
+    private final NavigationGrid grid;
+    private final int cols;
+    private final int maxDistance;
+    private int budget;
+
+    private int[] front;
+    private int[] back;
+    private final int[] heap;
+    private final int[] heapPos;
+    private int heapSize = 0;
+
+    private boolean building = false;
+    private boolean ready = false;
+    private int frontGoal = -1;
+    private int buildGoal = -1;
+    private int pendingGoal = -1;
+    private int builds = 0;
+
+    // maxCells: distancia maxima en celdas a propagar (0 = toda la rejilla); budget: celdas por update()
+    public FlowField(NavigationGrid grid, int maxCells, int budget) {
+        this.grid = grid;
+        this.cols = grid.getCols();
+        this.maxDistance = maxCells > 0 ? maxCells * STRAIGHT : UNREACHABLE;
+        this.budget = Math.max(1, budget);
+        int n = grid.getCols() * grid.getRows();
+        front = new int[n];
+        back = new int[n];
+        heap = new int[n];
+        heapPos = new int[n];
+        Arrays.fill(front, UNREACHABLE);
+    }
+
+    public NavigationGrid getGrid() {
+        return grid;
+    }
+
+    public void setBudget(int budget) {
+        this.budget = Math.max(1, budget);
+    }
+
+    // Posicion del heroe en coordenadas del mundo (esquina superior izquierda)
+    public void update(double heroX, double heroY) {
+        int goal = grid.toCellY(heroY) * cols + grid.toCellX(heroX);
+        if (goal != frontGoal && goal != buildGoal) {
+            pendingGoal = goal;
+        }
+        if (!building && pendingGoal >= 0) {
+            startBuild(pendingGoal);
+            pendingGoal = -1;
+        }
+        if (building) {
+            propagate(budget);
+        }
+    }
+
+    // Calcula el campo completo de una vez (al entrar a una sala)
+    public void rebuild(double heroX, double heroY) {
+        startBuild(grid.toCellY(heroY) * cols + grid.toCellX(heroX));
+        pendingGoal = -1;
+        propagate(Integer.MAX_VALUE);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int getBuildCount() {
+        return builds;
+    }
+
+    // Distancia (en decimas de celda) desde la celda hasta el heroe, o UNREACHABLE
+    public int getDistance(int cx, int cy) {
+        int result = UNREACHABLE;
+        if (grid.isWalkable(cx, cy)) {
+            result = front[cy * cols + cx];
+        }
+        return result;
+    }
+
+    /*
+     * Escribe en out la direccion normalizada {dx, dy} que debe seguir un agente en (x, y) para
+     * acercarse al heroe. Devuelve false si el agente ya esta en la celda del heroe, fuera del
+     * alcance del campo o si el campo aun no esta listo.
+     */
+    public boolean steer(double x, double y, double[] out) {
+        out[0] = 0;
+        out[1] = 0;
+        boolean moving = false;
+        if (ready) {
+            int cx = grid.toCellX(x);
+            int cy = grid.toCellY(y);
+            int best = getDistance(cx, cy);
+            int bestX = cx;
+            int bestY = cy;
+            // Si el agente quedo en una celda bloqueada (redondeo) igual busca un vecino alcanzable
+            if (best > 0) {
+                for (int d = 0; d < 8; d++) {
+                    int nx = cx + DX[d];
+                    int ny = cy + DY[d];
+                    if (canStep(cx, cy, nx, ny, d >= 4) && front[ny * cols + nx] < best) {
+                        best = front[ny * cols + nx];
+                        bestX = nx;
+                        bestY = ny;
+                    }
+                }
+            }
+            if (bestX != cx || bestY != cy) {
+                // Apunta al origen de la celda vecina, asi tambien corrige el desfase dentro de la celda
+                double vx = grid.toWorldX(bestX) - x;
+                double vy = grid.toWorldY(bestY) - y;
+                double len = Math.sqrt(vx * vx + vy * vy);
+                if (len > 1e-6) {
+                    out[0] = vx / len;
+                    out[1] = vy / len;
+                    moving = true;
+                }
+            }
+        }
+        return moving;
+    }
+
+    private void startBuild(int goal) {
+        Arrays.fill(back, UNREACHABLE);
+        heapSize = 0;
+        buildGoal = goal;
+        building = true;
+        int gx = goal % cols;
+        int gy = goal / cols;
+        if (grid.isWalkable(gx, gy)) {
+            back[goal] = 0;
+            push(goal);
+        } else {
+            // El redondeo puede dejar al heroe en una celda bloqueada: se siembran sus vecinos libres
+            for (int d = 0; d < 8; d++) {
+                int nx = gx + DX[d];
+                int ny = gy + DY[d];
+                if (grid.isWalkable(nx, ny)) {
+                    back[ny * cols + nx] = d >= 4 ? DIAGONAL : STRAIGHT;
+                    push(ny * cols + nx);
+                }
+            }
+        }
+    }
+
+    private void propagate(int limit) {
+        int expanded = 0;
+        while (heapSize > 0 && expanded < limit) {
+            int current = pop();
+            expanded++;
+            relax(current);
+        }
+        if (heapSize == 0) {
+            int[] tmp = front;
+            front = back;
+            back = tmp;
+            frontGoal = buildGoal;
+            buildGoal = -1;
+            building = false;
+            ready = true;
+            builds++;
+        }
+    }
+
+    private void relax(int current) {
+        int cx = current % cols;
+        int cy = current / cols;
+        int base = back[current];
+        for (int d = 0; d < 8; d++) {
+            int nx = cx + DX[d];
+            int ny = cy + DY[d];
+            boolean diagonal = d >= 4;
+            if (canStep(cx, cy, nx, ny, diagonal)) {
+                int next = ny * cols + nx;
+                int cost = base + (diagonal ? DIAGONAL : STRAIGHT);
+                if (cost <= maxDistance && cost < back[next]) {
+                    boolean queued = back[next] != UNREACHABLE;
+                    back[next] = cost;
+                    if (queued) {
+                        siftUp(heapPos[next]);
+                    } else {
+                        push(next);
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean canStep(int cx, int cy, int nx, int ny, boolean diagonal) {
+        return grid.isWalkable(nx, ny)
+                && (!diagonal || (grid.isWalkable(nx, cy) && grid.isWalkable(cx, ny)));
+    }
+
+    // ---------------- heap binario ----------------
+    // Una celda con distancia finita que aun no salio del heap siempre esta en heapPos
+    private void push(int node) {
+        heap[heapSize] = node;
+        heapPos[node] = heapSize;
+        heapSize++;
+        siftUp(heapSize - 1);
+    }
+
+    private int pop() {
+        int top = heap[0];
+        heapSize--;
+        if (heapSize > 0) {
+            heap[0] = heap[heapSize];
+            heapPos[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int index) {
+        int i = index;
+        int node = heap[i];
+        boolean placed = false;
+        while (i > 0 && !placed) {
+            int p = (i - 1) >> 1;
+            if (back[heap[p]] <= back[node]) {
+                placed = true;
+            } else {
+                heap[i] = heap[p];
+                heapPos[heap[i]] = i;
+                i = p;
+            }
+        }
+        heap[i] = node;
+        heapPos[node] = i;
+    }
+
+    private void siftDown(int index) {
+        int i = index;
+        int node = heap[i];
+        int half = heapSize >> 1;
+        boolean placed = false;
+        while (i < half && !placed) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < heapSize && back[heap[right]] < back[heap[child]]) {
+                child = right;
+            }
+            if (back[node] <= back[heap[child]]) {
+                placed = true;
+            } else {
+                heap[i] = heap[child];
+                heapPos[heap[i]] = i;
+                i = child;
+            }
+        }
+        heap[i] = node;
+        heapPos[node] = i;
+    }
+}
@@ -0,0 +1,281 @@
+package Engine;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/*
+ * Telemetria por frame del bucle de juego. Cada frame guarda en un buffer circular de CAPACITY
+ * entradas el intervalo entre pulsos, el costo del frame repartido por subsistema, el tiempo de GC
+ * y el heap usado. Todo vive en arreglos primitivos creados una vez: medir no genera basura, asi que
+ * se puede dejar siempre encendido y exportar a CSV despues de un tiron.
+ *
+ * El reparto por subsistema es exclusivo: enter() carga el tiempo transcurrido a la seccion que
+ * estaba activa y pasa a la nueva, asi la colision no se cuenta ademas dentro del movimiento.
+ *
+ *     Section prev = FrameProfiler.enter(Section.COLLISION);
+ *     ...
+ *     FrameProfiler.enter(prev);
+ */
+public final class FrameProfiler {
+
+    public enum Section {
+        MOVEMENT, COLLISION, TRIGGERS, CAMERA, RENDER, PARTICLES, OTHER
+    }
+
+    public static final int CAPACITY = 1024;
+
+    private static final Section[] SECTIONS = Section.values();
+    private static final int N = SECTIONS.length;
+
+    // Buffer circular: la entrada i ocupa intervals[i], work[i], sections[i * N .. i * N + N - 1]...
+    private static final long[] intervals = new long[CAPACITY];
+    private static final long[] work = new long[CAPACITY];
+    private static final long[] sections = new long[CAPACITY * N];
+    private static final long[] gcMillis = new long[CAPACITY];
+    private static final long[] heapBytes = new long[CAPACITY];
+    private static int head = 0;
+    private static int count = 0;
+    private static long totalFrames = 0;
+
+    // Frame en curso
+    private static final long[] current = new long[N];
+    private static Section active = Section.OTHER;
+    private static long mark = 0;
+    private static long lastPulse = -1;
+    private static boolean inFrame = false;
+
+    private static final GarbageCollectorMXBean[] gcBeans;
+    private static long lastGcMillis = 0;
+
+    // Copia para ordenar al calcular percentiles (solo desde el HUD, no en cada frame)
+    private static final long[] scratch = new long[CAPACITY];
+
+    static {
+        List<GarbageCollectorMXBean> beans = ManagementFactory.getGarbageCollectorMXBeans();
+        gcBeans = beans.toArray(new GarbageCollectorMXBean[0]);
+        lastGcMillis = gcTime();
+    }
+
+    private FrameProfiler() {
+    }
+
+    // Al inicio del frame con el tiempo del pulso (AnimationTimer.handle)
+    public static void beginFrame(long pulseNanos) {
+        Arrays.fill(current, 0);
+        intervals[head] = lastPulse < 0 ? 0 : pulseNanos - lastPulse;
+        lastPulse = pulseNanos;
+        active = Section.OTHER;
+        mark = System.nanoTime();
+        inFrame = true;
+    }
+
+    // Pasa a contar el tiempo en section; devuelve la seccion anterior para volver a ella
+    public static Section enter(Section section) {
+        Section previous = active;
+        if (inFrame) {
+            long now = System.nanoTime();
+            current[active.ordinal()] += now - mark;
+            mark = now;
+            active = section;
+        }
+        return previous;
+    }
+
+    public static void endFrame() {
+        if (inFrame) {
+            enter(Section.OTHER);
+            long total = 0;
+            int base = head * N;
+            for (int i = 0; i < N; i++) {
+                sections[base + i] = current[i];
+                total += current[i];
+            }
+            work[head] = total;
+            long gc = gcTime();
+            gcMillis[head] = gc - lastGcMillis;
+            lastGcMillis = gc;
+            Runtime rt = Runtime.getRuntime();
+            heapBytes[head] = rt.totalMemory() - rt.freeMemory();
+
+            head = (head + 1) % CAPACITY;
+            if (count < CAPACITY) {
+                count++;
+            }
+            totalFrames++;
+            inFrame = false;
+        }
+    }
+
+    // Tras una pausa (cambio de escena, bucle detenido) el primer intervalo no es representativo
+    public static void resetPulse() {
+        lastPulse = -1;
+    }
+
+    public static void clear() {
+        head = 0;
+        count = 0;
+        resetPulse();
+    }
+
+    // ---------------- lectura (HUD, exportacion) ----------------
+    public static int getCount() {
+        return count;
+    }
+
+    public static long getTotalFrames() {
+        return totalFrames;
+    }
+
+    /*
+     * Percentil del intervalo entre pulsos (ms) sobre los ultimos frames del buffer. El primer frame
+     * despues de resetPulse guarda intervalo 0 (no hay pulso anterior) y no entra en la cuenta.
+     */
+    public static double intervalPercentileMs(double p, int frames) {
+        return percentile(intervals, p, frames, true) / 1e6;
+    }
+
+    public static double workPercentileMs(double p, int frames) {
+        return percentile(work, p, frames, false) / 1e6;
+    }
+
+    public static double fps(int frames) {
+        int n = Math.min(frames, count);
+        int measured = 0;
+        long sum = 0;
+        for (int k = 0; k < n; k++) {
+            long interval = intervals[index(k)];
+            if (interval > 0) {
+                sum += interval;
+                measured++;
+            }
+        }
+        return sum > 0 ? measured * 1e9 / sum : 0;
+    }
+
+    public static double sectionMeanMs(Section section, int frames) {
+        int n = Math.min(frames, count);
+        long sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += sections[index(k) * N + section.ordinal()];
+        }
+        return n > 0 ? sum / 1e6 / n : 0;
+    }
+
+    // Milisegundos de GC acumulados en los ultimos frames y la pausa mas larga en un frame
+    public static long gcMillis(int frames) {
+        int n = Math.min(frames, count);
+        long sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += gcMillis[index(k)];
+        }
+        return sum;
+    }
+
+    public static long maxGcMillis(int frames) {
+        int n = Math.min(frames, count);
+        long max = 0;
+        for (int k = 0; k < n; k++) {
+            max = Math.max(max, gcMillis[index(k)]);
+        }
+        return max;
+    }
+
+    // Costo del ultimo frame cerrado, total y por seccion (nanosegundos)
+    public static long lastWorkNanos() {
+        return count > 0 ? work[index(0)] : 0;
+    }
+
+    public static long lastSectionNanos(Section section) {
+        return count > 0 ? sections[index(0) * N + section.ordinal()] : 0;
+    }
+
+    public static long lastGcMillis() {
+        return count > 0 ? gcMillis[index(0)] : 0;
+    }
+
+    public static long heapUsedBytes() {
+        return count > 0 ? heapBytes[index(0)] : 0;
+    }
+
+    /*
+     * Escribe el buffer del frame mas viejo al mas nuevo. Tiempos en milisegundos, heap en MB;
+     * una fila por frame con intervalo, costo total, cada subsistema, GC y heap.
+     */
+    public static void exportCsv(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            StringBuilder line = new StringBuilder("frame,interval_ms,work_ms");
+            for (Section s : SECTIONS) {
+                line.append(',').append(s.name().toLowerCase(Locale.ROOT)).append("_ms");
+            }
+            line.append(",gc_ms,heap_mb");
+            out.write(line.toString());
+            out.newLine();
+
+            long first = totalFrames - count;
+            for (int k = count - 1; k >= 0; k--) {
+                int i = index(k);
+                line.setLength(0);
+                line.append(first + count - 1 - k)
+                        .append(',').append(ms(intervals[i]))
+                        .append(',').append(ms(work[i]));
+                for (int s = 0; s < N; s++) {
+                    line.append(',').append(ms(sections[i * N + s]));
+                }
+                line.append(',').append(gcMillis[i])
+                        .append(',').append(String.format(Locale.ROOT, "%.1f", heapBytes[i] / (1024.0 * 1024.0)));
+                out.write(line.toString());
+                out.newLine();
+            }
+        }
+    }
+
+    // k = 0 es el ultimo frame guardado, k = 1 el anterior...
+    private static int index(int k) {
+        return (head - 1 - k + CAPACITY) % CAPACITY;
+    }
+
+    private static long percentile(long[] values, double p, int frames, boolean skipZero) {
+        int total = Math.min(frames, count);
+        int n = 0;
+        for (int k = 0; k < total; k++) {
+            long v = values[index(k)];
+            if (!skipZero || v != 0) {
+                scratch[n] = v;
+                n++;
+            }
+        }
+        long result = 0;
+        if (n > 0) {
+            Arrays.sort(scratch, 0, n);
+            result = scratch[Math.min(n - 1, (int) Math.floor(p * n))];
+        }
+        return result;
+    }
+
+    private static String ms(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+
+    private static long gcTime() {
+        long total = 0;
+        for (GarbageCollectorMXBean bean : gcBeans) {
+            long t = bean.getCollectionTime();
+            if (t > 0) {
+                total += t;
+            }
+        }
+        return total;
+    }
+}
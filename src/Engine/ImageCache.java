@@ -0,0 +1,229 @@
+package Engine;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import javafx.scene.image.Image;
+
+/*
+ * Cache de imagenes decodificadas por ruta de recurso. Las entradas fuertes forman un LRU limitado
+ * por bytes de pixeles (ancho * alto * 4); al expulsar una entrada se guarda una SoftReference, asi
+ * si la memoria alcanza se recupera sin volver a decodificar. La decodificacion se hace fuera del
+ * candado para que varios hilos puedan cargar imagenes distintas a la vez.
+ */
+public final class ImageCache {
+
+    private static final long DEFAULT_MAX_BYTES = 192L * 1024 * 1024;
+
+    private static final LinkedHashMap<String, Image> strong = new LinkedHashMap<>(64, 0.75f, true);
+    private static final Map<String, SoftReference<Image>> soft = new HashMap<>();
+    private static long maxBytes = DEFAULT_MAX_BYTES;
+    private static long currentBytes = 0;
+
+    private static long hits = 0;
+    private static long softHits = 0;
+    private static long misses = 0;
+    private static long evictions = 0;
+    private static long failures = 0;
+
+    private ImageCache() {
+    }
+
+    // Devuelve la imagen del recurso (por ejemplo "/Resources/sprites/hero/heroDown.png") o null si no se pudo cargar
+    public static Image get(String path) {
+        Image img = null;
+        if (path != null && !path.isEmpty()) {
+            img = lookup(path);
+            if (img == null) {
+                Image decoded = decode(path);
+                if (decoded != null) {
+                    img = store(path, decoded);
+                }
+            }
+        }
+        return img;
+    }
+
+    /*
+     * Imagen calculada a partir de otras (niveles de MipChain...) guardada bajo una clave propia: se
+     * cuenta en el mismo limite de bytes y se expulsa igual que las decodificadas.
+     */
+    public static Image derived(String key, Supplier<Image> factory) {
+        Image img = lookup(key);
+        if (img == null) {
+            Image built = null;
+            try {
+                built = factory.get();
+            } catch (Throwable t) {
+                System.err.println("No se pudo generar la imagen " + key + ": " + t.getMessage());
+            }
+            if (built != null) {
+                img = store(key, built);
+            }
+        }
+        return img;
+    }
+
+    // Solo consulta, sin decodificar (para saber si una precarga ya termino)
+    public static synchronized boolean contains(String path) {
+        boolean found = strong.containsKey(path);
+        if (!found) {
+            SoftReference<Image> ref = soft.get(path);
+            found = ref != null && ref.get() != null;
+        }
+        return found;
+    }
+
+    public static void preload(String... paths) {
+        for (String p : paths) {
+            get(p);
+        }
+    }
+
+    /*
+     * Lista de precarga: un recurso de texto con una ruta por linea ('#' para comentarios).
+     * Devuelve cuantas imagenes quedaron en cache.
+     */
+    public static int preloadList(String listResource) {
+        int loaded = 0;
+        try (InputStream in = ImageCache.class.getResourceAsStream(listResource)) {
+            if (in == null) {
+                System.err.println("Lista de precarga no encontrada: " + listResource);
+            } else {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String path = line.trim();
+                    if (!path.isEmpty() && !path.startsWith("#") && get(path) != null) {
+                        loaded++;
+                    }
+                }
+            }
+        } catch (Throwable t) {
+            System.err.println("Error leyendo la lista de precarga " + listResource + ": " + t.getMessage());
+        }
+        return loaded;
+    }
+
+    public static synchronized void setMaxBytes(long bytes) {
+        maxBytes = Math.max(0, bytes);
+        trim();
+    }
+
+    public static synchronized long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public static synchronized long getCurrentBytes() {
+        return currentBytes;
+    }
+
+    // Saca la imagen del LRU fuerte sin perderla: queda como referencia suave hasta que el GC la necesite
+    public static synchronized void release(String path) {
+        Image img = strong.remove(path);
+        if (img != null) {
+            currentBytes -= sizeOf(img);
+            soft.put(path, new SoftReference<>(img));
+            evictions++;
+        }
+    }
+
+    public static synchronized void clear() {
+        strong.clear();
+        soft.clear();
+        currentBytes = 0;
+    }
+
+    public static synchronized long getHits() {
+        return hits;
+    }
+
+    public static synchronized long getMisses() {
+        return misses;
+    }
+
+    public static synchronized String getStats() {
+        long total = hits + softHits + misses;
+        double ratio = total == 0 ? 0 : (hits + softHits) * 100.0 / total;
+        return String.format("ImageCache: %d imagenes, %.1f/%.1f MB, aciertos %d (+%d suaves), fallos %d (%.1f%% acierto), expulsadas %d, errores %d",
+                strong.size(), currentBytes / 1048576.0, maxBytes / 1048576.0,
+                hits, softHits, misses, ratio, evictions, failures);
+    }
+
+    public static long sizeOf(Image img) {
+        return (long) Math.ceil(img.getWidth()) * (long) Math.ceil(img.getHeight()) * 4L;
+    }
+
+    private static synchronized Image lookup(String path) {
+        Image img = strong.get(path);
+        if (img != null) {
+            hits++;
+        } else {
+            SoftReference<Image> ref = soft.remove(path);
+            img = ref != null ? ref.get() : null;
+            if (img != null) {
+                // Vuelve al LRU fuerte
+                softHits++;
+                strong.put(path, img);
+                currentBytes += sizeOf(img);
+                trim();
+            } else {
+                misses++;
+            }
+        }
+        return img;
+    }
+
+    private static Image decode(String path) {
+        Image img = null;
+        try (InputStream in = ImageCache.class.getResourceAsStream(path)) {
+            if (in != null) {
+                img = new Image(in);
+                if (img.isError()) {
+                    img = null;
+                }
+            }
+        } catch (Throwable ignored) {
+            img = null;
+        }
+        if (img == null) {
+            synchronized (ImageCache.class) {
+                failures++;
+            }
+            System.err.println("No se pudo cargar la imagen: " + path);
+        }
+        return img;
+    }
+
+    private static synchronized Image store(String path, Image decoded) {
+        // Otro hilo pudo haberla cargado mientras se decodificaba: se usa esa
+        Image existing = strong.get(path);
+        Image result = existing != null ? existing : decoded;
+        if (existing == null) {
+            strong.put(path, decoded);
+            currentBytes += sizeOf(decoded);
+            trim();
+        }
+        return result;
+    }
+
+    // Expulsa las menos usadas hasta caber en el limite; la ultima insertada siempre se conserva
+    private static void trim() {
+        Iterator<Map.Entry<String, Image>> it = strong.entrySet().iterator();
+        while (currentBytes > maxBytes && strong.size() > 1 && it.hasNext()) {
+            Map.Entry<String, Image> eldest = it.next();
+            it.remove();
+            currentBytes -= sizeOf(eldest.getValue());
+            soft.put(eldest.getKey(), new SoftReference<>(eldest.getValue()));
+            evictions++;
+        }
+        soft.values().removeIf(ref -> ref.get() == null);
+    }
+}
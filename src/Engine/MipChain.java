@@ -0,0 +1,123 @@
+package Engine;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+
+/*
+ * Niveles reducidos (mipmaps) de un fondo grande: cada nivel mide la mitad del anterior, promediando
+ * bloques de 2x2 pixeles, hasta MIN_SIZE. Con el mapa alejado se muestra el nivel cuyo tamano mas se
+ * acerca al que ocupa en pantalla: la GPU sube y muestrea una textura chica en lugar de reducir la
+ * original entera en cada frame (y sin el parpadeo de saltarse pixeles al reducir mas de 2x).
+ *
+ * Los niveles se generan al cargar y se guardan en ImageCache como "<ruta>@mipN", asi una segunda
+ * apertura no los vuelve a calcular y cuentan en el mismo limite de memoria.
+ */
+public final class MipChain {
+
+    public static final int MIN_SIZE = 128;
+
+    private final String path;
+    private final Image[] levels;
+
+    private MipChain(String path, Image[] levels) {
+        this.path = path;
+        this.levels = levels;
+    }
+
+    // null si el recurso no se pudo cargar
+    public static MipChain of(String path) {
+        MipChain chain = null;
+        Image base = ImageCache.get(path);
+        if (base != null) {
+            int count = 1;
+            double w = base.getWidth();
+            double h = base.getHeight();
+            while (w / 2 >= MIN_SIZE && h / 2 >= MIN_SIZE) {
+                w /= 2;
+                h /= 2;
+                count++;
+            }
+            Image[] levels = new Image[count];
+            levels[0] = base;
+            for (int i = 1; i < count; i++) {
+                Image previous = levels[i - 1];
+                levels[i] = ImageCache.derived(path + "@mip" + i, () -> halve(previous));
+                if (levels[i] == null) {
+                    levels[i] = previous;
+                }
+            }
+            chain = new MipChain(path, levels);
+        }
+        return chain;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public Image getBase() {
+        return levels[0];
+    }
+
+    public int getLevelCount() {
+        return levels.length;
+    }
+
+    public Image getLevel(int level) {
+        return levels[Math.max(0, Math.min(levels.length - 1, level))];
+    }
+
+    /*
+     * Nivel para una escala de dibujo (1 = tamano original): el mas chico que todavia tiene al menos
+     * un pixel por pixel de pantalla, o sea floor(log2(1 / escala)).
+     */
+    public int levelFor(double scale) {
+        int level = 0;
+        if (scale > 0 && scale < 1) {
+            level = (int) Math.floor(Math.log(1.0 / scale) / Math.log(2));
+        }
+        return Math.max(0, Math.min(levels.length - 1, level));
+    }
+
+    public Image forScale(double scale) {
+        return levels[levelFor(scale)];
+    }
+
+    // Promedio de 2x2 en ARGB premultiplicado (los bordes transparentes no se oscurecen)
+    static Image halve(Image src) {
+        int sw = (int) src.getWidth();
+        int sh = (int) src.getHeight();
+        int dw = Math.max(1, sw / 2);
+        int dh = Math.max(1, sh / 2);
+        PixelReader reader = src.getPixelReader();
+        WritableImage dst = null;
+        if (reader != null) {
+            int[] in = new int[sw * sh];
+            reader.getPixels(0, 0, sw, sh, PixelFormat.getIntArgbPreInstance(), in, 0, sw);
+            int[] out = new int[dw * dh];
+            for (int y = 0; y < dh; y++) {
+                int row0 = Math.min(2 * y, sh - 1) * sw;
+                int row1 = Math.min(2 * y + 1, sh - 1) * sw;
+                for (int x = 0; x < dw; x++) {
+                    int x0 = Math.min(2 * x, sw - 1);
+                    int x1 = Math.min(2 * x + 1, sw - 1);
+                    out[y * dw + x] = average(in[row0 + x0], in[row0 + x1], in[row1 + x0], in[row1 + x1]);
+                }
+            }
+            dst = new WritableImage(dw, dh);
+            dst.getPixelWriter().setPixels(0, 0, dw, dh, PixelFormat.getIntArgbPreInstance(), out, 0, dw);
+        }
+        return dst;
+    }
+
+    private static int average(int a, int b, int c, int d) {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            int sum = ((a >>> shift) & 0xFF) + ((b >>> shift) & 0xFF) + ((c >>> shift) & 0xFF) + ((d >>> shift) & 0xFF);
+            result |= ((sum + 2) >> 2) << shift;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,57 @@
+package Engine;
+
+import java.util.Arrays;
+
+// Camino reutilizable: guarda las celdas en un arreglo que solo crece, asi las consultas repetidas no generan basura
+public class NavPath {
+
+    private int[] cells = new int[64];
+    private int size = 0;
+    private NavigationGrid grid;
+
+    void reset(NavigationGrid grid) {
+        this.grid = grid;
+        size = 0;
+    }
+
+    void add(int cx, int cy) {
+        if (size * 2 + 2 > cells.length) {
+            cells = Arrays.copyOf(cells, cells.length * 2);
+        }
+        cells[size * 2] = cx;
+        cells[size * 2 + 1] = cy;
+        size++;
+    }
+
+    // El A* agrega las celdas desde la meta hacia el origen
+    void reverse() {
+        for (int i = 0, j = size - 1; i < j; i++, j--) {
+            int cx = cells[i * 2];
+            int cy = cells[i * 2 + 1];
+            cells[i * 2] = cells[j * 2];
+            cells[i * 2 + 1] = cells[j * 2 + 1];
+            cells[j * 2] = cx;
+            cells[j * 2 + 1] = cy;
+        }
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public double getX(int index) {
+        return grid.toWorldX(cells[index * 2]);
+    }
+
+    public double getY(int index) {
+        return grid.toWorldY(cells[index * 2 + 1]);
+    }
+}
@@ -0,0 +1,221 @@
+package Engine;
+
+/*
+ * A* sobre una NavigationGrid con 8 vecinos (sin cortar esquinas) y heuristica octil.
+ * La lista abierta es un heap binario de indices de celda; g, padres, posiciones en el heap y
+ * marcas de visita son arreglos creados una sola vez por rejilla. Cada consulta solo incrementa
+ * la marca, asi varias entidades pueden pedir caminos cada frame sin generar basura.
+ */
+public class Navigation {
+
+    private static final float DIAGONAL = 1.4142135f;
+    private static final int NEAREST_SEARCH_RADIUS = 8;
+    private static final int[] DX = {1, -1, 0, 0, 1, 1, -1, -1};
+    private static final int[] DY = {0, 0, 1, -1, 1, -1, 1, -1};
+
+    private final NavigationGrid grid;
+    private final int cols;
+    private final float[] g;
+    private final float[] f;
+    private final int[] parent;
+    private final int[] seen;
+    private final int[] closed;
+    private final int[] heap;
+    private final int[] heapPos;
+    private int heapSize;
+    private int stamp = 0;
+
+    private int lastExpanded = 0;
+
+    public Navigation(NavigationGrid grid) {
+        this.grid = grid;
+        this.cols = grid.getCols();
+        int n = grid.getCols() * grid.getRows();
+        g = new float[n];
+        f = new float[n];
+        parent = new int[n];
+        seen = new int[n];
+        closed = new int[n];
+        heap = new int[n];
+        heapPos = new int[n];
+    }
+
+    public NavigationGrid getGrid() {
+        return grid;
+    }
+
+    // Posiciones en coordenadas del mundo (esquina superior izquierda del agente)
+    public boolean findPath(double fromX, double fromY, double toX, double toY, NavPath out) {
+        int start = nearestWalkable(grid.toCellX(fromX), grid.toCellY(fromY));
+        int goal = nearestWalkable(grid.toCellX(toX), grid.toCellY(toY));
+        out.reset(grid);
+
+        boolean found = false;
+        if (start >= 0 && goal >= 0) {
+            found = search(start, goal);
+            if (found) {
+                buildPath(start, goal, out);
+            }
+        }
+        return found;
+    }
+
+    // Celdas expandidas en la ultima consulta (para medir el costo)
+    public int getLastExpanded() {
+        return lastExpanded;
+    }
+
+    private boolean search(int start, int goal) {
+        stamp++;
+        heapSize = 0;
+        lastExpanded = 0;
+
+        int gx = goal % cols;
+        int gy = goal / cols;
+        open(start, -1, 0f, heuristic(start % cols, start / cols, gx, gy));
+
+        boolean found = false;
+        while (heapSize > 0 && !found) {
+            int current = pop();
+            closed[current] = stamp;
+            lastExpanded++;
+            if (current == goal) {
+                found = true;
+            } else {
+                expand(current, gx, gy);
+            }
+        }
+        return found;
+    }
+
+    private void expand(int current, int gx, int gy) {
+        int cx = current % cols;
+        int cy = current / cols;
+        for (int d = 0; d < 8; d++) {
+            int nx = cx + DX[d];
+            int ny = cy + DY[d];
+            boolean diagonal = d >= 4;
+            boolean walkable = grid.isWalkable(nx, ny)
+                    && (!diagonal || (grid.isWalkable(nx, cy) && grid.isWalkable(cx, ny)));
+            if (walkable) {
+                int next = ny * cols + nx;
+                if (closed[next] != stamp) {
+                    float cost = g[current] + (diagonal ? DIAGONAL : 1f);
+                    if (seen[next] != stamp) {
+                        open(next, current, cost, cost + heuristic(nx, ny, gx, gy));
+                    } else if (cost < g[next]) {
+                        g[next] = cost;
+                        f[next] = cost + heuristic(nx, ny, gx, gy);
+                        parent[next] = current;
+                        siftUp(heapPos[next]);
+                    }
+                }
+            }
+        }
+    }
+
+    // Agrega solo los puntos donde cambia la direccion del camino, mas el origen y la meta
+    private void buildPath(int start, int goal, NavPath out) {
+        int node = goal;
+        int lastDx = Integer.MIN_VALUE;
+        int lastDy = Integer.MIN_VALUE;
+        while (node != start) {
+            int prev = parent[node];
+            int dx = node % cols - prev % cols;
+            int dy = node / cols - prev / cols;
+            if (dx != lastDx || dy != lastDy) {
+                out.add(node % cols, node / cols);
+                lastDx = dx;
+                lastDy = dy;
+            }
+            node = prev;
+        }
+        out.add(start % cols, start / cols);
+        out.reverse();
+    }
+
+    private int nearestWalkable(int cx, int cy) {
+        int result = -1;
+        for (int r = 0; r <= NEAREST_SEARCH_RADIUS && result < 0; r++) {
+            for (int y = cy - r; y <= cy + r && result < 0; y++) {
+                for (int x = cx - r; x <= cx + r && result < 0; x++) {
+                    boolean onRing = Math.abs(x - cx) == r || Math.abs(y - cy) == r;
+                    if (onRing && grid.isWalkable(x, y)) {
+                        result = y * cols + x;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static float heuristic(int x, int y, int gx, int gy) {
+        int dx = Math.abs(x - gx);
+        int dy = Math.abs(y - gy);
+        return (dx + dy) + (DIAGONAL - 2f) * Math.min(dx, dy);
+    }
+
+    // ---------------- heap binario ----------------
+    private void open(int node, int from, float cost, float estimate) {
+        seen[node] = stamp;
+        g[node] = cost;
+        f[node] = estimate;
+        parent[node] = from;
+        heap[heapSize] = node;
+        heapPos[node] = heapSize;
+        heapSize++;
+        siftUp(heapSize - 1);
+    }
+
+    private int pop() {
+        int top = heap[0];
+        heapSize--;
+        if (heapSize > 0) {
+            heap[0] = heap[heapSize];
+            heapPos[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int index) {
+        int i = index;
+        int node = heap[i];
+        boolean placed = false;
+        while (i > 0 && !placed) {
+            int p = (i - 1) >> 1;
+            if (f[heap[p]] <= f[node]) {
+                placed = true;
+            } else {
+                heap[i] = heap[p];
+                heapPos[heap[i]] = i;
+                i = p;
+            }
+        }
+        heap[i] = node;
+        heapPos[node] = i;
+    }
+
+    private void siftDown(int index) {
+        int i = index;
+        int node = heap[i];
+        int half = heapSize >> 1;
+        boolean placed = false;
+        while (i < half && !placed) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < heapSize && f[heap[right]] < f[heap[child]]) {
+                child = right;
+            }
+            if (f[node] <= f[heap[child]]) {
+                placed = true;
+            } else {
+                heap[i] = heap[child];
+                heapPos[heap[i]] = i;
+                i = child;
+            }
+        }
+        heap[i] = node;
+        heapPos[node] = i;
+    }
+}
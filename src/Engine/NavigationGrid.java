@@ -0,0 +1,89 @@
+package Engine;
+
+/*
+ * Rejilla de transitabilidad en espacio de configuracion: la celda (cx, cy) representa al agente
+ * con su esquina superior izquierda en (cx * cellSize, cy * cellSize). Una celda queda bloqueada si
+ * el rectangulo del agente en esa posicion intersecta algun obstaculo (misma regla que
+ * Rectangle2D.intersects en los moveHero de las escenas).
+ */
+public class NavigationGrid {
+
+    private final double cellSize;
+    private final double agentW;
+    private final double agentH;
+    private final int cols;
+    private final int rows;
+    private final boolean[] blocked;
+
+    public NavigationGrid(double worldW, double worldH, double cellSize, double agentW, double agentH) {
+        this.cellSize = cellSize;
+        this.agentW = agentW;
+        this.agentH = agentH;
+        this.cols = Math.max(1, (int) Math.floor(Math.max(0, worldW - agentW) / cellSize) + 1);
+        this.rows = Math.max(1, (int) Math.floor(Math.max(0, worldH - agentH) / cellSize) + 1);
+        this.blocked = new boolean[cols * rows];
+    }
+
+    public void block(double x, double y, double w, double h) {
+        // Primera celda con cx * cellSize + agentW > x y ultima con cx * cellSize < x + w
+        int minCx = Math.max(0, (int) Math.floor((x - agentW) / cellSize) + 1);
+        int maxCx = Math.min(cols - 1, (int) Math.ceil((x + w) / cellSize) - 1);
+        int minCy = Math.max(0, (int) Math.floor((y - agentH) / cellSize) + 1);
+        int maxCy = Math.min(rows - 1, (int) Math.ceil((y + h) / cellSize) - 1);
+        for (int cy = minCy; cy <= maxCy; cy++) {
+            for (int cx = minCx; cx <= maxCx; cx++) {
+                blocked[cy * cols + cx] = true;
+            }
+        }
+    }
+
+    public boolean isWalkable(int cx, int cy) {
+        return cx >= 0 && cy >= 0 && cx < cols && cy < rows && !blocked[cy * cols + cx];
+    }
+
+    public int toCellX(double x) {
+        return clamp((int) Math.round(x / cellSize), cols);
+    }
+
+    public int toCellY(double y) {
+        return clamp((int) Math.round(y / cellSize), rows);
+    }
+
+    public double toWorldX(int cx) {
+        return cx * cellSize;
+    }
+
+    public double toWorldY(int cy) {
+        return cy * cellSize;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    public double getAgentW() {
+        return agentW;
+    }
+
+    public double getAgentH() {
+        return agentH;
+    }
+
+    private static int clamp(int v, int size) {
+        int result = v;
+        if (result < 0) {
+            result = 0;
+        } else if (result >= size) {
+            result = size - 1;
+        }
+        return result;
+    }
+}
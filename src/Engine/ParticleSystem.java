@@ -0,0 +1,296 @@
+package Engine;
+
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.effect.BlendMode;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+
+/*
+ * Particulas de efectos (golpes, hechizos, niebla, brasas) dibujadas en un Canvas del tamano de la
+ * vista. El estado de cada particula vive en arreglos primitivos de largo fijo creados una vez; una
+ * particula que muere se reemplaza por la ultima (sin huecos ni listas), y los colores de cada
+ * efecto con sus niveles de transparencia se calculan al cargar la clase. Emitir, avanzar y dibujar
+ * no crean objetos: con el pool lleno las particulas nuevas simplemente se descartan.
+ *
+ * Las coordenadas son las del mundo de la escena; draw recibe el desplazamiento de la camara.
+ */
+public final class ParticleSystem {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    // Niveles de transparencia precalculados por color
+    private static final int ALPHA_STEPS = 16;
+
+    /*
+     * Cada efecto: colores, rango de velocidad, vida y tamano, gravedad (positiva hacia abajo),
+     * frenado por segundo, alpha maximo, si aparece de a poco y si se suma a la luz del fondo.
+     */
+    public enum Preset {
+        HIT(new int[]{0xFFFFFF, 0xFFD54A, 0xFF8A1E, 0xE53935}, 120, 280, 0.25, 0.55, 2, 5, 420, 2.0, 1.0, false, true),
+        SPELL(new int[]{0xB388FF, 0x7C4DFF, 0x40C4FF, 0xFFFFFF}, 50, 170, 0.45, 0.95, 2, 6, -30, 1.5, 1.0, false, true),
+        HEAL(new int[]{0xB9F6CA, 0x69F0AE, 0x00E676, 0xFFFFFF}, 20, 70, 0.8, 1.3, 3, 6, -90, 0.8, 0.9, false, true),
+        FOG(new int[]{0xC8D6C0, 0xA9BCA4, 0x8FA58E}, 4, 16, 5.0, 9.0, 40, 90, 0, 0.0, 0.10, true, false),
+        EMBERS(new int[]{0xFFE082, 0xFFB300, 0xFF6D00, 0xDD2C00}, 10, 40, 1.8, 3.5, 1.5, 3.5, -35, 0.2, 0.95, true, true);
+
+        private final Color[] palette;
+        private final int colors;
+        private final double speedMin;
+        private final double speedMax;
+        private final double lifeMin;
+        private final double lifeMax;
+        private final double sizeMin;
+        private final double sizeMax;
+        private final double gravity;
+        private final double drag;
+        private final boolean fadeIn;
+        private final boolean additive;
+
+        Preset(int[] rgb, double speedMin, double speedMax, double lifeMin, double lifeMax,
+                double sizeMin, double sizeMax, double gravity, double drag, double maxAlpha,
+                boolean fadeIn, boolean additive) {
+            this.colors = rgb.length;
+            this.palette = new Color[rgb.length * ALPHA_STEPS];
+            for (int c = 0; c < rgb.length; c++) {
+                for (int a = 0; a < ALPHA_STEPS; a++) {
+                    double alpha = maxAlpha * (a + 1) / ALPHA_STEPS;
+                    palette[c * ALPHA_STEPS + a] = Color.rgb((rgb[c] >> 16) & 0xFF, (rgb[c] >> 8) & 0xFF, rgb[c] & 0xFF, alpha);
+                }
+            }
+            this.speedMin = speedMin;
+            this.speedMax = speedMax;
+            this.lifeMin = lifeMin;
+            this.lifeMax = lifeMax;
+            this.sizeMin = sizeMin;
+            this.sizeMax = sizeMax;
+            this.gravity = gravity;
+            this.drag = drag;
+            this.fadeIn = fadeIn;
+            this.additive = additive;
+        }
+    }
+
+    private static final Preset[] PRESETS = Preset.values();
+
+    private final int capacity;
+    private final double[] x;
+    private final double[] y;
+    private final double[] vx;
+    private final double[] vy;
+    private final double[] age;
+    private final double[] life;
+    private final double[] size;
+    private final byte[] preset;
+    private final byte[] color;
+    private int count = 0;
+
+    // Particulas de ambiente pendientes por efecto (fraccion acumulada entre pasos)
+    private final double[] ambientDebt = new double[PRESETS.length];
+
+    // Generador xorshift propio: Math.random comparte estado entre hilos y no hace falta aca
+    private long seed = 0x9E3779B97F4A7C15L;
+
+    private final Canvas canvas;
+    private final GraphicsContext gc;
+    private StackPane host = null;
+    private boolean dirty = false;
+
+    public ParticleSystem(double viewW, double viewH) {
+        this(viewW, viewH, DEFAULT_CAPACITY);
+    }
+
+    public ParticleSystem(double viewW, double viewH, int capacity) {
+        this.capacity = capacity;
+        x = new double[capacity];
+        y = new double[capacity];
+        vx = new double[capacity];
+        vy = new double[capacity];
+        age = new double[capacity];
+        life = new double[capacity];
+        size = new double[capacity];
+        preset = new byte[capacity];
+        color = new byte[capacity];
+        canvas = new Canvas(viewW, viewH);
+        canvas.setMouseTransparent(true);
+        gc = canvas.getGraphicsContext2D();
+    }
+
+    // Pone el Canvas en el contenedor justo encima de below (o arriba de todo si below no esta)
+    public void attach(StackPane target, Node below) {
+        if (host != target) {
+            detach();
+            host = target;
+            int index = target.getChildren().indexOf(below);
+            StackPane.setAlignment(canvas, Pos.TOP_LEFT);
+            target.getChildren().add(index >= 0 ? index + 1 : target.getChildren().size(), canvas);
+        }
+    }
+
+    public void detach() {
+        if (host != null) {
+            host.getChildren().remove(canvas);
+            host = null;
+        }
+    }
+
+    public Canvas getCanvas() {
+        return canvas;
+    }
+
+    // ---------------- emisores ----------------
+    // Estallido de amount particulas en todas direcciones desde (cx, cy)
+    public void burst(Preset p, double cx, double cy, int amount) {
+        for (int i = 0; i < amount; i++) {
+            double angle = random() * Math.PI * 2;
+            double speed = range(p.speedMin, p.speedMax);
+            spawn(p, cx + (random() - 0.5) * 8, cy + (random() - 0.5) * 8,
+                    Math.cos(angle) * speed, Math.sin(angle) * speed);
+        }
+    }
+
+    /*
+     * Efecto de ambiente sobre el rectangulo visible (coordenadas del mundo): perSecond particulas
+     * por segundo repartidas en el area. Las brasas nacen en la mitad de abajo y suben. Deja un cuarto
+     * del pool libre para los estallidos.
+     */
+    public void ambient(Preset p, double perSecond, double dt, double viewX, double viewY, double w, double h) {
+        int index = p.ordinal();
+        ambientDebt[index] += perSecond * dt;
+        int n = (int) ambientDebt[index];
+        ambientDebt[index] -= n;
+        int limit = capacity - capacity / 4;
+        for (int i = 0; i < n && count < limit; i++) {
+            double px = viewX + random() * w;
+            double py = p.gravity < 0 ? viewY + h * (0.5 + random() * 0.6) : viewY + random() * h;
+            double angle = random() * Math.PI * 2;
+            double speed = range(p.speedMin, p.speedMax);
+            spawn(p, px, py, Math.cos(angle) * speed, Math.sin(angle) * speed * 0.4);
+        }
+    }
+
+    private void spawn(Preset p, double px, double py, double pvx, double pvy) {
+        if (count < capacity) {
+            int i = count;
+            x[i] = px;
+            y[i] = py;
+            vx[i] = pvx;
+            vy[i] = pvy;
+            age[i] = 0;
+            life[i] = range(p.lifeMin, p.lifeMax);
+            size[i] = range(p.sizeMin, p.sizeMax);
+            preset[i] = (byte) p.ordinal();
+            color[i] = (byte) Math.min(p.colors - 1, (int) (random() * p.colors));
+            count++;
+        }
+    }
+
+    // ---------------- simulacion y dibujo ----------------
+    public void update(double dt) {
+        int i = 0;
+        while (i < count) {
+            age[i] += dt;
+            if (age[i] >= life[i]) {
+                count--;
+                copy(count, i);
+            } else {
+                Preset p = PRESETS[preset[i]];
+                double damping = Math.max(0, 1 - p.drag * dt);
+                vx[i] *= damping;
+                vy[i] = vy[i] * damping + p.gravity * dt;
+                x[i] += vx[i] * dt;
+                y[i] += vy[i] * dt;
+                i++;
+            }
+        }
+    }
+
+    /*
+     * Borra el Canvas y dibuja las particulas vivas restando la camara (offsetX, offsetY son el
+     * translate del mundo). Sin particulas el Canvas se borra una sola vez y despues no se toca.
+     */
+    public void draw(double offsetX, double offsetY) {
+        double w = canvas.getWidth();
+        double h = canvas.getHeight();
+        if (count > 0 || dirty) {
+            gc.clearRect(0, 0, w, h);
+            dirty = count > 0;
+        }
+        // Primero lo normal (niebla) y encima lo que suma luz
+        for (int pass = 0; pass < 2 && count > 0; pass++) {
+            boolean additive = pass == 1;
+            gc.setGlobalBlendMode(additive ? BlendMode.ADD : BlendMode.SRC_OVER);
+            Color fill = null;
+            for (int i = 0; i < count; i++) {
+                Preset p = PRESETS[preset[i]];
+                if (p.additive == additive) {
+                    double s = size[i];
+                    double px = x[i] + offsetX - s / 2;
+                    double py = y[i] + offsetY - s / 2;
+                    if (px + s >= 0 && py + s >= 0 && px <= w && py <= h) {
+                        Color c = p.palette[color[i] * ALPHA_STEPS + alphaStep(p, age[i] / life[i])];
+                        if (c != fill) {
+                            gc.setFill(c);
+                            fill = c;
+                        }
+                        if (s > 6) {
+                            gc.fillOval(px, py, s, s);
+                        } else {
+                            gc.fillRect(px, py, s, s);
+                        }
+                    }
+                }
+            }
+        }
+        gc.setGlobalBlendMode(BlendMode.SRC_OVER);
+    }
+
+    public void clear() {
+        count = 0;
+        for (int i = 0; i < ambientDebt.length; i++) {
+            ambientDebt[i] = 0;
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Se apaga hacia el final de la vida; la niebla y las brasas ademas aparecen de a poco
+    private static int alphaStep(Preset p, double t) {
+        double a = 1 - t;
+        if (p.fadeIn && t < 0.25) {
+            a = Math.min(a, t * 4);
+        }
+        return Math.max(0, Math.min(ALPHA_STEPS - 1, (int) (a * ALPHA_STEPS)));
+    }
+
+    private void copy(int from, int to) {
+        x[to] = x[from];
+        y[to] = y[from];
+        vx[to] = vx[from];
+        vy[to] = vy[from];
+        age[to] = age[from];
+        life[to] = life[from];
+        size[to] = size[from];
+        preset[to] = preset[from];
+        color[to] = color[from];
+    }
+
+    private double range(double min, double max) {
+        return min + random() * (max - min);
+    }
+
+    // Uniforme en [0, 1)
+    private double random() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+        return (seed >>> 11) * 0x1.0p-53;
+    }
+}
@@ -0,0 +1,249 @@
+package Engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Scale;
+import javafx.stage.Stage;
+
+/*
+ * Banco de pruebas de tiempo por cuadro: arbol de nodos contra CanvasWorldRenderer.
+ *
+ * Arma el mundo de los mapas mas grandes con sus recursos reales (fondo, colisiones de la geometria
+ * como rectangulos de debug, NPC del atlas y el heroe) y recorre la camara por todo el mapa durante
+ * N cuadros con cada backend. Informa el intervalo entre pulsos de JavaFX (incluye el dibujo real)
+ * y el costo de actualizar la camara y, con Canvas, de pintar el cuadro.
+ *
+ * Uso: java -Dprism.vsync=false -Djavafx.animation.fullspeed=true Engine.RenderBenchmark [escena|all] [cuadros]
+ * Sin vsync los pulsos no quedan topados a la frecuencia del monitor y las diferencias se ven.
+ */
+public class RenderBenchmark extends Application {
+
+    static final int DEFAULT_FRAMES = 900;
+    static final int WARMUP_FRAMES = 120;
+    static final double VIEW_W = 800;
+    static final double VIEW_H = 600;
+    static final int NPC_COUNT = 40;
+
+    private static final class Case {
+
+        final String name;
+        final String background;
+        final String geometry;
+        // {capa, ancho, alto} como las fusiona la escena
+        final String[][] layers;
+        final double scale;
+
+        Case(String name, String background, String geometry, String[][] layers, double scale) {
+            this.name = name;
+            this.background = background;
+            this.geometry = geometry;
+            this.layers = layers;
+            this.scale = scale;
+        }
+    }
+
+    private static final Case[] CASES = {
+        new Case("Swamp", "/Resources/textures/SwampDungeon/swampOutside.png", "/Resources/geometry/swamp.geo",
+        new String[][]{{"plants", "40", "40"}, {"toxic", "25", "25"}, {"swamp2", "30", "30"}}, 1.0),
+        // El mapa se prueba con el zoom del Ctrl+rueda para que la vista no lo cubra entero
+        new Case("GameMapScreen", "/Resources/textures/Main/map.png", null, new String[0][], 1.8)
+    };
+
+    private static final String[] NPC_SPRITES = {
+        "/Resources/sprites/NPC/cat.png", "/Resources/sprites/NPC/shopkeeper.png",
+        "/Resources/sprites/NPC/sideDog.png", "/Resources/sprites/NPC/morty.png", "/Resources/sprites/NPC/maya.png"
+    };
+
+    private final List<Runnable> runs = new ArrayList<>();
+    private int frames = DEFAULT_FRAMES;
+    private Stage stage;
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+
+    @Override
+    public void start(Stage primaryStage) {
+        stage = primaryStage;
+        List<String> args = getParameters().getRaw();
+        String only = args.size() > 0 ? args.get(0) : "all";
+        if (args.size() > 1) {
+            try {
+                frames = Math.max(60, Integer.parseInt(args.get(1)));
+            } catch (NumberFormatException ex) {
+                System.err.println("Cantidad de cuadros invalida: " + args.get(1));
+            }
+        }
+        for (Case c : CASES) {
+            if (only.equalsIgnoreCase("all") || only.equalsIgnoreCase(c.name)) {
+                runs.add(() -> run(c, false));
+                runs.add(() -> run(c, true));
+            }
+        }
+        if (runs.isEmpty()) {
+            System.err.println("Escena desconocida: " + only);
+        }
+        System.out.printf("%-14s %-7s %9s %9s %9s %11s %8s%n",
+                "escena", "backend", "medio ms", "p50 ms", "p99 ms", "actualiz ms", "dibujados");
+        next();
+    }
+
+    private void next() {
+        if (runs.isEmpty()) {
+            Platform.exit();
+        } else {
+            runs.remove(0).run();
+        }
+    }
+
+    private void run(Case c, boolean useCanvas) {
+        StackPane host = new StackPane();
+        host.setPrefSize(VIEW_W, VIEW_H);
+        TiledBackground tiles = TiledBackground.open(c.background);
+        Pane world = buildWorld(c, tiles);
+        Scale zoom = new Scale(c.scale, c.scale, 0, 0);
+        world.getTransforms().add(zoom);
+        host.getChildren().add(world);
+
+        CanvasWorldRenderer renderer = null;
+        if (useCanvas) {
+            renderer = new CanvasWorldRenderer(world, VIEW_W, VIEW_H);
+            renderer.attach(host);
+        }
+        stage.setScene(new Scene(host, VIEW_W, VIEW_H, Color.BLACK));
+        stage.setTitle("RenderBenchmark - " + c.name + (useCanvas ? " (canvas)" : " (nodos)"));
+        stage.show();
+
+        double rangeX = Math.max(0, world.getPrefWidth() * c.scale - VIEW_W);
+        double rangeY = Math.max(0, world.getPrefHeight() * c.scale - VIEW_H);
+        long[] intervals = new long[frames];
+        long[] updates = new long[frames];
+        CanvasWorldRenderer canvas = renderer;
+
+        new AnimationTimer() {
+            private int frame = 0;
+            private long last = 0;
+
+            @Override
+            public void handle(long now) {
+                long start = System.nanoTime();
+                // Recorrido tipo Lissajous: pasa por bordes y centro del mapa
+                double t = frame * 0.01;
+                double tx = -rangeX * (0.5 + 0.5 * Math.sin(t));
+                double ty = -rangeY * (0.5 + 0.5 * Math.sin(t * 1.3 + 0.7));
+                world.setTranslateX(tx);
+                world.setTranslateY(ty);
+                if (tiles != null) {
+                    tiles.update(-tx / c.scale, -ty / c.scale, VIEW_W / c.scale, VIEW_H / c.scale);
+                }
+                if (canvas != null) {
+                    canvas.draw();
+                }
+                long cost = System.nanoTime() - start;
+
+                int index = frame - WARMUP_FRAMES;
+                if (index >= 0 && index < frames) {
+                    intervals[index] = now - last;
+                    updates[index] = cost;
+                }
+                last = now;
+                frame++;
+                if (index + 1 >= frames) {
+                    stop();
+                    report(c.name, canvas != null ? "canvas" : "nodos", intervals, updates,
+                            canvas != null ? canvas.getDrawnCount() : world.getChildren().size());
+                    Platform.runLater(RenderBenchmark.this::next);
+                }
+            }
+        }.start();
+    }
+
+    // Con trozos (TiledBackground) el fondo se arma igual que en la escena; si no, imagen entera
+    private static Pane buildWorld(Case c, TiledBackground tiles) {
+        Pane world = new Pane();
+        double w;
+        double h;
+        if (tiles != null) {
+            w = tiles.getWidth();
+            h = tiles.getHeight();
+            world.getChildren().add(tiles.getNode());
+        } else {
+            Image bg = ImageCache.get(c.background);
+            w = bg != null && bg.getWidth() > 0 ? bg.getWidth() : VIEW_W;
+            h = bg != null && bg.getHeight() > 0 ? bg.getHeight() : VIEW_H;
+            ImageView background = new ImageView(bg);
+            background.setFitWidth(w);
+            background.setFitHeight(h);
+            world.getChildren().add(background);
+        }
+        world.setPrefSize(w, h);
+
+        if (c.geometry != null) {
+            SceneGeometry geo = SceneGeometryLoader.load(c.geometry);
+            for (String[] layer : c.layers) {
+                for (double[] r : geo.getMergedRects(layer[0], Double.parseDouble(layer[1]), Double.parseDouble(layer[2]))) {
+                    Rectangle rect = new Rectangle(r[0], r[1], r[2], r[3]);
+                    rect.setFill(Color.color(1, 0, 0, 0.25));
+                    rect.setStroke(Color.RED);
+                    rect.setMouseTransparent(true);
+                    world.getChildren().add(rect);
+                }
+            }
+        }
+
+        // NPC repartidos con semilla fija para que las corridas sean comparables
+        Random rnd = new Random(42);
+        for (int i = 0; i < NPC_COUNT; i++) {
+            ImageView npc = new ImageView();
+            SpriteAtlas.apply(npc, NPC_SPRITES[i % NPC_SPRITES.length]);
+            npc.setPreserveRatio(true);
+            npc.setFitWidth(60);
+            npc.setFitHeight(60);
+            npc.setLayoutX(rnd.nextDouble() * Math.max(1, w - 60));
+            npc.setLayoutY(rnd.nextDouble() * Math.max(1, h - 60));
+            world.getChildren().add(npc);
+        }
+
+        ImageView hero = new ImageView();
+        SpriteAtlas.apply(hero, "/Resources/sprites/hero/heroDown.png");
+        hero.setPreserveRatio(true);
+        hero.setFitWidth(48);
+        hero.setFitHeight(48);
+        hero.setLayoutX(w / 2);
+        hero.setLayoutY(h / 2);
+        world.getChildren().add(hero);
+        return world;
+    }
+
+    private static void report(String scene, String backend, long[] intervals, long[] updates, int drawn) {
+        System.out.printf("%-14s %-7s %9.3f %9.3f %9.3f %11.3f %8d%n", scene, backend,
+                mean(intervals) / 1e6, percentile(intervals, 0.50) / 1e6, percentile(intervals, 0.99) / 1e6,
+                mean(updates) / 1e6, drawn);
+    }
+
+    private static double mean(long[] values) {
+        double sum = 0;
+        for (long v : values) {
+            sum += v;
+        }
+        return values.length > 0 ? sum / values.length : 0;
+    }
+
+    private static double percentile(long[] values, double p) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted.length > 0 ? sorted[Math.min(sorted.length - 1, (int) Math.floor(p * sorted.length))] : 0;
+    }
+}
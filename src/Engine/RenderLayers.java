@@ -0,0 +1,179 @@
+package Engine;
+
+import java.util.Arrays;
+import javafx.collections.ObservableList;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+
+/*
+ * Capas de dibujo del mundo de una escena, de atras hacia adelante:
+ *
+ *     BACKGROUND  fondos
+ *     DECOR       decoracion del suelo
+ *     (nodos agregados directo al mundo por la escena: fondo, zonas, rectangulos de debug...)
+ *     ACTORS      heroe, NPC y monstruos, ordenados por la Y de los pies
+ *     OVERLAY     indicadores y textos sobre los actores
+ *
+ * Los actores se mantienen ordenados por el borde inferior de sus bounds. sort() recorre la lista
+ * una vez comparando vecinos y solo mueve un nodo cuando su clave cruza la del vecino, asi con
+ * todos quietos (o moviendose sin cruzarse) no se toca la lista de hijos. Antes cada escena llamaba
+ * toFront() sobre el heroe y cada NPC, lo que reordenaba la lista del mundo entera una y otra vez.
+ */
+public final class RenderLayers {
+
+    public enum Layer {
+        BACKGROUND, DECOR, ACTORS, OVERLAY
+    }
+
+    private final Pane world;
+    private final Group background = layerGroup();
+    private final Group decor = layerGroup();
+    private final Group actors = layerGroup();
+    private final Group overlay = layerGroup();
+
+    // Claves de orden de los actores, en el mismo orden que actors.getChildren()
+    private double[] keys = new double[16];
+    private long swaps = 0;
+
+    public RenderLayers(Pane world) {
+        this.world = world;
+        restack();
+    }
+
+    private static Group layerGroup() {
+        Group g = new Group();
+        g.setManaged(false);
+        return g;
+    }
+
+    public Group getLayer(Layer layer) {
+        Group g;
+        switch (layer) {
+            case BACKGROUND -> g = background;
+            case DECOR -> g = decor;
+            case ACTORS -> g = actors;
+            default -> g = overlay;
+        }
+        return g;
+    }
+
+    public void add(Layer layer, Node node) {
+        if (layer == Layer.ACTORS) {
+            addActor(node);
+        } else {
+            Group g = getLayer(layer);
+            if (node.getParent() != g) {
+                g.getChildren().add(node);
+            }
+        }
+    }
+
+    // Inserta el actor en su lugar segun la Y de sus pies (si ya estaba no hace nada)
+    public void addActor(Node node) {
+        if (node != null && node.getParent() != actors) {
+            ObservableList<Node> children = actors.getChildren();
+            double key = keyOf(node);
+            int index = 0;
+            int n = children.size();
+            while (index < n && keys[index] <= key) {
+                index++;
+            }
+            if (n == keys.length) {
+                keys = Arrays.copyOf(keys, n * 2);
+            }
+            System.arraycopy(keys, index, keys, index + 1, n - index);
+            keys[index] = key;
+            children.add(index, node);
+        }
+    }
+
+    public void remove(Node node) {
+        if (node != null && node.getParent() != null) {
+            if (node.getParent() == actors) {
+                int index = actors.getChildren().indexOf(node);
+                int n = actors.getChildren().size();
+                System.arraycopy(keys, index + 1, keys, index, n - index - 1);
+                actors.getChildren().remove(index);
+            } else if (node.getParent() == background || node.getParent() == decor || node.getParent() == overlay) {
+                ((Group) node.getParent()).getChildren().remove(node);
+            }
+        }
+    }
+
+    // Saca todos los actores menos keep (el heroe, al reusar la escena)
+    public void clearActors(Node keep) {
+        boolean kept = keep != null && keep.getParent() == actors;
+        actors.getChildren().clear();
+        if (kept) {
+            actors.getChildren().add(keep);
+            keys[0] = keyOf(keep);
+        }
+    }
+
+    /*
+     * Vuelve a poner las capas en su lugar dentro del mundo: tras world.getChildren().clear() o
+     * despues de que la escena agregue nodos sueltos que quedaron encima de los actores. Si ya estan
+     * en orden solo mira los extremos de la lista.
+     */
+    public void restack() {
+        ObservableList<Node> children = world.getChildren();
+        int n = children.size();
+        boolean bottomOk = n >= 2 && children.get(0) == background && children.get(1) == decor;
+        boolean topOk = n >= 4 && children.get(n - 2) == actors && children.get(n - 1) == overlay;
+        if (!bottomOk) {
+            children.remove(background);
+            children.remove(decor);
+            children.add(0, background);
+            children.add(1, decor);
+        }
+        if (!topOk) {
+            children.remove(actors);
+            children.remove(overlay);
+            children.add(actors);
+            children.add(overlay);
+        }
+    }
+
+    /*
+     * Reordena los actores que se cruzaron en Y (insercion sobre una lista casi ordenada: sin cruces
+     * es una sola pasada de comparaciones). Se llama una vez por frame, despues de mover a todos.
+     */
+    public void sort() {
+        ObservableList<Node> children = actors.getChildren();
+        int n = children.size();
+        if (n > keys.length) {
+            keys = Arrays.copyOf(keys, n * 2);
+        }
+        for (int i = 0; i < n; i++) {
+            keys[i] = keyOf(children.get(i));
+        }
+        for (int i = 1; i < n; i++) {
+            double key = keys[i];
+            int j = i;
+            while (j > 0 && keys[j - 1] > key) {
+                keys[j] = keys[j - 1];
+                j--;
+            }
+            if (j != i) {
+                keys[j] = key;
+                Node moved = children.remove(i);
+                children.add(j, moved);
+                swaps++;
+            }
+        }
+    }
+
+    public int getActorCount() {
+        return actors.getChildren().size();
+    }
+
+    // Movimientos de nodos hechos por sort() desde que se creo
+    public long getSwaps() {
+        return swaps;
+    }
+
+    private static double keyOf(Node node) {
+        return node.getBoundsInParent().getMaxY();
+    }
+}
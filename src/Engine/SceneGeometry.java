@@ -0,0 +1,130 @@
+package Engine;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class SceneGeometry {
+
+    // Cada capa guarda sus valores en un solo arreglo plano: stride 2 = puntos (x, y), stride 4 = rectangulos (x, y, w, h)
+    public static class Layer {
+
+        private final String name;
+        private final int stride;
+        private final float[] values;
+
+        public Layer(String name, int stride, float[] values) {
+            this.name = name;
+            this.stride = stride;
+            this.values = values;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getStride() {
+            return stride;
+        }
+
+        public int size() {
+            return values.length / stride;
+        }
+
+        public double get(int index, int component) {
+            return values[index * stride + component];
+        }
+
+        float[] getValues() {
+            return values;
+        }
+    }
+
+    private final Map<String, Layer> layers = new LinkedHashMap<>();
+    private final Map<String, double[][]> mergedRects = new HashMap<>();
+    private String source = "";
+    private int savedCollisionTests = 0;
+    // Rectangulos antes y despues de compactar, por capa y tamano ({antes, despues})
+    private final Map<String, int[]> mergeCounts = new LinkedHashMap<>();
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public void addLayer(Layer layer) {
+        if (layer != null) {
+            layers.put(layer.getName(), layer);
+        }
+    }
+
+    public Layer getLayer(String name) {
+        return layers.get(name);
+    }
+
+    public Set<String> getLayerNames() {
+        return Collections.unmodifiableSet(layers.keySet());
+    }
+
+    // Devuelve la capa con la misma forma que tenian los arreglos literales de las escenas ({x, y} o {x, y, w, h})
+    public double[][] getPoints(String name) {
+        double[][] points = new double[0][];
+        Layer layer = layers.get(name);
+        if (layer != null) {
+            points = new double[layer.size()][layer.getStride()];
+            for (int i = 0; i < points.length; i++) {
+                for (int c = 0; c < layer.getStride(); c++) {
+                    points[i][c] = layer.get(i, c);
+                }
+            }
+        }
+        return points;
+    }
+
+    // Rectangulos {x, y, w, h} de la capa ya compactados; los puntos sin tamano usan w x h
+    public synchronized double[][] getMergedRects(String name, double w, double h) {
+        String key = name + "@" + w + "x" + h;
+        double[][] merged = mergedRects.get(key);
+        if (merged == null) {
+            double[][] points = getPoints(name);
+            double[][] rects = new double[points.length][];
+            for (int i = 0; i < points.length; i++) {
+                double[] p = points[i];
+                rects[i] = p.length == 4 ? p : new double[]{p[0], p[1], w, h};
+            }
+            merged = GeometryCompactor.merge(rects);
+            mergedRects.put(key, merged);
+
+            savedCollisionTests += rects.length - merged.length;
+            mergeCounts.put(key, new int[]{rects.length, merged.length});
+        }
+        return merged;
+    }
+
+    // Pruebas de colision por frame ahorradas entre todas las capas compactadas de esta escena
+    public synchronized int getSavedCollisionTests() {
+        return savedCollisionTests;
+    }
+
+    // Una linea por capa compactada: "capa@WxH: antes -> despues rectangulos"
+    public synchronized String getMergeStats() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, int[]> e : mergeCounts.entrySet()) {
+            if (sb.length() > 0) {
+                sb.append('\n');
+            }
+            sb.append("Geometria ").append(source).append(" [").append(e.getKey()).append("]: ")
+                    .append(e.getValue()[0]).append(" -> ").append(e.getValue()[1]).append(" rectangulos");
+        }
+        return sb.toString();
+    }
+
+    public boolean isEmpty() {
+        return layers.isEmpty();
+    }
+}
@@ -0,0 +1,100 @@
+package Engine;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * Formato binario de geometria de escena (.geo), big-endian:
+ *   int   MAGIC ("SGEO")
+ *   short VERSION
+ *   short numero de capas
+ *   por capa: UTF nombre, byte stride (2 o 4), int numero de valores, float[] valores
+ *
+ * Los archivos se generan con SceneGeometryWriter a partir de assets/geometry/*.txt
+ */
+public final class SceneGeometryLoader {
+
+    public static final int MAGIC = 0x5347454F;
+    public static final short VERSION = 1;
+
+    private static final Map<String, SceneGeometry> cache = new HashMap<>();
+
+    private SceneGeometryLoader() {
+    }
+
+    // Carga bajo demanda la geometria de una escena; la primera lectura queda cacheada por ruta
+    public static synchronized SceneGeometry load(String resourcePath) {
+        SceneGeometry geometry = cache.get(resourcePath);
+        if (geometry == null) {
+            geometry = new SceneGeometry();
+            try (InputStream in = SceneGeometryLoader.class.getResourceAsStream(resourcePath)) {
+                if (in != null) {
+                    geometry = read(in);
+                    geometry.setSource(resourcePath);
+                } else {
+                    System.err.println("No se encontro la geometria de escena: " + resourcePath);
+                }
+            } catch (IOException e) {
+                System.err.println("Error al leer la geometria " + resourcePath + ": " + e.getMessage());
+            }
+            cache.put(resourcePath, geometry);
+        }
+        return geometry;
+    }
+
+    // Compactacion de todas las geometrias cargadas (ver SceneGeometry.getMergeStats)
+    public static synchronized String getStats() {
+        StringBuilder sb = new StringBuilder();
+        for (SceneGeometry geometry : cache.values()) {
+            String stats = geometry.getMergeStats();
+            if (!stats.isEmpty()) {
+                if (sb.length() > 0) {
+                    sb.append('\n');
+                }
+                sb.append(stats);
+            }
+        }
+        return sb.toString();
+    }
+
+    // true si la geometria ya esta en cache (la proxima load() no lee el recurso)
+    public static synchronized boolean isLoaded(String resourcePath) {
+        return cache.containsKey(resourcePath);
+    }
+
+    public static SceneGeometry read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Cabecera de geometria invalida");
+        }
+        short version = data.readShort();
+        if (version != VERSION) {
+            throw new IOException("Version de geometria no soportada: " + version);
+        }
+
+        SceneGeometry geometry = new SceneGeometry();
+        int layerCount = data.readShort();
+        for (int l = 0; l < layerCount; l++) {
+            String name = data.readUTF();
+            int stride = data.readByte();
+            int count = data.readInt();
+            if (stride != 2 && stride != 4) {
+                throw new IOException("Stride invalido en la capa " + name + ": " + stride);
+            }
+            float[] values = new float[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = data.readFloat();
+            }
+            geometry.addLayer(new SceneGeometry.Layer(name, stride, values));
+        }
+        return geometry;
+    }
+
+    public static synchronized void clearCache() {
+        cache.clear();
+    }
+}
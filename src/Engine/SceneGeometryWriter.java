@@ -0,0 +1,112 @@
+package Engine;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Herramienta de autoria: convierte las fuentes de texto de assets/geometry en los .geo binarios.
+ *
+ * Formato de texto:
+ *   # comentario
+ *   layer <nombre> <stride>
+ *   x y          (stride 2)
+ *   x y w h      (stride 4)
+ *
+ * Uso: java Engine.SceneGeometryWriter assets/geometry src/Resources/geometry
+ */
+public final class SceneGeometryWriter {
+
+    private SceneGeometryWriter() {
+    }
+
+    public static void write(SceneGeometry geometry, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(SceneGeometryLoader.MAGIC);
+        data.writeShort(SceneGeometryLoader.VERSION);
+        data.writeShort(geometry.getLayerNames().size());
+        for (String name : geometry.getLayerNames()) {
+            SceneGeometry.Layer layer = geometry.getLayer(name);
+            float[] values = layer.getValues();
+            data.writeUTF(name);
+            data.writeByte(layer.getStride());
+            data.writeInt(values.length);
+            for (float v : values) {
+                data.writeFloat(v);
+            }
+        }
+        data.flush();
+    }
+
+    public static SceneGeometry parseText(File source) throws IOException {
+        SceneGeometry geometry = new SceneGeometry();
+        try (BufferedReader reader = new BufferedReader(new FileReader(source))) {
+            String name = null;
+            int stride = 2;
+            List<Float> values = new ArrayList<>();
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\\s+");
+                if (parts[0].equals("layer")) {
+                    geometry.addLayer(toLayer(name, stride, values));
+                    name = parts[1];
+                    stride = parts.length > 2 ? Integer.parseInt(parts[2]) : 2;
+                    values = new ArrayList<>();
+                } else {
+                    if (name == null || parts.length != stride) {
+                        throw new IOException(source.getName() + ":" + lineNumber + ": se esperaban " + stride + " valores");
+                    }
+                    for (String p : parts) {
+                        values.add(Float.parseFloat(p));
+                    }
+                }
+            }
+            geometry.addLayer(toLayer(name, stride, values));
+        }
+        return geometry;
+    }
+
+    private static SceneGeometry.Layer toLayer(String name, int stride, List<Float> values) {
+        SceneGeometry.Layer layer = null;
+        if (name != null) {
+            float[] array = new float[values.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = values.get(i);
+            }
+            layer = new SceneGeometry.Layer(name, stride, array);
+        }
+        return layer;
+    }
+
+    public static void main(String[] args) throws IOException {
+        File sourceDir = new File(args.length > 0 ? args[0] : "assets/geometry");
+        File targetDir = new File(args.length > 1 ? args[1] : "src/Resources/geometry");
+        targetDir.mkdirs();
+
+        File[] sources = sourceDir.listFiles((dir, n) -> n.endsWith(".txt"));
+        if (sources != null) {
+            for (File source : sources) {
+                SceneGeometry geometry = parseText(source);
+                String baseName = source.getName().substring(0, source.getName().length() - 4);
+                File target = new File(targetDir, baseName + ".geo");
+                try (OutputStream out = new FileOutputStream(target)) {
+                    write(geometry, out);
+                }
+                System.out.println(source.getName() + " -> " + target.getPath() + " (" + target.length() + " bytes)");
+            }
+        }
+    }
+}
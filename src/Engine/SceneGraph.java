@@ -0,0 +1,118 @@
+package Engine;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Grafo de escenas leido de /Resources/scenes.txt: que recursos necesita cada escena al entrar y a
+ * que escenas vecinas llevan sus zonas de salida. Las escenas arman su lote de carga desde aqui y
+ * ScenePrefetcher lo usa para calentar las caches de la escena siguiente antes de llegar a la salida.
+ */
+public final class SceneGraph {
+
+    public static final String RESOURCE = "/Resources/scenes.txt";
+
+    private static final class Node {
+
+        // {tipo, ruta} en el orden del archivo
+        final List<String[]> assets = new ArrayList<>();
+        final List<String> links = new ArrayList<>();
+        final Map<String, String> zoneTargets = new HashMap<>();
+    }
+
+    private static final Map<String, Node> nodes = new LinkedHashMap<>();
+    private static boolean loaded = false;
+
+    private SceneGraph() {
+    }
+
+    public static boolean contains(String scene) {
+        return node(scene) != null;
+    }
+
+    // Lote con todos los recursos de la escena (vacio si la escena no esta en el grafo)
+    public static AssetLoader.Batch batch(String scene) {
+        AssetLoader.Batch batch = AssetLoader.batch();
+        Node node = node(scene);
+        if (node != null) {
+            for (String[] asset : node.assets) {
+                switch (asset[0]) {
+                    case "image" -> batch.image(asset[1]);
+                    case "media" -> batch.media(asset[1]);
+                    case "geometry" -> batch.geometry(asset[1]);
+                    case "sprite" -> batch.sprite(asset[1]);
+                    default -> {
+                    }
+                }
+            }
+        } else {
+            System.err.println("Escena sin entrada en el grafo: " + scene);
+        }
+        return batch;
+    }
+
+    public static List<String> getLinks(String scene) {
+        Node node = node(scene);
+        return node != null ? Collections.unmodifiableList(node.links) : Collections.emptyList();
+    }
+
+    // Escena a la que lleva la zona de salida, o null si la zona no esta ligada a ninguna
+    public static String getTarget(String scene, String zoneId) {
+        Node node = node(scene);
+        return node != null && zoneId != null ? node.zoneTargets.get(zoneId) : null;
+    }
+
+    private static synchronized Node node(String scene) {
+        if (!loaded) {
+            loaded = true;
+            load();
+        }
+        return nodes.get(scene);
+    }
+
+    private static void load() {
+        try (InputStream in = SceneGraph.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                System.err.println("Grafo de escenas no encontrado: " + RESOURCE);
+            } else {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+                Node current = null;
+                int lineNumber = 0;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    line = line.trim();
+                    if (!line.isEmpty() && !line.startsWith("#")) {
+                        // La ruta puede tener espacios ("Castle exterior.png"): va todo lo que sigue a la palabra clave
+                        int space = line.indexOf(' ');
+                        String keyword = space > 0 ? line.substring(0, space) : line;
+                        String rest = space > 0 ? line.substring(space + 1).trim() : "";
+                        if (keyword.equals("scene")) {
+                            current = nodes.computeIfAbsent(rest, k -> new Node());
+                        } else if (current == null || rest.isEmpty()) {
+                            System.err.println(RESOURCE + ":" + lineNumber + ": linea fuera de una escena");
+                        } else if (keyword.equals("link")) {
+                            String[] parts = rest.split("\\s+");
+                            current.links.add(parts[0]);
+                            for (int i = 1; i < parts.length; i++) {
+                                current.zoneTargets.put(parts[i], parts[0]);
+                            }
+                        } else {
+                            current.assets.add(new String[]{keyword, rest});
+                        }
+                    }
+                }
+            }
+        } catch (Throwable t) {
+            System.err.println("Error leyendo el grafo de escenas: " + t.getMessage());
+        }
+    }
+}
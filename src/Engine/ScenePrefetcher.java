@@ -0,0 +1,80 @@
+package Engine;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/*
+ * Precarga de la escena siguiente. Cada zona de salida vigilada se agranda en el margen y se
+ * registra en un TriggerSystem propio; cuando el heroe entra a ese borde se lanza en segundo plano
+ * el lote de la escena vecina (segun SceneGraph). Al cruzar la salida todo ya esta en cache y la
+ * escena nueva se arma sin mostrar la pantalla de carga.
+ */
+public class ScenePrefetcher {
+
+    public static final double DEFAULT_MARGIN = 240;
+
+    private final String scene;
+    private final double margin;
+    private final TriggerSystem zones = new TriggerSystem(128);
+    // Escenas con un lote en vuelo, para no encolar la misma dos veces
+    private final Set<String> loading = new HashSet<>();
+    private int prefetches = 0;
+
+    public ScenePrefetcher(String scene) {
+        this(scene, DEFAULT_MARGIN);
+    }
+
+    public ScenePrefetcher(String scene, double margin) {
+        this.scene = scene;
+        this.margin = margin;
+    }
+
+    // Vigila la zona de salida con ese id, reemplazando a la anterior con el mismo id
+    public boolean watch(String zoneId, double x, double y, double w, double h) {
+        unwatch(zoneId);
+        return addZone(zoneId, x, y, w, h);
+    }
+
+    /*
+     * Agrega otra zona con ese id sin quitar las anteriores (varias entradas a la misma escena). Si el
+     * grafo no liga la zona a ninguna escena no se registra nada y devuelve false.
+     */
+    public boolean addZone(String zoneId, double x, double y, double w, double h) {
+        String target = SceneGraph.getTarget(scene, zoneId);
+        if (target != null) {
+            zones.addTrigger(zoneId, zoneId, x - margin, y - margin, w + margin * 2, h + margin * 2, (t, event) -> {
+                if (event == TriggerSystem.TriggerEvent.ENTER) {
+                    prefetch(target);
+                }
+            });
+        }
+        return target != null;
+    }
+
+    public void unwatch(String zoneId) {
+        if (zoneId != null) {
+            zones.removeByTag(zoneId);
+        }
+    }
+
+    public void clear() {
+        zones.clear();
+    }
+
+    // Rectangulo del heroe en coordenadas del mundo; sin costo mientras no cambie de celdas
+    public void update(double x, double y, double w, double h) {
+        zones.update(x, y, w, h);
+    }
+
+    public void prefetch(String target) {
+        AssetLoader.Batch batch = SceneGraph.batch(target);
+        if (!batch.isReady() && loading.add(target)) {
+            prefetches++;
+            batch.start(null, () -> loading.remove(target));
+        }
+    }
+
+    public int getPrefetchCount() {
+        return prefetches;
+    }
+}
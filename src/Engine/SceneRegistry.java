@@ -0,0 +1,139 @@
+package Engine;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/*
+ * Pool acotado de escenas ya construidas. Construir una escena arma su arbol de nodos, sus listas de
+ * obstaculos y sus manejadores de entrada; al volver a una aldea ya visitada basta con reiniciar su
+ * estado (Reusable.resetForReuse) en lugar de reconstruirla.
+ *
+ * Las escenas mas recientes se guardan con referencia fuerte (hasta maxScenes, orden LRU). Las que
+ * salen de ese grupo, o todas menos la ultima cuando el heap pasa de PRESSURE, quedan solo como
+ * SoftReference: se reutilizan si siguen vivas y el GC las libera si necesita memoria.
+ * Cada escena pertenece a una partida (owner); si cambia la partida el pool se vacia.
+ */
+public final class SceneRegistry {
+
+    public interface Reusable {
+
+        // Deja la escena como recien construida antes de volver a mostrarla
+        void resetForReuse();
+    }
+
+    public static final int DEFAULT_MAX_SCENES = 5;
+    // Fraccion del heap maximo a partir de la cual se sueltan las escenas frias
+    public static final double PRESSURE = 0.80;
+
+    // accessOrder = true: el primero es el menos usado
+    private static final LinkedHashMap<Class<?>, Reusable> hot = new LinkedHashMap<>(16, 0.75f, true);
+    private static final Map<Class<?>, SoftReference<Reusable>> cold = new HashMap<>();
+    private static Object owner = null;
+    private static int maxScenes = DEFAULT_MAX_SCENES;
+
+    private static int created = 0;
+    private static int reused = 0;
+    private static int evicted = 0;
+
+    private SceneRegistry() {
+    }
+
+    /*
+     * Escena del tipo pedido para la partida: la del pool reiniciada o una nueva del factory. La
+     * escena queda como la mas reciente del pool.
+     */
+    public static synchronized <T extends Reusable> T obtain(Object gameOwner, Class<T> type, Supplier<T> factory) {
+        if (owner != gameOwner) {
+            clear();
+            owner = gameOwner;
+        }
+        Reusable scene = hot.get(type);
+        if (scene == null) {
+            SoftReference<Reusable> ref = cold.remove(type);
+            scene = ref != null ? ref.get() : null;
+        }
+
+        T result;
+        if (scene != null) {
+            result = type.cast(scene);
+            try {
+                result.resetForReuse();
+                reused++;
+            } catch (Throwable t) {
+                // Una escena que no se pudo reiniciar no se arriesga: se construye otra
+                System.err.println("No se pudo reiniciar la escena " + type.getSimpleName() + ": " + t.getMessage());
+                result = factory.get();
+                created++;
+            }
+        } else {
+            result = factory.get();
+            created++;
+        }
+        hot.put(type, result);
+        trim();
+        return result;
+    }
+
+    // Demueve a referencia suave lo que sobre del limite o, con el heap bajo presion, todo menos la ultima
+    public static synchronized void trim() {
+        int keep = underPressure() ? 1 : maxScenes;
+        Iterator<Map.Entry<Class<?>, Reusable>> it = hot.entrySet().iterator();
+        while (hot.size() > keep && it.hasNext()) {
+            Map.Entry<Class<?>, Reusable> e = it.next();
+            cold.put(e.getKey(), new SoftReference<>(e.getValue()));
+            it.remove();
+            evicted++;
+        }
+        cold.values().removeIf(ref -> ref.get() == null);
+    }
+
+    public static synchronized void evict(Class<?> type) {
+        hot.remove(type);
+        cold.remove(type);
+    }
+
+    public static synchronized void clear() {
+        hot.clear();
+        cold.clear();
+    }
+
+    public static synchronized void setMaxScenes(int max) {
+        maxScenes = Math.max(1, max);
+        trim();
+    }
+
+    public static synchronized int getMaxScenes() {
+        return maxScenes;
+    }
+
+    // Tipos de escena en el pool, de la menos a la mas reciente (las frias al final)
+    public static synchronized List<String> getPooledScenes() {
+        List<String> names = new ArrayList<>();
+        for (Class<?> type : hot.keySet()) {
+            names.add(type.getSimpleName());
+        }
+        for (Map.Entry<Class<?>, SoftReference<Reusable>> e : cold.entrySet()) {
+            if (e.getValue().get() != null) {
+                names.add(e.getKey().getSimpleName() + " (fria)");
+            }
+        }
+        return names;
+    }
+
+    public static synchronized String getStats() {
+        return "Escenas: " + created + " construidas, " + reused + " reutilizadas, " + evicted
+                + " enfriadas, " + hot.size() + " en el pool";
+    }
+
+    private static boolean underPressure() {
+        Runtime rt = Runtime.getRuntime();
+        long used = rt.totalMemory() - rt.freeMemory();
+        return used > rt.maxMemory() * PRESSURE;
+    }
+}
@@ -0,0 +1,178 @@
+package Engine;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+
+/*
+ * Atlas de sprites en tiempo de ejecucion. Lee los manifiestos que genera AtlasPacker y resuelve
+ * la ruta logica de un sprite ("/Resources/sprites/hero/heroUp.png") a su hoja y su rectangulo.
+ * Todas las vistas de una hoja comparten la misma Image (una sola textura); cambiar de sprite es
+ * solo cambiar el viewport. Las rutas que no estan en ningun atlas se cargan sueltas por ImageCache.
+ */
+public final class SpriteAtlas {
+
+    public static final String INDEX = "/Resources/atlas/index.txt";
+
+    public static final class Region {
+
+        private final String page;
+        private final Rectangle2D viewport;
+
+        Region(String page, Rectangle2D viewport) {
+            this.page = page;
+            this.viewport = viewport;
+        }
+
+        public String getPage() {
+            return page;
+        }
+
+        public Rectangle2D getViewport() {
+            return viewport;
+        }
+    }
+
+    private static final Map<String, Region> regions = new HashMap<>();
+    private static final Set<String> pages = new HashSet<>();
+    private static boolean loaded = false;
+
+    private SpriteAtlas() {
+    }
+
+    // Region del sprite o null si la ruta no esta empaquetada
+    public static Region find(String path) {
+        ensureLoaded();
+        synchronized (SpriteAtlas.class) {
+            return path != null ? regions.get(path) : null;
+        }
+    }
+
+    public static boolean contains(String path) {
+        return find(path) != null;
+    }
+
+    /*
+     * Muestra el sprite en la vista: la hoja compartida con su viewport si esta en un atlas, o la
+     * imagen suelta sin viewport si no. Devuelve false si no hubo imagen que mostrar.
+     */
+    public static boolean apply(ImageView view, String path) {
+        Image img = null;
+        Rectangle2D viewport = null;
+        Region region = find(path);
+        if (region != null) {
+            img = ImageCache.get(region.page);
+            viewport = region.viewport;
+        }
+        if (img == null) {
+            img = ImageCache.get(path);
+            viewport = null;
+        }
+        // Primero se limpia el viewport: con la imagen nueva el anterior podria quedar fuera de rango
+        if (view.getImage() != img) {
+            view.setViewport(null);
+            view.setImage(img);
+        }
+        view.setViewport(viewport);
+        return img != null;
+    }
+
+    /*
+     * El sprite como imagen propia (un recorte de la hoja guardado en ImageCache), para quien no
+     * puede usar un viewport. Los originales empaquetados no se distribuyen sueltos (estan en assets/).
+     */
+    public static Image getImage(String path) {
+        Image img = null;
+        Region region = find(path);
+        if (region != null) {
+            Image page = ImageCache.get(region.page);
+            if (page != null) {
+                Rectangle2D v = region.viewport;
+                img = ImageCache.derived(path, () -> new WritableImage(page.getPixelReader(),
+                        (int) v.getMinX(), (int) v.getMinY(), (int) v.getWidth(), (int) v.getHeight()));
+            }
+        } else {
+            img = ImageCache.get(path);
+        }
+        return img;
+    }
+
+    // Imagen de la hoja que contiene el sprite (o la suelta); para precargar
+    public static Image getPageImage(String path) {
+        Region region = find(path);
+        return ImageCache.get(region != null ? region.page : path);
+    }
+
+    public static synchronized int getSpriteCount() {
+        return regions.size();
+    }
+
+    public static synchronized int getPageCount() {
+        return pages.size();
+    }
+
+    private static void ensureLoaded() {
+        synchronized (SpriteAtlas.class) {
+            if (!loaded) {
+                loaded = true;
+                for (String manifest : readLines(INDEX)) {
+                    loadManifest(manifest);
+                }
+            }
+        }
+    }
+
+    private static void loadManifest(String resource) {
+        String page = null;
+        for (String line : readLines(resource)) {
+            String[] parts = line.split("\\s+");
+            try {
+                if (parts[0].equals("page") && parts.length == 2) {
+                    page = parts[1];
+                    pages.add(page);
+                } else if (parts.length == 5 && page != null) {
+                    Rectangle2D viewport = new Rectangle2D(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]),
+                            Double.parseDouble(parts[3]), Double.parseDouble(parts[4]));
+                    regions.put(parts[0], new Region(page, viewport));
+                } else {
+                    System.err.println("Linea de atlas invalida en " + resource + ": " + line);
+                }
+            } catch (NumberFormatException ex) {
+                System.err.println("Linea de atlas invalida en " + resource + ": " + line);
+            }
+        }
+    }
+
+    // Lineas no vacias y sin comentarios del recurso de texto
+    private static List<String> readLines(String resource) {
+        List<String> lines = new ArrayList<>();
+        try (InputStream in = SpriteAtlas.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                System.err.println("Recurso de atlas no encontrado: " + resource);
+            } else {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String trimmed = line.trim();
+                    if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                        lines.add(trimmed);
+                    }
+                }
+            }
+        } catch (Throwable t) {
+            System.err.println("Error leyendo " + resource + ": " + t.getMessage());
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,150 @@
+package Engine;
+
+import GUI.Theme;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+
+/*
+ * Banco de pruebas de CSS: filas de inventario con estilos en linea (setStyle) contra las mismas filas
+ * con clases de theme.css.
+ *
+ * "abrir" mide armar N filas y el primer applyCss + layout, como al abrir una pantalla. "seleccion"
+ * mide mover la fila seleccionada por toda la lista, con su applyCss por paso, como al recorrer el
+ * inventario con las flechas. Cada caso se repite y se informa la mediana y el p99.
+ *
+ * Uso: java Engine.StyleBenchmark [filas] [repeticiones]
+ */
+public class StyleBenchmark extends Application {
+
+    static final int DEFAULT_ROWS = 200;
+    static final int DEFAULT_REPEATS = 30;
+    static final int WARMUP = 5;
+
+    private static final String ROW = "-fx-background-color: rgba(255, 255, 255, 0.05); -fx-background-radius: 5; -fx-border-color: rgba(255, 255, 255, 0.1); -fx-border-radius: 5;";
+    private static final String ROW_SELECTED = ROW + " -fx-border-color: rgba(255,255,255,0.7); -fx-border-width: 2;";
+    private static final String NAME = "-fx-font-weight: bold; -fx-font-size: 14px; -fx-text-fill: white;";
+    private static final String DETAILS = "-fx-font-size: 12px; -fx-text-fill: #aaaaaa;";
+    private static final String BUTTON = "-fx-background-color: linear-gradient(to bottom, #3a7bd5, #00d2ff); -fx-text-fill: white; -fx-font-weight: bold; -fx-background-radius: 6; -fx-cursor: hand;";
+
+    private int rows = DEFAULT_ROWS;
+    private int repeats = DEFAULT_REPEATS;
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+
+    @Override
+    public void start(Stage stage) {
+        List<String> args = getParameters().getRaw();
+        try {
+            if (args.size() > 0) {
+                rows = Math.max(1, Integer.parseInt(args.get(0)));
+            }
+            if (args.size() > 1) {
+                repeats = Math.max(1, Integer.parseInt(args.get(1)));
+            }
+        } catch (NumberFormatException ex) {
+            System.err.println("Argumento invalido: " + ex.getMessage());
+        }
+        StackPane host = new StackPane();
+        stage.setScene(new Scene(host, 800, 600));
+        stage.show();
+
+        System.out.printf("%-8s %-10s %9s %9s%n", "estilo", "caso", "p50 ms", "p99 ms");
+        measure(host, false);
+        measure(host, true);
+        Platform.exit();
+    }
+
+    private void measure(StackPane host, boolean classes) {
+        long[] open = new long[repeats];
+        long[] select = new long[repeats];
+        for (int r = -WARMUP; r < repeats; r++) {
+            host.getChildren().clear();
+            host.getStylesheets().clear();
+            host.applyCss();
+
+            long start = System.nanoTime();
+            if (classes) {
+                Theme.apply(host);
+            }
+            VBox list = new VBox(8);
+            List<HBox> built = new ArrayList<>();
+            for (int i = 0; i < rows; i++) {
+                HBox row = buildRow("Item " + i, classes);
+                built.add(row);
+                list.getChildren().add(row);
+            }
+            host.getChildren().add(list);
+            host.applyCss();
+            host.layout();
+            long opened = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            HBox previous = null;
+            for (HBox row : built) {
+                if (previous != null) {
+                    setSelected(previous, false, classes);
+                }
+                setSelected(row, true, classes);
+                previous = row;
+                host.applyCss();
+            }
+            long moved = System.nanoTime() - start;
+
+            if (r >= 0) {
+                open[r] = opened;
+                select[r] = moved;
+            }
+        }
+        String style = classes ? "clases" : "en linea";
+        report(style, "abrir", open);
+        report(style, "seleccion", select);
+    }
+
+    private static HBox buildRow(String name, boolean classes) {
+        HBox row = new HBox(15);
+        Label nameLabel = new Label(name);
+        Label details = new Label("Attack: 10");
+        Button action = new Button("Equip");
+        if (classes) {
+            row.getStyleClass().add("item-row");
+            nameLabel.getStyleClass().add("item-name");
+            details.getStyleClass().add("item-details");
+            action.getStyleClass().add("primary-button");
+        } else {
+            row.setStyle(ROW);
+            nameLabel.setStyle(NAME);
+            details.setStyle(DETAILS);
+            action.setStyle(BUTTON);
+        }
+        row.getChildren().addAll(new VBox(2, nameLabel, details), action);
+        return row;
+    }
+
+    private static void setSelected(HBox row, boolean selected, boolean classes) {
+        if (classes) {
+            Theme.toggle(row, "selected", selected);
+        } else {
+            row.setStyle(selected ? ROW_SELECTED : ROW);
+        }
+    }
+
+    private static void report(String style, String name, long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        double p50 = sorted[Math.min(sorted.length - 1, (int) Math.floor(0.50 * sorted.length))] / 1e6;
+        double p99 = sorted[Math.min(sorted.length - 1, (int) Math.floor(0.99 * sorted.length))] / 1e6;
+        System.out.printf("%-8s %-10s %9.3f %9.3f%n", style, name, p50, p99);
+    }
+}
@@ -0,0 +1,86 @@
+package Engine;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import javax.imageio.ImageIO;
+
+/*
+ * Herramienta de autoria: corta los fondos grandes en trozos cuadrados para TiledBackground.
+ *
+ * Cada PNG bajo <raiz>/textures produce la carpeta <salida>/<ruta relativa sin .png>/ con un
+ * <fila>_<columna>.png por trozo y su manifiesto tiles.txt. La escena sigue pidiendo el fondo por
+ * su ruta de siempre ("/Resources/textures/SwampDungeon/swampOutside.png"); TiledBackground busca
+ * la carpeta de trozos equivalente y solo decodifica los que quedan cerca de la vista.
+ *
+ * Formato del manifiesto:
+ *   # comentario
+ *   size 2400 2400
+ *   tile 512
+ *
+ * Uso: java Engine.TileSlicer src/Resources/tiles assets
+ */
+public final class TileSlicer {
+
+    static final int TILE = 512;
+
+    private TileSlicer() {
+    }
+
+    public static String tileName(int row, int col) {
+        return row + "_" + col + ".png";
+    }
+
+    public static void slice(BufferedImage img, File dir) throws IOException {
+        dir.mkdirs();
+        int width = img.getWidth();
+        int height = img.getHeight();
+        int count = 0;
+        for (int y = 0; y < height; y += TILE) {
+            for (int x = 0; x < width; x += TILE) {
+                int w = Math.min(TILE, width - x);
+                int h = Math.min(TILE, height - y);
+                // Copia propia: getSubimage comparte el raster y ImageIO escribiria con el ancho del original
+                BufferedImage tile = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+                tile.getGraphics().drawImage(img.getSubimage(x, y, w, h), 0, 0, null);
+                ImageIO.write(tile, "png", new File(dir, tileName(y / TILE, x / TILE)));
+                count++;
+            }
+        }
+        try (PrintWriter out = new PrintWriter(new File(dir, "tiles.txt"), StandardCharsets.UTF_8)) {
+            out.print("# Generado por Engine.TileSlicer; no editar a mano\r\n");
+            out.print("size " + width + " " + height + "\r\n");
+            out.print("tile " + TILE + "\r\n");
+        }
+        System.out.println(dir.getPath() + ": " + count + " trozos de " + width + "x" + height);
+    }
+
+    private static void sliceAll(File dir, String relative, File targetDir) throws IOException {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                String name = f.getName();
+                if (f.isDirectory()) {
+                    sliceAll(f, relative + name + "/", targetDir);
+                } else if (name.toLowerCase().endsWith(".png")) {
+                    BufferedImage img = ImageIO.read(f);
+                    if (img == null) {
+                        System.err.println("No se pudo leer " + f.getPath());
+                    } else {
+                        slice(img, new File(targetDir, relative + name.substring(0, name.length() - 4)));
+                    }
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        File targetDir = new File(args.length > 0 ? args[0] : "src/Resources/tiles");
+        for (int i = 1; i < Math.max(2, args.length); i++) {
+            File root = new File(args.length > i ? args[i] : "assets");
+            sliceAll(new File(root, "textures"), "", targetDir);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package Engine;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import javafx.scene.Group;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+/*
+ * Fondo grande armado por trozos (ver TileSlicer). En el grupo solo estan los trozos que tocan la
+ * vista mas un margen: los que entran a la vista se decodifican en el acto, los del margen en el
+ * pool de AssetLoader para que esten listos antes de verse. Los trozos que quedan a mas de
+ * EVICT_MARGIN se sacan del grupo y se sueltan de ImageCache (quedan como referencia suave).
+ * Asi un mapa de 2400x2400 ocupa en memoria unos pocos trozos de 512 en lugar de 22 MB de pixeles.
+ */
+public class TiledBackground {
+
+    public static final String TEXTURES_ROOT = "/Resources/textures/";
+    public static final String TILES_ROOT = "/Resources/tiles/";
+    public static final String MANIFEST = "tiles.txt";
+    // Margen de carga alrededor de la vista y distancia a la que se sueltan (mayor, para no oscilar)
+    public static final double LOAD_MARGIN = 256;
+    public static final double EVICT_MARGIN = 768;
+
+    private final String dir;
+    private final double width;
+    private final double height;
+    private final int tile;
+    private final int rows;
+    private final int cols;
+    private final ImageView[] views;
+    private final boolean[] pending;
+    private final Group node = new Group();
+
+    // Rango de trozos a cargar en el ultimo update (fila/columna inclusivas)
+    private int r0 = -1;
+    private int r1 = -1;
+    private int c0 = -1;
+    private int c1 = -1;
+    private int attached = 0;
+    private int decoded = 0;
+    private int evicted = 0;
+
+    private TiledBackground(String dir, double width, double height, int tile) {
+        this.dir = dir;
+        this.width = width;
+        this.height = height;
+        this.tile = tile;
+        rows = (int) Math.ceil(height / tile);
+        cols = (int) Math.ceil(width / tile);
+        views = new ImageView[rows * cols];
+        pending = new boolean[rows * cols];
+        node.setMouseTransparent(true);
+        node.setManaged(false);
+    }
+
+    // Carpeta de trozos que corresponde a la ruta del fondo ("/Resources/tiles/SwampDungeon/swampOutside/")
+    public static String tilesDir(String imagePath) {
+        String dir = null;
+        if (imagePath != null && imagePath.startsWith(TEXTURES_ROOT) && imagePath.toLowerCase().endsWith(".png")) {
+            dir = TILES_ROOT + imagePath.substring(TEXTURES_ROOT.length(), imagePath.length() - 4) + "/";
+        }
+        return dir;
+    }
+
+    // Fondo troceado para esa imagen, o null si no tiene trozos generados (se usa la imagen entera)
+    public static TiledBackground open(String imagePath) {
+        TiledBackground result = null;
+        String dir = tilesDir(imagePath);
+        if (dir != null) {
+            try (InputStream in = TiledBackground.class.getResourceAsStream(dir + MANIFEST)) {
+                if (in != null) {
+                    BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+                    double w = 0;
+                    double h = 0;
+                    int t = 0;
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String[] parts = line.trim().split("\\s+");
+                        if (parts[0].equals("size") && parts.length == 3) {
+                            w = Double.parseDouble(parts[1]);
+                            h = Double.parseDouble(parts[2]);
+                        } else if (parts[0].equals("tile") && parts.length == 2) {
+                            t = Integer.parseInt(parts[1]);
+                        }
+                    }
+                    if (w > 0 && h > 0 && t > 0) {
+                        result = new TiledBackground(dir, w, h, t);
+                    } else {
+                        System.err.println("Manifiesto de trozos invalido: " + dir + MANIFEST);
+                    }
+                }
+            } catch (Throwable t) {
+                System.err.println("Error leyendo " + dir + MANIFEST + ": " + t.getMessage());
+            }
+        }
+        return result;
+    }
+
+    public Group getNode() {
+        return node;
+    }
+
+    public double getWidth() {
+        return width;
+    }
+
+    public double getHeight() {
+        return height;
+    }
+
+    /*
+     * Rectangulo visible en coordenadas del mundo. Solo hace trabajo cuando la vista cambia de
+     * trozo; moverse dentro del mismo rango de trozos no cuesta nada.
+     */
+    public void update(double viewX, double viewY, double viewW, double viewH) {
+        int nr0 = clampRow((int) Math.floor((viewY - LOAD_MARGIN) / tile));
+        int nr1 = clampRow((int) Math.floor((viewY + viewH + LOAD_MARGIN) / tile));
+        int nc0 = clampCol((int) Math.floor((viewX - LOAD_MARGIN) / tile));
+        int nc1 = clampCol((int) Math.floor((viewX + viewW + LOAD_MARGIN) / tile));
+        if (nr0 != r0 || nr1 != r1 || nc0 != c0 || nc1 != c1) {
+            r0 = nr0;
+            r1 = nr1;
+            c0 = nc0;
+            c1 = nc1;
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    boolean visible = c * tile < viewX + viewW && (c + 1) * tile > viewX
+                            && r * tile < viewY + viewH && (r + 1) * tile > viewY;
+                    request(r, c, visible);
+                }
+            }
+            evictFar(viewX, viewY, viewW, viewH);
+        }
+    }
+
+    // Saca todos los trozos (al cambiar de fondo)
+    public void clear() {
+        for (int i = 0; i < views.length; i++) {
+            if (views[i] != null) {
+                detach(i);
+            }
+        }
+        r0 = -1;
+        r1 = -1;
+        c0 = -1;
+        c1 = -1;
+    }
+
+    public int getAttachedCount() {
+        return attached;
+    }
+
+    public String getStats() {
+        return "Trozos " + dir + ": " + attached + "/" + views.length + " en escena, "
+                + decoded + " cargados, " + evicted + " soltados";
+    }
+
+    private void request(int r, int c, boolean visible) {
+        int i = r * cols + c;
+        String path = dir + TileSlicer.tileName(r, c);
+        if (views[i] == null && !pending[i]) {
+            if (visible || ImageCache.contains(path)) {
+                attach(i, ImageCache.get(path));
+            } else {
+                pending[i] = true;
+                AssetLoader.batch().image(path).start(null, () -> {
+                    pending[i] = false;
+                    // Pudo quedar fuera del rango mientras se decodificaba
+                    if (views[i] == null && r >= r0 && r <= r1 && c >= c0 && c <= c1) {
+                        attach(i, ImageCache.get(path));
+                    }
+                });
+            }
+        }
+    }
+
+    private void attach(int i, Image img) {
+        if (img != null) {
+            ImageView view = new ImageView(img);
+            view.setLayoutX((i % cols) * tile);
+            view.setLayoutY((i / cols) * tile);
+            view.setMouseTransparent(true);
+            views[i] = view;
+            node.getChildren().add(view);
+            attached++;
+            decoded++;
+        }
+    }
+
+    private void detach(int i) {
+        node.getChildren().remove(views[i]);
+        views[i].setImage(null);
+        views[i] = null;
+        attached--;
+        evicted++;
+        ImageCache.release(dir + TileSlicer.tileName(i / cols, i % cols));
+    }
+
+    private void evictFar(double viewX, double viewY, double viewW, double viewH) {
+        for (int i = 0; i < views.length; i++) {
+            if (views[i] != null) {
+                double x = (i % cols) * tile;
+                double y = (i / cols) * tile;
+                boolean near = x < viewX + viewW + EVICT_MARGIN && x + tile > viewX - EVICT_MARGIN
+                        && y < viewY + viewH + EVICT_MARGIN && y + tile > viewY - EVICT_MARGIN;
+                if (!near) {
+                    detach(i);
+                }
+            }
+        }
+    }
+
+    private int clampRow(int r) {
+        return Math.max(0, Math.min(rows - 1, r));
+    }
+
+    private int clampCol(int c) {
+        return Math.max(0, Math.min(cols - 1, c));
+    }
+}
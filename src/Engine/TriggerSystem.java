@@ -0,0 +1,245 @@
+package Engine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/*
+ * Zonas de activacion indexadas en una rejilla uniforme. Los candidatos se recalculan solo
+ * cuando el rectangulo del heroe cambia de celdas; mientras el heroe no se mueve update() no
+ * hace ningun trabajo y mientras se mueve dentro de las mismas celdas solo se prueban los
+ * candidatos de esas celdas (normalmente ninguno).
+ */
+public class TriggerSystem {
+
+    public enum TriggerEvent {
+        ENTER, STAY, EXIT
+    }
+
+    public interface TriggerListener {
+
+        void onTriggerEvent(Trigger trigger, TriggerEvent event);
+    }
+
+    public static class Trigger {
+
+        private final String id;
+        private final String tag;
+        private final double minX;
+        private final double minY;
+        private final double maxX;
+        private final double maxY;
+        private final TriggerListener listener;
+        private boolean inside = false;
+        private int stamp = -1;
+
+        Trigger(String id, String tag, double x, double y, double w, double h, TriggerListener listener) {
+            this.id = id;
+            this.tag = tag;
+            this.minX = x;
+            this.minY = y;
+            this.maxX = x + w;
+            this.maxY = y + h;
+            this.listener = listener;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+
+        public double getMinX() {
+            return minX;
+        }
+
+        public double getMinY() {
+            return minY;
+        }
+
+        public double getWidth() {
+            return maxX - minX;
+        }
+
+        public double getHeight() {
+            return maxY - minY;
+        }
+
+        public boolean isInside() {
+            return inside;
+        }
+
+        // Misma semantica que Rectangle2D.intersects
+        boolean intersects(double x, double y, double w, double h) {
+            return x + w > minX && y + h > minY && x < maxX && y < maxY;
+        }
+    }
+
+    private final double cellSize;
+    private final Map<Long, List<Trigger>> cells = new HashMap<>();
+    private final List<Trigger> triggers = new ArrayList<>();
+    private final List<Trigger> candidates = new ArrayList<>();
+    private final List<Trigger> active = new ArrayList<>();
+
+    private int stamp = 0;
+    private boolean dirty = true;
+    private double lastX = Double.NaN;
+    private double lastY = Double.NaN;
+    private int cellMinX;
+    private int cellMinY;
+    private int cellMaxX;
+    private int cellMaxY;
+
+    public TriggerSystem(double cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    public Trigger addTrigger(String id, String tag, double x, double y, double w, double h, TriggerListener listener) {
+        Trigger trigger = new Trigger(id, tag, x, y, w, h, listener);
+        triggers.add(trigger);
+        for (int cx = cell(trigger.minX); cx <= cell(trigger.maxX); cx++) {
+            for (int cy = cell(trigger.minY); cy <= cell(trigger.maxY); cy++) {
+                cells.computeIfAbsent(key(cx, cy), k -> new ArrayList<>()).add(trigger);
+            }
+        }
+        dirty = true;
+        return trigger;
+    }
+
+    // Elimina las zonas con esa etiqueta sin disparar EXIT (se usa al recargar una zona)
+    public void removeByTag(String tag) {
+        remove(t -> tag.equals(t.tag));
+    }
+
+    // Igual que removeByTag para una sola zona (una salida que no se usa en la sala actual)
+    public void removeById(String id) {
+        remove(t -> id.equals(t.id));
+    }
+
+    private void remove(Predicate<Trigger> match) {
+        boolean removed = triggers.removeIf(match);
+        if (removed) {
+            for (List<Trigger> list : cells.values()) {
+                list.removeIf(match);
+            }
+            cells.values().removeIf(List::isEmpty);
+            candidates.removeIf(match);
+            active.removeIf(match);
+            dirty = true;
+        }
+    }
+
+    public void clear() {
+        triggers.clear();
+        cells.clear();
+        candidates.clear();
+        active.clear();
+        dirty = true;
+    }
+
+    public void update(double x, double y, double w, double h) {
+        boolean moved = x != lastX || y != lastY;
+        if (moved || dirty) {
+            lastX = x;
+            lastY = y;
+
+            int minCx = cell(x);
+            int minCy = cell(y);
+            int maxCx = cell(x + w);
+            int maxCy = cell(y + h);
+            boolean cellsChanged = minCx != cellMinX || minCy != cellMinY || maxCx != cellMaxX || maxCy != cellMaxY;
+            if (cellsChanged || dirty) {
+                cellMinX = minCx;
+                cellMinY = minCy;
+                cellMaxX = maxCx;
+                cellMaxY = maxCy;
+                collectCandidates();
+                dirty = false;
+            }
+
+            if (!candidates.isEmpty() || !active.isEmpty()) {
+                testCandidates(x, y, w, h);
+            }
+        }
+    }
+
+    public boolean isInside(String tag) {
+        return getActive(tag) != null;
+    }
+
+    public Trigger getActive(String tag) {
+        Trigger found = null;
+        for (int i = 0; i < active.size() && found == null; i++) {
+            if (tag.equals(active.get(i).tag)) {
+                found = active.get(i);
+            }
+        }
+        return found;
+    }
+
+    public int size() {
+        return triggers.size();
+    }
+
+    private void collectCandidates() {
+        stamp++;
+        candidates.clear();
+        for (int cx = cellMinX; cx <= cellMaxX; cx++) {
+            for (int cy = cellMinY; cy <= cellMaxY; cy++) {
+                List<Trigger> list = cells.get(key(cx, cy));
+                if (list != null) {
+                    for (Trigger t : list) {
+                        if (t.stamp != stamp) {
+                            t.stamp = stamp;
+                            candidates.add(t);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void testCandidates(double x, double y, double w, double h) {
+        // Las zonas activas que ya no son candidatas quedaron atras al cambiar de celda
+        for (int i = active.size() - 1; i >= 0; i--) {
+            Trigger t = active.get(i);
+            if (t.stamp != stamp) {
+                active.remove(i);
+                fire(t, TriggerEvent.EXIT);
+            }
+        }
+
+        for (int i = 0; i < candidates.size(); i++) {
+            Trigger t = candidates.get(i);
+            boolean inside = t.intersects(x, y, w, h);
+            if (inside && !t.inside) {
+                active.add(t);
+                fire(t, TriggerEvent.ENTER);
+            } else if (inside) {
+                fire(t, TriggerEvent.STAY);
+            } else if (t.inside) {
+                active.remove(t);
+                fire(t, TriggerEvent.EXIT);
+            }
+        }
+    }
+
+    private void fire(Trigger t, TriggerEvent event) {
+        t.inside = event != TriggerEvent.EXIT;
+        if (t.listener != null) {
+            t.listener.onTriggerEvent(t, event);
+        }
+    }
+
+    private int cell(double v) {
+        return (int) Math.floor(v / cellSize);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) ^ (cy & 0xffffffffL);
+    }
+}
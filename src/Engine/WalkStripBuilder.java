@@ -0,0 +1,75 @@
+package Engine;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import javax.imageio.ImageIO;
+
+/*
+ * Herramienta de autoria: arma las tiras de caminata del heroe (heroWalk<Direccion>.png, las que
+ * reproduce HeroAnimation) a partir del sprite fijo de cada direccion, mientras no haya arte de
+ * caminata dibujado a mano.
+ *
+ * Cada tira tiene FRAMES cuadros del mismo tamano que el sprite, asi la vista no cambia de escala al
+ * pasar de quieto a caminando. Los cuadros 0 y 2 son el sprite tal cual (apoyo); en el 1 y el 3 el
+ * sprite se aplasta un pixel con los pies fijos (el paso) y se corre un pixel: de lado a lado
+ * mirando hacia arriba o abajo, hacia adelante mirando a los costados.
+ *
+ * Las tiras se escriben junto a los sprites de origen y AtlasPacker las mete en la hoja del heroe.
+ *
+ * Uso: java Engine.WalkStripBuilder assets/sprites/hero
+ */
+public final class WalkStripBuilder {
+
+    static final int FRAMES = 4;
+    static final String[] DIRECTIONS = {"Down", "Left", "Right", "Up"};
+
+    private WalkStripBuilder() {
+    }
+
+    public static BufferedImage build(BufferedImage sprite, String direction) {
+        int w = sprite.getWidth();
+        int h = sprite.getHeight();
+        BufferedImage strip = new BufferedImage(w * FRAMES, h, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = strip.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        for (int i = 0; i < FRAMES; i++) {
+            int x = i * w;
+            if (i % 2 == 0) {
+                g.drawImage(sprite, x, 0, null);
+            } else {
+                int shift;
+                if (direction.equals("Left")) {
+                    shift = -1;
+                } else if (direction.equals("Right")) {
+                    shift = 1;
+                } else {
+                    shift = i == 1 ? -1 : 1;
+                }
+                // Recortado al cuadro: lo que se corre no invade el vecino
+                g.setClip(x, 0, w, h);
+                g.drawImage(sprite, x + shift, 1, w, h - 1, null);
+                g.setClip(null);
+            }
+        }
+        g.dispose();
+        return strip;
+    }
+
+    public static void main(String[] args) throws IOException {
+        File dir = new File(args.length > 0 ? args[0] : "assets/sprites/hero");
+        for (String direction : DIRECTIONS) {
+            File source = new File(dir, "hero" + direction + ".png");
+            BufferedImage sprite = ImageIO.read(source);
+            if (sprite == null) {
+                System.err.println("No se pudo leer " + source.getPath());
+            } else {
+                File target = new File(dir, "heroWalk" + direction + ".png");
+                ImageIO.write(build(sprite, direction), "png", target);
+                System.out.println(target.getPath() + ": " + FRAMES + " cuadros de " + sprite.getWidth() + "x" + sprite.getHeight());
+            }
+        }
+    }
+}
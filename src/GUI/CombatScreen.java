@@ -1,16 +1,24 @@
 package GUI;
 
+import Engine.AssetLoader;
+import Engine.ImageCache;
+import Engine.ParticleSystem;
+import Engine.SpriteAtlas;
 import Logic.Game;
 import Characters.*;
+import Items.HealingSpell;
 import Items.Item;
+import Items.Spell;
+import Items.Wand;
 import Items.Wares;
+import Items.Weapon;
 import com.almasb.fxgl.dsl.FXGL;
-import javafx.animation.FadeTransition;
-import javafx.animation.PauseTransition;
-import javafx.animation.SequentialTransition;
 import javafx.application.Platform;
+import javafx.geometry.Bounds;
 import javafx.geometry.Insets;
+import javafx.geometry.Point2D;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Cursor;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
@@ -28,16 +36,14 @@ import javafx.scene.text.Text;
 import Runner.MainScreen;
 
 import java.net.URL;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Queue;
 import java.util.Random;
 import javafx.scene.SnapshotParameters;
 import javafx.scene.control.ScrollPane;
 
-public class CombatScreen {
+public final class CombatScreen implements GameLoop.Tickable {
 
     public final StackPane root;
     private final Pane content;
@@ -75,8 +81,9 @@ public class CombatScreen {
     // Flag que indica que estamos en estado Game Over (bloquea inputs salvo Start)
     private volatile boolean gameOverActive = false;
 
-    // Cola de toasts (mensajes temporales no modales, uno a la vez)
-    private final ToastQueue toastQueue = new ToastQueue();
+    // Toasts del registro de combate (nodos reutilizados, mensajes agrupados)
+    private final OverlayService overlays;
+    private static Image potionPlaceholder = null;
 
     // Label para mostrar vida del héroe (actual / total)
     private final Label heroHpLabel = new Label();
@@ -84,6 +91,10 @@ public class CombatScreen {
     private StackPane inventoryOverlay = null;
     private boolean inventoryOpen = false;
 
+    // Efectos de golpes y hechizos sobre la pantalla; avanzan con el GameLoop mientras dura el combate
+    private final ParticleSystem particles = new ParticleSystem(800, 600, 1024);
+    private ImageView heroIcon = null;
+
     public CombatScreen(Game game, String bgPath, String encounter, Hero heroForIcon, boolean bossFight, Boss monster) {
         this.game = game;
         origDefense = game.getHero().getDefense();
@@ -95,11 +106,13 @@ public class CombatScreen {
         root = new StackPane();
         root.setPrefSize(800, 600);
         root.setFocusTraversable(true);
+        Theme.apply(root);
+        overlays = OverlayService.of(root);
 
         // Fondo
         Image bg = null;
         try {
-            bg = new Image(getClass().getResourceAsStream(bgPath));
+            bg = ImageCache.get(bgPath);
         } catch (Throwable ignored) {
         }
         backgroundView = new ImageView(bg);
@@ -145,6 +158,7 @@ public class CombatScreen {
 
         content.getChildren().addAll(backgroundView, leftPane, centerPane, rightPane, bottomPanel, actionButtons);
         root.getChildren().add(content);
+        particles.attach(root, content);
 
         createHeroIcon(heroForIcon);
 
@@ -167,13 +181,7 @@ public class CombatScreen {
 
 // Contenedor con fondo negro
             StackPane nameContainer = new StackPane(name);
-            nameContainer.setStyle(
-                    "-fx-background-color: black;"
-                    + // fondo negro sólido
-                    "-fx-background-radius: 4;"
-                    + // esquinas redondeadas
-                    "-fx-padding: 3 8 3 8;" // espacio pequeño alrededor del texto
-            );
+            nameContainer.getStyleClass().add("name-tag");
 
             wrapper.getChildren().addAll(mv, nameContainer);
             wrapper.setMouseTransparent(true);
@@ -198,11 +206,7 @@ public class CombatScreen {
                 name.setFont(Font.font("System Bold", 12));
 
                 StackPane nameContainer = new StackPane(name);
-                nameContainer.setStyle(
-                        "-fx-background-color: black;"
-                        + "-fx-background-radius: 2;"
-                        + "-fx-padding: 3 8 3 8;"
-                );
+                nameContainer.getStyleClass().addAll("name-tag", "small");
 
                 wrapper.getChildren().addAll(mv, nameContainer);
                 wrapper.setMouseTransparent(true);
@@ -242,15 +246,7 @@ public class CombatScreen {
     }
 
     private void setupHeroHpLabel() {
-        heroHpLabel.setStyle(
-                 "-fx-text-fill: yellow;" // texto amarillo
-                + "-fx-font-weight: bold;"
-                + "-fx-font-size: 16px;"
-                + "-fx-effect: dropshadow( one-pass-box , black , 1 , 1 , 1 , 0 ),"
-                + "dropshadow( one-pass-box , black , 1 , 1 , -1 , 0 ),"
-                + "dropshadow( one-pass-box , black , 1 , 1 , 0 , 1 ),"
-                + "dropshadow( one-pass-box , black , 1 , 1 , 0 , -1 );"
-        );
+        heroHpLabel.getStyleClass().add("hp-label");
 
         heroHpLabel.setMouseTransparent(true);
         StackPane.setAlignment(heroHpLabel, Pos.TOP_RIGHT);
@@ -301,12 +297,11 @@ public class CombatScreen {
     }
 
     private ImageView createMonsterView(Monster m) {
-        Image img = null;
+        ImageView iv = new ImageView();
         try {
-            img = m.getFxImage();
+            SpriteAtlas.apply(iv, m.getSpritePath());
         } catch (Throwable ignored) {
         }
-        ImageView iv = new ImageView(img);
         if (boss == null) {
             iv.setPreserveRatio(true);
             iv.setFitWidth(95);
@@ -323,11 +318,8 @@ public class CombatScreen {
     }
 
     private void createHeroIcon(Hero heroForIcon) {
-        Image heroImg = null;
-
-        heroImg = new Image(getClass().getResourceAsStream("/Resources/sprites/hero/heroCombat.png"));
-
-        ImageView heroIv = new ImageView(heroImg);
+        ImageView heroIv = new ImageView();
+        SpriteAtlas.apply(heroIv, "/Resources/sprites/hero/heroCombat.png");
         heroIv.setPreserveRatio(true);
         heroIv.setFitWidth(120);
         heroIv.setFitHeight(120);
@@ -339,6 +331,7 @@ public class CombatScreen {
         double layoutY = (paneHeight - ivHeight) / 2.0;
         heroIv.setLayoutX(leftMargin);
         heroIv.setLayoutY(layoutY);
+        heroIcon = heroIv;
 
         Text name = new Text(
                 (game != null && game.getHero() != null)
@@ -352,11 +345,7 @@ public class CombatScreen {
         name.setFont(Font.font("System Bold", 14));
 
         StackPane nameContainer = new StackPane(name);
-        nameContainer.setStyle(
-                "-fx-background-color: black;"
-                + "-fx-background-radius: 4;"
-                + "-fx-padding: 3 8 3 8;"
-        );
+        nameContainer.getStyleClass().add("name-tag");
 
         nameContainer.setLayoutX(leftMargin);
         nameContainer.setLayoutY(layoutY + ivHeight + 18);
@@ -397,7 +386,7 @@ public class CombatScreen {
                 game.getHero().setDefense(origDefense);
                 Hero h = game.getHero();
                 h.setDefense(h.getDefense() + rnd.nextInt(0, 10));
-                toastQueue.enqueue("The Defense has augmented in this turn. Now it has a value of: " + String.valueOf(h.getDefense()));
+                overlays.enqueue("The Defense has augmented in this turn. Now it has a value of: " + String.valueOf(h.getDefense()));
                 monstersAttackAfterHeroAction();
             }
         });
@@ -416,8 +405,7 @@ public class CombatScreen {
         Button b = new Button(text);
         b.setMinWidth(140);
         b.setMinHeight(44);
-        b.setStyle("-fx-background-color: linear-gradient(#3a7bd5,#00d2ff); -fx-text-fill: white; -fx-font-weight: bold; -fx-background-radius: 6;");
-        b.setFont(Font.font(14));
+        b.getStyleClass().add("action-button");
         return b;
     }
 
@@ -493,12 +481,7 @@ public class CombatScreen {
     private void updateButtonSelection() {
         int i = 0;
         while (i < buttons.size()) {
-            Button b = buttons.get(i);
-            if (i == selectedButtonIndex) {
-                b.setStyle("-fx-background-color: linear-gradient(#ffd54f,#ffb300); -fx-text-fill: black; -fx-font-weight: bold; -fx-background-radius: 6; -fx-border-color: #ffffff55; -fx-border-width: 2;");
-            } else {
-                b.setStyle("-fx-background-color: linear-gradient(#3a7bd5,#00d2ff); -fx-text-fill: white; -fx-font-weight: bold; -fx-background-radius: 6;");
-            }
+            Theme.toggle(buttons.get(i), "selected", i == selectedButtonIndex);
             i = i + 1;
         }
     }
@@ -527,12 +510,16 @@ public class CombatScreen {
         boolean heroDidDamage = false;
         if (!endCombatNow && target != null) {
             heroDidDamage = game.heroCombat(target);
+            int viewIndex = monsters.indexOf(target);
+            if (viewIndex >= 0 && viewIndex < monstersBox.getChildren().size()) {
+                burstAt(monstersBox.getChildren().get(viewIndex), attackEffect(), heroDidDamage ? 40 : 10);
+            }
             final Monster finalTarget = target;
             final boolean finalHeroDidDamage = heroDidDamage;
             String heroMsg = finalHeroDidDamage
                     ? ("You attacked " + finalTarget.getName() + ". Monster's remaining life: " + finalTarget.getActualLife())
                     : "Your attack didn't damaged any monster.";
-            toastQueue.enqueue(heroMsg);
+            overlays.enqueue(heroMsg);
             updateHeroHpDisplay();
         }
 
@@ -555,7 +542,7 @@ public class CombatScreen {
             boolean leveled = game.levelUp();
             if (leveled) {
                 String alert = "You have leveled up! Now You Are level" + String.valueOf(game.getHero().getLevel());
-                toastQueue.enqueue(alert);
+                overlays.enqueue(alert);
             }
             endCombatAndReturnToMap();
         }
@@ -578,8 +565,11 @@ public class CombatScreen {
                 final String msg = monsterDidDamage
                         ? (m.getName() + " Attacked, your life has decreased!")
                         : (m.getName() + " Attacked but didn't damaged!");
-                toastQueue.enqueue(msg);
+                overlays.enqueue(msg);
                 updateHeroHpDisplay();
+                if (monsterDidDamage) {
+                    burstAt(heroIcon, ParticleSystem.Preset.HIT, 30);
+                }
 
                 if (game.checkGameOver(heroHp)) {
                     heroDied = true;
@@ -602,14 +592,14 @@ public class CombatScreen {
 
                 StackPane overlay = new StackPane();
                 overlay.setPrefSize(800, 600);
-                overlay.setStyle("-fx-background-color: rgba(0,0,0,0.85);");
+                overlay.getStyleClass().add("dim-overlay");
 
                 VBox vbox = new VBox(18);
                 vbox.setAlignment(Pos.CENTER);
 
                 Image goImg = null;
                 try {
-                    goImg = new Image(getClass().getResourceAsStream("/Resources/textures/Main/gameOver.png"));
+                    goImg = ImageCache.get("/Resources/textures/Main/gameOver.png");
                 } catch (Throwable ignored) {
                 }
                 ImageView goView = new ImageView(goImg);
@@ -620,12 +610,12 @@ public class CombatScreen {
                 Button startBtn = new Button("Start");
                 startBtn.setMinWidth(160);
                 startBtn.setMinHeight(44);
-                startBtn.setStyle("-fx-background-color: linear-gradient(#ff5f6d,#ffc371); -fx-text-fill: white; -fx-font-weight: bold; -fx-background-radius: 6;");
-                startBtn.setFont(Font.font(16));
+                startBtn.getStyleClass().add("start-button");
 
                 startBtn.setOnAction(ev -> {
                     stopGameOverMusic();
                     stopBattleMusic();
+                    stopParticles();
                     try {
                         FXGL.getGameScene().removeUINode(root);
                     } catch (Throwable ignored) {
@@ -663,8 +653,50 @@ public class CombatScreen {
         }
     }
 
+    // Hechizos (y varitas) lanzan chispas de magia, los de curacion brillo verde; el resto, golpe
+    private ParticleSystem.Preset attackEffect() {
+        Weapon weapon = game.getHero() != null ? game.getHero().getActualWeapon() : null;
+        ParticleSystem.Preset preset = ParticleSystem.Preset.HIT;
+        if (weapon instanceof HealingSpell) {
+            preset = ParticleSystem.Preset.HEAL;
+        } else if (weapon instanceof Spell || weapon instanceof Wand) {
+            preset = ParticleSystem.Preset.SPELL;
+        }
+        return preset;
+    }
+
+    // Estallido en el centro del nodo (en coordenadas del root, que son las del Canvas)
+    private void burstAt(Node node, ParticleSystem.Preset preset, int amount) {
+        if (node != null) {
+            Bounds b = node.getLayoutBounds();
+            Point2D center = root.sceneToLocal(node.localToScene(b.getCenterX(), b.getCenterY()));
+            if (center != null) {
+                particles.burst(preset, center.getX(), center.getY(), amount);
+            }
+        }
+    }
+
+    // Sin particulas update y draw no hacen nada, asi el combate no cuesta nada en el bucle
+    @Override
+    public void tick(double dt) {
+        particles.update(dt);
+    }
+
+    @Override
+    public void render(double alpha) {
+        particles.draw(0, 0);
+    }
+
+    // Fin del combate: devuelve el GameLoop a la escena de exploracion que quedo en pausa debajo
+    private void stopParticles() {
+        GameLoop.pop(this);
+        particles.clear();
+        particles.draw(0, 0);
+    }
+
     private void endCombatAndReturnToMap() {
         stopBattleMusic();
+        stopParticles();
         Platform.runLater(() -> {
             try {
                 FXGL.getGameScene().removeUINode(root);
@@ -686,7 +718,7 @@ public class CombatScreen {
             stopGameOverMusic();
             URL res = getClass().getResource("/Resources/music/gameOver.mp3");
             if (res != null) {
-                Media media = new Media(res.toExternalForm());
+                Media media = AssetLoader.getMedia(res);
                 gameOverPlayer = new MediaPlayer(media);
                 gameOverPlayer.setCycleCount(MediaPlayer.INDEFINITE);
                 gameOverPlayer.setVolume(MainScreen.getVolumeSetting());
@@ -713,7 +745,7 @@ public class CombatScreen {
             stopBattleMusic();
             URL res = getClass().getResource(battleMusicPath);
             if (res != null) {
-                Media media = new Media(res.toExternalForm());
+                Media media = AssetLoader.getMedia(res);
                 battleMusic = new MediaPlayer(media);
                 battleMusic.setCycleCount(MediaPlayer.INDEFINITE);
                 battleMusic.setVolume(MainScreen.getVolumeSetting());
@@ -755,73 +787,10 @@ public class CombatScreen {
             } catch (Throwable ignored) {
             }
             root.requestFocus();
+            GameLoop.push(this);
         });
     }
 
-    private class ToastQueue {
-
-        private final Queue<String> q = new ArrayDeque<>();
-        private boolean showing = false;
-        private final double DURATION_SECONDS = 1.2;
-        private final double FADE_SECONDS = 0.22;
-
-        public synchronized void enqueue(String msg) {
-            q.offer(msg == null ? "" : msg);
-            if (!showing) {
-                showing = true;
-                Platform.runLater(this::showNext);
-            }
-        }
-
-        private void showNext() {
-            String msg = q.poll();
-            if (msg == null) {
-                showing = false;
-                return;
-            }
-
-            Label lbl = new Label(msg);
-            lbl.setStyle("-fx-background-color: rgba(0,0,0,0.75); -fx-text-fill: white; -fx-padding: 10 16 10 16; -fx-background-radius: 8; -fx-font-size: 13;");
-            lbl.setOpacity(0.0);
-
-            StackPane container = new StackPane(lbl);
-            container.setPickOnBounds(false);
-            container.setMouseTransparent(true);
-            container.setPrefSize(800, 600);
-
-            StackPane.setAlignment(lbl, Pos.BOTTOM_CENTER);
-            lbl.setTranslateY(-72);
-
-            try {
-                if (root != null) {
-                    root.getChildren().add(container);
-                }
-            } catch (Throwable ignored) {
-            }
-
-            FadeTransition fadeIn = new FadeTransition(javafx.util.Duration.seconds(FADE_SECONDS), lbl);
-            fadeIn.setFromValue(0.0);
-            fadeIn.setToValue(1.0);
-
-            PauseTransition pause = new PauseTransition(javafx.util.Duration.seconds(DURATION_SECONDS));
-
-            FadeTransition fadeOut = new FadeTransition(javafx.util.Duration.seconds(FADE_SECONDS), lbl);
-            fadeOut.setFromValue(1.0);
-            fadeOut.setToValue(0.0);
-
-            fadeOut.setOnFinished(ev -> {
-                try {
-                    root.getChildren().remove(container);
-                } catch (Throwable ignored) {
-                }
-                Platform.runLater(this::showNext);
-            });
-
-            SequentialTransition seq = new SequentialTransition(fadeIn, pause, fadeOut);
-            seq.play();
-        }
-
-    }
     // Para el Inventario
 
     private void openInventoryDuringCombat() {
@@ -833,18 +802,14 @@ public class CombatScreen {
             // Crear overlay oscuro
             inventoryOverlay = new StackPane();
             inventoryOverlay.setPrefSize(800, 600);
-            inventoryOverlay.setStyle("-fx-background-color: rgba(0, 0, 0, 0.85);");
+            inventoryOverlay.getStyleClass().add("dim-overlay");
             inventoryOverlay.setPickOnBounds(true);
 
             // Crear contenedor principal
             VBox mainContainer = new VBox(15);
             mainContainer.setAlignment(Pos.TOP_CENTER);
             mainContainer.setPrefSize(600, 450);
-            mainContainer.setStyle("-fx-background-color: rgba(20, 20, 35, 0.95); "
-                    + "-fx-background-radius: 10; "
-                    + "-fx-border-color: #2a2a3a; "
-                    + "-fx-border-width: 2; "
-                    + "-fx-border-radius: 10;");
+            mainContainer.getStyleClass().add("combat-panel");
             mainContainer.setPadding(new Insets(20));
 
             // Título
@@ -857,11 +822,11 @@ public class CombatScreen {
             ScrollPane scrollPane = new ScrollPane();
             scrollPane.setFitToWidth(true);
             scrollPane.setPrefViewportHeight(300);
-            scrollPane.setStyle("-fx-background: transparent; -fx-background-color: transparent;");
+            scrollPane.getStyleClass().add("scroll-transparent");
 
             VBox itemsContainer = new VBox(8);
             itemsContainer.setPadding(new Insets(10));
-            itemsContainer.setStyle("-fx-background-color: transparent;");
+            itemsContainer.getStyleClass().add("transparent");
 
             Hero hero = game.getHero();
             LinkedList<Item> allItems = hero != null && hero.getItems() != null ? hero.getItems() : new LinkedList<>();
@@ -875,7 +840,7 @@ public class CombatScreen {
 
             if (healingItems.isEmpty()) {
                 Label noItems = new Label("There are no items at the moment.");
-                noItems.setStyle("-fx-font-size: 16px; -fx-text-fill: #888888; -fx-font-style: italic;");
+                noItems.getStyleClass().addAll("empty-text", "large");
                 noItems.setPadding(new Insets(20));
                 itemsContainer.getChildren().add(noItems);
             } else {
@@ -889,11 +854,8 @@ public class CombatScreen {
 
             // Botón de cerrar
             Button closeButton = new Button("Close");
-            closeButton.setFont(Font.font("System Bold", 16));
             closeButton.setPrefSize(180, 40);
-            closeButton.setStyle("-fx-background-color: linear-gradient(to bottom, #3a7bd5, #00d2ff); "
-                    + "-fx-text-fill: white; -fx-font-weight: bold; -fx-background-radius: 6; "
-                    + "-fx-cursor: hand;");
+            closeButton.getStyleClass().addAll("primary-button", "large");
             closeButton.setOnAction(e -> closeCombatInventory());
 
             HBox buttonBox = new HBox(15, closeButton);
@@ -921,59 +883,30 @@ public class CombatScreen {
         HBox row = new HBox(15);
         row.setPadding(new Insets(10, 15, 10, 15));
         row.setAlignment(Pos.CENTER_LEFT);
-        row.setStyle("-fx-background-color: rgba(255, 255, 255, 0.08); "
-                + "-fx-background-radius: 6; "
-                + "-fx-border-color: rgba(255, 255, 255, 0.1); "
-                + "-fx-border-radius: 6;");
+        row.getStyleClass().add("combat-item-row");
 
         ImageView icon = new ImageView();
         icon.setFitWidth(32);
         icon.setFitHeight(32);
-        icon.setStyle("-fx-effect: dropshadow(gaussian, #000000, 3, 0.5, 0, 0);");
+        icon.getStyleClass().add("combat-item-icon");
 
-        try {
-            Image potionImg = new Image(getClass().getResourceAsStream("/Resources/sprites/items/potion.png"));
+        Image potionImg = ImageCache.get("/Resources/sprites/items/potion.png");
+        if (potionImg != null) {
             icon.setImage(potionImg);
-        } catch (Exception ignored) {
-            Rectangle placeholder = new Rectangle(32, 32, Color.rgb(68, 255, 68, 0.5));
-            placeholder.setArcWidth(8);
-            placeholder.setArcHeight(8);
-            SnapshotParameters params = new SnapshotParameters();
-            params.setFill(Color.TRANSPARENT);
-            icon.setImage(placeholder.snapshot(params, null));
+        } else {
+            icon.setImage(potionPlaceholder());
         }
 
         VBox infoBox = new VBox(3);
 
         Label nameLabel = new Label(ware.getName());
-        nameLabel.setStyle(
-                "-fx-font-weight: bold;"
-                + "-fx-font-size: 18px;"
-                + // más grande
-                "-fx-text-fill: #FFFFFF;"
-                + // blanco puro
-                "-fx-effect: dropshadow(gaussian, black, 3, 0.7, 0, 0);" // sombra para contraste
-        );
+        nameLabel.getStyleClass().add("combat-item-name");
 
         Label healLabel = new Label("Heals: " + ware.getHealing() + " HP");
-        healLabel.setStyle(
-                "-fx-font-weight: bold;"
-                + "-fx-font-size: 16px;"
-                + // más grande
-                "-fx-text-fill: #00FF00;"
-                + // verde más intenso
-                "-fx-effect: dropshadow(gaussian, black, 2, 0.6, 0, 0);"
-        );
+        healLabel.getStyleClass().add("combat-item-heal");
 
         Label descLabel = new Label("ID: " + ware.getId());
-        descLabel.setStyle(
-                "-fx-font-size: 14px;"
-                + // un poco más grande
-                "-fx-text-fill: #CCCCCC;"
-                + // gris más claro
-                "-fx-font-style: italic;"
-                + "-fx-effect: dropshadow(gaussian, black, 2, 0.5, 0, 0);"
-        );
+        descLabel.getStyleClass().add("combat-item-desc");
 
         infoBox.getChildren().addAll(nameLabel, healLabel, descLabel);
 
@@ -981,12 +914,9 @@ public class CombatScreen {
         HBox.setHgrow(spacer, Priority.ALWAYS);
 
         Button useButton = new Button("Use");
-        useButton.setFont(Font.font("System Bold", 14));
         useButton.setMinWidth(100);
         useButton.setMinHeight(35);
-        useButton.setStyle("-fx-background-color: linear-gradient(to bottom, #2a7d2a, #1b5e20); "
-                + "-fx-text-fill: white; -fx-font-weight: bold; -fx-background-radius: 4; "
-                + "-fx-cursor: hand; -fx-effect: dropshadow(gaussian, #000000, 3, 0.5, 0, 1);");
+        useButton.getStyleClass().add("use-button");
 
         useButton.setOnAction(e -> {
             handleUseWareInCombat(ware);
@@ -995,15 +925,22 @@ public class CombatScreen {
 
         row.getChildren().addAll(icon, infoBox, spacer, useButton);
 
-        row.setOnMouseEntered(ev -> row.setStyle("-fx-background-color: rgba(255, 255, 255, 0.15); "
-                + "-fx-background-radius: 6; -fx-border-color: rgba(255, 255, 255, 0.3); -fx-border-radius: 6;"));
-
-        row.setOnMouseExited(ev -> row.setStyle("-fx-background-color: rgba(255, 255, 255, 0.08); "
-                + "-fx-background-radius: 6; -fx-border-color: rgba(255, 255, 255, 0.1); -fx-border-radius: 6;"));
-
         return row;
     }
 
+    // Icono de reemplazo si falta potion.png; se dibuja una vez y lo comparten todas las filas
+    private static Image potionPlaceholder() {
+        if (potionPlaceholder == null) {
+            Rectangle placeholder = new Rectangle(32, 32, Color.rgb(68, 255, 68, 0.5));
+            placeholder.setArcWidth(8);
+            placeholder.setArcHeight(8);
+            SnapshotParameters params = new SnapshotParameters();
+            params.setFill(Color.TRANSPARENT);
+            potionPlaceholder = placeholder.snapshot(params, null);
+        }
+        return potionPlaceholder;
+    }
+
     private void handleUseWareInCombat(Wares ware) {
         boolean healed = false;
 
@@ -1018,14 +955,15 @@ public class CombatScreen {
             if (game != null && game.getHero() != null) {
                 game.getHero().getItems().remove(ware);
             }
-            if (toastQueue != null) {
-                toastQueue.enqueue("You used" + ware.getName() + "! +" + ware.getHealing() + " HP");
+            if (overlays != null) {
+                overlays.enqueue("You used" + ware.getName() + "! +" + ware.getHealing() + " HP");
             }
             updateHeroHpDisplay();
+            burstAt(heroIcon, ParticleSystem.Preset.HEAL, 50);
             monstersAttackAfterHeroAction();
         } else {
-            if (toastQueue != null) {
-                toastQueue.enqueue("Your HP is already at max!");
+            if (overlays != null) {
+                overlays.enqueue("Your HP is already at max!");
             }
         }
     }
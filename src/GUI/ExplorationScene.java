@@ -0,0 +1,839 @@
+package GUI;
+
+import Engine.Animator;
+import Engine.AssetLoader;
+import Engine.CanvasWorldRenderer;
+import Engine.FlowField;
+import Engine.FrameProfiler;
+import Engine.FrameProfiler.Section;
+import Engine.NavigationGrid;
+import Engine.ParticleSystem;
+import Engine.RenderLayers;
+import Engine.SceneGraph;
+import Engine.SceneRegistry;
+import Engine.ScenePrefetcher;
+import Engine.SpriteAtlas;
+import Engine.TiledBackground;
+import Engine.TriggerSystem;
+import Logic.Game;
+import com.almasb.fxgl.dsl.FXGL;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import javafx.animation.FadeTransition;
+import javafx.application.Platform;
+import javafx.event.EventHandler;
+import javafx.geometry.Insets;
+import javafx.geometry.Point2D;
+import javafx.geometry.Pos;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.image.ImageView;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Text;
+import javafx.util.Duration;
+
+/*
+ * Base de las escenas donde el heroe camina (aldeas, castillos, mazmorras). Reune el movimiento
+ * con WASD, el deslizamiento contra obstaculos, la camara y el registro en el GameLoop compartido.
+ * Cada escena solo aporta sus datos (fondo, obstaculos, zonas) y los ganchos de abajo.
+ *
+ * La posicion simulada del heroe es su layoutX/Y y solo cambia dentro de tick(). render() dibuja
+ * el heroe (con translateX/Y) y la camara interpolando entre el paso anterior y el actual, asi el
+ * movimiento se ve suave aunque el monitor no vaya a la misma frecuencia que la simulacion.
+ */
+public abstract class ExplorationScene implements GameLoop.Tickable, SceneRegistry.Reusable {
+
+    protected final double HERO_W = 48;
+    protected final double HERO_H = 48;
+    protected final double HERO_SPEED = 180.0;
+    protected final double VIEW_W = 800;
+    protected final double VIEW_H = 600;
+    // Pies de los NPC que caminan (lo que choca con el heroe) y celda de su rejilla
+    protected final double NPC_FOOT = 24;
+    protected final double NPC_CELL_SIZE = 8;
+
+    protected final Game game;
+    protected final StackPane root;
+    protected final Pane world;
+    protected final ImageView heroView;
+    protected final Set<KeyCode> keys = new HashSet<>();
+    // Zonas de salida vigiladas para precargar la escena vecina (ver SceneGraph)
+    protected final ScenePrefetcher prefetcher;
+    protected double worldW = VIEW_W;
+    protected double worldH = VIEW_H;
+    // Fondo por trozos de la escena; null mientras el fondo sea una imagen entera
+    protected TiledBackground tiledBackground = null;
+    // Zonas de la escena (salidas, entradas, jefes) por celdas; se consultan por etiqueta
+    protected final TriggerSystem triggers = new TriggerSystem(64);
+    // Campo de persecucion hacia el heroe para los monstruos que lo sigan; se crea al primer uso
+    private static final double CHASE_CELL_SIZE = 16.0;
+    private static final int CHASE_RADIUS_CELLS = 64;
+    private static final int CHASE_BUDGET = 2048;
+    private FlowField chaseField = null;
+
+    // NPC que caminan por la escena; null si la escena no tiene (ver newNpcGrid)
+    protected NpcRoutes npcRoutes = null;
+
+    // Posicion del heroe al inicio del ultimo paso, para interpolar el dibujo
+    private double prevHeroX = 0;
+    private double prevHeroY = 0;
+
+    // Capas del mundo; el heroe y los NPC van en la de actores, ordenados por la Y de los pies
+    protected final RenderLayers layers;
+
+    // Animaciones por cuadros de la escena, avanzadas en cada paso; el heroe es la primera
+    protected final Animator animator = new Animator();
+    private final HeroAnimation heroAnimation;
+
+    // Donde corre runLater: el hilo de JavaFX, o la cola de SceneSimulator sin ventana
+    private static Executor uiExecutor = Platform::runLater;
+
+    // Teclas puestas por un guion (SceneSimulator): no se borran aunque el root no tenga foco
+    private boolean scriptedInput = false;
+
+    // Particulas de la escena (ambiente y efectos); se crean con la primera que se pide
+    private ParticleSystem particles = null;
+
+    // Backend de dibujo en Canvas (opcional); se engancha al root en el primer render
+    private final CanvasWorldRenderer canvasRenderer;
+
+    // Overlay de carga con el texto de cada escena; la barra de progreso se le agrega la primera vez
+    private static final double LOADING_BAR_W = 320;
+    private final StackPane loadingOverlay;
+    private Rectangle loadingFill = null;
+
+    // A donde se vuelve al salir por la zona de salida (lo pasa showWithLoading)
+    protected Runnable onExitCallback = null;
+
+    // Los filtros de teclado se instalan al mostrar la escena por primera vez
+    private boolean inputInstalled = false;
+
+    // Filtro de la Scene que se come las teclas mientras hay un dialogo abierto
+    private EventHandler<KeyEvent> dialogKeyFilter = null;
+
+    // Direcciones del héroe (para depuración con tecla P)
+    public enum Direction {
+        NONE, N, NE, E, SE, S, SW, W, NW
+    }
+    private Direction currentDirection = Direction.NONE;
+
+    protected ExplorationScene(Game game, String loadingText) {
+        this.game = game;
+        // Con el nombre de la clase: getSceneName no se puede llamar aca (la subclase no esta armada)
+        prefetcher = new ScenePrefetcher(getClass().getSimpleName());
+        root = new StackPane();
+        root.setPrefSize(VIEW_W, VIEW_H);
+
+        world = new Pane();
+        world.setPrefSize(VIEW_W, VIEW_H);
+
+        heroView = createHeroView();
+        layers = new RenderLayers(world);
+        layers.addActor(heroView);
+        heroAnimation = new HeroAnimation(animator, heroView, game.getHero());
+        canvasRenderer = CanvasWorldRenderer.isEnabled() ? new CanvasWorldRenderer(world, VIEW_W, VIEW_H) : null;
+
+        loadingOverlay = createLoadingOverlay(loadingText);
+        root.getChildren().addAll(world, loadingOverlay);
+    }
+
+    // ---------------- ganchos de cada escena ----------------
+    // true si el rectangulo del heroe choca con algun obstaculo de la escena
+    protected abstract boolean collides(Rectangle2D heroRect);
+
+    // Marca los obstaculos de la escena en una rejilla (rutas de NPC y campo de persecucion)
+    protected void blockObstacles(NavigationGrid grid) {
+    }
+
+    // Despues de cada paso en que el heroe se movio (zonas de salida, interactuables...)
+    protected void onHeroMoved() {
+    }
+
+    // En los pasos sin teclas de movimiento
+    protected void onHeroIdle() {
+    }
+
+    // Las escenas de aldea bajan un poco la camara cuando el heroe esta en el ultimo cuarto del mapa
+    protected boolean easesCameraNearBottom() {
+        return false;
+    }
+
+    // Estado propio de la escena (banderas, listas que se llenan al mostrarla) a reiniciar al reusarla
+    protected void onReset() {
+    }
+
+    // Teclas propias de la escena (ENTER, inventario, depuracion); WASD y flechas ya van a keys
+    protected void onKeyPressed(KeyCode k) {
+    }
+
+    // Musica de la escena: arranca con el mundo ya armado y se corta en hide()
+    protected void startSceneMusic() {
+    }
+
+    protected void stopSceneMusic() {
+    }
+
+    /*
+     * Arma el mundo una vez cargados los recursos: fondo, colisiones, zonas, NPC y el heroe en la
+     * entrada. No toca la ventana ni la musica, asi SceneSimulator lo puede llamar sin pantalla.
+     */
+    protected void buildWorld() {
+    }
+
+    // Nombre de la escena en el grafo de escenas (scenes.txt); es el mismo que usa el prefetcher
+    protected final String getSceneName() {
+        return getClass().getSimpleName();
+    }
+
+    // Efecto de ambiente que cubre la vista (niebla del pantano, brasas del volcan); null sin efecto
+    protected ParticleSystem.Preset getAmbience() {
+        return null;
+    }
+
+    // ---------------- API comun ----------------
+    public StackPane getRoot() {
+        return root;
+    }
+
+    public Point2D getHeroMapTopLeft() {
+        return new Point2D(heroView.getLayoutX(), heroView.getLayoutY());
+    }
+
+    public void setHeroPosition(double x, double y) {
+        double nx = clamp(x, 0, Math.max(0, worldW - HERO_W));
+        double ny = clamp(y, 0, Math.max(0, worldH - HERO_H));
+        heroView.setLayoutX(nx);
+        heroView.setLayoutY(ny);
+        prevHeroX = nx;
+        prevHeroY = ny;
+        updateCamera();
+    }
+
+    /*
+     * Pone el root en FXGL con el overlay de carga, carga en segundo plano los recursos de la escena
+     * segun el grafo (scenes.txt) y, con todo en cache, arma el mundo, arranca la musica y el
+     * GameLoop. onExit es a donde se vuelve al salir por la zona de salida.
+     */
+    public final void showWithLoading(Runnable onLoaded, Runnable onExit) {
+        this.onExitCallback = onExit;
+        installInputHandlers();
+
+        Platform.runLater(() -> {
+            FXGL.getGameScene().addUINode(root);
+            root.requestFocus();
+            showLoading(true);
+
+            loadAssets(SceneGraph.batch(getSceneName()), () -> {
+                buildWorld();
+                startSceneMusic();
+
+                showLoading(false);
+                fadeInContent();
+                startMover();
+                if (onLoaded != null) {
+                    onLoaded.run();
+                }
+            });
+        });
+    }
+
+    public final void hide() {
+        Platform.runLater(() -> {
+            stopSceneMusic();
+            stopMover();
+            try {
+                FXGL.getGameScene().removeUINode(root);
+            } catch (Throwable ignored) {
+            }
+        });
+    }
+
+    public void startMover() {
+        GameLoop.activate(this);
+    }
+
+    public void stopMover() {
+        GameLoop.deactivate(this);
+    }
+
+    /*
+     * La escena sale otra vez de SceneRegistry. Los nodos, el overlay de carga y los manejadores de
+     * entrada se conservan; fondo, obstaculos y zonas los rearma showWithLoading como siempre.
+     */
+    @Override
+    public void resetForReuse() {
+        stopMover();
+        clearInputState();
+        prefetcher.clear();
+        triggers.clear();
+        npcRoutes = null;
+        chaseField = null;
+        layers.clearActors(heroView);
+        if (particles != null) {
+            particles.clear();
+        }
+        heroView.setTranslateX(0);
+        heroView.setTranslateY(0);
+        root.setOpacity(1.0);
+        currentDirection = Direction.NONE;
+        onReset();
+    }
+
+    void setScriptedInput(boolean scripted) {
+        scriptedInput = scripted;
+    }
+
+    public Direction getHeroDirection() {
+        return currentDirection;
+    }
+
+    @Override
+    public void tick(double dt) {
+        // La simulacion trabaja sobre la posicion real, sin el desfase de interpolacion
+        NodeWrites.setTranslate(heroView, 0, 0);
+        prevHeroX = heroView.getLayoutX();
+        prevHeroY = heroView.getLayoutY();
+        Section previous = FrameProfiler.enter(Section.MOVEMENT);
+        if (!scriptedInput && (root.getScene() == null || !root.isFocused())) {
+            clearInputState();
+            heroAnimation.update(0, 0);
+        } else {
+            updateAndMove(dt);
+        }
+        if (npcRoutes != null) {
+            npcRoutes.tick(dt, heroView.getLayoutX(), heroView.getLayoutY(), HERO_W, HERO_H);
+        }
+        animator.tick(dt);
+        ParticleSystem.Preset ambience = getAmbience();
+        if (ambience != null || particles != null) {
+            FrameProfiler.enter(Section.PARTICLES);
+            ParticleSystem ps = getParticles();
+            if (ambience != null) {
+                ps.ambient(ambience, ambienceRate(ambience), dt,
+                        -world.getTranslateX(), -world.getTranslateY(), VIEW_W, VIEW_H);
+            }
+            ps.update(dt);
+        }
+        FrameProfiler.enter(previous);
+    }
+
+    @Override
+    public void render(double alpha) {
+        double x = heroView.getLayoutX();
+        double y = heroView.getLayoutY();
+        double rx = x;
+        double ry = y;
+        // Un salto mayor a un paso (cambio de sala, setLayoutX directo) no se interpola
+        double maxStep = HERO_SPEED * GameLoop.getStep() * 1.5;
+        if (Math.abs(x - prevHeroX) <= maxStep && Math.abs(y - prevHeroY) <= maxStep) {
+            rx = prevHeroX + (x - prevHeroX) * alpha;
+            ry = prevHeroY + (y - prevHeroY) * alpha;
+        }
+        Section previous = FrameProfiler.enter(Section.CAMERA);
+        NodeWrites.setTranslate(heroView, rx - x, ry - y);
+        updateCamera(rx, ry);
+        layers.restack();
+        layers.sort();
+        if (canvasRenderer != null) {
+            FrameProfiler.enter(Section.RENDER);
+            canvasRenderer.attach(root);
+            canvasRenderer.draw();
+        }
+        if (particles != null) {
+            FrameProfiler.enter(Section.PARTICLES);
+            particles.attach(root, canvasRenderer != null ? canvasRenderer.getCanvas() : world);
+            particles.draw(world.getTranslateX(), world.getTranslateY());
+        }
+        FrameProfiler.enter(previous);
+    }
+
+    // Particulas en coordenadas del mundo, dibujadas sobre el mundo y debajo de los overlays
+    protected ParticleSystem getParticles() {
+        if (particles == null) {
+            particles = new ParticleSystem(VIEW_W, VIEW_H);
+        }
+        return particles;
+    }
+
+    // Particulas por segundo de cada ambiente: pocas manchas grandes de niebla, muchas brasas chicas
+    private static double ambienceRate(ParticleSystem.Preset ambience) {
+        double rate;
+        switch (ambience) {
+            case FOG -> rate = 6;
+            case EMBERS -> rate = 60;
+            default -> rate = 20;
+        }
+        return rate;
+    }
+
+    private StackPane createLoadingOverlay(String text) {
+        StackPane overlay = new StackPane();
+        overlay.setPickOnBounds(true);
+
+        Rectangle bg = new Rectangle(VIEW_W, VIEW_H);
+        bg.setFill(Color.rgb(0, 0, 0, 0.6));
+
+        Text label = new Text(text);
+        label.setStyle("-fx-font-size: 24px; -fx-fill: #e0d090;");
+
+        overlay.getChildren().addAll(bg, label);
+        StackPane.setAlignment(label, Pos.CENTER);
+        overlay.setVisible(false);
+        return overlay;
+    }
+
+    private void showLoading(boolean show) {
+        loadingOverlay.setVisible(show);
+        if (show) {
+            loadingOverlay.toFront();
+        } else {
+            loadingOverlay.toBack();
+        }
+    }
+
+    private void fadeInContent() {
+        FadeTransition ft = new FadeTransition(Duration.millis(400), root);
+        ft.setFromValue(0.2);
+        ft.setToValue(1.0);
+        ft.play();
+    }
+
+    /*
+     * Carga el lote en segundo plano mostrando el progreso real en el overlay de carga. onReady corre
+     * en el hilo de JavaFX en cuanto todo esta en cache, y solo si la escena sigue en pantalla (si el
+     * jugador salio mientras tanto no se arma nada). Si la precarga ya dejo todo en cache se arma en
+     * el acto, en el mismo pulso, y el overlay nunca llega a dibujarse.
+     */
+    private void loadAssets(AssetLoader.Batch assets, Runnable onReady) {
+        StackPane overlay = loadingOverlay;
+        if (loadingFill == null) {
+            Rectangle track = new Rectangle(LOADING_BAR_W, 10, Color.rgb(255, 255, 255, 0.12));
+            track.setArcWidth(6);
+            track.setArcHeight(6);
+            loadingFill = new Rectangle(0, 10, Color.web("#FFD54F"));
+            loadingFill.setArcWidth(6);
+            loadingFill.setArcHeight(6);
+            StackPane bar = new StackPane(track, loadingFill);
+            bar.setMaxSize(LOADING_BAR_W, 10);
+            StackPane.setAlignment(loadingFill, Pos.CENTER_LEFT);
+            StackPane.setAlignment(bar, Pos.CENTER);
+            StackPane.setMargin(bar, new Insets(80, 0, 0, 0));
+            overlay.getChildren().add(bar);
+        }
+        if (assets.isReady()) {
+            loadingFill.setWidth(LOADING_BAR_W);
+            onReady.run();
+        } else {
+            loadingFill.setWidth(0);
+            assets.start(progress -> loadingFill.setWidth(LOADING_BAR_W * progress), () -> {
+                if (root.getScene() != null) {
+                    onReady.run();
+                }
+            });
+        }
+    }
+
+    /*
+     * Si el fondo tiene trozos generados por TileSlicer fija el tamano del mundo y devuelve el nodo
+     * que va en el mundo; si no, devuelve null y la escena arma el ImageView de siempre.
+     */
+    protected Node useTiledBackground(String path) {
+        if (tiledBackground != null) {
+            tiledBackground.clear();
+        }
+        tiledBackground = TiledBackground.open(path);
+        Node node = null;
+        if (tiledBackground != null) {
+            worldW = tiledBackground.getWidth();
+            worldH = tiledBackground.getHeight();
+            node = tiledBackground.getNode();
+        }
+        return node;
+    }
+
+    // ---------------- movimiento ----------------
+    private ImageView createHeroView() {
+        ImageView iv = new ImageView();
+        try {
+            SpriteAtlas.apply(iv, game.getHero().getSpritePath());
+        } catch (Throwable ignored) {
+        }
+        iv.setPreserveRatio(true);
+        iv.setFitWidth(HERO_W);
+        iv.setFitHeight(HERO_H);
+        iv.setMouseTransparent(true);
+        return iv;
+    }
+
+    private void updateAndMove(double dt) {
+        double vx = 0;
+        double vy = 0;
+        if (keys.contains(KeyCode.A)) {
+            vx -= HERO_SPEED;
+        }
+        if (keys.contains(KeyCode.D)) {
+            vx += HERO_SPEED;
+        }
+        if (keys.contains(KeyCode.W)) {
+            vy -= HERO_SPEED;
+        }
+        if (keys.contains(KeyCode.S)) {
+            vy += HERO_SPEED;
+        }
+
+        Direction newDir = (vx != 0 || vy != 0) ? directionFromVector(vx, vy) : Direction.NONE;
+        setDirectionIfChanged(newDir);
+        heroAnimation.update(vx, vy);
+
+        boolean isIdle = (vx == 0 && vy == 0);
+        if (isIdle) {
+            Section previous = FrameProfiler.enter(Section.TRIGGERS);
+            onHeroIdle();
+            FrameProfiler.enter(previous);
+        } else {
+            moveHero(vx * dt, vy * dt);
+        }
+    }
+
+    protected void moveHero(double dx, double dy) {
+        double curX = heroView.getLayoutX();
+        double curY = heroView.getLayoutY();
+
+        double proposedX = clamp(curX + dx, 0, Math.max(0, worldW - HERO_W));
+        double proposedY = clamp(curY + dy, 0, Math.max(0, worldH - HERO_H));
+
+        double nx = curX;
+        double ny = curY;
+        Section previous = FrameProfiler.enter(Section.COLLISION);
+        if (!blocked(proposedX, proposedY)) {
+            nx = proposedX;
+            ny = proposedY;
+        } else {
+            // Separa los ejes para que el heroe se deslice por el borde del obstaculo
+            boolean canMoveX = !blocked(proposedX, curY);
+            boolean canMoveY = !blocked(curX, proposedY);
+
+            if (canMoveX) {
+                nx = proposedX;
+            }
+            if (canMoveY) {
+                ny = proposedY;
+            }
+        }
+        FrameProfiler.enter(previous);
+        // Contra una esquina la posicion no cambia: no se escribe
+        NodeWrites.setLayout(heroView, nx, ny);
+
+        // La camara se actualiza en render() con la posicion interpolada
+        FrameProfiler.enter(Section.TRIGGERS);
+        onHeroMoved();
+        if (chaseField != null) {
+            chaseField.update(nx, ny);
+        }
+        prefetcher.update(heroView.getLayoutX(), heroView.getLayoutY(), HERO_W, HERO_H);
+        FrameProfiler.enter(previous);
+    }
+
+    // Obstaculos de la escena y pies de los NPC que caminan
+    private boolean blocked(double x, double y) {
+        return collides(new Rectangle2D(x, y, HERO_W, HERO_H))
+                || (npcRoutes != null && npcRoutes.overlaps(x, y, HERO_W, HERO_H));
+    }
+
+    /*
+     * Rejilla del mundo actual con los obstaculos de la escena (blockObstacles) para las rutas de los
+     * NPC; la escena arma npcRoutes con ella. Se vuelve a pedir si cambia el fondo (otra sala, otro
+     * tamano).
+     */
+    protected NavigationGrid newNpcGrid() {
+        NavigationGrid grid = new NavigationGrid(worldW, worldH, NPC_CELL_SIZE, NPC_FOOT, NPC_FOOT);
+        blockObstacles(grid);
+        return grid;
+    }
+
+    /*
+     * Campo compartido por los monstruos que persiguen al heroe. Se arma al primer uso con los
+     * obstaculos de la escena y despues se actualiza en moveHero, repartido entre frames
+     * (time-sliced, ver FlowField).
+     */
+    protected final FlowField getChaseField() {
+        if (chaseField == null) {
+            NavigationGrid grid = new NavigationGrid(worldW, worldH, CHASE_CELL_SIZE, HERO_W, HERO_H);
+            blockObstacles(grid);
+            chaseField = new FlowField(grid, CHASE_RADIUS_CELLS, CHASE_BUDGET);
+            chaseField.rebuild(heroView.getLayoutX(), heroView.getLayoutY());
+        }
+        return chaseField;
+    }
+
+    // Los obstaculos cambiaron (otra sala): el campo se vuelve a armar en el proximo getChaseField
+    protected final void invalidateChaseField() {
+        chaseField = null;
+    }
+
+    protected void updateCamera() {
+        updateCamera(heroView.getLayoutX(), heroView.getLayoutY());
+    }
+
+    private void updateCamera(double heroX, double heroY) {
+        double heroCenterX = heroX + HERO_W / 2.0;
+        double heroCenterY = heroY + HERO_H / 2.0;
+
+        double targetTx = VIEW_W / 2.0 - heroCenterX;
+        double targetTy = VIEW_H / 2.0 - heroCenterY;
+
+        double minTx = Math.min(0, VIEW_W - worldW);
+        double maxTx = 0;
+        double minTy = Math.min(0, VIEW_H - worldH);
+        double maxTy = 0;
+
+        double tx = clamp(targetTx, minTx, maxTx);
+        double ty = clamp(targetTy, minTy, maxTy);
+
+        double lowerZone = worldH * 0.75;
+        if (easesCameraNearBottom() && heroCenterY > lowerZone) {
+            double factor = 0.45;
+            ty = ty * factor + (VIEW_H / 2.0 - heroCenterY) * (1 - factor);
+            ty = clamp(ty, minTy, maxTy);
+        }
+
+        boolean moved = NodeWrites.setTranslate(world, tx, ty);
+        if (moved && tiledBackground != null) {
+            tiledBackground.update(-tx, -ty, VIEW_W, VIEW_H);
+        }
+    }
+
+    // Si el heroe no se movio desde el ultimo paso el sistema de triggers no hace nada
+    protected void updateTriggers() {
+        triggers.update(heroView.getLayoutX(), heroView.getLayoutY(), HERO_W, HERO_H);
+    }
+
+    // Registra el rectangulo dibujado como zona con esa etiqueta
+    protected void addTrigger(String tag, Rectangle area) {
+        triggers.addTrigger(tag, tag, area.getX(), area.getY(), area.getWidth(), area.getHeight(), null);
+    }
+
+    // Reemplaza las zonas con esa etiqueta por el rectangulo
+    protected void setTrigger(String tag, Rectangle area) {
+        triggers.removeByTag(tag);
+        addTrigger(tag, area);
+    }
+
+    // true si el heroe esta dentro de alguna zona con esa etiqueta, con su posicion actual
+    protected boolean heroInTrigger(String tag) {
+        updateTriggers();
+        return triggers.isInside(tag);
+    }
+
+    // Trabajo sobre los nodos de la escena para el proximo pulso (armado de NPC)
+    protected static void runLater(Runnable task) {
+        uiExecutor.execute(task);
+    }
+
+    // null vuelve al hilo de JavaFX
+    static void setUiExecutor(Executor executor) {
+        uiExecutor = executor != null ? executor : Platform::runLater;
+    }
+
+    /*
+     * Pasa los nodos (NPC) a la capa de actores: quedan encima del resto del mundo y ordenados con el
+     * heroe por la Y de los pies. Los que ya estaban no se mueven.
+     */
+    protected void bringToFront(List<? extends Node> nodes) {
+        for (Node n : nodes) {
+            layers.addActor(n);
+        }
+        layers.restack();
+    }
+
+    /*
+     * Texto de ayuda sobre el heroe ("ENTER para ..."). Se crea una sola vez y oculto, la escena lo
+     * pone en la capa OVERLAY (encima de los actores) al armar el mundo y despues solo lo mueve con
+     * NodeWrites.setLayout y lo muestra u oculta.
+     */
+    protected static Text createHint(String text, String style) {
+        Text hint = new Text(text);
+        hint.setStyle(style);
+        hint.setMouseTransparent(true);
+        hint.setVisible(false);
+        return hint;
+    }
+
+    /*
+     * Dialogo inferior estilo RPG con los nodos del OverlayService del root, reutilizados entre
+     * mensajes. Mientras esta abierto el heroe no se mueve y las teclas solo lo cierran (ENTER o ESC);
+     * si ya habia uno abierto solo se le cambia el contenido.
+     */
+    protected final void showBottomDialogRPG(String title, String message, String iconResourcePath) {
+        Platform.runLater(() -> {
+            OverlayService.Dialog dialog = OverlayService.of(root).dialog();
+            StackPane modalOverlay = dialog.getNode();
+            Button okBtn = dialog.getOkButton();
+            dialog.setContent(title, message, iconResourcePath);
+
+            if (modalOverlay.getParent() != root) {
+                stopMover();
+                root.getProperties().put("dialogOpen", true);
+                okBtn.setOnAction(e -> closeDialog(modalOverlay));
+
+                root.getChildren().add(modalOverlay);
+                dialog.playIntro();
+
+                Scene scene = root.getScene();
+                if (scene != null && dialogKeyFilter == null) {
+                    dialogKeyFilter = ev -> {
+                        if (Boolean.TRUE.equals(root.getProperties().get("dialogOpen"))) {
+                            if (ev.getCode() == KeyCode.ENTER || ev.getCode() == KeyCode.ESCAPE) {
+                                Platform.runLater(okBtn::fire);
+                            }
+                            ev.consume();
+                        }
+                    };
+                    scene.addEventFilter(KeyEvent.KEY_PRESSED, dialogKeyFilter);
+                }
+            }
+
+            Platform.runLater(() -> {
+                modalOverlay.requestFocus();
+                okBtn.requestFocus();
+            });
+        });
+    }
+
+    // Cierra el dialogo con un fundido corto, suelta el filtro de teclas y reanuda el movimiento
+    private void closeDialog(StackPane modalOverlay) {
+        Scene scene = root.getScene();
+        if (dialogKeyFilter != null && scene != null) {
+            scene.removeEventFilter(KeyEvent.KEY_PRESSED, dialogKeyFilter);
+        }
+        dialogKeyFilter = null;
+
+        FadeTransition ftOut = new FadeTransition(Duration.millis(140), modalOverlay.getChildren().get(0));
+        ftOut.setFromValue(1.0);
+        ftOut.setToValue(0.0);
+        ftOut.setOnFinished(ev -> {
+            root.getChildren().remove(modalOverlay);
+            startMover();
+            root.getProperties().put("dialogOpen", false);
+        });
+        ftOut.play();
+    }
+
+    protected void clearInputState() {
+        keys.clear();
+    }
+
+    /*
+     * Filtros de teclado del root: WASD y flechas van a keys (no con un dialogo abierto) y el resto de
+     * las teclas a onKeyPressed. Se instalan desde showWithLoading y no en el constructor, donde
+     * 'this' escaparia antes de que la subclase termine de armarse.
+     */
+    private void installInputHandlers() {
+        if (!inputInstalled) {
+            inputInstalled = true;
+            root.addEventFilter(KeyEvent.KEY_PRESSED, ev -> {
+                if (!Boolean.TRUE.equals(root.getProperties().get("dialogOpen"))) {
+                    KeyCode k = ev.getCode();
+                    KeyCode move = movementKey(k);
+                    if (move != null) {
+                        keys.add(move);
+                    }
+                    onKeyPressed(k);
+                }
+                ev.consume();
+            });
+
+            root.addEventFilter(KeyEvent.KEY_RELEASED, ev -> {
+                KeyCode move = movementKey(ev.getCode());
+                if (move != null) {
+                    keys.remove(move);
+                }
+                ev.consume();
+            });
+
+            root.setFocusTraversable(true);
+            root.sceneProperty().addListener((obs, oldScene, newScene) -> {
+                if (newScene != null) {
+                    Platform.runLater(root::requestFocus);
+                } else {
+                    clearInputState();
+                }
+            });
+            root.focusedProperty().addListener((obs, wasFocused, isFocused) -> {
+                if (!isFocused) {
+                    clearInputState();
+                }
+            });
+        }
+    }
+
+    // Flechas y WASD a la tecla que lee el movimiento (W, A, S o D); null si la tecla no mueve
+    private static KeyCode movementKey(KeyCode k) {
+        KeyCode move = null;
+        switch (k) {
+            case W, UP -> move = KeyCode.W;
+            case S, DOWN -> move = KeyCode.S;
+            case A, LEFT -> move = KeyCode.A;
+            case D, RIGHT -> move = KeyCode.D;
+            default -> move = null;
+        }
+        return move;
+    }
+
+    private Direction directionFromVector(double vx, double vy) {
+        Direction result = Direction.NONE;
+
+        if (!(vx == 0 && vy == 0)) {
+            double angle = Math.toDegrees(Math.atan2(-vy, vx));
+            if (angle < 0) {
+                angle += 360.0;
+            }
+
+            if (angle >= 337.5 || angle < 22.5) {
+                result = Direction.E;
+            } else if (angle < 67.5) {
+                result = Direction.NE;
+            } else if (angle < 112.5) {
+                result = Direction.N;
+            } else if (angle < 157.5) {
+                result = Direction.NW;
+            } else if (angle < 202.5) {
+                result = Direction.W;
+            } else if (angle < 247.5) {
+                result = Direction.SW;
+            } else if (angle < 292.5) {
+                result = Direction.S;
+            } else if (angle < 337.5) {
+                result = Direction.SE;
+            }
+        }
+
+        return result;
+    }
+
+    private void setDirectionIfChanged(Direction newDir) {
+        if (newDir == null) {
+            newDir = Direction.NONE;
+        }
+        currentDirection = newDir;
+    }
+
+    protected static double clamp(double v, double lo, double hi) {
+        double result = v;
+        if (result < lo) {
+            result = lo;
+        } else if (result > hi) {
+            result = hi;
+        }
+        return result;
+    }
+}
@@ -1,66 +1,41 @@
 package GUI;
 
+import Engine.AssetLoader;
+import Engine.ImageCache;
+import Engine.SceneRegistry;
+import Engine.TriggerSystem;
 import Runner.MainScreen;
 import Characters.Hero;
 import Logic.Game;
 import com.almasb.fxgl.dsl.FXGL;
-import javafx.animation.FadeTransition;
-import javafx.animation.PauseTransition;
-import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
-import javafx.geometry.Point2D;
 import javafx.geometry.Rectangle2D;
-import javafx.geometry.Pos;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCode;
-import javafx.scene.input.KeyEvent;
-import javafx.scene.layout.Pane;
-import javafx.scene.layout.StackPane;
 import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Text;
-import javafx.util.Duration;
 
 import java.net.URL;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
-public class ForestHouse {
+public class ForestHouse extends ExplorationScene {
 
-    private final StackPane root;
-    private final Pane world;
-    private final StackPane loadingOverlay;
     private ImageView backgroundView;
     private MediaPlayer music;
 
-    private final ImageView heroView;
-    private final double HERO_W = 48;
-    private final double HERO_H = 48;
-    private final double HERO_SPEED = 180.0;
-    private final Set<KeyCode> keys = new HashSet<>();
-    private AnimationTimer mover;
-
-    private final double VIEW_W = 800;
-    private final double VIEW_H = 600;
-    private double worldW = VIEW_W;
-    private double worldH = VIEW_H;
-
     private Rectangle startRect;
     private boolean onStartRect = false;
 
     private final List<Rectangle> transitionRects = new ArrayList<>();
 
-    private Runnable onExitCallback;
-    private final Game game;
-
     private boolean entranceHouse = false;
     private boolean entrance2floor = false;
 
@@ -71,12 +46,6 @@ public class ForestHouse {
     // Inventario (si se abre desde aquí se pasa this)
     private InventoryScreen inventory;
 
-    // Direcciones del héroe (para depuración con tecla P)
-    public enum Direction {
-        NONE, N, NE, E, SE, S, SW, W, NW
-    }
-    private Direction currentDirection = Direction.NONE;
-
     // Tipos de obstáculos para la aldea
     private enum ObstacleType {
         HOUSE, TREE, FENCE, BUSH, BLOCK, PLANT, DECORATION
@@ -97,96 +66,37 @@ public class ForestHouse {
     }
 
     public ForestHouse(Game game) {
-        this.game = game;
-        root = new StackPane();
-        root.setPrefSize(VIEW_W, VIEW_H);
-
-        world = new Pane();
-        world.setPrefSize(VIEW_W, VIEW_H);
-
-        loadingOverlay = createLoadingOverlay();
-
-        root.getChildren().addAll(world, loadingOverlay);
-
-        heroView = createHeroView();
-
-        installInputHandlers();
-        createMover();
-
-        root.focusedProperty().addListener((obs, wasFocused, isFocused) -> {
-            if (!isFocused) {
-                clearInputState();
-            }
-        });
-    }
-
-    public StackPane getRoot() {
-        return root;
+        super(game, "Loading Map..");
     }
 
-    public Point2D getHeroMapTopLeft() {
-        return new Point2D(heroView.getLayoutX(), heroView.getLayoutY());
+    // Al reusarla desde SceneRegistry
+    @Override
+    protected void onReset() {
+        onStartRect = false;
+        entranceHouse = false;
+        entrance2floor = false;
     }
 
-    public void showWithLoading(Runnable onLoaded, Runnable onExit) {
-        this.onExitCallback = onExit;
-
-        Platform.runLater(() -> {
-            FXGL.getGameScene().addUINode(root);
-            showLoading(true);
-
-            boolean imageOk = loadBackgroundImage("/Resources/textures/forestHouse/forestHouseOutside2.png");
-            boolean musicOk = startVillageMusic("/Resources/music/forestHouse.mp3");
-
-            populateForestHouseObstacles();
-
-            // Luego posicionar al héroe
-            positionHeroAtEntrance();
-            createStartRectAtHeroStart();
-            createTransitionRects();
-
-            PauseTransition wait = new PauseTransition(Duration.millis(600));
-            wait.setOnFinished(e -> {
-                showLoading(false);
-                fadeInContent();
-                startMover();
-                if (onLoaded != null) {
-                    onLoaded.run();
-                }
-            });
-            wait.play();
-        });
+    @Override
+    protected void startSceneMusic() {
+        startVillageMusic("/Resources/music/forestHouse.mp3");
     }
 
-    public void hide() {
-        Platform.runLater(() -> {
-            stopVillageMusic();
-            stopMover();
-            try {
-                FXGL.getGameScene().removeUINode(root);
-            } catch (Throwable ignored) {
-            }
-        });
-    }
+    @Override
+    protected void buildWorld() {
+        loadBackgroundImage("/Resources/textures/forestHouse/forestHouseOutside2.png");
 
-    public void setHeroPosition(double x, double y) {
-        double nx = clamp(x, 0, Math.max(0, worldW - HERO_W));
-        double ny = clamp(y, 0, Math.max(0, worldH - HERO_H));
-        heroView.setLayoutX(nx);
-        heroView.setLayoutY(ny);
-        updateCamera();
-    }
+        populateForestHouseObstacles();
 
-    public void startMover() {
-        if (mover != null) {
-            mover.start();
-        }
+        // Luego posicionar al héroe
+        positionHeroAtEntrance();
+        createStartRectAtHeroStart();
+        createTransitionRects();
     }
 
-    public void stopMover() {
-        if (mover != null) {
-            mover.stop();
-        }
+    @Override
+    protected void stopSceneMusic() {
+        stopVillageMusic();
     }
 
     public void stopVillageMusic() {
@@ -201,44 +111,11 @@ public class ForestHouse {
     }
 
     // ---------------- internals / UI ----------------
-    private StackPane createLoadingOverlay() {
-        StackPane overlay = new StackPane();
-        overlay.setPickOnBounds(true);
-
-        Rectangle bg = new Rectangle(VIEW_W, VIEW_H);
-        bg.setFill(Color.rgb(0, 0, 0, 0.6));
-
-        Text label = new Text("Loading Map..");
-        label.setStyle("-fx-font-size: 24px; -fx-fill: #e0d090;");
-
-        overlay.getChildren().addAll(bg, label);
-        StackPane.setAlignment(label, Pos.CENTER);
-        overlay.setVisible(false);
-        return overlay;
-    }
-
-    private void showLoading(boolean show) {
-        loadingOverlay.setVisible(show);
-        if (show) {
-            loadingOverlay.toFront();
-        } else {
-            loadingOverlay.toBack();
-        }
-    }
-
-    private void fadeInContent() {
-        FadeTransition ft = new FadeTransition(Duration.millis(400), root);
-        ft.setFromValue(0.2);
-        ft.setToValue(1.0);
-        ft.play();
-    }
-
     private boolean loadBackgroundImage(String path) {
         boolean loaded = false;
         try {
-            java.io.InputStream is = getClass().getResourceAsStream(path);
-            if (is != null) {
-                Image img = new Image(is);
+            Image img = ImageCache.get(path);
+            if (img != null) {
                 backgroundView = new ImageView(img);
                 backgroundView.setPreserveRatio(false);
                 backgroundView.setSmooth(true);
@@ -253,11 +130,7 @@ public class ForestHouse {
                 world.getChildren().clear();
                 world.getChildren().add(backgroundView);
 
-                if (!world.getChildren().contains(heroView)) {
-                    world.getChildren().add(heroView);
-                } else {
-                    heroView.toFront();
-                }
+                layers.restack();
                 loaded = true;
             } else {
                 Text err = new Text("No se encontró la imagen de la aldea: " + path);
@@ -277,7 +150,7 @@ public class ForestHouse {
         try {
             URL res = getClass().getResource(path);
             if (res != null) {
-                Media media = new Media(res.toExternalForm());
+                Media media = AssetLoader.getMedia(res);
                 stopVillageMusic();
                 music = new MediaPlayer(media);
                 music.setCycleCount(MediaPlayer.INDEFINITE);
@@ -294,21 +167,6 @@ public class ForestHouse {
         return started;
     }
 
-    private ImageView createHeroView() {
-        Image img = null;
-        try {
-            img = new Image(getClass().getResourceAsStream(game.getHero().getSpritePath()));
-        } catch (Throwable ignored) {
-            img = null;
-        }
-        ImageView iv = new ImageView(img);
-        iv.setPreserveRatio(true);
-        iv.setFitWidth(HERO_W);
-        iv.setFitHeight(HERO_H);
-        iv.setMouseTransparent(true);
-        return iv;
-    }
-
     // ---------------- metodos de colisiones  ----------------
     private void populateForestHouseObstacles() {
         obstacles.clear();
@@ -718,6 +576,7 @@ public class ForestHouse {
         if (startRect != null) {
             world.getChildren().remove(startRect);
             startRect = null;
+            triggers.removeByTag("exit_area");
         }
         double rx = 380;
         double ry = 580;
@@ -733,127 +592,78 @@ public class ForestHouse {
         if (!world.getChildren().contains(startRect)) {
             world.getChildren().add(startRect);
         }
+        setTrigger("exit_area", startRect);
         startRect.toBack();
-        heroView.toFront();
+        layers.restack();
     }
 
-    private void installInputHandlers() {
-        root.addEventFilter(KeyEvent.KEY_PRESSED, ev -> {
-            KeyCode k = ev.getCode();
-
-            if (k == KeyCode.W || k == KeyCode.UP) {
-                keys.add(KeyCode.W);
-                heroView.setImage(game.getHero().getSpriteForDirection("Up"));
-            }
-            if (k == KeyCode.S || k == KeyCode.DOWN) {
-                keys.add(KeyCode.S);
-                heroView.setImage(game.getHero().getSpriteForDirection("Down"));
-            }
-            if (k == KeyCode.A || k == KeyCode.LEFT) {
-                keys.add(KeyCode.A);
-                heroView.setImage(game.getHero().getSpriteForDirection("Left"));
-            }
-            if (k == KeyCode.D || k == KeyCode.RIGHT) {
-                keys.add(KeyCode.D);
-                heroView.setImage(game.getHero().getSpriteForDirection("Right"));
-            }
+    @Override
+    protected void onKeyPressed(KeyCode k) {
+        if (k == KeyCode.P) {
+            System.out.println("Hero position (aldea): (" + heroView.getLayoutX() + ", " + heroView.getLayoutY() + ")");
+            System.out.println("Hero world center (aldea): (" + (heroView.getLayoutX() + HERO_W / 2) + ", " + (heroView.getLayoutY() + HERO_H / 2) + ")");
+            System.out.println("Hero direction: " + getHeroDirection().name());
+            System.out.println(GameLoop.getStats());
+        }
 
-            if (k == KeyCode.P) {
-                System.out.println("Hero position (aldea): (" + heroView.getLayoutX() + ", " + heroView.getLayoutY() + ")");
-                System.out.println("Hero world center (aldea): (" + (heroView.getLayoutX() + HERO_W / 2) + ", " + (heroView.getLayoutY() + HERO_H / 2) + ")");
-                System.out.println("Hero direction: " + getHeroDirection().name());
-            }
+        if (k == KeyCode.I || k == KeyCode.ADD || k == KeyCode.PLUS) {
+            clearInputState();
+            openInventory();
+        }
 
-            if (k == KeyCode.I || k == KeyCode.ADD || k == KeyCode.PLUS) {
+        if (k == KeyCode.ENTER) {
+            String foundTag = null;
+            if (onStartRect) {
                 clearInputState();
-                openInventory();
-            }
-
-            if (k == KeyCode.ENTER) {
-                String foundTag = null;
-                if (onStartRect) {
-                    clearInputState();
-                    try {
-                        if (game != null && game.getHero() != null) {
-                            Hero h = game.getHero();
-                            h.setLastLocation(Hero.Location.FOREST_HOUSE);
-                            h.setLastPosX(heroView.getLayoutX());
-                            h.setLastPosY(heroView.getLayoutY());
-                            try {
-                                game.createSaveGame();
-                            } catch (Throwable ignored) {
-                            }
+                try {
+                    if (game != null && game.getHero() != null) {
+                        Hero h = game.getHero();
+                        h.setLastLocation(Hero.Location.FOREST_HOUSE);
+                        h.setLastPosX(heroView.getLayoutX());
+                        h.setLastPosY(heroView.getLayoutY());
+                        try {
+                            game.createSaveGame();
+                        } catch (Throwable ignored) {
                         }
-                    } catch (Throwable ignored) {
-                    }
-                    if (onExitCallback != null) {
-                        hide();
-                        onExitCallback.run();
-                    } else {
-                        hide();
                     }
+                } catch (Throwable ignored) {
+                }
+                if (onExitCallback != null) {
+                    hide();
+                    onExitCallback.run();
                 } else {
-                    boolean tagFound = false;
-
-                    for (Rectangle r : transitionRects) {
-                        if (!tagFound && heroView.getBoundsInParent().intersects(r.getBoundsInParent())) {
-                            foundTag = (String) r.getProperties().get("tag");
-                            tagFound = true;
-                        }
-                    }
+                    hide();
+                }
+            } else {
+                updateTriggers();
+                TriggerSystem.Trigger transition = triggers.getActive("transition");
+                if (transition != null) {
+                    foundTag = transition.getId();
+                }
 
-                    if (foundTag != null) {
-                        if ("house_entrance".equals(foundTag)) {
-                            entranceHouse = true;
-                            intoHouse(entranceHouse);
-                        } else if ("house_exit".equals(foundTag)) {
-                            exitHouse();
-                        } else if ("floor2_entrance".equals(foundTag)) {
-                            entrance2floor = true;
-                            floor2Into(entrance2floor);
-                        } else if ("floor2_exit".equals(foundTag)) {
-                            entranceHouse = false;
-                            intoHouse(entranceHouse);
-                        } else if ("passage_entrance".equals(foundTag)) {
-                            intoPassage();
-                        } else if ("swamp_entrance".equals(foundTag)) {
-                            intoSwamp();
-                        } else if ("passage_exit".equals(foundTag)) {
-                            entrance2floor = false;
-                            floor2Into(entrance2floor);
-                        }
+                if (foundTag != null) {
+                    if ("house_entrance".equals(foundTag)) {
+                        entranceHouse = true;
+                        intoHouse(entranceHouse);
+                    } else if ("house_exit".equals(foundTag)) {
+                        exitHouse();
+                    } else if ("floor2_entrance".equals(foundTag)) {
+                        entrance2floor = true;
+                        floor2Into(entrance2floor);
+                    } else if ("floor2_exit".equals(foundTag)) {
+                        entranceHouse = false;
+                        intoHouse(entranceHouse);
+                    } else if ("passage_entrance".equals(foundTag)) {
+                        intoPassage();
+                    } else if ("swamp_entrance".equals(foundTag)) {
+                        intoSwamp();
+                    } else if ("passage_exit".equals(foundTag)) {
+                        entrance2floor = false;
+                        floor2Into(entrance2floor);
                     }
                 }
             }
-
-            ev.consume();
-        });
-
-        root.addEventFilter(KeyEvent.KEY_RELEASED, ev -> {
-            KeyCode k = ev.getCode();
-            if (k == KeyCode.W || k == KeyCode.UP) {
-                keys.remove(KeyCode.W);
-            }
-            if (k == KeyCode.S || k == KeyCode.DOWN) {
-                keys.remove(KeyCode.S);
-            }
-            if (k == KeyCode.A || k == KeyCode.LEFT) {
-                keys.remove(KeyCode.A);
-            }
-            if (k == KeyCode.D || k == KeyCode.RIGHT) {
-                keys.remove(KeyCode.D);
-            }
-            ev.consume();
-        });
-
-        root.setFocusTraversable(true);
-        root.sceneProperty().addListener((obs, oldScene, newScene) -> {
-            if (newScene != null) {
-                Platform.runLater(root::requestFocus);
-            } else {
-                clearInputState();
-            }
-        });
+        }
     }
 
     private void openInventory() {
@@ -894,156 +704,40 @@ public class ForestHouse {
         });
     }
 
-    private void createMover() {
-        mover = new AnimationTimer() {
-            private long last = -1;
-
-            @Override
-            public void handle(long now) {
-                if (last < 0) {
-                    last = now;
-                }
-                double dt = (now - last) / 1e9;
-                last = now;
-
-                boolean shouldProcess = true;
-                if (root.getScene() == null || !root.isFocused()) {
-                    clearInputState();
-                    shouldProcess = false;
-                }
-
-                if (shouldProcess) {
-                    updateAndMove(dt);
-                }
-            }
-        };
-    }
-
-    private void updateAndMove(double dt) {
-        double vx = 0;
-        double vy = 0;
-
-        if (keys.contains(KeyCode.A)) {
-            vx -= HERO_SPEED;
-        }
-        if (keys.contains(KeyCode.D)) {
-            vx += HERO_SPEED;
-        }
-        if (keys.contains(KeyCode.W)) {
-            vy -= HERO_SPEED;
-        }
-        if (keys.contains(KeyCode.S)) {
-            vy += HERO_SPEED;
-        }
-
-        ForestHouse.Direction newDir = (vx != 0 || vy != 0)
-                ? directionFromVector(vx, vy)
-                : ForestHouse.Direction.NONE;
-        setDirectionIfChanged(newDir);
-
-        boolean isIdle = (vx == 0 && vy == 0);
-        if (isIdle) {
-            checkStartIntersection();
-        } else {
-            moveHero(vx * dt, vy * dt);
-        }
-    }
-
-    private void moveHero(double dx, double dy) {
-        double curX = heroView.getLayoutX();
-        double curY = heroView.getLayoutY();
-
-        double proposedX = clamp(curX + dx, 0, Math.max(0, worldW - HERO_W));
-        double proposedY = clamp(curY + dy, 0, Math.max(0, worldH - HERO_H));
-
-        Rectangle2D heroRect = new Rectangle2D(proposedX, proposedY, HERO_W, HERO_H);
+    // ---------------- ganchos de ExplorationScene ----------------
+    @Override
+    protected boolean collides(Rectangle2D heroRect) {
         boolean collision = false;
-
-        for (ForestHouse.Obstacle ob : obstacles) {
-            if (!collision && heroRect.intersects(ob.collisionRect)) {
+        for (int i = 0; i < obstacles.size() && !collision; i++) {
+            Obstacle ob = obstacles.get(i);
+            if (heroRect.intersects(ob.collisionRect)) {
                 collision = true;
             }
         }
-
-        if (!collision) {
-            heroView.setLayoutX(proposedX);
-            heroView.setLayoutY(proposedY);
-        } else {
-            Rectangle2D heroRectX = new Rectangle2D(proposedX, curY, HERO_W, HERO_H);
-            Rectangle2D heroRectY = new Rectangle2D(curX, proposedY, HERO_W, HERO_H);
-
-            boolean canMoveX = true;
-            boolean canMoveY = true;
-
-            for (ForestHouse.Obstacle ob : obstacles) {
-                if (heroRectX.intersects(ob.collisionRect)) {
-                    canMoveX = false;
-                }
-                if (heroRectY.intersects(ob.collisionRect)) {
-                    canMoveY = false;
-                }
-            }
-
-            if (canMoveX) {
-                heroView.setLayoutX(proposedX);
-            }
-            if (canMoveY) {
-                heroView.setLayoutY(proposedY);
-            }
-        }
-
-        checkStartIntersection();
-        updateCamera();
+        return collision;
     }
 
-    private ForestHouse.Direction directionFromVector(double vx, double vy) {
-        ForestHouse.Direction result = ForestHouse.Direction.NONE;
-
-        if (!(vx == 0 && vy == 0)) {
-            double angle = Math.toDegrees(Math.atan2(-vy, vx));
-            if (angle < 0) {
-                angle += 360.0;
-            }
-
-            if (angle >= 337.5 || angle < 22.5) {
-                result = ForestHouse.Direction.E;
-            } else if (angle < 67.5) {
-                result = ForestHouse.Direction.NE;
-            } else if (angle < 112.5) {
-                result = ForestHouse.Direction.N;
-            } else if (angle < 157.5) {
-                result = ForestHouse.Direction.NW;
-            } else if (angle < 202.5) {
-                result = ForestHouse.Direction.W;
-            } else if (angle < 247.5) {
-                result = ForestHouse.Direction.SW;
-            } else if (angle < 292.5) {
-                result = ForestHouse.Direction.S;
-            } else if (angle < 337.5) {
-                result = ForestHouse.Direction.SE;
-            }
-        }
-
-        return result;
+    @Override
+    protected void onHeroMoved() {
+        checkStartIntersection();
     }
 
-    private void setDirectionIfChanged(ForestHouse.Direction newDir) {
-        if (newDir == null) {
-            newDir = ForestHouse.Direction.NONE;
-        }
-        currentDirection = newDir;
+    @Override
+    protected void onHeroIdle() {
+        checkStartIntersection();
     }
 
-    public ForestHouse.Direction getHeroDirection() {
-        return currentDirection;
+    @Override
+    protected boolean easesCameraNearBottom() {
+        return true;
     }
 
     private void checkStartIntersection() {
         boolean intersects = false;
 
         if (startRect != null) {
-            intersects = heroView.getBoundsInParent().intersects(startRect.getBoundsInParent());
-            startRect.setFill(intersects
+            intersects = heroInTrigger("exit_area");
+            NodeWrites.setFill(startRect, intersects
                     ? Color.rgb(0, 120, 255, 0.42)
                     : Color.rgb(0, 120, 255, 0.28));
         }
@@ -1051,53 +745,12 @@ public class ForestHouse {
         onStartRect = intersects;
     }
 
-    private void updateCamera() {
-        double heroCenterX = heroView.getLayoutX() + HERO_W / 2.0;
-        double heroCenterY = heroView.getLayoutY() + HERO_H / 2.0;
-
-        double targetTx = VIEW_W / 2.0 - heroCenterX;
-        double targetTy = VIEW_H / 2.0 - heroCenterY;
-
-        double minTx = Math.min(0, VIEW_W - worldW);
-        double maxTx = 0;
-        double minTy = Math.min(0, VIEW_H - worldH);
-        double maxTy = 0;
-
-        double tx = clamp(targetTx, minTx, maxTx);
-        double ty = clamp(targetTy, minTy, maxTy);
-
-        double lowerZone = worldH * 0.75;
-        if (heroCenterY > lowerZone) {
-            double factor = 0.45;
-            ty = ty * factor + (VIEW_H / 2.0 - heroCenterY) * (1 - factor);
-            ty = clamp(ty, minTy, maxTy);
-        }
-
-        world.setTranslateX(tx);
-        world.setTranslateY(ty);
-    }
-
-    private static double clamp(double v, double lo, double hi) {
-        double result = v;
-
-        if (result < lo) {
-            result = lo;
-        } else if (result > hi) {
-            result = hi;
-        }
-
-        return result;
-    }
-
-    private void clearInputState() {
-        keys.clear();
-    }
-
     private void intoHouse(boolean entranceHouse) {
         transitionRects.clear();
         obstacles.clear();
         colissionInSide();
         startRect = null;
+        triggers.removeByTag("exit_area");
 
         loadBackgroundImage("/Resources/textures/forestHouse/1stFloorForestHouse.png");
 
@@ -1140,6 +793,7 @@ public class ForestHouse {
         createTransitionRects();
 
         pos = PostInArray(rect);
+        triggers.removeById(rect);
         transitionRects.remove(pos);
         if (entrance2floor) {
             setHeroPosition(0, 530.0);
@@ -1158,6 +812,7 @@ public class ForestHouse {
         loadBackgroundImage("/Resources/textures/forestHouse/forestPassage.png");
         createTransitionRects();
         pos = PostInArray(rect);
+        triggers.removeById(rect);
         transitionRects.remove(pos);
 
         setHeroPosition(915.65, 1152.0);
@@ -1166,7 +821,7 @@ public class ForestHouse {
     private void intoSwamp() {
         hide();
 
-        Swamp swampScene = new Swamp(game);
+        Swamp swampScene = SceneRegistry.obtain(game, Swamp.class, () -> new Swamp(game));
 
         swampScene.showWithLoading(() -> {
         }, () -> {
@@ -1177,6 +832,7 @@ public class ForestHouse {
 
     private void createTransitionRects() {
         transitionRects.clear();
+        triggers.removeByTag("transition");
 
         // Entrada a la casa desde el exterior
         Rectangle houseEntrance = new Rectangle(352, 398, 50, 20);
@@ -1219,8 +875,11 @@ public class ForestHouse {
             r.setMouseTransparent(true);
             world.getChildren().add(r);
             r.toBack();
+            triggers.addTrigger((String) r.getProperties().get("tag"), "transition", r.getX(), r.getY(), r.getWidth(), r.getHeight(), null);
+            // Solo las salidas ligadas a otra escena en scenes.txt quedan vigiladas
+            prefetcher.watch((String) r.getProperties().get("tag"), r.getX(), r.getY(), r.getWidth(), r.getHeight());
         }
-        heroView.toFront();
+        layers.restack();
     }
 
     private int PostInArray(String rect) {
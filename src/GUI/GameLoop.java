@@ -0,0 +1,149 @@
+package GUI;
+
+import Engine.FixedStepClock;
+import Engine.FrameProfiler;
+import javafx.animation.AnimationTimer;
+
+/*
+ * Bucle de juego unico para todas las escenas de exploracion. Solo la escena activa recibe ticks,
+ * siempre con el mismo paso fijo (FixedStepClock); si un frame tarda demasiado se ejecutan varios
+ * pasos (hasta MAX_STEPS) y el resto se descarta para no entrar en espiral. Despues de los pasos se
+ * llama a render() con la fraccion de paso sobrante para interpolar heroe y camara. Cada frame queda
+ * registrado en FrameProfiler (ver ProfilerHud).
+ *
+ * Una pantalla que se abre encima de la escena (el combate) toma el bucle con push y lo devuelve con
+ * pop: la escena de abajo queda en pausa mientras tanto y vuelve a recibir ticks al cerrarla.
+ */
+public final class GameLoop {
+
+    public interface Tickable {
+
+        void tick(double dt);
+
+        // alpha en [0, 1): cuanto del siguiente paso ya transcurrio
+        default void render(double alpha) {
+        }
+    }
+
+    public static final double HZ = 120.0;
+    private static final int MAX_STEPS = 8;
+
+    private static final FixedStepClock clock = new FixedStepClock(HZ, MAX_STEPS);
+    private static Tickable active = null;
+    // Escena que quedo en pausa debajo de la pantalla activa (push/pop)
+    private static Tickable below = null;
+    private static AnimationTimer timer = null;
+
+    // Metricas: frames que no escribieron ninguna propiedad de nodos (ver NodeWrites); solo se informan
+    private static long frames = 0;
+    private static long idleFrames = 0;
+    private static long idleNanos = 0;
+    private static long busyNanos = 0;
+
+    private GameLoop() {
+    }
+
+    // Reemplaza a la escena activa anterior: nunca hay dos escenas moviendose a la vez
+    public static void activate(Tickable scene) {
+        if (timer == null) {
+            timer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    frame(now);
+                }
+            };
+        }
+        if (active != scene) {
+            active = scene;
+            clock.reset();
+            FrameProfiler.resetPulse();
+        }
+        timer.start();
+    }
+
+    // Solo detiene el bucle si la escena sigue siendo la activa (hide() llega despues del show de la siguiente)
+    public static void deactivate(Tickable scene) {
+        if (below == scene) {
+            below = null;
+        }
+        if (active == scene) {
+            active = null;
+            if (timer != null) {
+                timer.stop();
+            }
+            FrameProfiler.resetPulse();
+        }
+    }
+
+    // La pantalla toma el bucle y guarda la escena activa para devolversela en pop
+    public static void push(Tickable screen) {
+        if (active != screen) {
+            below = active;
+        }
+        activate(screen);
+    }
+
+    // Si la pantalla sigue activa se detiene y la escena de abajo (si no se oculto entretanto) sigue
+    public static void pop(Tickable screen) {
+        if (active == screen) {
+            Tickable back = below;
+            below = null;
+            deactivate(screen);
+            if (back != null) {
+                activate(back);
+            }
+        }
+    }
+
+    public static boolean isActive(Tickable scene) {
+        return scene != null && active == scene;
+    }
+
+    public static double getStep() {
+        return clock.getStep();
+    }
+
+    public static FixedStepClock getClock() {
+        return clock;
+    }
+
+    public static String getStats() {
+        long busyFrames = frames - idleFrames;
+        return String.format("GameLoop: %d frames, %d sin escrituras (%.1f%%), costo medio sin escrituras %.3f ms / con escrituras %.3f ms, escrituras de nodos %d (repetidas %d)",
+                frames, idleFrames, frames == 0 ? 0 : idleFrames * 100.0 / frames,
+                idleFrames == 0 ? 0 : idleNanos / 1e6 / idleFrames, busyFrames == 0 ? 0 : busyNanos / 1e6 / busyFrames,
+                NodeWrites.getWrites(), NodeWrites.getSkipped());
+    }
+
+    public static void resetStats() {
+        frames = 0;
+        idleFrames = 0;
+        idleNanos = 0;
+        busyNanos = 0;
+    }
+
+    private static void frame(long now) {
+        long start = System.nanoTime();
+        FrameProfiler.beginFrame(now);
+        long writesBefore = NodeWrites.getWrites();
+        int steps = clock.advance(now);
+        // Un tick puede cambiar de escena (entrar a una aldea); el resto de pasos ya no le corresponde
+        Tickable scene = active;
+        for (int i = 0; i < steps && scene != null && active == scene; i++) {
+            scene.tick(clock.getStep());
+        }
+        if (active != null) {
+            active.render(clock.getAlpha());
+        }
+        FrameProfiler.endFrame();
+
+        long cost = System.nanoTime() - start;
+        frames++;
+        if (NodeWrites.getWrites() == writesBefore) {
+            idleFrames++;
+            idleNanos += cost;
+        } else {
+            busyNanos += cost;
+        }
+    }
+}
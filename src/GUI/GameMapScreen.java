@@ -1,10 +1,20 @@
 package GUI;
 
+import Engine.Animator;
+import Engine.AssetLoader;
+import Engine.CanvasWorldRenderer;
+import Engine.ImageCache;
+import Engine.MipChain;
+import Engine.ScenePrefetcher;
+import Engine.SceneRegistry;
+import Engine.SpriteAtlas;
 import Runner.MainScreen;
 import Characters.Hero;
+import Engine.NavPath;
+import Engine.Navigation;
+import Engine.NavigationGrid;
 import Logic.Game;
 import com.almasb.fxgl.dsl.FXGL;
-import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
 import javafx.geometry.Point2D;
 import javafx.geometry.Rectangle2D;
@@ -31,19 +41,27 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Random;
 
-public class GameMapScreen {
+public class GameMapScreen implements GameLoop.Tickable {
 
     public final StackPane root;
     private final Pane container;
     private final ImageView mapView;
+    // Niveles reducidos del mapa para el zoom alejado (null si no se pudo cargar)
+    private final MipChain mapMips;
     public final ImageView heroView;
+    private final Animator animator = new Animator();
+    private final HeroAnimation heroAnimation;
     private final Scale containerScale;
+    // Backend de dibujo en Canvas (opcional, ver CanvasWorldRenderer)
+    private final CanvasWorldRenderer canvasRenderer;
 
     private double lastMouseX, lastMouseY;
     private boolean draggingMap = false;
     private boolean up, down, left, right;
-    private final AnimationTimer mover;
     private double vx = 0, vy = 0;
+    // Posicion del heroe al inicio del ultimo paso de simulacion (para interpolar el dibujo)
+    private double prevHeroX = 0;
+    private double prevHeroY = 0;
     private final double SPEED = 180.0;
 
     private final double mapW;
@@ -65,6 +83,9 @@ public class GameMapScreen {
     // Inventario
     private InventoryScreen inventory;
 
+    // Entradas a las escenas del mapa; margen chico porque el mapa entero mide poco mas que la pantalla
+    private final ScenePrefetcher prefetcher = new ScenePrefetcher("GameMapScreen", 48);
+
     public enum Direction {
         NONE, N, NE, E, SE, S, SW, W, NW
     }
@@ -112,16 +133,25 @@ public class GameMapScreen {
 
     private final Random rnd = new Random();
 
+    // Click para moverse: la rejilla se construye a partir de los obstaculos la primera vez que se usa
+    private static final double NAV_CELL_SIZE = 8.0;
+    private Navigation navigation;
+    private final NavPath clickPath = new NavPath();
+    private int clickPathIndex = 0;
+    private Obstacle clickTarget = null;
+
     public GameMapScreen(Game game) {
         this.game = game;
         Hero hero = game.getHero();
 
-        Image mapImg;
+        MipChain mips;
         try {
-            mapImg = new Image(getClass().getResourceAsStream("/Resources/textures/Main/map.png"));
+            mips = MipChain.of("/Resources/textures/Main/map.png");
         } catch (Throwable t) {
-            mapImg = null;
+            mips = null;
         }
+        mapMips = mips;
+        Image mapImg = mapMips != null ? mapMips.getBase() : null;
 
         if (mapImg == null) {
             mapW = 800;
@@ -142,6 +172,7 @@ public class GameMapScreen {
         container.getChildren().add(mapView);
 
         heroView = createHeroView(hero);
+        heroAnimation = new HeroAnimation(animator, heroView, hero);
         container.getChildren().add(heroView);
 
         containerScale = new Scale(1.0, 1.0, 0, 0);
@@ -151,7 +182,19 @@ public class GameMapScreen {
         root.setPrefSize(800, 600);
         root.getChildren().add(container);
 
-        root.addEventFilter(MouseEvent.ANY, MouseEvent::consume);
+        canvasRenderer = CanvasWorldRenderer.isEnabled() ? new CanvasWorldRenderer(container, 800, 600) : null;
+        if (canvasRenderer != null) {
+            canvasRenderer.attach(root);
+        }
+
+        root.addEventFilter(MouseEvent.ANY, ev -> {
+            boolean click = ev.getEventType() == MouseEvent.MOUSE_CLICKED
+                    && ev.getButton() == MouseButton.PRIMARY && ev.isStillSincePress();
+            if (click) {
+                moveHeroTo(sceneToMap(ev.getSceneX(), ev.getSceneY()));
+            }
+            ev.consume();
+        });
 
         drawSky = canCreateSkyPortal();
         populateVillagesFromList();
@@ -160,32 +203,6 @@ public class GameMapScreen {
         installControls();
         installEscHandler();
 
-        mover = new AnimationTimer() {
-            private long last = -1;
-
-            @Override
-            public void handle(long now) {
-                if (last < 0) {
-                    last = now;
-                }
-                double dt = (now - last) / 1e9;
-                last = now;
-                boolean shouldProcess = true;
-                if (root.getScene() == null || !root.isFocused()) {
-                    clearInputState();
-                    shouldProcess = false;
-                }
-                if (shouldProcess) {
-                    updateVelocity();
-                    boolean moving = (vx != 0 || vy != 0);
-                    if (moving) {
-                        double dx = vx * dt;
-                        double dy = vy * dt;
-                        moveHeroWithCollision(dx, dy);
-                    }
-                }
-            }
-        };
         // Si la escena se asigna, posicionamos el héroe solo si no se ha inicializado externamente
         root.sceneProperty().addListener((obs, oldScene, newScene) -> {
             boolean sceneReady = newScene != null;
@@ -195,10 +212,10 @@ public class GameMapScreen {
                         positionHeroCenter();
                     }
                     root.requestFocus();
-                    mover.start();
+                    startMover();
                 });
             } else {
-                mover.stop();
+                stopMover();
                 clearInputState();
             }
         });
@@ -216,9 +233,8 @@ public class GameMapScreen {
         if (game.getHero().existsCompletedTask(game.searchTask("M001")) && game.getHero().existsCompletedTask(game.searchTask("M002"))) {
             if (portal == null) {
                 try {
-                    java.io.InputStream is = getClass().getResourceAsStream("/Resources/textures/Main/skyPortal.png");
-                    if (is != null) {
-                        Image img = new Image(is);
+                    Image img = ImageCache.get("/Resources/textures/Main/skyPortal.png");
+                    if (img != null) {
                         portal = new ImageView(img);
                         portal.setPreserveRatio(true);
                         portal.setFitWidth(60);
@@ -278,6 +294,8 @@ public class GameMapScreen {
         if (debugEnabled) {
             drawDebugObstacles();
         }
+        navigation = null;
+        clickPath.clear();
 
         heroView.setLayoutX(heroX);
         heroView.setLayoutY(heroY);
@@ -291,20 +309,20 @@ public class GameMapScreen {
     }
 
     private ImageView createHeroView(Hero hero) {
-        Image img = null;
+        ImageView iv = new ImageView();
+        boolean shown = false;
         if (hero != null) {
             try {
-                img = hero.getImage();
+                shown = SpriteAtlas.apply(iv, hero.getSpritePath());
             } catch (Throwable ignored) {
             }
         }
-        if (img == null) {
+        if (!shown) {
             try {
-                img = new Image(getClass().getResourceAsStream("/Resources/sprites/hero.png"));
+                SpriteAtlas.apply(iv, "/Resources/sprites/hero.png");
             } catch (Throwable ignored) {
             }
         }
-        ImageView iv = new ImageView(img);
         iv.setPreserveRatio(true);
         iv.setFitWidth(48);
         iv.setFitHeight(48);
@@ -328,6 +346,7 @@ public class GameMapScreen {
                 double newScale = clamp(containerScale.getX() * delta, 0.4, 3.5);
                 containerScale.setX(newScale);
                 containerScale.setY(newScale);
+                updateMapLevel();
             }
             ev.consume();
         });
@@ -384,6 +403,8 @@ public class GameMapScreen {
                 System.out.println("Hero map center: " + getHeroMapCenter());
                 System.out.println("Hero scene center: " + getHeroSceneCenter());
                 System.out.println("Hero direction: " + getHeroDirection().name());
+                System.out.println(GameLoop.getStats());
+                System.out.println(ImageCache.getStats());
             } else if (k == KeyCode.B) {
 
                 handled = true;
@@ -395,16 +416,12 @@ public class GameMapScreen {
                 openInventory();
             } else if (k == KeyCode.W || k == KeyCode.UP) {
                 up = true;
-                heroView.setImage(game.getHero().getSpriteForDirection("Up"));
             } else if (k == KeyCode.S || k == KeyCode.DOWN) {
                 down = true;
-                heroView.setImage(game.getHero().getSpriteForDirection("Down"));
             } else if (k == KeyCode.A || k == KeyCode.LEFT) {
                 left = true;
-                heroView.setImage(game.getHero().getSpriteForDirection("Left"));
             } else if (k == KeyCode.D || k == KeyCode.RIGHT) {
                 right = true;
-                heroView.setImage(game.getHero().getSpriteForDirection("Right"));
 
             } else if (k == KeyCode.L) {
                 enterDebugSwamp();
@@ -441,7 +458,7 @@ public class GameMapScreen {
     }
 
     private void openInventory() {
-        mover.stop();
+        stopMover();
 
         InventoryScreen inventory = new InventoryScreen(game, this);
 
@@ -452,7 +469,7 @@ public class GameMapScreen {
                 } catch (Throwable ignored) {
                 }
 
-                mover.start();
+                startMover();
                 root.requestFocus();
             });
         });
@@ -519,6 +536,66 @@ public class GameMapScreen {
         }
     }
 
+    // ---------------- bucle ----------------
+    private void startMover() {
+        GameLoop.activate(this);
+    }
+
+    private void stopMover() {
+        GameLoop.deactivate(this);
+    }
+
+    // Paso fijo del GameLoop: la distancia recorrida por paso (y con ella los encuentros) ya no depende de los FPS
+    @Override
+    public void tick(double dt) {
+        NodeWrites.setTranslate(heroView, 0, 0);
+        prevHeroX = heroView.getLayoutX();
+        prevHeroY = heroView.getLayoutY();
+
+        boolean shouldProcess = true;
+        if (root.getScene() == null || !root.isFocused()) {
+            clearInputState();
+            shouldProcess = false;
+        }
+        if (shouldProcess) {
+            updateVelocity();
+            boolean moving = (vx != 0 || vy != 0);
+            if (moving) {
+                clickPath.clear();
+                double dx = vx * dt;
+                double dy = vy * dt;
+                moveHeroWithCollision(dx, dy);
+            } else if (clickPathIndex < clickPath.size()) {
+                followClickPath(dt);
+            }
+            if (moving) {
+                heroAnimation.update(vx, vy);
+            } else {
+                // Camino por click: la direccion sale de lo que se movio en el paso
+                heroAnimation.update(heroView.getLayoutX() - prevHeroX, heroView.getLayoutY() - prevHeroY);
+            }
+        } else {
+            heroAnimation.update(0, 0);
+        }
+        animator.tick(dt);
+    }
+
+    @Override
+    public void render(double alpha) {
+        double x = heroView.getLayoutX();
+        double y = heroView.getLayoutY();
+        double maxStep = SPEED * GameLoop.getStep() * 1.5;
+        boolean smallStep = Math.abs(x - prevHeroX) <= maxStep && Math.abs(y - prevHeroY) <= maxStep;
+        if (smallStep) {
+            NodeWrites.setTranslate(heroView, (prevHeroX - x) * (1 - alpha), (prevHeroY - y) * (1 - alpha));
+        } else {
+            NodeWrites.setTranslate(heroView, 0, 0);
+        }
+        if (canvasRenderer != null) {
+            canvasRenderer.draw();
+        }
+    }
+
     private void updateVelocity() {
         vx = 0;
         vy = 0;
@@ -563,6 +640,7 @@ public class GameMapScreen {
         } else {
             heroView.setLayoutX(proposedX);
             heroView.setLayoutY(proposedY);
+            prefetcher.update(proposedX, proposedY, hw, hh);
 
             // Calcular distancia recorrida
             double distanceMoved = Math.sqrt(dx * dx + dy * dy);
@@ -601,7 +679,7 @@ public class GameMapScreen {
             URL res = getClass().getResource("/Resources/music/gameMapScreen.mp3");
             boolean hasRes = res != null;
             if (hasRes) {
-                Media media = new Media(res.toExternalForm());
+                Media media = AssetLoader.getMedia(res);
                 mapMusic = new MediaPlayer(media);
                 mapMusic.setCycleCount(MediaPlayer.INDEFINITE);
                 mapMusic.setVolume(MainScreen.getVolumeSetting());
@@ -781,6 +859,15 @@ public class GameMapScreen {
         if (drawSky) {
             addVillageAtCenter(new Point2D(666.4054159999995, 416.6147719999999), visualW, visualH, "SkyPortal");
         }
+
+        // Cada entrada precarga su escena cuando el heroe se acerca (hay tres entradas al volcan)
+        prefetcher.clear();
+        for (Obstacle ob : obstacles) {
+            if (ob.type == ObstacleType.VILLAGE) {
+                Rectangle2D r = ob.visualRect;
+                prefetcher.addZone(ob.id, r.getMinX(), r.getMinY(), r.getWidth(), r.getHeight());
+            }
+        }
     }
 
     private void populateExtraBlocks() {
@@ -923,7 +1010,7 @@ public class GameMapScreen {
             } catch (Throwable ignored) {
             }
 
-            FieldVillage field = new FieldVillage(game);
+            FieldVillage field = SceneRegistry.obtain(game, FieldVillage.class, () -> new FieldVillage(game));
             field.showWithLoading(null, () -> {
                 Platform.runLater(() -> {
                     MainScreen.hideMenu();
@@ -940,7 +1027,7 @@ public class GameMapScreen {
                     }
                     root.requestFocus();
                     clearInputState();
-                    mover.start();
+                    startMover();
                 });
             });
         } else if (isForestHouse) {
@@ -954,7 +1041,7 @@ public class GameMapScreen {
             } catch (Throwable ignored) {
             }
 
-            ForestHouse field = new ForestHouse(game);
+            ForestHouse field = SceneRegistry.obtain(game, ForestHouse.class, () -> new ForestHouse(game));
             field.showWithLoading(null, () -> {
                 Platform.runLater(() -> {
                     MainScreen.hideMenu();
@@ -970,7 +1057,7 @@ public class GameMapScreen {
                     }
                     root.requestFocus();
                     clearInputState();
-                    mover.start();
+                    startMover();
                 });
             });
         } else if (isKingdomCastle) {
@@ -984,7 +1071,7 @@ public class GameMapScreen {
             } catch (Throwable ignored) {
             }
 
-            KingdomCastle field = new KingdomCastle(game);
+            KingdomCastle field = SceneRegistry.obtain(game, KingdomCastle.class, () -> new KingdomCastle(game));
             field.showWithLoading(null, () -> {
                 Platform.runLater(() -> {
                     MainScreen.hideMenu();
@@ -1000,7 +1087,7 @@ public class GameMapScreen {
                     }
                     root.requestFocus();
                     clearInputState();
-                    mover.start();
+                    startMover();
                 });
             });
 
@@ -1014,7 +1101,7 @@ public class GameMapScreen {
                 } catch (Throwable ignored) {
                 }
 
-                SkyDungeon field = new SkyDungeon(game);
+                SkyDungeon field = SceneRegistry.obtain(game, SkyDungeon.class, () -> new SkyDungeon(game));
                 field.showWithLoading(null, () -> {
                     Platform.runLater(() -> {
                         MainScreen.hideMenu();
@@ -1030,7 +1117,7 @@ public class GameMapScreen {
                         }
                         root.requestFocus();
                         clearInputState();
-                        mover.start();
+                        startMover();
                     });
                 });
             }
@@ -1046,7 +1133,7 @@ public class GameMapScreen {
             } catch (Throwable ignored) {
             }
 
-            VolcanoCityEntrance field = new VolcanoCityEntrance(game);
+            VolcanoCityEntrance field = SceneRegistry.obtain(game, VolcanoCityEntrance.class, () -> new VolcanoCityEntrance(game));
             field.showWithLoading(null, () -> {
                 Platform.runLater(() -> {
                     MainScreen.hideMenu();
@@ -1063,7 +1150,7 @@ public class GameMapScreen {
                     }
                     root.requestFocus();
                     clearInputState();
-                    mover.start();
+                    startMover();
                 });
             });
 
@@ -1098,7 +1185,7 @@ public class GameMapScreen {
         } catch (Throwable ignored) {
         }
 
-        Swamp swamp = new Swamp(game);
+        Swamp swamp = SceneRegistry.obtain(game, Swamp.class, () -> new Swamp(game));
         swamp.showWithLoading(null, () -> {
             Platform.runLater(() -> {
                 MainScreen.hideMenu();
@@ -1115,7 +1202,7 @@ public class GameMapScreen {
                 }
                 root.requestFocus();
                 clearInputState();
-                mover.start();
+                startMover();
             });
         });
 
@@ -1132,7 +1219,7 @@ public class GameMapScreen {
         } catch (Throwable ignored) {
         }
 
-        SkyDungeon swamp = new SkyDungeon(game);
+        SkyDungeon swamp = SceneRegistry.obtain(game, SkyDungeon.class, () -> new SkyDungeon(game));
         swamp.showWithLoading(null, () -> {
             Platform.runLater(() -> {
                 MainScreen.hideMenu();
@@ -1148,7 +1235,7 @@ public class GameMapScreen {
                 }
                 root.requestFocus();
                 clearInputState();
-                mover.start();
+                startMover();
             });
         });
 
@@ -1164,6 +1251,16 @@ public class GameMapScreen {
         }
     }
 
+    // El tamano de dibujo (fitWidth/Height) no cambia: solo se cambia la imagen por la del nivel
+    private void updateMapLevel() {
+        if (mapMips != null) {
+            Image level = mapMips.forScale(containerScale.getX());
+            if (mapView.getImage() != level) {
+                mapView.setImage(level);
+            }
+        }
+    }
+
     public void resetHeroToCenter() {
         positionHeroCenter();
     }
@@ -1171,6 +1268,80 @@ public class GameMapScreen {
     private void clearInputState() {
         up = down = left = right = false;
         draggingMap = false;
+        clickPath.clear();
+    }
+
+    // ---------------- click para moverse ----------------
+    private void buildNavigation() {
+        double hw = heroView.getBoundsInLocal().getWidth();
+        double hh = heroView.getBoundsInLocal().getHeight();
+        NavigationGrid grid = new NavigationGrid(mapW, mapH, NAV_CELL_SIZE, hw, hh);
+        for (Obstacle ob : obstacles) {
+            Rectangle2D r = ob.collisionRect;
+            grid.block(r.getMinX(), r.getMinY(), r.getWidth(), r.getHeight());
+        }
+        navigation = new Navigation(grid);
+    }
+
+    private void moveHeroTo(Point2D mapPoint) {
+        if (navigation == null) {
+            buildNavigation();
+        }
+        double hw = heroView.getBoundsInLocal().getWidth();
+        double hh = heroView.getBoundsInLocal().getHeight();
+
+        clickTarget = null;
+        for (Obstacle ob : obstacles) {
+            if (ob.type == ObstacleType.VILLAGE && ob.visualRect != null && ob.visualRect.contains(mapPoint)) {
+                clickTarget = ob;
+            }
+        }
+
+        boolean found = navigation.findPath(heroView.getLayoutX(), heroView.getLayoutY(),
+                mapPoint.getX() - hw / 2.0, mapPoint.getY() - hh / 2.0, clickPath);
+        clickPathIndex = 0;
+        if (!found) {
+            clickPath.clear();
+        }
+    }
+
+    private void followClickPath(double dt) {
+        double curX = heroView.getLayoutX();
+        double curY = heroView.getLayoutY();
+        double dx = clickPath.getX(clickPathIndex) - curX;
+        double dy = clickPath.getY(clickPathIndex) - curY;
+        double dist = Math.sqrt(dx * dx + dy * dy);
+        double step = SPEED * dt;
+
+        if (dist <= step) {
+            moveHeroWithCollision(dx, dy);
+            clickPathIndex++;
+        } else {
+            moveHeroWithCollision(dx / dist * step, dy / dist * step);
+        }
+        setDirectionIfChanged(dist > 0 ? directionFromVector(dx, dy) : Direction.NONE);
+
+        boolean stuck = dist > 0 && heroView.getLayoutX() == curX && heroView.getLayoutY() == curY;
+        if (stuck) {
+            clickPath.clear();
+        }
+        if (clickPathIndex >= clickPath.size()) {
+            arriveAtClickTarget();
+        }
+    }
+
+    // Al llegar junto a la aldea que se clickeo queda lista para entrar con ENTER
+    private void arriveAtClickTarget() {
+        if (clickTarget != null) {
+            double hw = heroView.getBoundsInLocal().getWidth();
+            double hh = heroView.getBoundsInLocal().getHeight();
+            Rectangle2D reach = new Rectangle2D(heroView.getLayoutX() - NAV_CELL_SIZE, heroView.getLayoutY() - NAV_CELL_SIZE,
+                    hw + NAV_CELL_SIZE * 2, hh + NAV_CELL_SIZE * 2);
+            if (reach.intersects(clickTarget.collisionRect)) {
+                currentInteractable = clickTarget;
+            }
+            clickTarget = null;
+        }
     }
 
     // Combate (MoveHero with collision tambien tiene parte de la logica)
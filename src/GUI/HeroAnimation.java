@@ -0,0 +1,81 @@
+package GUI;
+
+import Characters.Hero;
+import Engine.Animator;
+import Engine.Animator.Clip;
+import java.util.HashMap;
+import java.util.Map;
+import javafx.scene.image.ImageView;
+
+/*
+ * Animacion del heroe en exploracion y en el mapa: elige el clip segun la velocidad del paso. Quieto
+ * muestra el sprite de la ultima direccion; caminando reproduce la tira heroWalk<Direccion>.png si
+ * existe (WALK_FRAMES cuadros, en la hoja del heroe; ver WalkStripBuilder) o, si no hay arte de
+ * caminata, el mismo sprite fijo.
+ * Los clips se arman una vez por ruta y los comparten todas las escenas.
+ */
+final class HeroAnimation {
+
+    private static final String WALK_SHEET = "/Resources/sprites/hero/heroWalk";
+    private static final int WALK_FRAMES = 4;
+    private static final double WALK_FPS = 8;
+
+    private static final Map<String, Clip> idleClips = new HashMap<>();
+    private static final Map<String, Clip> walkClips = new HashMap<>();
+
+    private final Animator animator;
+    private final int slot;
+    private final Hero hero;
+    private String facing = "Down";
+
+    HeroAnimation(Animator animator, ImageView view, Hero hero) {
+        this.animator = animator;
+        this.slot = animator.attach(view);
+        this.hero = hero;
+    }
+
+    // Velocidad del paso (la de las teclas o la del camino por click); 0, 0 es quieto
+    void update(double vx, double vy) {
+        boolean moving = vx != 0 || vy != 0;
+        if (moving) {
+            // En diagonal manda el eje horizontal, como el sprite de la ultima tecla lateral
+            if (vx < 0) {
+                facing = "Left";
+            } else if (vx > 0) {
+                facing = "Right";
+            } else if (vy < 0) {
+                facing = "Up";
+            } else {
+                facing = "Down";
+            }
+        }
+        Clip clip = moving ? walk(facing) : idle(facing);
+        if (clip != null) {
+            animator.play(slot, clip);
+        }
+    }
+
+    private Clip idle(String direction) {
+        Clip clip = null;
+        if (hero != null) {
+            String path = hero.getSpritePathForDirection(direction);
+            clip = idleClips.get(path);
+            if (clip == null && !idleClips.containsKey(path)) {
+                clip = Clip.ofSprites(0, false, path);
+                idleClips.put(path, clip);
+            }
+        }
+        return clip;
+    }
+
+    private Clip walk(String direction) {
+        Clip clip;
+        if (walkClips.containsKey(direction)) {
+            clip = walkClips.get(direction);
+        } else {
+            clip = Clip.strip(WALK_SHEET + direction + ".png", WALK_FRAMES, WALK_FPS, true);
+            walkClips.put(direction, clip);
+        }
+        return clip != null ? clip : idle(direction);
+    }
+}
@@ -1,7 +1,9 @@
 package GUI;
 
 import Logic.Game;
+import Logic.InventoryModel;
 import Characters.Hero;
+import Engine.SpriteAtlas;
 import Items.*;
 import Misc.Classes;
 import Misc.Task;
@@ -9,9 +11,7 @@ import Runner.MainScreen;
 import Tree.BinaryTreeNode;
 import Tree.InBreadthIterator;
 import com.almasb.fxgl.dsl.FXGL;
-import javafx.animation.FadeTransition;
 import javafx.animation.PauseTransition;
-import javafx.animation.SequentialTransition;
 import javafx.application.Platform;
 import javafx.event.EventHandler;
 import javafx.geometry.Insets;
@@ -32,7 +32,6 @@ import javafx.util.Duration;
 import java.lang.reflect.Method;
 import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.LinkedList;
 import java.util.Queue;
 
 public class InventoryScreen {
@@ -45,7 +44,6 @@ public class InventoryScreen {
     private boolean isVisible = false;
 
     private StackPane toastContainer;
-    private boolean showingToast = false;
 
     private EventHandler<KeyEvent> sceneKeyFilter = null;
     private EventHandler<MouseEvent> sceneMouseFilter = null;
@@ -53,14 +51,28 @@ public class InventoryScreen {
 
     private HBox selectedRow = null;
 
+    // Modelo observable y filas enlazadas: las acciones corrigen solo las filas afectadas
+    private final InventoryModel model;
+    private Tab statusTab;
+    private ListView<Item> weaponList;
+    private ListView<Item> armorList;
+    private ListView<Item> wareList;
+    private ListView<Item> keyList;
+    private VBox armorEquippedBox;
+
     private static final int DURACION_TOAST_MS = 1200;
     private static final int DURACION_CARGA_MS = 600;
+    // Las listas que comparten pestana crecen hasta este alto y despues se desplazan solas
+    private static final int MAX_ROWS_SHARED = 4;
 
     public InventoryScreen(Game game, Object mapScreen) {
         this.game = game;
         this.mapScreen = mapScreen;
+        model = new InventoryModel(game);
+        model.addListener(this::onInventoryChanged);
         root = new StackPane();
         root.setPrefSize(800, 600);
+        Theme.apply(root);
 
         Rectangle bg = new Rectangle(800, 600);
         bg.setFill(Color.rgb(0, 0, 0, 0.85));
@@ -69,11 +81,7 @@ public class InventoryScreen {
         VBox mainContainer = new VBox();
         mainContainer.setAlignment(Pos.TOP_CENTER);
         mainContainer.setPrefSize(750, 550);
-        mainContainer.setStyle("-fx-background-color: rgba(10, 10, 20, 0.95); "
-                + "-fx-background-radius: 10; "
-                + "-fx-border-color: #2a2a3a; "
-                + "-fx-border-width: 2; "
-                + "-fx-border-radius: 10;");
+        mainContainer.getStyleClass().add("inventory-panel");
 
         Label title = new Label("INVENTORY");
         title.setFont(Font.font("System Bold", 32));
@@ -83,9 +91,9 @@ public class InventoryScreen {
         tabPane = new TabPane();
         tabPane.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE);
         tabPane.setPrefSize(730, 450);
-        tabPane.setStyle("-fx-background-color: transparent; -fx-border-color: #333344; -fx-border-width: 1;");
+        tabPane.getStyleClass().add("inventory-tabs");
 
-        Tab statusTab = createStatusTab();
+        statusTab = createStatusTab();
         Tab weaponsArmorTab = createWeaponsArmorTab();
         Tab waresTab = createWaresTab();
         Tab keyItemsTab = createKeyItemsTab();
@@ -95,10 +103,8 @@ public class InventoryScreen {
         tabPane.getTabs().addAll(statusTab, weaponsArmorTab, waresTab, keyItemsTab, tasksTab, settingsTab);
 
         Button closeButton = new Button("Close");
-        closeButton.setFont(Font.font("System Bold", 14));
         closeButton.setPrefSize(180, 40);
-        closeButton.setStyle("-fx-background-color: linear-gradient(to bottom, #3a7bd5, #00d2ff); "
-                + "-fx-text-fill: white; -fx-font-weight: bold; -fx-background-radius: 6; -fx-cursor: hand;");
+        closeButton.getStyleClass().add("primary-button");
         closeButton.setOnAction(e -> close());
 
         root.setOnKeyPressed(e -> {
@@ -135,12 +141,16 @@ public class InventoryScreen {
     // -------------------- STATUS TAB --------------------
     private Tab createStatusTab() {
         Tab tab = new Tab("Status");
-        tab.setStyle("-fx-font-weight: bold;");
+        tab.setContent(createStatusContent());
+        return tab;
+    }
 
+    // Contenido de tamano fijo; se vuelve a armar solo cuando cambian las estadisticas
+    private ScrollPane createStatusContent() {
         ScrollPane scrollPane = new ScrollPane();
         scrollPane.setFitToWidth(true);
         scrollPane.setPrefViewportHeight(400);
-        scrollPane.setStyle("-fx-background: transparent; -fx-background-color: transparent;");
+        scrollPane.getStyleClass().add("scroll-transparent");
 
         GridPane grid = new GridPane();
         grid.setPadding(new Insets(20));
@@ -151,10 +161,11 @@ public class InventoryScreen {
         Hero hero = game.getHero();
         int row = 0;
 
-        ImageView heroIcon = new ImageView("/Resources/sprites/hero/heroFace.png");
+        ImageView heroIcon = new ImageView();
+        SpriteAtlas.apply(heroIcon, "/Resources/sprites/hero/heroFace.png");
         heroIcon.setFitWidth(120);
         heroIcon.setFitHeight(120);
-        heroIcon.setStyle("-fx-effect: dropshadow(gaussian, #000000, 10, 0.5, 0, 0);");
+        heroIcon.getStyleClass().add("hero-portrait");
         GridPane.setConstraints(heroIcon, 0, row, 1, 3);
         grid.getChildren().add(heroIcon);
 
@@ -206,7 +217,7 @@ public class InventoryScreen {
         Label hpText = new Label(hero.getActualLife() + " / " + hero.getLife());
         hpText.setFont(Font.font("System Bold", 14));
         hpText.setTextFill(Color.WHITE);
-        hpText.setStyle("-fx-effect: dropshadow(gaussian, #000000, 2, 0, 0, 1);");
+        hpText.getStyleClass().add("hp-text");
 
         hpBarContainer.getChildren().addAll(hpBg, hpBar, hpText);
         hpContainer.getChildren().add(hpBarContainer);
@@ -280,7 +291,7 @@ public class InventoryScreen {
         rightRow++;
 
         Label levelProgressTitle = new Label("LEVEL PROGRESSION");
-        levelProgressTitle.setStyle("-fx-font-weight: bold; -fx-font-size: 16px; -fx-text-fill: #aaddff;");
+        levelProgressTitle.getStyleClass().addAll("section-subtitle", "text-light-blue");
         GridPane.setConstraints(levelProgressTitle, 0, 6, 2, 1);
         grid.getChildren().add(levelProgressTitle);
 
@@ -289,8 +300,7 @@ public class InventoryScreen {
         levelProgressArea.setPrefRowCount(6);
         levelProgressArea.setPrefColumnCount(50);
         levelProgressArea.setWrapText(true);
-        levelProgressArea.setStyle("-fx-control-inner-background: #0a0a14; -fx-text-fill: #aaddff; "
-                + "-fx-font-family: 'Consolas', monospace; -fx-font-size: 12px; -fx-border-color: #333344;");
+        levelProgressArea.getStyleClass().add("progress-area");
 
         StringBuilder sb = new StringBuilder();
         sb.append("Current Level: ").append(hero.getLevel()).append("\n");
@@ -310,89 +320,43 @@ public class InventoryScreen {
         grid.getChildren().add(levelProgressArea);
 
         scrollPane.setContent(grid);
-        tab.setContent(scrollPane);
-        return tab;
+        return scrollPane;
     }
 
     // -------------------- WEAPONS / ARMOR TAB --------------------
     private Tab createWeaponsArmorTab() {
         Tab tab = new Tab("Weapons/Armor");
-        tab.setStyle("-fx-font-weight: bold;");
 
         ScrollPane scrollPane = new ScrollPane();
         scrollPane.setFitToWidth(true);
         scrollPane.setPrefViewportHeight(400);
-        scrollPane.setStyle("-fx-background: transparent;");
+        scrollPane.getStyleClass().add("scroll-transparent");
 
         VBox content = new VBox(10);
         content.setPadding(new Insets(20));
-        content.setStyle("-fx-background-color: transparent;");
+        content.getStyleClass().add("transparent");
 
-        Hero hero = game.getHero();
         Label weaponsTitle = new Label("AVAILABLE WEAPONS");
-        weaponsTitle.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: #ffaa44;");
+        weaponsTitle.getStyleClass().addAll("section-title", "text-orange");
         weaponsTitle.setPadding(new Insets(0, 0, 10, 0));
 
-        VBox weaponsList = new VBox(5);
-        if (game.getHeroWeapons().isEmpty()) {
-            Label noWeapons = new Label("No weapons available.");
-            noWeapons.setStyle("-fx-text-fill: #888888; -fx-font-style: italic;");
-            weaponsList.getChildren().add(noWeapons);
-        } else {
-            for (Weapon w : game.getHeroWeapons()) {
-                HBox weaponRow = createItemRow(w.getName(),
-                        "Attack: " + w.getAttack()
-                        + (w == hero.getActualWeapon() ? " (EQUIPPED)" : ""),
-                        w == hero.getActualWeapon());
-                Button equipButton = new Button("Equip");
-                equipButton.setOnAction(ev -> handleEquipWeapon(w));
-                weaponRow.getChildren().add(equipButton);
-                weaponsList.getChildren().add(weaponRow);
-            }
-        }
+        weaponList = createItemList("No weapons available.", MAX_ROWS_SHARED, "item-row");
+        weaponList.getItems().setAll(game.getHeroWeapons());
 
         Label armorEquippedTitle = new Label("ARMOR (Equipped)");
-        armorEquippedTitle.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: #44aaff;");
+        armorEquippedTitle.getStyleClass().addAll("section-title", "text-blue");
         armorEquippedTitle.setPadding(new Insets(20, 0, 10, 0));
 
-        VBox armorEquippedBox = new VBox(5);
-        Armor equippedArmor = hero.getArmor();
-        if (equippedArmor != null) {
-            HBox equippedRow = createItemRow(equippedArmor.getName(),
-                    "Defense: " + equippedArmor.getDefense() + " | Info: " + equippedArmor.getEffect(),
-                    true);
-            equippedRow.setStyle("-fx-background-color: rgba(68, 170, 255, 0.1); -fx-background-radius: 5;");
-            armorEquippedBox.getChildren().add(equippedRow);
-        } else {
-            Label noEquipped = new Label("No armor equipped.");
-            noEquipped.setStyle("-fx-text-fill: #888888; -fx-font-style: italic;");
-            armorEquippedBox.getChildren().add(noEquipped);
-        }
+        armorEquippedBox = new VBox(5);
+        showEquippedArmor();
 
         Label armorInvTitle = new Label("ARMOR (Inventory)");
-        armorInvTitle.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: #44aaff;");
+        armorInvTitle.getStyleClass().addAll("section-subtitle", "text-blue");
         armorInvTitle.setPadding(new Insets(12, 0, 6, 0));
 
-        VBox armorInvList = new VBox(5);
-        for (Armor a : game.getHeroArmors()) {
-            if (equippedArmor != null) {
-
-            }
-            HBox armorRow = createItemRow(a.getName(),
-                    "Defense: " + a.getDefense() + " | Info: " + a.getEffect(),
-                    false);
-            Button equipButton = new Button("Equip");
-            equipButton.setOnAction(ev -> handleEquipArmor(a));
-            armorRow.getChildren().add(equipButton);
-            armorInvList.getChildren().add(armorRow);
-        }
-
-        if (armorInvList.getChildren().isEmpty()) {
-            Label noArmorInv = new Label("No armor in inventory.");
-            noArmorInv.setStyle("-fx-text-fill: #888888; -fx-font-style: italic;");
-            armorInvList.getChildren().add(noArmorInv);
-        }
-        content.getChildren().addAll(weaponsTitle, weaponsList, armorEquippedTitle, armorEquippedBox, armorInvTitle, armorInvList);
+        armorList = createItemList("No armor in inventory.", MAX_ROWS_SHARED, "item-row");
+        armorList.getItems().setAll(game.getHeroArmors());
+        content.getChildren().addAll(weaponsTitle, weaponList, armorEquippedTitle, armorEquippedBox, armorInvTitle, armorList);
 
         scrollPane.setContent(content);
         tab.setContent(scrollPane);
@@ -402,51 +366,24 @@ public class InventoryScreen {
     // -------------------- WARES TAB --------------------
     protected Tab createWaresTab() {
         Tab tab = new Tab("Consumables");
-        tab.setStyle("-fx-font-weight: bold;");
 
         ScrollPane scrollPane = new ScrollPane();
         scrollPane.setFitToWidth(true);
         scrollPane.setPrefViewportHeight(400);
-        scrollPane.setStyle("-fx-background: transparent; -fx-background-color: transparent;");
+        scrollPane.getStyleClass().add("scroll-transparent");
 
         VBox content = new VBox(10);
         content.setPadding(new Insets(20));
-        content.setStyle("-fx-background-color: transparent;");
-
-        Hero hero = game.getHero();
+        content.getStyleClass().add("transparent");
 
         Label waresTitle = new Label("HEALING ITEMS");
-        waresTitle.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: #44ff44;");
+        waresTitle.getStyleClass().addAll("section-title", "text-green");
         waresTitle.setPadding(new Insets(0, 0, 10, 0));
 
-        VBox waresList = new VBox(5);
-        waresList.setStyle("-fx-background-color: transparent;");
-
-        int healingItems = 0;
-        LinkedList<Item> allItems = hero.getItems();
-        for (Item item : allItems) {
-            if (item instanceof Wares ware) {
-                healingItems++;
-                HBox wareRow = createItemRow(ware.getName(),
-                        "Healing: " + ware.getHealing() + " | ID: " + ware.getId(),
-                        false);
-                wareRow.setStyle("-fx-background-color: rgba(68, 255, 68, 0.1); -fx-background-radius: 5;");
-
-                Button useButton = new Button("Use");
-                useButton.setOnAction(ev -> handleUseWare(ware));
-                wareRow.getChildren().add(useButton);
-
-                waresList.getChildren().add(wareRow);
-            }
-        }
+        wareList = createItemList("No healing items available.", 0, "item-row", "ware");
+        wareList.getItems().setAll(game.getHeroWares());
 
-        if (healingItems == 0) {
-            Label noWares = new Label("No healing items available.");
-            noWares.setStyle("-fx-text-fill: #888888; -fx-font-style: italic;");
-            waresList.getChildren().add(noWares);
-        }
-
-        content.getChildren().addAll(waresTitle, waresList);
+        content.getChildren().addAll(waresTitle, wareList);
         scrollPane.setContent(content);
         tab.setContent(scrollPane);
         return tab;
@@ -457,14 +394,14 @@ public class InventoryScreen {
         HBox row = new HBox(15);
         row.setPadding(new Insets(8, 15, 8, 15));
         row.setAlignment(Pos.CENTER_LEFT);
-        row.setStyle("-fx-background-color: rgba(255, 255, 255, 0.05); -fx-background-radius: 5; -fx-border-color: rgba(255, 255, 255, 0.1); -fx-border-radius: 5;");
+        row.getStyleClass().add("item-row");
 
         Label nameLabel = new Label(title);
-        nameLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-text-fill: white;");
+        nameLabel.getStyleClass().add("item-name");
         nameLabel.setMinWidth(220);
 
         Label detailsLabel = new Label(details);
-        detailsLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #aaaaaa;");
+        detailsLabel.getStyleClass().add("item-details");
         detailsLabel.setWrapText(true);
         detailsLabel.setMaxWidth(380);
 
@@ -477,27 +414,26 @@ public class InventoryScreen {
 
     private Tab createTasksTab() {
         Tab tab = new Tab("Tasks");
-        tab.setStyle("-fx-font-weight: bold;");
 
         ScrollPane scrollPane = new ScrollPane();
         scrollPane.setFitToWidth(true);
         scrollPane.setPrefViewportHeight(400);
-        scrollPane.setStyle("-fx-background: transparent; -fx-background-color: transparent;");
+        scrollPane.getStyleClass().add("scroll-transparent");
 
         VBox content = new VBox(12);
         content.setPadding(new Insets(20));
-        content.setStyle("-fx-background-color: transparent;");
+        content.getStyleClass().add("transparent");
 
         Hero hero = game.getHero();
 
         Label pendingTitle = new Label("PENDING TASKS");
-        pendingTitle.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: #ffaa44;");
+        pendingTitle.getStyleClass().addAll("section-title", "text-orange");
         pendingTitle.setPadding(new Insets(0, 0, 6, 0));
 
         VBox pendingList = new VBox(6);
         if (hero.getTasks().isEmpty()) {
             Label none = new Label("No pending tasks.");
-            none.setStyle("-fx-text-fill: #888888; -fx-font-style: italic;");
+            none.getStyleClass().add("empty-text");
             pendingList.getChildren().add(none);
         } else {
             Queue<Task> aux = new ArrayDeque<>();
@@ -515,13 +451,13 @@ public class InventoryScreen {
         }
 
         Label completedTitle = new Label("COMPLETED TASKS");
-        completedTitle.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: #44aaff;");
+        completedTitle.getStyleClass().addAll("section-title", "text-blue");
         completedTitle.setPadding(new Insets(12, 0, 6, 0));
 
         VBox completedList = new VBox(6);
         if (hero == null || hero.getCompletedTasks() == null || hero.getCompletedTasks().isEmpty()) {
             Label none = new Label("No completed tasks.");
-            none.setStyle("-fx-text-fill: #888888; -fx-font-style: italic;");
+            none.getStyleClass().add("empty-text");
             completedList.getChildren().add(none);
         } else {
             Deque<Task> aux = new ArrayDeque<>();
@@ -530,7 +466,7 @@ public class InventoryScreen {
                 String name = t.getName();
                 String info = t.getInfo();
                 HBox row = createTaskRow(name, info);
-                row.setStyle("-fx-background-color: rgba(68, 170, 255, 0.06); -fx-background-radius: 5; -fx-border-color: rgba(255,255,255,0.04);");
+                row.getStyleClass().add("done");
                 completedList.getChildren().add(row);
                 aux.push(t);
             }
@@ -548,35 +484,22 @@ public class InventoryScreen {
     // -------------------- KEY ITEMS TAB --------------------
     private Tab createKeyItemsTab() {
         Tab tab = new Tab("Key Items");
-        tab.setStyle("-fx-font-weight: bold;");
 
         ScrollPane scrollPane = new ScrollPane();
         scrollPane.setFitToWidth(true);
         scrollPane.setPrefViewportHeight(400);
-        scrollPane.setStyle("-fx-background: transparent; -fx-background-color: transparent;");
+        scrollPane.getStyleClass().add("scroll-transparent");
 
         VBox content = new VBox(10);
         content.setPadding(new Insets(20));
-        content.setStyle("-fx-background-color: transparent;");
+        content.getStyleClass().add("transparent");
 
         Label keyTitle = new Label("KEY ITEMS");
-        keyTitle.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: #ff44ff;");
+        keyTitle.getStyleClass().addAll("section-title", "text-pink");
         keyTitle.setPadding(new Insets(0, 0, 10, 0));
 
-        VBox keyList = new VBox(5);
-        keyList.setStyle("-fx-background-color: transparent;");
-
-        Hero hero = game.getHero();
-        for (KeyItem k : game.getHeroKeyItems()) {
-            HBox row = createItemRow(k.getName(), "ID: " + k.getId() + " | " + k.getInfo(), false);
-            keyList.getChildren().add(row);
-        }
-
-        if (keyList.getChildren().isEmpty()) {
-            Label noKeys = new Label("No key items at the moment.");
-            noKeys.setStyle("-fx-text-fill: #888888; -fx-font-style: italic;");
-            keyList.getChildren().add(noKeys);
-        }
+        keyList = createItemList("No key items at the moment.", 0, "item-row");
+        keyList.getItems().setAll(game.getHeroKeyItems());
 
         content.getChildren().addAll(keyTitle, keyList);
         scrollPane.setContent(content);
@@ -587,23 +510,21 @@ public class InventoryScreen {
     // -------------------- SETTINGS TAB --------------------
     private Tab createSettingsTab() {
         Tab tab = new Tab("Settings");
-        tab.setStyle("-fx-font-weight: bold;");
 
         VBox content = new VBox(25);
         content.setPadding(new Insets(40));
         content.setAlignment(Pos.TOP_CENTER);
-        content.setStyle("-fx-background-color: transparent;");
+        content.getStyleClass().add("transparent");
 
         VBox saveSection = new VBox(10);
         saveSection.setAlignment(Pos.CENTER);
         Label saveLabel = new Label("Save Game");
-        saveLabel.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: #ffff44;");
+        saveLabel.getStyleClass().addAll("section-title", "text-yellow");
 
         Button saveButton = new Button("💾 SAVE");
-        saveButton.setFont(Font.font("System Bold", 16));
         saveButton.setPrefWidth(250);
         saveButton.setPrefHeight(50);
-        saveButton.setStyle("-fx-background-color: linear-gradient(to bottom, #ffd54f, #ffb300); -fx-text-fill: black; -fx-font-weight: bold; -fx-background-radius: 8; -fx-effect: dropshadow(gaussian, #333, 5, 0, 0, 2); -fx-cursor: hand;");
+        saveButton.getStyleClass().addAll("settings-button", "save");
         saveButton.setOnAction(e -> {
             try {
                 Point2D pos = tryGetHeroTopLeftFromProvider();
@@ -719,7 +640,7 @@ public class InventoryScreen {
         VBox volumeSection = new VBox(10);
         volumeSection.setAlignment(Pos.CENTER);
         Label volumeLabel = new Label("VOLUME");
-        volumeLabel.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: #44aaff;");
+        volumeLabel.getStyleClass().addAll("section-title", "text-blue");
 
         HBox volumeControls = new HBox(15);
         volumeControls.setAlignment(Pos.CENTER);
@@ -742,13 +663,12 @@ public class InventoryScreen {
         VBox exitSection = new VBox(10);
         exitSection.setAlignment(Pos.CENTER);
         Label exitLabel = new Label("Exit to Main Menu");
-        exitLabel.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: #ff6b6b;");
+        exitLabel.getStyleClass().addAll("section-title", "text-red");
 
         Button exitButton = new Button("🚪 EXIT TO MAIN MENU");
-        exitButton.setFont(Font.font("System Bold", 16));
         exitButton.setPrefWidth(250);
         exitButton.setPrefHeight(50);
-        exitButton.setStyle("-fx-background-color: linear-gradient(to bottom, #ff6b6b, #c44569); -fx-text-fill: white; -fx-font-weight: bold; -fx-background-radius: 8; -fx-effect: dropshadow(gaussian, #333, 5, 0, 0, 2); -fx-cursor: hand;");
+        exitButton.getStyleClass().addAll("settings-button", "exit");
         exitButton.setOnAction(e -> {
             try {
                 Parent currentRoot = FXGL.getGameScene().getRoot();
@@ -821,16 +741,15 @@ public class InventoryScreen {
         HBox row = new HBox(15);
         row.setPadding(new Insets(8, 15, 8, 15));
         row.setAlignment(Pos.CENTER_LEFT);
-        row.setStyle("-fx-background-color: rgba(255, 255, 255, 0.05); -fx-background-radius: 5; -fx-border-color: rgba(255, 255, 255, 0.1); -fx-border-radius: 5;");
-
-        row.getProperties().put("baseStyle", row.getStyle());
+        row.getStyleClass().add("item-row");
 
         Label nameLabel = new Label(name);
-        nameLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; " + (equipped ? "-fx-text-fill: #ffff44;" : "-fx-text-fill: white;"));
+        nameLabel.getStyleClass().add("item-name");
+        Theme.toggle(nameLabel, "equipped", equipped);
         nameLabel.setMinWidth(150);
 
         Label detailsLabel = new Label(details);
-        detailsLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #aaaaaa;");
+        detailsLabel.getStyleClass().add("item-details");
         detailsLabel.setWrapText(true);
 
         Region spacer = new Region();
@@ -838,7 +757,7 @@ public class InventoryScreen {
 
         if (equipped) {
             Label equippedLabel = new Label("EQUIPPED");
-            equippedLabel.setStyle("-fx-font-size: 11px; -fx-font-weight: bold; -fx-text-fill: #ffff44;");
+            equippedLabel.getStyleClass().add("equipped-tag");
             row.getChildren().addAll(nameLabel, detailsLabel, spacer, equippedLabel);
         } else {
             row.getChildren().addAll(nameLabel, detailsLabel, spacer);
@@ -850,48 +769,15 @@ public class InventoryScreen {
 
     private void selectRow(HBox row) {
         if (selectedRow != null) {
-            Object basePrev = selectedRow.getProperties().get("baseStyle");
-            selectedRow.setStyle(basePrev instanceof String ? (String) basePrev : "");
+            Theme.toggle(selectedRow, "selected", false);
         }
         selectedRow = row;
-        String base = (String) row.getProperties().getOrDefault("baseStyle", "");
-        row.setStyle(base + " -fx-border-color: rgba(255,255,255,0.7); -fx-border-width: 2; -fx-border-radius: 5;");
+        Theme.toggle(row, "selected", true);
     }
 
     // -------------------- TOAST --------------------
     private void showToast(String message, int durationMs) {
-        if (showingToast) {
-            toastContainer.getChildren().clear();
-        }
-
-        showingToast = true;
-
-        Label toastLabel = new Label(message);
-        toastLabel.setStyle("-fx-background-color: rgba(0, 0, 0, 0.85); -fx-text-fill: white; -fx-padding: 12 20 12 20; -fx-background-radius: 6; -fx-font-size: 13px; -fx-font-weight: bold;");
-
-        StackPane toastPane = new StackPane(toastLabel);
-        toastPane.setMouseTransparent(true);
-        StackPane.setAlignment(toastLabel, Pos.BOTTOM_CENTER);
-        toastLabel.setTranslateY(-50);
-
-        toastContainer.getChildren().add(toastPane);
-
-        FadeTransition fadeIn = new FadeTransition(Duration.millis(250), toastPane);
-        fadeIn.setFromValue(0);
-        fadeIn.setToValue(1);
-
-        PauseTransition pause = new PauseTransition(Duration.millis(durationMs));
-
-        FadeTransition fadeOut = new FadeTransition(Duration.millis(250), toastPane);
-        fadeOut.setFromValue(1);
-        fadeOut.setToValue(0);
-        fadeOut.setOnFinished(e -> {
-            toastContainer.getChildren().remove(toastPane);
-            showingToast = false;
-        });
-
-        SequentialTransition sequence = new SequentialTransition(fadeIn, pause, fadeOut);
-        sequence.play();
+        OverlayService.of(toastContainer).show(OverlayService.Kind.INFO, message, durationMs);
     }
 
     // -------------------- SHOW / CLOSE / HELPERS --------------------
@@ -1053,14 +939,14 @@ public class InventoryScreen {
 
     private Label createTitleLabel(String text) {
         Label label = new Label(text);
-        label.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-text-fill: #aaddff;");
+        label.getStyleClass().add("stat-title");
         label.setMinWidth(100);
         return label;
     }
 
     private Label createValueLabel(String text) {
         Label label = new Label(text);
-        label.setStyle("-fx-font-size: 14px; -fx-text-fill: white;");
+        label.getStyleClass().add("stat-value");
         label.setMinWidth(150);
         return label;
     }
@@ -1103,57 +989,169 @@ public class InventoryScreen {
     }
 
     private void handleUseWare(Wares ware) {
-        boolean healed = game.heal(ware);
-        if (healed) {
-            game.getHero().getItems().remove(ware);
+        if (model.useWare(ware)) {
             showToast("Healed successfully!", DURACION_TOAST_MS);
         } else {
             showToast("Healing was not possible", DURACION_TOAST_MS);
         }
-        refreshTabsIfNeeded();
+        restoreFocus();
     }
 
     private void handleEquipWeapon(Weapon w) {
-        boolean equipped = game.equipWeapon(w);
-        if (equipped) {
+        if (model.equipWeapon(w)) {
             showToast("Weapon equipped: " + w.getName(), DURACION_TOAST_MS);
         } else {
             showToast("Cannot equip weapon: " + w.getName(), DURACION_TOAST_MS);
         }
-        refreshTabsIfNeeded();
+        restoreFocus();
     }
 
     private void handleEquipArmor(Armor a) {
-        boolean equipped = game.equipArmor(a);
-        if (equipped) {
+        if (model.equipArmor(a)) {
             showToast("Armor equipped: " + a.getName(), DURACION_TOAST_MS);
         } else {
             showToast("Cannot equip armor: " + a.getName(), DURACION_TOAST_MS);
         }
-        refreshTabsIfNeeded();
+        restoreFocus();
     }
 
-    private void refreshTabsIfNeeded() {
-        Platform.runLater(() -> {
-            int selectedIndex = tabPane.getSelectionModel().getSelectedIndex();
+    private void restoreFocus() {
+        Platform.runLater(() -> root.requestFocus());
+    }
 
-            Tab status = createStatusTab();
-            Tab weaponsArmor = createWeaponsArmorTab();
-            Tab wares = createWaresTab();
-            Tab keyItems = createKeyItemsTab();
-            Tab tasks = createTasksTab();
-            Tab settings = createSettingsTab();
+    public InventoryModel getModel() {
+        return model;
+    }
 
-            tabPane.getTabs().setAll(status, weaponsArmor, wares, keyItems, tasks, settings);
+    // -------------------- PATCHES DEL MODELO --------------------
+    // Items no redefine equals: remove quita la primera ocurrencia de ese objeto, como LinkedList
+    private void onInventoryChanged(InventoryModel.Change change, Item item) {
+        ListView<Item> list = listFor(item);
+        switch (change) {
+            case ADDED -> {
+                if (list != null) {
+                    list.getItems().add(item);
+                }
+            }
+            case REMOVED -> {
+                if (list != null) {
+                    list.getItems().remove(item);
+                }
+            }
+            case EQUIPPED -> {
+                if (item instanceof Weapon) {
+                    // Solo se vuelven a cargar las celdas visibles (marca EQUIPPED)
+                    weaponList.refresh();
+                } else {
+                    showEquippedArmor();
+                }
+            }
+            case STATS -> statusTab.setContent(createStatusContent());
+        }
+    }
 
-            if (selectedIndex >= 0 && selectedIndex < tabPane.getTabs().size()) {
-                tabPane.getSelectionModel().select(selectedIndex);
-            } else {
-                tabPane.getSelectionModel().select(0);
+    private ListView<Item> listFor(Item item) {
+        ListView<Item> list = null;
+        if (item instanceof Weapon) {
+            list = weaponList;
+        } else if (item instanceof Armor) {
+            list = armorList;
+        } else if (item instanceof Wares) {
+            list = wareList;
+        } else if (item instanceof KeyItem) {
+            list = keyList;
+        }
+        return list;
+    }
+
+    private void showEquippedArmor() {
+        Armor equippedArmor = game.getHero().getArmor();
+        if (equippedArmor != null) {
+            HBox equippedRow = createItemRow(equippedArmor.getName(),
+                    "Defense: " + equippedArmor.getDefense() + " | Info: " + equippedArmor.getEffect(),
+                    true);
+            equippedRow.getStyleClass().add("equipped-armor");
+            armorEquippedBox.getChildren().setAll(equippedRow);
+        } else {
+            Label noEquipped = new Label("No armor equipped.");
+            noEquipped.getStyleClass().add("empty-text");
+            armorEquippedBox.getChildren().setAll(noEquipped);
+        }
+    }
+
+    private ListView<Item> createItemList(String emptyText, int maxRows, String... rowClasses) {
+        ListView<Item> list = new ListView<>();
+        ItemRowCell.configure(list, emptyText, maxRows);
+        list.setCellFactory(lv -> new InventoryCell(rowClasses));
+        return list;
+    }
+
+    /*
+     * Fila de objeto reutilizable: los mismos nodos sirven para armas, armaduras, consumibles y
+     * objetos clave; bind solo cambia textos, estilo de equipado y el boton de accion.
+     */
+    private final class InventoryCell extends ItemRowCell {
+
+        private final Label nameLabel = label("item-name");
+        private final Label detailsLabel = label("item-details");
+        private final Label equippedLabel = label("equipped-tag");
+        private final Button actionButton = new Button();
+
+        InventoryCell(String... rowClasses) {
+            super(rowClasses);
+            row.setPadding(new Insets(8, 15, 8, 15));
+            nameLabel.setMinWidth(150);
+            equippedLabel.setText("EQUIPPED");
+            Region spacer = new Region();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
+            row.getChildren().addAll(nameLabel, detailsLabel, spacer, equippedLabel, actionButton);
+            actionButton.setOnAction(ev -> act(getItem()));
+        }
+
+        @Override
+        protected void bind(Item item) {
+            boolean equipped = false;
+            String details = "";
+            String action = null;
+            if (item instanceof Weapon w) {
+                equipped = w == game.getHero().getActualWeapon();
+                details = "Attack: " + w.getAttack() + (equipped ? " (EQUIPPED)" : "");
+                action = "Equip";
+            } else if (item instanceof Armor a) {
+                details = "Defense: " + a.getDefense() + " | Info: " + a.getEffect();
+                action = "Equip";
+            } else if (item instanceof Wares ware) {
+                details = "Healing: " + ware.getHealing() + " | ID: " + ware.getId();
+                action = "Use";
+            } else if (item instanceof KeyItem k) {
+                details = "ID: " + k.getId() + " | " + k.getInfo();
             }
+            nameLabel.setText(item.getName());
+            Theme.toggle(nameLabel, "equipped", equipped);
+            detailsLabel.setText(details);
+            equippedLabel.setVisible(equipped);
+            equippedLabel.setManaged(equipped);
+            actionButton.setText(action != null ? action : "");
+            actionButton.setVisible(action != null);
+            actionButton.setManaged(action != null);
+        }
 
-            Platform.runLater(() -> root.requestFocus());
-        });
+        // La seleccion de la lista reemplaza al borde que ponia selectRow
+        @Override
+        public void updateSelected(boolean selected) {
+            super.updateSelected(selected);
+            Theme.toggle(row, "selected", selected);
+        }
+
+        private void act(Item item) {
+            if (item instanceof Weapon w) {
+                handleEquipWeapon(w);
+            } else if (item instanceof Armor a) {
+                handleEquipArmor(a);
+            } else if (item instanceof Wares ware) {
+                handleUseWare(ware);
+            }
+        }
     }
 
 }
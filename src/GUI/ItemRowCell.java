@@ -0,0 +1,65 @@
+package GUI;
+
+import Items.Item;
+import javafx.beans.binding.Bindings;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.HBox;
+
+/*
+ * Celda de lista de objetos reutilizable (inventario y tienda). Cada celda arma su fila una sola
+ * vez y al desplazarse solo se le cambia el objeto en bind: la lista crea tantas celdas como filas
+ * entran en la vista, no una fila por objeto, asi abrir un inventario de cientos de objetos cuesta lo
+ * mismo que uno de cinco.
+ */
+public abstract class ItemRowCell extends ListCell<Item> {
+
+    public static final double ROW_HEIGHT = 46;
+
+    protected final HBox row = new HBox(15);
+
+    // Clases de theme.css para la fila (ver Theme)
+    protected ItemRowCell(String... rowClasses) {
+        row.setAlignment(Pos.CENTER_LEFT);
+        row.getStyleClass().addAll(rowClasses);
+        row.setMinHeight(ROW_HEIGHT - 4);
+        row.setMaxHeight(ROW_HEIGHT - 4);
+    }
+
+    // Carga el objeto en los nodos ya creados de la fila
+    protected abstract void bind(Item item);
+
+    @Override
+    protected void updateItem(Item item, boolean empty) {
+        super.updateItem(item, empty);
+        if (empty || item == null) {
+            setGraphic(null);
+        } else {
+            bind(item);
+            setGraphic(row);
+        }
+    }
+
+    /*
+     * Lista transparente de filas de alto fijo. Con maxRows > 0 su alto sigue a la cantidad de
+     * objetos hasta ese tope (para varias listas dentro de una pestana); con 0 ocupa lo que le den.
+     */
+    public static void configure(ListView<Item> list, String emptyText, int maxRows) {
+        list.setFixedCellSize(ROW_HEIGHT);
+        list.setFocusTraversable(false);
+        list.getStyleClass().add("item-list");
+        list.setPlaceholder(Theme.style(new Label(emptyText), "empty-text"));
+        if (maxRows > 0) {
+            list.prefHeightProperty().bind(Bindings.createDoubleBinding(
+                    () -> Math.max(1, Math.min(maxRows, list.getItems().size())) * ROW_HEIGHT + 2,
+                    list.getItems()));
+            list.setMinHeight(ROW_HEIGHT);
+        }
+    }
+
+    protected static Label label(String... classes) {
+        return Theme.style(new Label(), classes);
+    }
+}
@@ -1,76 +1,45 @@
 package GUI;
 
+import Engine.AssetLoader;
+import Engine.ImageCache;
+import Engine.NavigationGrid;
+import Engine.SpriteAtlas;
+import Engine.TriggerSystem;
 import Runner.MainScreen;
 import Characters.Hero;
 import Characters.NPC;
 import Characters.Villager;
 import Logic.Game;
 import com.almasb.fxgl.dsl.FXGL;
-import javafx.animation.FadeTransition;
-import javafx.animation.PauseTransition;
-import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
-import javafx.geometry.Point2D;
 import javafx.geometry.Rectangle2D;
-import javafx.geometry.Pos;
 
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCode;
-import javafx.scene.input.KeyEvent;
-import javafx.scene.layout.Pane;
-import javafx.scene.layout.StackPane;
 import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Text;
-import javafx.util.Duration;
 
 import java.net.URL;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
-import java.util.Set;
-import javafx.animation.TranslateTransition;
-import javafx.geometry.Bounds;
-import javafx.geometry.Insets;
-import javafx.scene.Node;
-import javafx.scene.control.Button;
-import javafx.scene.effect.DropShadow;
-import javafx.scene.layout.HBox;
-import javafx.scene.layout.VBox;
-
-public class KingdomCastle {
-
-    private final StackPane root;
-    private final Pane world;
-    private final StackPane loadingOverlay;
+
+public class KingdomCastle extends ExplorationScene {
+
     private ImageView backgroundView;
     private MediaPlayer music;
 
-    private final ImageView heroView;
     private Random rnd;
-    private final double HERO_W = 48;
-    private final double HERO_H = 48;
-    private final double HERO_SPEED = 180.0;
-    private final Set<KeyCode> keys = new HashSet<>();
-    private AnimationTimer mover;
-
-    private final double VIEW_W = 800;
-    private final double VIEW_H = 600;
-    private double worldW = VIEW_W;
-    private double worldH = VIEW_H;
 
     private Rectangle startRect;
     private boolean onStartRect = false;
 
     private final List<Rectangle> transitionRects = new ArrayList<>();
 
-    private Runnable onExitCallback;
-    private final Game game;
-
     private boolean entranceCastle = false;
     private boolean entrance2floor = false;
 
@@ -81,20 +50,13 @@ public class KingdomCastle {
     // para los NPC
     private final List<NPC> npcs = new ArrayList<>();
     private final List<ImageView> npcNodes = new ArrayList<>();
-    private final List<Rectangle2D> npcCollisionRects = new ArrayList<>();
 
     // Inventario (si se abre desde aquí se pasa this)
     private InventoryScreen inventory;
 
-    // Direcciones del héroe (para depuración con tecla P)
-    public enum Direction {
-        NONE, N, NE, E, SE, S, SW, W, NW
-    }
-    private Direction currentDirection = Direction.NONE;
-
     // Tipos de obstáculos para la aldea
     private enum ObstacleType {
-        CASTLE, TREE, FENCE, BUSH, BLOCK, PLANT, DECORATION, NPC
+        CASTLE, TREE, FENCE, BUSH, BLOCK, PLANT, DECORATION
     }
 
     // Clase interna para obstáculos
@@ -112,102 +74,43 @@ public class KingdomCastle {
     }
 
     public KingdomCastle(Game game) {
-        this.game = game;
+        super(game, "Loading Map..");
         this.rnd = new Random();
-        root = new StackPane();
-        root.setPrefSize(VIEW_W, VIEW_H);
-
-        world = new Pane();
-        world.setPrefSize(VIEW_W, VIEW_H);
-
-        loadingOverlay = createLoadingOverlay();
-
-        root.getChildren().addAll(world, loadingOverlay);
-
-        heroView = createHeroView();
-
-        installInputHandlers();
-        createMover();
-
-        root.focusedProperty().addListener((obs, wasFocused, isFocused) -> {
-            if (!isFocused) {
-                clearInputState();
-            }
-        });
     }
 
-    public StackPane getRoot() {
-        return root;
+    // Al reusarla desde SceneRegistry
+    @Override
+    protected void onReset() {
+        onStartRect = false;
+        entranceCastle = false;
+        entrance2floor = false;
     }
 
-    public Point2D getHeroMapTopLeft() {
-        return new Point2D(heroView.getLayoutX(), heroView.getLayoutY());
+    @Override
+    protected void startSceneMusic() {
+        startVillageMusic("/Resources/music/Castle.mp3");
     }
 
-    public void showWithLoading(Runnable onLoaded, Runnable onExit) {
-        this.onExitCallback = onExit;
-
-        Platform.runLater(() -> {
-            FXGL.getGameScene().addUINode(root);
-            showLoading(true);
-
-            boolean imageOk = loadBackgroundImage("/Resources/textures/KingdomCastle/Castle exterior.png");
-            boolean musicOk = startVillageMusic("/Resources/music/Castle.mp3");
-
-            populateKingdomCastleObstacles();
-
-            // Cargar NPCs para el exterior
-            addNpcsForExterior();
-            renderNpcs();
-
-            // Luego posicionar al héroe
-            positionHeroAtEntrance();
-            createStartRectAtHeroStart();
-            createTransitionRects();
-            setHeroPosition(480.87223200000005, 768.0);
-
-            PauseTransition wait = new PauseTransition(Duration.millis(600));
-            wait.setOnFinished(e -> {
-                showLoading(false);
-                fadeInContent();
-                startMover();
-                if (onLoaded != null) {
-                    onLoaded.run();
-                }
-            });
-            wait.play();
-        });
-    }
+    @Override
+    protected void buildWorld() {
+        loadBackgroundImage("/Resources/textures/KingdomCastle/Castle exterior.png");
 
-    public void hide() {
-        Platform.runLater(() -> {
-            stopVillageMusic();
-            stopMover();
-            try {
-                FXGL.getGameScene().removeUINode(root);
-            } catch (Throwable ignored) {
-            }
-        });
-    }
+        populateKingdomCastleObstacles();
 
-    public void setHeroPosition(double x, double y) {
-        double nx = clamp(x, 0, Math.max(0, worldW - HERO_W));
-        double ny = clamp(y, 0, Math.max(0, worldH - HERO_H));
-        heroView.setLayoutX(nx);
-        heroView.setLayoutY(ny);
-        updateCamera();
-    }
+        // Cargar NPCs para el exterior
+        addNpcsForExterior();
+        renderNpcs();
 
-    public void startMover() {
-        if (mover != null) {
-            mover.start();
-        }
+        // Luego posicionar al héroe
+        positionHeroAtEntrance();
+        createStartRectAtHeroStart();
+        createTransitionRects();
+        setHeroPosition(480.87223200000005, 768.0);
     }
 
-    public void stopMover() {
-        if (mover != null) {
-            mover.stop();
-        }
+    @Override
+    protected void stopSceneMusic() {
+        stopVillageMusic();
     }
 
     public void stopVillageMusic() {
@@ -222,44 +125,11 @@ public class KingdomCastle {
     }
 
     // ---------------- internals / UI ----------------
-    private StackPane createLoadingOverlay() {
-        StackPane overlay = new StackPane();
-        overlay.setPickOnBounds(true);
-
-        Rectangle bg = new Rectangle(VIEW_W, VIEW_H);
-        bg.setFill(Color.rgb(0, 0, 0, 0.6));
-
-        Text label = new Text("Loading Map..");
-        label.setStyle("-fx-font-size: 24px; -fx-fill: #e0d090;");
-
-        overlay.getChildren().addAll(bg, label);
-        StackPane.setAlignment(label, Pos.CENTER);
-        overlay.setVisible(false);
-        return overlay;
-    }
-
-    private void showLoading(boolean show) {
-        loadingOverlay.setVisible(show);
-        if (show) {
-            loadingOverlay.toFront();
-        } else {
-            loadingOverlay.toBack();
-        }
-    }
-
-    private void fadeInContent() {
-        FadeTransition ft = new FadeTransition(Duration.millis(400), root);
-        ft.setFromValue(0.2);
-        ft.setToValue(1.0);
-        ft.play();
-    }
-
     private boolean loadBackgroundImage(String path) {
         boolean loaded = false;
         try {
-            java.io.InputStream is = getClass().getResourceAsStream(path);
-            if (is != null) {
-                Image img = new Image(is);
+            Image img = ImageCache.get(path);
+            if (img != null) {
                 backgroundView = new ImageView(img);
                 backgroundView.setPreserveRatio(false);
                 backgroundView.setSmooth(true);
@@ -274,11 +144,7 @@ public class KingdomCastle {
                 world.getChildren().clear();
                 world.getChildren().add(backgroundView);
 
-                if (!world.getChildren().contains(heroView)) {
-                    world.getChildren().add(heroView);
-                } else {
-                    heroView.toFront();
-                }
+                layers.restack();
                 loaded = true;
             } else {
                 Text err = new Text("No se encontró la imagen de la aldea: " + path);
@@ -298,7 +164,7 @@ public class KingdomCastle {
         try {
             URL res = getClass().getResource(path);
             if (res != null) {
-                Media media = new Media(res.toExternalForm());
+                Media media = AssetLoader.getMedia(res);
                 stopVillageMusic();
                 music = new MediaPlayer(media);
                 music.setCycleCount(MediaPlayer.INDEFINITE);
@@ -315,21 +181,6 @@ public class KingdomCastle {
         return started;
     }
 
-    private ImageView createHeroView() {
-        Image img = null;
-        try {
-            img = new Image(getClass().getResourceAsStream(game.getHero().getSpritePath()));
-        } catch (Throwable ignored) {
-            img = null;
-        }
-        ImageView iv = new ImageView(img);
-        iv.setPreserveRatio(true);
-        iv.setFitWidth(HERO_W);
-        iv.setFitHeight(HERO_H);
-        iv.setMouseTransparent(true);
-        return iv;
-    }
-
     // ---------------- metodos de colisiones  ----------------
     private void populateKingdomCastleObstacles() {
         obstacles.clear();
@@ -586,11 +437,6 @@ public class KingdomCastle {
                 ObstacleType.BLOCK,
                 "columna2"
         ));
-        obstacles.add(new Obstacle(
-                new Rectangle2D(400, 110, 30, 40),
-                ObstacleType.NPC,
-                "Mayor"
-        ));
     }
 
     // ---------------- movimiento , y entradas ----------------
@@ -618,6 +464,7 @@ public class KingdomCastle {
         if (startRect != null) {
             world.getChildren().remove(startRect);
             startRect = null;
+            triggers.removeByTag("exit_area");
         }
         double rx = 495.32676984;
         double ry = 768.0;
@@ -633,154 +480,106 @@ public class KingdomCastle {
         if (!world.getChildren().contains(startRect)) {
             world.getChildren().add(startRect);
         }
+        setTrigger("exit_area", startRect);
         startRect.toBack();
-        heroView.toFront();
+        layers.restack();
     }
 
-    private void installInputHandlers() {
-        root.addEventFilter(KeyEvent.KEY_PRESSED, ev -> {
-            KeyCode k = ev.getCode();
+    @Override
+    protected void onKeyPressed(KeyCode k) {
+        if (k == KeyCode.P) {
+            System.out.println("Hero position (aldea): (" + heroView.getLayoutX() + ", " + heroView.getLayoutY() + ")");
+            System.out.println("Hero world center (aldea): (" + (heroView.getLayoutX() + HERO_W / 2) + ", " + (heroView.getLayoutY() + HERO_H / 2) + ")");
+            System.out.println("Hero direction: " + getHeroDirection().name());
+            System.out.println(GameLoop.getStats());
+        }
 
-            if (k == KeyCode.W || k == KeyCode.UP) {
-                keys.add(KeyCode.W);
-                heroView.setImage(game.getHero().getSpriteForDirection("Up"));
-            }
-            if (k == KeyCode.S || k == KeyCode.DOWN) {
-                keys.add(KeyCode.S);
-                heroView.setImage(game.getHero().getSpriteForDirection("Down"));
-            }
-            if (k == KeyCode.A || k == KeyCode.LEFT) {
-                keys.add(KeyCode.A);
-                heroView.setImage(game.getHero().getSpriteForDirection("Left"));
-            }
-            if (k == KeyCode.D || k == KeyCode.RIGHT) {
-                keys.add(KeyCode.D);
-                heroView.setImage(game.getHero().getSpriteForDirection("Right"));
+        if (k == KeyCode.R) {
+            debugEnabled = !debugEnabled;
+            if (debugEnabled) {
+                drawDebugObstacles();
+            } else {
+                world.getChildren().removeIf(n -> "obstacle_debug".equals(n.getProperties().get("tag")));
             }
+        }
 
-            if (k == KeyCode.P) {
-                System.out.println("Hero position (aldea): (" + heroView.getLayoutX() + ", " + heroView.getLayoutY() + ")");
-                System.out.println("Hero world center (aldea): (" + (heroView.getLayoutX() + HERO_W / 2) + ", " + (heroView.getLayoutY() + HERO_H / 2) + ")");
-                System.out.println("Hero direction: " + getHeroDirection().name());
-            }
+        if (k == KeyCode.I || k == KeyCode.ADD || k == KeyCode.PLUS) {
+            clearInputState();
+            openInventory();
+        }
 
-            if (k == KeyCode.R) {
-                debugEnabled = !debugEnabled;
-                if (debugEnabled) {
-                    drawDebugObstacles();
-                } else {
-                    world.getChildren().removeIf(n -> "obstacle_debug".equals(n.getProperties().get("tag")));
-                }
-            }
+        if (k == KeyCode.ENTER) {
+            String foundTag = null;
 
-            if (k == KeyCode.I || k == KeyCode.ADD || k == KeyCode.PLUS) {
+            // 1. Primero verificar si está en el área de salida
+            if (onStartRect) {
                 clearInputState();
-                openInventory();
-            }
-
-            if (k == KeyCode.ENTER) {
-                String foundTag = null;
-
-                // 1. Primero verificar si está en el área de salida
-                if (onStartRect) {
-                    clearInputState();
-                    try {
-                        if (game != null && game.getHero() != null) {
-                            Hero h = game.getHero();
-                            h.setLastLocation(Hero.Location.KINGDOM_CASTLE);
-                            h.setLastPosX(heroView.getLayoutX());
-                            h.setLastPosY(heroView.getLayoutY());
-                            try {
-                                game.createSaveGame();
-                            } catch (Throwable ignored) {
-                            }
+                try {
+                    if (game != null && game.getHero() != null) {
+                        Hero h = game.getHero();
+                        h.setLastLocation(Hero.Location.KINGDOM_CASTLE);
+                        h.setLastPosX(heroView.getLayoutX());
+                        h.setLastPosY(heroView.getLayoutY());
+                        try {
+                            game.createSaveGame();
+                        } catch (Throwable ignored) {
                         }
-                    } catch (Throwable ignored) {
-                    }
-                    if (onExitCallback != null) {
-                        hide();
-                        onExitCallback.run();
-                    } else {
-                        hide();
                     }
+                } catch (Throwable ignored) {
+                }
+                if (onExitCallback != null) {
+                    hide();
+                    onExitCallback.run();
                 } else {
-                    Villager v = findNearbyVillager();
-                    if (v != null) {
-                        try {
-                            String name = v.getName();
-                            String message = null;
-                            if ("Maya".equals(name)) {
-                                int randomIndex = rnd.nextInt(3);
-                                message = v.getMessageFromList(randomIndex);
-                            } else if ("Mayor".equals(name)) {
-                                message = v.getMessageFromList(0);
-                            } else {
-                                // Otros NPCs: primer mensaje
-                                message = v.getMessageFromList(0);
-                            }
-
-                            // Mostrar el diálogo
-                            showBottomDialogRPG(name, message, null);
-
-                        } catch (Exception e) {
-                            System.err.println("Error en diálogo: " + e.getMessage());
-                            showBottomDialogRPG("Error", "No se pudo mostrar el diálogo", null);
-                        }
-                    } else {
-                        boolean tagFound = false;
-
-                        for (Rectangle r : transitionRects) {
-                            if (!tagFound && heroView.getBoundsInParent().intersects(r.getBoundsInParent())) {
-                                foundTag = (String) r.getProperties().get("tag");
-                                tagFound = true;
-                            }
+                    hide();
+                }
+            } else {
+                Villager v = findNearbyVillager();
+                if (v != null) {
+                    try {
+                        String name = v.getName();
+                        String message = null;
+                        if ("Maya".equals(name)) {
+                            int randomIndex = rnd.nextInt(3);
+                            message = v.getMessageFromList(randomIndex);
+                        } else if ("Mayor".equals(name)) {
+                            message = v.getMessageFromList(0);
+                        } else {
+                            // Otros NPCs: primer mensaje
+                            message = v.getMessageFromList(0);
                         }
 
-                        if (foundTag != null) {
-                            if ("Castle_entrance".equals(foundTag)) {
-                                entranceCastle = true;
-                                intoCastle(entranceCastle);
-                            } else if ("Castle_exit".equals(foundTag)) {
-                                exitCastle();
-                            } else if ("floor2_entrance".equals(foundTag)) {
-                                entrance2floor = true;
-                                floor2Into(entrance2floor);
-                            } else if ("floor2_exit".equals(foundTag)) {
-                                entranceCastle = false;
-                                intoCastle(entranceCastle);
-                            }
+                        // Mostrar el diálogo
+                        showBottomDialogRPG(name, message, null);
+
+                    } catch (Exception e) {
+                        System.err.println("Error en diálogo: " + e.getMessage());
+                        showBottomDialogRPG("Error", "No se pudo mostrar el diálogo", null);
+                    }
+                } else {
+                    updateTriggers();
+                    TriggerSystem.Trigger transition = triggers.getActive("transition");
+                    if (transition != null) {
+                        foundTag = transition.getId();
+                    }
+
+                    if (foundTag != null) {
+                        if ("Castle_entrance".equals(foundTag)) {
+                            entranceCastle = true;
+                            intoCastle(entranceCastle);
+                        } else if ("Castle_exit".equals(foundTag)) {
+                            exitCastle();
+                        } else if ("floor2_entrance".equals(foundTag)) {
+                            entrance2floor = true;
+                            floor2Into(entrance2floor);
+                        } else if ("floor2_exit".equals(foundTag)) {
+                            entranceCastle = false;
+                            intoCastle(entranceCastle);
                         }
                     }
                 }
             }
-            ev.consume();
-        });
-
-        root.addEventFilter(KeyEvent.KEY_RELEASED, ev -> {
-            KeyCode k = ev.getCode();
-            if (k == KeyCode.W || k == KeyCode.UP) {
-                keys.remove(KeyCode.W);
-            }
-            if (k == KeyCode.S || k == KeyCode.DOWN) {
-                keys.remove(KeyCode.S);
-            }
-            if (k == KeyCode.A || k == KeyCode.LEFT) {
-                keys.remove(KeyCode.A);
-            }
-            if (k == KeyCode.D || k == KeyCode.RIGHT) {
-                keys.remove(KeyCode.D);
-            }
-            ev.consume();
-        });
-
-        root.setFocusTraversable(true);
-        root.sceneProperty().addListener((obs, oldScene, newScene) -> {
-            if (newScene != null) {
-                Platform.runLater(root::requestFocus);
-            } else {
-                clearInputState();
-            }
-        });
+        }
     }
 
     private void openInventory() {
@@ -821,156 +620,40 @@ public class KingdomCastle {
         });
     }
 
-    private void createMover() {
-        mover = new AnimationTimer() {
-            private long last = -1;
-
-            @Override
-            public void handle(long now) {
-                if (last < 0) {
-                    last = now;
-                }
-                double dt = (now - last) / 1e9;
-                last = now;
-
-                boolean shouldProcess = true;
-                if (root.getScene() == null || !root.isFocused()) {
-                    clearInputState();
-                    shouldProcess = false;
-                }
-
-                if (shouldProcess) {
-                    updateAndMove(dt);
-                }
-            }
-        };
-    }
-
-    private void updateAndMove(double dt) {
-        double vx = 0;
-        double vy = 0;
-
-        if (keys.contains(KeyCode.A)) {
-            vx -= HERO_SPEED;
-        }
-        if (keys.contains(KeyCode.D)) {
-            vx += HERO_SPEED;
-        }
-        if (keys.contains(KeyCode.W)) {
-            vy -= HERO_SPEED;
-        }
-        if (keys.contains(KeyCode.S)) {
-            vy += HERO_SPEED;
-        }
-
-        KingdomCastle.Direction newDir = (vx != 0 || vy != 0)
-                ? directionFromVector(vx, vy)
-                : KingdomCastle.Direction.NONE;
-        setDirectionIfChanged(newDir);
-
-        boolean isIdle = (vx == 0 && vy == 0);
-        if (isIdle) {
-            checkStartIntersection();
-        } else {
-            moveHero(vx * dt, vy * dt);
-        }
-    }
-
-    private void moveHero(double dx, double dy) {
-        double curX = heroView.getLayoutX();
-        double curY = heroView.getLayoutY();
-
-        double proposedX = clamp(curX + dx, 0, Math.max(0, worldW - HERO_W));
-        double proposedY = clamp(curY + dy, 0, Math.max(0, worldH - HERO_H));
-
-        Rectangle2D heroRect = new Rectangle2D(proposedX, proposedY, HERO_W, HERO_H);
+    // ---------------- ganchos de ExplorationScene ----------------
+    @Override
+    protected boolean collides(Rectangle2D heroRect) {
         boolean collision = false;
-
-        for (KingdomCastle.Obstacle ob : obstacles) {
-            if (!collision && heroRect.intersects(ob.collisionRect)) {
+        for (int i = 0; i < obstacles.size() && !collision; i++) {
+            Obstacle ob = obstacles.get(i);
+            if (heroRect.intersects(ob.collisionRect)) {
                 collision = true;
             }
         }
-
-        if (!collision) {
-            heroView.setLayoutX(proposedX);
-            heroView.setLayoutY(proposedY);
-        } else {
-            Rectangle2D heroRectX = new Rectangle2D(proposedX, curY, HERO_W, HERO_H);
-            Rectangle2D heroRectY = new Rectangle2D(curX, proposedY, HERO_W, HERO_H);
-
-            boolean canMoveX = true;
-            boolean canMoveY = true;
-
-            for (KingdomCastle.Obstacle ob : obstacles) {
-                if (heroRectX.intersects(ob.collisionRect)) {
-                    canMoveX = false;
-                }
-                if (heroRectY.intersects(ob.collisionRect)) {
-                    canMoveY = false;
-                }
-            }
-
-            if (canMoveX) {
-                heroView.setLayoutX(proposedX);
-            }
-            if (canMoveY) {
-                heroView.setLayoutY(proposedY);
-            }
-        }
-
-        checkStartIntersection();
-        updateCamera();
+        return collision;
     }
 
-    private KingdomCastle.Direction directionFromVector(double vx, double vy) {
-        KingdomCastle.Direction result = KingdomCastle.Direction.NONE;
-
-        if (!(vx == 0 && vy == 0)) {
-            double angle = Math.toDegrees(Math.atan2(-vy, vx));
-            if (angle < 0) {
-                angle += 360.0;
-            }
-
-            if (angle >= 337.5 || angle < 22.5) {
-                result = KingdomCastle.Direction.E;
-            } else if (angle < 67.5) {
-                result = KingdomCastle.Direction.NE;
-            } else if (angle < 112.5) {
-                result = KingdomCastle.Direction.N;
-            } else if (angle < 157.5) {
-                result = KingdomCastle.Direction.NW;
-            } else if (angle < 202.5) {
-                result = KingdomCastle.Direction.W;
-            } else if (angle < 247.5) {
-                result = KingdomCastle.Direction.SW;
-            } else if (angle < 292.5) {
-                result = KingdomCastle.Direction.S;
-            } else if (angle < 337.5) {
-                result = KingdomCastle.Direction.SE;
-            }
-        }
-
-        return result;
+    @Override
+    protected void onHeroMoved() {
+        checkStartIntersection();
     }
 
-    private void setDirectionIfChanged(KingdomCastle.Direction newDir) {
-        if (newDir == null) {
-            newDir = KingdomCastle.Direction.NONE;
-        }
-        currentDirection = newDir;
+    @Override
+    protected void onHeroIdle() {
+        checkStartIntersection();
     }
 
-    public KingdomCastle.Direction getHeroDirection() {
-        return currentDirection;
+    @Override
+    protected boolean easesCameraNearBottom() {
+        return true;
     }
 
     private void checkStartIntersection() {
         boolean intersects = false;
 
         if (startRect != null) {
-            intersects = heroView.getBoundsInParent().intersects(startRect.getBoundsInParent());
-            startRect.setFill(intersects
+            intersects = heroInTrigger("exit_area");
+            NodeWrites.setFill(startRect, intersects
                     ? Color.rgb(0, 120, 255, 0.42)
                     : Color.rgb(0, 120, 255, 0.28));
         }
@@ -978,54 +661,13 @@ public class KingdomCastle {
         onStartRect = intersects;
     }
 
-    private void updateCamera() {
-        double heroCenterX = heroView.getLayoutX() + HERO_W / 2.0;
-        double heroCenterY = heroView.getLayoutY() + HERO_H / 2.0;
-
-        double targetTx = VIEW_W / 2.0 - heroCenterX;
-        double targetTy = VIEW_H / 2.0 - heroCenterY;
-
-        double minTx = Math.min(0, VIEW_W - worldW);
-        double maxTx = 0;
-        double minTy = Math.min(0, VIEW_H - worldH);
-        double maxTy = 0;
-
-        double tx = clamp(targetTx, minTx, maxTx);
-        double ty = clamp(targetTy, minTy, maxTy);
-
-        double lowerZone = worldH * 0.75;
-        if (heroCenterY > lowerZone) {
-            double factor = 0.45;
-            ty = ty * factor + (VIEW_H / 2.0 - heroCenterY) * (1 - factor);
-            ty = clamp(ty, minTy, maxTy);
-        }
-
-        world.setTranslateX(tx);
-        world.setTranslateY(ty);
-    }
-
-    private static double clamp(double v, double lo, double hi) {
-        double result = v;
-
-        if (result < lo) {
-            result = lo;
-        } else if (result > hi) {
-            result = hi;
-        }
-
-        return result;
-    }
-
-    private void clearInputState() {
-        keys.clear();
-    }
-
     private void intoCastle(boolean entranceCastle) {
         transitionRects.clear();
         obstacles.clear();
         clearNpcs(); // Limpiar NPCs anteriores
         colissionInSide();
         startRect = null;
+        triggers.removeByTag("exit_area");
 
         loadBackgroundImage("/Resources/textures/KingdomCastle/castleInterior.png");
 
@@ -1081,6 +723,7 @@ public class KingdomCastle {
         renderNpcs();
 
         pos = PostInArray(rect);
+        triggers.removeById(rect);
         transitionRects.remove(pos);
 
         setHeroPosition(71.67917739999993, 576.0);
@@ -1089,6 +732,7 @@ public class KingdomCastle {
 
     private void createTransitionRects() {
         transitionRects.clear();
+        triggers.removeByTag("transition");
 
         // Entrada a la casa desde el exterior
         Rectangle CastleEntrance = new Rectangle(504.69517342000023, 574.0562225399997, 50, 50);
@@ -1116,8 +760,9 @@ public class KingdomCastle {
             r.setMouseTransparent(true);
             world.getChildren().add(r);
             r.toBack();
+            triggers.addTrigger((String) r.getProperties().get("tag"), "transition", r.getX(), r.getY(), r.getWidth(), r.getHeight(), null);
         }
-        heroView.toFront();
+        layers.restack();
     }
 
     private int PostInArray(String rect) {
@@ -1149,19 +794,19 @@ public class KingdomCastle {
             debug.getProperties().put("id", ob.id);
             world.getChildren().add(debug);
         }
-        heroView.toFront();
+        layers.restack();
     }
 
     public void addNpc(NPC npc, double x, double y) {
         boolean shouldAdd = npc != null;
 
         ImageView iv = null;
-        Rectangle2D rect = null;
 
         if (shouldAdd) {
 
             npcs.add(npc);
-            iv = new ImageView(npc.getSpritePath());
+            iv = new ImageView();
+            SpriteAtlas.apply(iv, npc.getSpritePath());
             iv.setPreserveRatio(true);
             iv.setFitWidth(60);
             iv.setFitHeight(60);
@@ -1169,23 +814,14 @@ public class KingdomCastle {
             iv.setLayoutX(x);
             iv.setLayoutY(y);
 
-            rect = new Rectangle2D(x, y, iv.getFitWidth(), iv.getFitHeight());
-
             npcNodes.add(iv);
-            npcCollisionRects.add(rect);
         }
 
         if (shouldAdd) {
             ImageView finalIv = iv;
-            Platform.runLater(() -> {
-                if (finalIv != null && !world.getChildren().contains(finalIv)) {
-                    world.getChildren().add(finalIv);
-                }
+            runLater(() -> {
                 if (finalIv != null) {
-                    finalIv.toFront();
-                }
-                if (heroView != null) {
-                    heroView.toFront();
+                    layers.addActor(finalIv);
                 }
             });
         }
@@ -1194,9 +830,10 @@ public class KingdomCastle {
     public Villager findNearbyVillager() {
         Villager found = null;
         Rectangle2D heroRect = new Rectangle2D(heroView.getLayoutX(), heroView.getLayoutY(), HERO_W, HERO_H);
-        for (int i = 0; i < npcCollisionRects.size(); i++) {
-            Rectangle2D nr = npcCollisionRects.get(i);
-            boolean intersects = heroRect.intersects(nr);
+        // Con la vista donde esta ahora: los NPC caminan
+        for (int i = 0; i < npcNodes.size(); i++) {
+            ImageView node = npcNodes.get(i);
+            boolean intersects = heroRect.intersects(node.getLayoutX(), node.getLayoutY(), node.getFitWidth(), node.getFitHeight());
             if (intersects) {
                 if (i >= 0 && i < npcs.size() && npcs.get(i) instanceof Villager) {
                     found = (Villager) npcs.get(i);
@@ -1209,32 +846,35 @@ public class KingdomCastle {
     }
 
     public void renderNpcs() {
-        Platform.runLater(() -> {
-            // eliminar nodos antiguos si world fue limpiado
-            world.getChildren().removeIf(n -> npcNodes.contains(n));
-            for (int i = 0; i < npcNodes.size(); i++) {
-                ImageView iv = npcNodes.get(i);
-                Rectangle2D r = npcCollisionRects.get(i);
-                iv.setLayoutX(r.getMinX());
-                iv.setLayoutY(r.getMinY());
-                if (!world.getChildren().contains(iv)) {
-                    world.getChildren().add(iv);
-                }
-                iv.toFront();
-            }
-            heroView.toFront();
+        runLater(() -> {
+            // Los NPC quedan encima del resto del mundo aunque world se haya limpiado
+            bringToFront(npcNodes);
         });
     }
 
+    // Colisiones de la sala actual para la rejilla de las rutas
+    @Override
+    protected void blockObstacles(NavigationGrid grid) {
+        for (Obstacle ob : obstacles) {
+            Rectangle2D r = ob.collisionRect;
+            grid.block(r.getMinX(), r.getMinY(), r.getWidth(), r.getHeight());
+        }
+    }
+
+    // Rutas de la sala actual: se arman con sus colisiones cada vez que se cargan sus NPC
+    private void buildNpcRoutes() {
+        npcRoutes = new NpcRoutes(newNpcGrid(), 8);
+    }
+
+    // El ultimo NPC agregado camina entre los puntos (pares x, y de los pies; el primero es donde esta)
+    private void walkLastNpc(double... points) {
+        npcRoutes.add(npcNodes.get(npcNodes.size() - 1), NpcRoutes.DEFAULT_SPEED, points);
+    }
+
     private void addNpcsForExterior() {
+        buildNpcRoutes();
         addNpc(game.getCharacters().get(31), 301.3052878000003, 660.4730311199996);
-        double x = 308.1560760000001;
-        double y = 667.2754919999998;
-        obstacles.add(new Obstacle(
-                new Rectangle2D(x, y, 24, 24),
-                ObstacleType.NPC,
-                "Maya"
-        ));
+        walkLastNpc(308.1560760000001, 667.2754919999998, 200, 720, 300, 600, 400, 700);
     }
 
     /*private void addNpcsForInterior() {
@@ -1243,242 +883,23 @@ public class KingdomCastle {
 }*/
     private void addNpcsForSecondFloor() {
         // Mayor en la segunda planta 
+        buildNpcRoutes();
         addNpc(game.getCharacters().get(29), 400, 110);
+        walkLastNpc(403, 126, 480, 160, 403, 200, 320, 160);
     }
 
     private void clearNpcs() {
         Platform.runLater(() -> {
             // Remover visualmente los NPCs
             for (ImageView iv : npcNodes) {
-                world.getChildren().remove(iv);
+                layers.remove(iv);
             }
         });
 
         // Limpiar las listas
         npcs.clear();
         npcNodes.clear();
-        npcCollisionRects.clear();
-    }
-
-    // Para los Dialogos
-    private void showBottomDialogRPG(String title, String message, String iconResourcePath) {
-        Platform.runLater(() -> {
-            boolean foundExisting = false;
-            StackPane existingOverlay = null;
-            Button existingOkBtn = null;
-
-            for (Node child : root.getChildren()) {
-                Object flag = child.getProperties().get("rpgDialog");
-                if (Boolean.TRUE.equals(flag) && child instanceof StackPane) {
-                    existingOverlay = (StackPane) child;
-                    Node db = existingOverlay.getChildren().isEmpty() ? null : existingOverlay.getChildren().get(0);
-                    if (db instanceof HBox) {
-                        HBox dialogBox = (HBox) db;
-                        for (Node n : dialogBox.getChildren()) {
-                            if (n instanceof VBox) {
-                                VBox texts = (VBox) n;
-                                if (texts.getChildren().size() >= 2 && texts.getChildren().get(1) instanceof Text) {
-                                    Text tMsg = (Text) texts.getChildren().get(1);
-                                    tMsg.setText(message);
-                                }
-                                if (texts.getChildren().size() >= 1 && texts.getChildren().get(0) instanceof Text) {
-                                    Text tTitle = (Text) texts.getChildren().get(0);
-                                    tTitle.setText(title);
-                                }
-                            }
-                            if (n instanceof Button) {
-                                existingOkBtn = (Button) n;
-                            }
-                        }
-                    }
-                    foundExisting = true;
-                }
-            }
-
-            if (foundExisting && existingOverlay != null) {
-                StackPane overlayRef = existingOverlay;
-                Button okRef = existingOkBtn;
-                Platform.runLater(() -> {
-                    overlayRef.requestFocus();
-                    if (okRef != null) {
-                        okRef.requestFocus();
-                    }
-                });
-            } else {
-                stopMover();
-                root.getProperties().put("dialogOpen", true);
-
-                StackPane modalOverlay = new StackPane();
-                modalOverlay.getProperties().put("rpgDialog", true);
-                modalOverlay.setPrefSize(VIEW_W, VIEW_H);
-                modalOverlay.setStyle("-fx-background-color: transparent;");
-                modalOverlay.setPickOnBounds(true);
-                modalOverlay.setFocusTraversable(true);
-
-                HBox dialogBox = new HBox(10);
-                dialogBox.setMinHeight(72);
-                dialogBox.setMaxHeight(140);
-                dialogBox.setMaxWidth(420);
-                dialogBox.setPrefWidth(420);
-                dialogBox.setStyle(
-                        "-fx-background-color: rgba(0,0,0,0.88);"
-                        + "-fx-padding: 10 12 10 12;"
-                        + "-fx-background-radius: 6;"
-                        + "-fx-border-radius: 6;"
-                        + "-fx-border-color: rgba(255,255,255,0.06);"
-                        + "-fx-border-width: 1;"
-                );
-                dialogBox.setEffect(new DropShadow(6, Color.rgb(0, 0, 0, 0.7)));
-                dialogBox.setAlignment(Pos.CENTER_LEFT);
-
-                ImageView iconView = null;
-                if (iconResourcePath != null) {
-                    try {
-                        Image icon = new Image(getClass().getResourceAsStream(iconResourcePath));
-                        iconView = new ImageView(icon);
-                        iconView.setFitWidth(44);
-                        iconView.setFitHeight(44);
-                        iconView.setPreserveRatio(true);
-                    } catch (Throwable ignored) {
-                        iconView = null;
-                    }
-                }
-
-                VBox texts = new VBox(3);
-                Text tTitle = new Text(title);
-                tTitle.setStyle("-fx-font-size: 13px; -fx-fill: #f5f5f5; -fx-font-weight: 700;");
-                Text tMsg = new Text(message);
-                tMsg.setWrappingWidth(420 - 140);
-                tMsg.setStyle("-fx-font-size: 12px; -fx-fill: #e6e6e6;");
-                texts.getChildren().addAll(tTitle, tMsg);
-
-                Button okBtn = new Button("Ok");
-                okBtn.setDefaultButton(true);
-                okBtn.setStyle(
-                        "-fx-background-color: linear-gradient(#444444, #222222);"
-                        + "-fx-text-fill: #ffffff;"
-                        + "-fx-font-weight: 600;"
-                        + "-fx-background-radius: 6;"
-                        + "-fx-padding: 6 10 6 10;"
-                );
-                okBtn.setOnAction(e -> fadeOutAndRemove(modalOverlay));
-
-                if (iconView != null) {
-                    dialogBox.getChildren().addAll(iconView, texts, okBtn);
-                } else {
-                    dialogBox.getChildren().addAll(texts, okBtn);
-                }
-
-                StackPane.setAlignment(dialogBox, Pos.BOTTOM_CENTER);
-                StackPane.setMargin(dialogBox, new Insets(0, 20, 12, 20));
-                modalOverlay.getChildren().add(dialogBox);
-
-                root.getChildren().add(modalOverlay);
-
-                modalOverlay.addEventFilter(javafx.scene.input.MouseEvent.MOUSE_PRESSED, ev -> {
-                    Bounds b = dialogBox.localToScene(dialogBox.getBoundsInLocal());
-                    if (!b.contains(ev.getSceneX(), ev.getSceneY())) {
-                        ev.consume();
-                    }
-                });
-
-                TranslateTransition tt = new TranslateTransition(Duration.millis(220), dialogBox);
-                tt.setFromY(28);
-                tt.setToY(0);
-                tt.play();
-
-                FadeTransition ftIn = new FadeTransition(Duration.millis(160), dialogBox);
-                ftIn.setFromValue(0.0);
-                ftIn.setToValue(1.0);
-                ftIn.play();
-
-                Platform.runLater(() -> {
-                    modalOverlay.requestFocus();
-                    okBtn.requestFocus();
-                });
-
-                Platform.runLater(() -> {
-                    javafx.scene.Scene scene = root.getScene();
-                    if (scene != null) {
-                        javafx.event.EventHandler<KeyEvent> sceneHandler = ev -> {
-                            if (Boolean.TRUE.equals(root.getProperties().get("dialogOpen"))) {
-                                if (ev.getCode() == KeyCode.ENTER || ev.getCode() == KeyCode.ESCAPE) {
-                                    ev.consume();
-                                    Platform.runLater(() -> {
-                                        try {
-                                            okBtn.fire();
-                                        } catch (Throwable ignored) {
-                                        }
-                                    });
-                                } else {
-                                    ev.consume();
-                                }
-                            }
-                        };
-                        modalOverlay.getProperties().put("sceneKeyHandler", sceneHandler);
-                        scene.addEventFilter(KeyEvent.KEY_PRESSED, sceneHandler);
-                    }
-                });
-
-                modalOverlay.getProperties().put("onRemoved", (Runnable) () -> {
-                    startMover();
-                    root.getProperties().put("dialogOpen", false);
-                });
-            }
-        });
-    }
-
-    private void fadeOutAndRemove(StackPane modalOverlay) {
-        final Runnable[] resumeArr = new Runnable[1];
-        if (modalOverlay != null) {
-            Node dialogBox = modalOverlay.getChildren().isEmpty() ? null : modalOverlay.getChildren().get(0);
-            try {
-                Object o = modalOverlay.getProperties().get("onRemoved");
-                if (o instanceof Runnable) {
-                    resumeArr[0] = (Runnable) o;
-                }
-            } catch (Throwable ignored) {
-            }
-
-            try {
-                Object handlerObj = modalOverlay.getProperties().remove("sceneKeyHandler");
-                if (handlerObj instanceof javafx.event.EventHandler) {
-                    javafx.scene.Scene scene = root.getScene();
-                    if (scene != null) {
-                        @SuppressWarnings("unchecked")
-                        javafx.event.EventHandler<KeyEvent> h = (javafx.event.EventHandler<KeyEvent>) handlerObj;
-                        scene.removeEventFilter(KeyEvent.KEY_PRESSED, h);
-                    }
-                }
-            } catch (Throwable ignored) {
-            }
-
-            if (dialogBox != null) {
-                FadeTransition ftOut = new FadeTransition(Duration.millis(140), dialogBox);
-                ftOut.setFromValue(1.0);
-                ftOut.setToValue(0.0);
-                ftOut.setOnFinished(ev -> {
-                    root.getChildren().remove(modalOverlay);
-                    if (resumeArr[0] != null) {
-                        resumeArr[0].run();
-                    }
-                });
-                ftOut.play();
-            } else {
-                root.getChildren().remove(modalOverlay);
-                if (resumeArr[0] != null) {
-                    resumeArr[0].run();
-                }
-            }
-        } else {
-            try {
-                Object o = root.getProperties().get("onRemovedFallback");
-                if (o instanceof Runnable) {
-                    ((Runnable) o).run();
-                }
-            } catch (Throwable ignored) {
-            }
-        }
+        npcRoutes = null;
     }
 
 }
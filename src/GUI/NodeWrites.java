@@ -0,0 +1,65 @@
+package GUI;
+
+import javafx.scene.Node;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.Shape;
+
+/*
+ * Escrituras de propiedades del arbol de nodos que cuentan cuantas cambian un valor. Translate y
+ * layout no ahorran nada: DoublePropertyBase.set ya no invalida si el valor es el mismo, asi que
+ * ahi solo se cuenta. El fill si: un Color nuevo es otro objeto y setFill marcaria el nodo aunque
+ * pinte lo mismo, por eso se compara con equals. GameLoop usa el contador para informar cuantos
+ * frames no escribieron ninguna propiedad.
+ */
+public final class NodeWrites {
+
+    private static long writes = 0;
+    private static long skipped = 0;
+
+    private NodeWrites() {
+    }
+
+    public static boolean setTranslate(Node node, double x, double y) {
+        boolean changed = node.getTranslateX() != x || node.getTranslateY() != y;
+        if (changed) {
+            node.setTranslateX(x);
+            node.setTranslateY(y);
+            writes++;
+        } else {
+            skipped++;
+        }
+        return changed;
+    }
+
+    public static boolean setLayout(Node node, double x, double y) {
+        boolean changed = node.getLayoutX() != x || node.getLayoutY() != y;
+        if (changed) {
+            node.setLayoutX(x);
+            node.setLayoutY(y);
+            writes++;
+        } else {
+            skipped++;
+        }
+        return changed;
+    }
+
+    // Compara por equals: dos Color.rgb con los mismos componentes son iguales
+    public static boolean setFill(Shape shape, Paint fill) {
+        boolean changed = fill == null ? shape.getFill() != null : !fill.equals(shape.getFill());
+        if (changed) {
+            shape.setFill(fill);
+            writes++;
+        } else {
+            skipped++;
+        }
+        return changed;
+    }
+
+    public static long getWrites() {
+        return writes;
+    }
+
+    public static long getSkipped() {
+        return skipped;
+    }
+}
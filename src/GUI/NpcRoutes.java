@@ -0,0 +1,160 @@
+package GUI;
+
+import Engine.NavPath;
+import Engine.Navigation;
+import Engine.NavigationGrid;
+import javafx.scene.image.ImageView;
+
+/*
+ * NPC que caminan por una escena: cada uno recorre en ciclo sus puntos de paso siguiendo los caminos
+ * de una Navigation compartida, armada sobre los obstaculos de la escena. La posicion simulada es la
+ * de los pies (el rectangulo del agente de la rejilla, el que choca con el heroe); la vista se
+ * acomoda con el desplazamiento que tenia al agregarlo. Al llegar a un punto espera PAUSE segundos
+ * y pide el camino al siguiente; un NPC con un solo punto se queda quieto.
+ *
+ * El estado vive en arreglos de largo fijo y los caminos son NavPath reutilizables: avanzar no crea
+ * objetos. Si un paso lo meteria en el heroe no se mueve: espera y sigue hacia el punto siguiente,
+ * asi nunca lo encierra ni se queda trabado detras de el.
+ */
+final class NpcRoutes {
+
+    static final double DEFAULT_SPEED = 45;
+    static final double PAUSE = 1.5;
+
+    private final Navigation navigation;
+    private final double footW;
+    private final double footH;
+    private final ImageView[] views;
+    private final double[][] waypoints;
+    private final NavPath[] paths;
+    private final double[] x;
+    private final double[] y;
+    private final double[] offsetX;
+    private final double[] offsetY;
+    private final double[] speed;
+    private final double[] wait;
+    private final int[] target;
+    private final int[] pathIndex;
+    private int count = 0;
+
+    NpcRoutes(NavigationGrid grid, int capacity) {
+        this.navigation = new Navigation(grid);
+        this.footW = grid.getAgentW();
+        this.footH = grid.getAgentH();
+        views = new ImageView[capacity];
+        waypoints = new double[capacity][];
+        paths = new NavPath[capacity];
+        x = new double[capacity];
+        y = new double[capacity];
+        offsetX = new double[capacity];
+        offsetY = new double[capacity];
+        speed = new double[capacity];
+        wait = new double[capacity];
+        target = new int[capacity];
+        pathIndex = new int[capacity];
+    }
+
+    /*
+     * Agrega un NPC ya ubicado: los puntos son pares x, y de los pies y el primero es donde esta
+     * parado, asi la distancia de la vista a los pies queda como se puso a mano. Con el cupo lleno
+     * devuelve -1 y el NPC no camina.
+     */
+    int add(ImageView view, double walkSpeed, double... points) {
+        int slot = -1;
+        if (count < views.length && points.length >= 2) {
+            slot = count;
+            views[slot] = view;
+            waypoints[slot] = points;
+            paths[slot] = new NavPath();
+            x[slot] = points[0];
+            y[slot] = points[1];
+            offsetX[slot] = points[0] - view.getLayoutX();
+            offsetY[slot] = points[1] - view.getLayoutY();
+            speed[slot] = walkSpeed;
+            wait[slot] = PAUSE;
+            target[slot] = 0;
+            pathIndex[slot] = 0;
+            count++;
+        }
+        return slot;
+    }
+
+    void tick(double dt, double heroX, double heroY, double heroW, double heroH) {
+        for (int i = 0; i < count; i++) {
+            if (waypoints[i].length > 2) {
+                if (wait[i] > 0) {
+                    wait[i] -= dt;
+                    if (wait[i] <= 0) {
+                        planNext(i);
+                    }
+                } else if (pathIndex[i] < paths[i].size()) {
+                    step(i, dt, heroX, heroY, heroW, heroH);
+                } else {
+                    wait[i] = PAUSE;
+                }
+            }
+        }
+    }
+
+    // true si el rectangulo (el del heroe) pisa los pies de algun NPC; misma regla que Rectangle2D.intersects
+    boolean overlaps(double rx, double ry, double rw, double rh) {
+        boolean hit = false;
+        for (int i = 0; i < count && !hit; i++) {
+            hit = intersects(x[i], y[i], rx, ry, rw, rh);
+        }
+        return hit;
+    }
+
+    int size() {
+        return count;
+    }
+
+    void clear() {
+        for (int i = 0; i < count; i++) {
+            views[i] = null;
+            waypoints[i] = null;
+            paths[i] = null;
+        }
+        count = 0;
+    }
+
+    private void planNext(int i) {
+        double[] points = waypoints[i];
+        target[i] = (target[i] + 1) % (points.length / 2);
+        pathIndex[i] = 0;
+        // Sin camino queda vacio: en el proximo paso cuenta como llegada y espera para ir al siguiente
+        navigation.findPath(x[i], y[i], points[target[i] * 2], points[target[i] * 2 + 1], paths[i]);
+    }
+
+    private void step(int i, double dt, double heroX, double heroY, double heroW, double heroH) {
+        NavPath path = paths[i];
+        double dx = path.getX(pathIndex[i]) - x[i];
+        double dy = path.getY(pathIndex[i]) - y[i];
+        double dist = Math.sqrt(dx * dx + dy * dy);
+        double advance = speed[i] * dt;
+        double nx = x[i] + dx;
+        double ny = y[i] + dy;
+        boolean arrives = dist <= advance;
+        if (!arrives) {
+            nx = x[i] + dx / dist * advance;
+            ny = y[i] + dy / dist * advance;
+        }
+        boolean intoHero = intersects(nx, ny, heroX, heroY, heroW, heroH)
+                && !intersects(x[i], y[i], heroX, heroY, heroW, heroH);
+        if (intoHero) {
+            path.clear();
+            wait[i] = PAUSE;
+        } else {
+            x[i] = nx;
+            y[i] = ny;
+            if (arrives) {
+                pathIndex[i]++;
+            }
+            NodeWrites.setLayout(views[i], nx - offsetX[i], ny - offsetY[i]);
+        }
+    }
+
+    private boolean intersects(double fx, double fy, double rx, double ry, double rw, double rh) {
+        return fx < rx + rw && fx + footW > rx && fy < ry + rh && fy + footH > ry;
+    }
+}
@@ -0,0 +1,359 @@
+package GUI;
+
+import Engine.SpriteAtlas;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import javafx.animation.FadeTransition;
+import javafx.animation.ParallelTransition;
+import javafx.animation.PauseTransition;
+import javafx.animation.SequentialTransition;
+import javafx.animation.TranslateTransition;
+import javafx.application.Platform;
+import javafx.geometry.Bounds;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.image.ImageView;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Text;
+import javafx.util.Duration;
+
+/*
+ * Toasts y dialogos superpuestos reutilizables, uno por contenedor (root de la pantalla).
+ * Antes cada mensaje armaba su Label, su StackPane y cuatro transiciones nuevas; aca cada tipo de
+ * toast tiene un unico juego de nodos ya estilizados y una secuencia fadeIn -> pausa -> fadeOut que
+ * se vuelve a reproducir cambiando solo el texto y la duracion. Un toast nuevo del mismo tipo
+ * reemplaza al que se esta viendo.
+ *
+ * El registro de combate usa enqueue: los mensajes que llegan mientras se ve un toast (o en el mismo
+ * pulso) se juntan y se muestran de a MAX_BATCH lineas en una sola actualizacion, en lugar de uno
+ * por uno con su propio ciclo de nodos.
+ */
+public class OverlayService {
+
+    public static final String PROPERTY = "overlayService";
+    public static final int MAX_BATCH = 3;
+
+    public enum Kind {
+        // Mensajes del combate, abajo y sin bloquear
+        COMBAT("-fx-background-color: rgba(0,0,0,0.75); -fx-text-fill: white; -fx-padding: 10 16 10 16; "
+                + "-fx-background-radius: 8; -fx-font-size: 13;", Pos.BOTTOM_CENTER, -72, 220, 1200, false),
+        // Avisos del inventario
+        INFO("-fx-background-color: rgba(0, 0, 0, 0.85); -fx-text-fill: white; -fx-padding: 12 20 12 20; "
+                + "-fx-background-radius: 6; -fx-font-size: 13px; -fx-font-weight: bold;", Pos.BOTTOM_CENTER, -50, 250, 1200, false),
+        // Compra/venta de la tienda: centrado y bloquea clicks hasta que desaparece
+        SUCCESS(blockingStyle("#00ff00"), Pos.CENTER, 0, 300, 1500, true),
+        ERROR(blockingStyle("#ff5555"), Pos.CENTER, 0, 300, 1500, true);
+
+        final String style;
+        final Pos alignment;
+        final double offsetY;
+        final double fadeMs;
+        final int durationMs;
+        final boolean blocking;
+
+        Kind(String style, Pos alignment, double offsetY, double fadeMs, int durationMs, boolean blocking) {
+            this.style = style;
+            this.alignment = alignment;
+            this.offsetY = offsetY;
+            this.fadeMs = fadeMs;
+            this.durationMs = durationMs;
+            this.blocking = blocking;
+        }
+    }
+
+    private static String blockingStyle(String color) {
+        return "-fx-background-color: rgba(0, 0, 0, 0.9); "
+                + "-fx-text-fill: " + color + "; "
+                + "-fx-padding: 15 25; "
+                + "-fx-background-radius: 10; "
+                + "-fx-font-size: 18px; "
+                + "-fx-font-weight: bold; "
+                + "-fx-effect: dropshadow(gaussian, white, 10, 0.7, 0, 0); "
+                + "-fx-border-color: " + color + "; "
+                + "-fx-border-width: 2; "
+                + "-fx-border-radius: 10;";
+    }
+
+    private final StackPane host;
+    private final Map<Kind, Toast> toasts = new EnumMap<>(Kind.class);
+    private final ArrayDeque<String> pending = new ArrayDeque<>();
+    private boolean draining = false;
+    private Dialog dialog = null;
+
+    private int built = 0;
+    private int shown = 0;
+    private int batched = 0;
+
+    private OverlayService(StackPane host) {
+        this.host = host;
+    }
+
+    // Servicio del contenedor; se guarda en sus propiedades para compartirlo entre quienes lo usan
+    public static OverlayService of(StackPane host) {
+        Object existing = host.getProperties().get(PROPERTY);
+        OverlayService service;
+        if (existing instanceof OverlayService) {
+            service = (OverlayService) existing;
+        } else {
+            service = new OverlayService(host);
+            host.getProperties().put(PROPERTY, service);
+        }
+        return service;
+    }
+
+    public void show(Kind kind, String message) {
+        show(kind, message, kind.durationMs);
+    }
+
+    // Muestra (o reemplaza) el toast de ese tipo; se puede llamar desde cualquier hilo
+    public void show(Kind kind, String message, int durationMs) {
+        if (Platform.isFxApplicationThread()) {
+            toast(kind).play(message == null ? "" : message, durationMs, null);
+        } else {
+            Platform.runLater(() -> show(kind, message, durationMs));
+        }
+    }
+
+    // Registro de combate: los mensajes se encolan y se muestran agrupados
+    public void enqueue(String message) {
+        boolean schedule = false;
+        synchronized (pending) {
+            pending.offer(message == null ? "" : message);
+            if (!draining) {
+                draining = true;
+                schedule = true;
+            }
+        }
+        if (schedule) {
+            Platform.runLater(this::showNextBatch);
+        }
+    }
+
+    private void showNextBatch() {
+        StringBuilder text = new StringBuilder();
+        int lines = 0;
+        synchronized (pending) {
+            while (lines < MAX_BATCH && !pending.isEmpty()) {
+                if (lines > 0) {
+                    text.append('\n');
+                }
+                text.append(pending.poll());
+                lines++;
+            }
+            if (lines == 0) {
+                draining = false;
+            }
+        }
+        if (lines > 0) {
+            if (lines > 1) {
+                batched += lines - 1;
+            }
+            toast(Kind.COMBAT).play(text.toString(), Kind.COMBAT.durationMs, this::showNextBatch);
+        }
+    }
+
+    // Dialogo inferior con titulo, mensaje, icono y boton Ok; siempre el mismo juego de nodos
+    public Dialog dialog() {
+        if (dialog == null) {
+            dialog = new Dialog(host.getPrefWidth() > 0 ? host.getPrefWidth() : 800,
+                    host.getPrefHeight() > 0 ? host.getPrefHeight() : 600);
+            built++;
+        }
+        return dialog;
+    }
+
+    public String getStats() {
+        return "Overlays: " + built + " armados, " + shown + " mostrados, " + batched + " mensajes agrupados";
+    }
+
+    private Toast toast(Kind kind) {
+        Toast t = toasts.get(kind);
+        if (t == null) {
+            t = new Toast(kind);
+            toasts.put(kind, t);
+            built++;
+        }
+        return t;
+    }
+
+    private final class Toast {
+
+        private final StackPane layer = new StackPane();
+        private final Label label = new Label();
+        private final PauseTransition pause = new PauseTransition();
+        private final SequentialTransition sequence;
+        private Runnable onDone = null;
+
+        Toast(Kind kind) {
+            label.setStyle(kind.style);
+            StackPane.setAlignment(label, kind.alignment);
+            label.setTranslateY(kind.offsetY);
+            if (kind.blocking) {
+                // Fondo semitransparente que se come los clicks mientras dura el toast
+                Rectangle block = new Rectangle();
+                block.widthProperty().bind(layer.widthProperty());
+                block.heightProperty().bind(layer.heightProperty());
+                block.setFill(Color.rgb(0, 0, 0, 0.3));
+                block.setManaged(false);
+                layer.getChildren().add(block);
+                layer.setPickOnBounds(true);
+            } else {
+                layer.setPickOnBounds(false);
+                layer.setMouseTransparent(true);
+            }
+            layer.getChildren().add(label);
+            layer.setOpacity(0.0);
+
+            FadeTransition fadeIn = new FadeTransition(Duration.millis(kind.fadeMs), layer);
+            fadeIn.setFromValue(0.0);
+            fadeIn.setToValue(1.0);
+            FadeTransition fadeOut = new FadeTransition(Duration.millis(kind.fadeMs), layer);
+            fadeOut.setFromValue(1.0);
+            fadeOut.setToValue(0.0);
+            sequence = new SequentialTransition(fadeIn, pause, fadeOut);
+            sequence.setOnFinished(e -> finish());
+        }
+
+        void play(String message, int durationMs, Runnable next) {
+            sequence.stop();
+            label.setText(message);
+            pause.setDuration(Duration.millis(durationMs));
+            onDone = next;
+            if (!host.getChildren().contains(layer)) {
+                host.getChildren().add(layer);
+            }
+            layer.toFront();
+            shown++;
+            sequence.playFromStart();
+        }
+
+        private void finish() {
+            Runnable next = onDone;
+            onDone = null;
+            host.getChildren().remove(layer);
+            if (next != null) {
+                Platform.runLater(next);
+            }
+        }
+    }
+
+    /*
+     * Nodos del dialogo inferior estilo RPG. Conserva la estructura que buscan las escenas
+     * (StackPane con la propiedad "rpgDialog" -> HBox -> VBox(titulo, mensaje) y Button), asi el
+     * codigo que actualiza un dialogo abierto sigue funcionando.
+     */
+    public static final class Dialog {
+
+        private static final double BOX_WIDTH = 420;
+
+        private final StackPane overlay = new StackPane();
+        private final HBox box = new HBox(10);
+        private final ImageView icon = new ImageView();
+        private final VBox texts = new VBox(3);
+        private final Text title = new Text();
+        private final Text message = new Text();
+        private final Button okButton = new Button("Ok");
+        private final ParallelTransition intro;
+
+        Dialog(double width, double height) {
+            overlay.getProperties().put("rpgDialog", true);
+            overlay.setPrefSize(width, height);
+            overlay.setStyle("-fx-background-color: transparent;");
+            overlay.setPickOnBounds(true);
+            overlay.setFocusTraversable(true);
+
+            box.setMinHeight(72);
+            box.setMaxHeight(140);
+            box.setMaxWidth(BOX_WIDTH);
+            box.setPrefWidth(BOX_WIDTH);
+            box.setStyle(
+                    "-fx-background-color: rgba(0,0,0,0.88);"
+                    + "-fx-padding: 10 12 10 12;"
+                    + "-fx-background-radius: 6;"
+                    + "-fx-border-radius: 6;"
+                    + "-fx-border-color: rgba(255,255,255,0.06);"
+                    + "-fx-border-width: 1;"
+            );
+            box.setEffect(new DropShadow(6, Color.rgb(0, 0, 0, 0.7)));
+            box.setAlignment(Pos.CENTER_LEFT);
+
+            icon.setFitWidth(44);
+            icon.setFitHeight(44);
+            icon.setPreserveRatio(true);
+
+            title.setStyle("-fx-font-size: 13px; -fx-fill: #f5f5f5; -fx-font-weight: 700;");
+            message.setWrappingWidth(BOX_WIDTH - 140);
+            message.setStyle("-fx-font-size: 12px; -fx-fill: #e6e6e6;");
+            texts.getChildren().addAll(title, message);
+
+            okButton.setDefaultButton(true);
+            okButton.setStyle(
+                    "-fx-background-color: linear-gradient(#444444, #222222);"
+                    + "-fx-text-fill: #ffffff;"
+                    + "-fx-font-weight: 600;"
+                    + "-fx-background-radius: 6;"
+                    + "-fx-padding: 6 10 6 10;"
+            );
+
+            StackPane.setAlignment(box, Pos.BOTTOM_CENTER);
+            StackPane.setMargin(box, new Insets(0, 20, 12, 20));
+            overlay.getChildren().add(box);
+
+            // Clicks fuera de la caja no llegan a la escena
+            overlay.addEventFilter(MouseEvent.MOUSE_PRESSED, ev -> {
+                Bounds b = box.localToScene(box.getBoundsInLocal());
+                if (!b.contains(ev.getSceneX(), ev.getSceneY())) {
+                    ev.consume();
+                }
+            });
+
+            TranslateTransition slide = new TranslateTransition(Duration.millis(220), box);
+            slide.setFromY(28);
+            slide.setToY(0);
+            FadeTransition fadeIn = new FadeTransition(Duration.millis(160), box);
+            fadeIn.setFromValue(0.0);
+            fadeIn.setToValue(1.0);
+            intro = new ParallelTransition(slide, fadeIn);
+        }
+
+        // Carga el contenido; el icono se quita de la caja si no hay o no se puede cargar
+        public void setContent(String titleText, String messageText, String iconResourcePath) {
+            title.setText(titleText);
+            message.setText(messageText);
+            boolean hasIcon = false;
+            if (iconResourcePath != null) {
+                try {
+                    SpriteAtlas.apply(icon, iconResourcePath);
+                    hasIcon = icon.getImage() != null;
+                } catch (Throwable ignored) {
+                }
+            }
+            if (hasIcon) {
+                box.getChildren().setAll(icon, texts, okButton);
+            } else {
+                box.getChildren().setAll(texts, okButton);
+            }
+        }
+
+        public void playIntro() {
+            intro.playFromStart();
+        }
+
+        public StackPane getNode() {
+            return overlay;
+        }
+
+        public Button getOkButton() {
+            return okButton;
+        }
+    }
+}
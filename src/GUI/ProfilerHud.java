@@ -0,0 +1,125 @@
+package GUI;
+
+import Engine.FrameProfiler;
+import Engine.FrameProfiler.Section;
+import com.almasb.fxgl.dsl.FXGL;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import javafx.animation.AnimationTimer;
+import javafx.scene.Parent;
+import javafx.scene.control.Label;
+import javafx.scene.input.KeyCode;
+
+/*
+ * Panel de rendimiento sobre el juego (F3) con lo que registra FrameProfiler: FPS, p50/p99 del
+ * intervalo entre frames y del costo del frame, tiempo por subsistema, GC y heap. El texto se arma
+ * cuatro veces por segundo y solo mientras el panel esta visible. F4 exporta el buffer a
+ * logs/frames-<fecha>.csv junto a los logs de FXGL.
+ */
+public final class ProfilerHud {
+
+    // Ventana de las estadisticas en pulsos de pantalla: ~4 s a 60 Hz
+    private static final int WINDOW = 240;
+    private static final long REFRESH_NANOS = 250_000_000L;
+    private static final String EXPORT_DIR = "logs";
+
+    private static Label label = null;
+    private static AnimationTimer timer = null;
+    private static long lastRefresh = 0;
+    private static String status = "";
+
+    private ProfilerHud() {
+    }
+
+    // Llamar una vez desde initInput
+    public static void install() {
+        FXGL.onKeyDown(KeyCode.F3, ProfilerHud::toggle);
+        FXGL.onKeyDown(KeyCode.F4, ProfilerHud::export);
+    }
+
+    public static boolean isVisible() {
+        return label != null && label.getParent() != null;
+    }
+
+    public static void toggle() {
+        if (isVisible()) {
+            timer.stop();
+            FXGL.getGameScene().removeUINode(label);
+        } else {
+            if (label == null) {
+                label = Theme.style(new Label(), "profiler-hud");
+                Theme.apply(label);
+                label.setMouseTransparent(true);
+                label.setFocusTraversable(false);
+                label.setTranslateX(8);
+                label.setTranslateY(8);
+                timer = new AnimationTimer() {
+                    @Override
+                    public void handle(long now) {
+                        if (now - lastRefresh >= REFRESH_NANOS) {
+                            lastRefresh = now;
+                            refresh();
+                        }
+                    }
+                };
+            }
+            FXGL.getGameScene().addUINode(label);
+            lastRefresh = 0;
+            timer.start();
+        }
+    }
+
+    public static Path export() {
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        Path file = Paths.get(EXPORT_DIR, "frames-" + stamp + ".csv");
+        Path result = null;
+        try {
+            FrameProfiler.exportCsv(file);
+            result = file;
+            status = "CSV: " + file + " (" + FrameProfiler.getCount() + " frames)";
+            System.out.println("Perfil de frames exportado a " + file.toAbsolutePath());
+        } catch (IOException ex) {
+            status = "CSV: error";
+            System.err.println("No se pudo exportar el perfil de frames: " + ex.getMessage());
+        }
+        return result;
+    }
+
+    private static void refresh() {
+        // Las pantallas se agregan despues: el panel vuelve a quedar encima
+        Parent parent = label.getParent();
+        if (parent != null && parent.getChildrenUnmodifiable().get(parent.getChildrenUnmodifiable().size() - 1) != label) {
+            label.toFront();
+        }
+        StringBuilder sb = new StringBuilder(320);
+        if (FrameProfiler.getCount() == 0) {
+            sb.append("Sin frames de exploracion todavia");
+        } else {
+            sb.append(String.format(Locale.ROOT, "FPS %.0f   frame p50 %.2f / p99 %.2f ms\n",
+                    FrameProfiler.fps(WINDOW),
+                    FrameProfiler.intervalPercentileMs(0.50, WINDOW),
+                    FrameProfiler.intervalPercentileMs(0.99, WINDOW)));
+            sb.append(String.format(Locale.ROOT, "trabajo p50 %.3f / p99 %.3f ms\n",
+                    FrameProfiler.workPercentileMs(0.50, WINDOW),
+                    FrameProfiler.workPercentileMs(0.99, WINDOW)));
+            for (Section s : Section.values()) {
+                sb.append(String.format(Locale.ROOT, "  %-10s %.3f ms\n",
+                        s.name().toLowerCase(Locale.ROOT), FrameProfiler.sectionMeanMs(s, WINDOW)));
+            }
+            Runtime rt = Runtime.getRuntime();
+            sb.append(String.format(Locale.ROOT, "GC %d ms (max %d ms/frame)   heap %.0f / %.0f MB\n",
+                    FrameProfiler.gcMillis(WINDOW), FrameProfiler.maxGcMillis(WINDOW),
+                    FrameProfiler.heapUsedBytes() / (1024.0 * 1024.0), rt.maxMemory() / (1024.0 * 1024.0)));
+            sb.append(String.format(Locale.ROOT, "pasos recortados %d",
+                    GameLoop.getClock().getClampedFrames()));
+        }
+        if (!status.isEmpty()) {
+            sb.append('\n').append(status);
+        }
+        label.setText(sb.toString());
+    }
+}
@@ -0,0 +1,292 @@
+package GUI;
+
+import Engine.AssetLoader;
+import Engine.FrameProfiler;
+import Engine.FrameProfiler.Section;
+import Engine.SceneGeometryLoader;
+import Logic.Game;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import javafx.scene.input.KeyCode;
+
+/*
+ * Simulacion sin ventana de una escena de exploracion para medir rendimiento sin jugar a mano.
+ *
+ * Crea la escena con un Game nuevo, arma su mundo con buildWorld() (fondo, colisiones, zonas, NPC)
+ * y llama a tick() y render() con el paso fijo del GameLoop desde el hilo principal, sin iniciar
+ * JavaFX: los nodos se pueden usar mientras no esten en una ventana. Los avisos de AssetLoader (trozos
+ * del fondo, precargas) y el runLater de las escenas se encolan y se ejecutan al inicio de cada paso,
+ * como haria el hilo de JavaFX.
+ * Las teclas salen de un guion y cada paso queda medido con FrameProfiler (movimiento, colision,
+ * triggers, camara, particulas).
+ *
+ * El guion tiene una linea por tramo: las teclas apretadas (W, A, S, D combinadas, o - para
+ * ninguna) y cuantos pasos dura. Lineas vacias y las que empiezan con # se ignoran. Se repite hasta
+ * completar los pasos pedidos.
+ *
+ *     # ida y vuelta por el pantano
+ *     D 240
+ *     SD 60
+ *     - 30
+ *     A 240
+ *
+ * Uso: java GUI.SceneSimulator <Escena> [guion.txt|-] [pasos] [salida.csv]
+ * Los disparadores que cambian de escena o abren un combate necesitan la ventana: ese paso se
+ * cuenta como error y la simulacion sigue en la misma escena.
+ */
+public final class SceneSimulator {
+
+    static final int DEFAULT_TICKS = 3600;
+    static final int WARMUP_TICKS = 120;
+
+    // Vuelta cuadrada si no se da guion
+    private static final String[] DEFAULT_SCRIPT = {"D 240", "S 240", "A 240", "W 240", "- 60"};
+
+    private static final Section[] SECTIONS = Section.values();
+
+    // Avisos de carga y trabajo de las escenas pendientes (en el juego irian a Platform.runLater)
+    private static final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+
+    private final ExplorationScene scene;
+    private final KeyCode[][] stepKeys;
+    private final int[] stepTicks;
+
+    private long errors = 0;
+
+    SceneSimulator(ExplorationScene scene, List<String> script) {
+        this.scene = scene;
+        List<KeyCode[]> keys = new ArrayList<>();
+        List<Integer> ticks = new ArrayList<>();
+        for (String raw : script) {
+            String line = raw.trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                String[] parts = line.split("\\s+");
+                try {
+                    int n = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+                    keys.add(parseKeys(parts[0]));
+                    ticks.add(Math.max(1, n));
+                } catch (IllegalArgumentException ex) {
+                    System.err.println("Linea de guion invalida: " + line);
+                }
+            }
+        }
+        if (keys.isEmpty()) {
+            keys.add(new KeyCode[0]);
+            ticks.add(1);
+        }
+        stepKeys = keys.toArray(new KeyCode[0][]);
+        stepTicks = new int[ticks.size()];
+        for (int i = 0; i < stepTicks.length; i++) {
+            stepTicks[i] = ticks.get(i);
+        }
+    }
+
+    public static void main(String[] args) {
+        String name = args.length > 0 ? args[0] : "Swamp";
+        List<String> script = Arrays.asList(DEFAULT_SCRIPT);
+        int ticks = DEFAULT_TICKS;
+        Path csv = null;
+        boolean ok = true;
+        try {
+            if (args.length > 1 && !args[1].equals("-")) {
+                script = Files.readAllLines(Paths.get(args[1]), StandardCharsets.UTF_8);
+            }
+            if (args.length > 2) {
+                ticks = Math.max(1, Integer.parseInt(args[2]));
+            }
+            if (args.length > 3) {
+                csv = Paths.get(args[3]);
+            }
+        } catch (IOException | NumberFormatException ex) {
+            System.err.println("Argumentos invalidos: " + ex.getMessage());
+            ok = false;
+        }
+
+        ExplorationScene scene = ok ? createScene(name) : null;
+        if (scene != null) {
+            SceneSimulator sim = new SceneSimulator(scene, script);
+            try {
+                sim.run(ticks, csv);
+            } catch (IOException ex) {
+                System.err.println("No se pudo escribir " + csv + ": " + ex.getMessage());
+            }
+        }
+        System.exit(scene != null ? 0 : 1);
+    }
+
+    // La escena por nombre de clase (Swamp, FieldVillage...) con un juego recien creado
+    static ExplorationScene createScene(String name) {
+        ExplorationScene scene = null;
+        try {
+            Class<?> type = Class.forName("GUI." + name);
+            if (ExplorationScene.class.isAssignableFrom(type)) {
+                AssetLoader.setCallbackExecutor(pending::add);
+                ExplorationScene.setUiExecutor(pending::add);
+                Game game = new Game();
+                game.createItems();
+                game.createMonsters();
+                game.createTasks();
+                game.createVillagers();
+                game.addShopItems();
+                game.createHero("Simulacion");
+                scene = (ExplorationScene) type.getConstructor(Game.class).newInstance(game);
+                scene.buildWorld();
+                scene.setScriptedInput(true);
+            } else {
+                System.err.println(name + " no es una escena de exploracion");
+            }
+        } catch (ReflectiveOperationException ex) {
+            System.err.println("Escena desconocida: " + name);
+        }
+        return scene;
+    }
+
+    /*
+     * Corre ticks pasos. Con csv escribe una fila por paso: posicion del heroe, costo total y por
+     * seccion y GC; al final imprime el resumen sin contar los primeros WARMUP_TICKS.
+     */
+    void run(int ticks, Path csv) throws IOException {
+        double step = GameLoop.getStep();
+        long stepNanos = (long) (step * 1e9);
+        long[] work = new long[ticks];
+        long[] sectionTotals = new long[SECTIONS.length];
+        long gcTotal = 0;
+
+        BufferedWriter out = csv != null ? openCsv(csv) : null;
+        StringBuilder line = new StringBuilder();
+        FrameProfiler.clear();
+
+        int segment = 0;
+        int left = stepTicks[0];
+        press(stepKeys[0]);
+        for (int t = 0; t < ticks; t++) {
+            if (left == 0) {
+                segment = (segment + 1) % stepTicks.length;
+                left = stepTicks[segment];
+                press(stepKeys[segment]);
+            }
+            left--;
+
+            FrameProfiler.beginFrame(t * stepNanos);
+            try {
+                Runnable task = pending.poll();
+                while (task != null) {
+                    task.run();
+                    task = pending.poll();
+                }
+                scene.tick(step);
+                scene.render(0);
+            } catch (Throwable ex) {
+                if (errors == 0) {
+                    System.err.println("Paso " + t + ": " + ex);
+                }
+                errors++;
+            }
+            FrameProfiler.endFrame();
+
+            work[t] = FrameProfiler.lastWorkNanos();
+            if (t >= WARMUP_TICKS || ticks <= WARMUP_TICKS) {
+                for (int s = 0; s < SECTIONS.length; s++) {
+                    sectionTotals[s] += FrameProfiler.lastSectionNanos(SECTIONS[s]);
+                }
+                gcTotal += FrameProfiler.lastGcMillis();
+            }
+            if (out != null) {
+                line.setLength(0);
+                line.append(t)
+                        .append(',').append(String.format(Locale.ROOT, "%.1f", scene.heroView.getLayoutX()))
+                        .append(',').append(String.format(Locale.ROOT, "%.1f", scene.heroView.getLayoutY()))
+                        .append(',').append(ms(work[t]));
+                for (Section s : SECTIONS) {
+                    line.append(',').append(ms(FrameProfiler.lastSectionNanos(s)));
+                }
+                line.append(',').append(FrameProfiler.lastGcMillis());
+                out.write(line.toString());
+                out.newLine();
+            }
+        }
+        if (out != null) {
+            out.close();
+        }
+        press(new KeyCode[0]);
+        printSummary(ticks, work, sectionTotals, gcTotal);
+    }
+
+    private void press(KeyCode[] codes) {
+        scene.keys.clear();
+        scene.keys.addAll(Arrays.asList(codes));
+    }
+
+    private void printSummary(int ticks, long[] work, long[] sectionTotals, long gcTotal) {
+        int from = ticks > WARMUP_TICKS ? WARMUP_TICKS : 0;
+        int n = ticks - from;
+        long[] sorted = Arrays.copyOfRange(work, from, ticks);
+        Arrays.sort(sorted);
+        long sum = 0;
+        for (long w : sorted) {
+            sum += w;
+        }
+        System.out.printf(Locale.ROOT, "%s: %d pasos de %.2f ms (%d de calentamiento), %d con error%n",
+                scene.getClass().getSimpleName(), ticks, GameLoop.getStep() * 1000, from, errors);
+        System.out.printf(Locale.ROOT, "por paso: medio %.3f ms, p50 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                sum / 1e6 / n, sorted[n / 2] / 1e6, sorted[Math.min(n - 1, (int) (n * 0.99))] / 1e6, sorted[n - 1] / 1e6);
+        StringBuilder sections = new StringBuilder("secciones (medio ms):");
+        for (int s = 0; s < SECTIONS.length; s++) {
+            sections.append(String.format(Locale.ROOT, " %s %.3f", SECTIONS[s].name().toLowerCase(Locale.ROOT), sectionTotals[s] / 1e6 / n));
+        }
+        System.out.println(sections);
+        System.out.printf(Locale.ROOT, "GC: %d ms, heroe en (%.1f, %.1f)%n",
+                gcTotal, scene.heroView.getLayoutX(), scene.heroView.getLayoutY());
+        String geometry = SceneGeometryLoader.getStats();
+        if (!geometry.isEmpty()) {
+            System.out.println(geometry);
+        }
+    }
+
+    private static BufferedWriter openCsv(Path csv) throws IOException {
+        Path parent = csv.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        BufferedWriter out = Files.newBufferedWriter(csv, StandardCharsets.UTF_8);
+        StringBuilder header = new StringBuilder("tick,hero_x,hero_y,work_ms");
+        for (Section s : SECTIONS) {
+            header.append(',').append(s.name().toLowerCase(Locale.ROOT)).append("_ms");
+        }
+        header.append(",gc_ms");
+        out.write(header.toString());
+        out.newLine();
+        return out;
+    }
+
+    private static KeyCode[] parseKeys(String token) {
+        KeyCode[] codes;
+        if (token.equals("-")) {
+            codes = new KeyCode[0];
+        } else {
+            codes = new KeyCode[token.length()];
+            for (int i = 0; i < token.length(); i++) {
+                char c = Character.toUpperCase(token.charAt(i));
+                if (c != 'W' && c != 'A' && c != 'S' && c != 'D') {
+                    throw new IllegalArgumentException("tecla " + c);
+                }
+                codes[i] = KeyCode.valueOf(String.valueOf(c));
+            }
+        }
+        return codes;
+    }
+
+    private static String ms(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+}
@@ -1,58 +1,34 @@
 package GUI;
 
+import Engine.AssetLoader;
+import Engine.ImageCache;
+import Engine.SceneGeometryLoader;
+import Engine.SceneRegistry;
 import Logic.Game;
 import Misc.Task;
 import Runner.MainScreen;
 import com.almasb.fxgl.dsl.FXGL;
 import java.net.URL;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import javafx.animation.AnimationTimer;
-import javafx.animation.FadeTransition;
-import javafx.animation.PauseTransition;
 import javafx.application.Platform;
-import javafx.geometry.Point2D;
-import javafx.geometry.Pos;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.input.KeyCode;
-import javafx.scene.input.KeyEvent;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javafx.scene.layout.Pane;
-import javafx.scene.layout.StackPane;
 import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Text;
-import javafx.util.Duration;
 
-public class SkyDungeon {
+public class SkyDungeon extends ExplorationScene {
 
-    private final StackPane root;
-    private final Pane world;
-    private final StackPane loadingOverlay;
     private ImageView backgroundView;
     private MediaPlayer music;
 
-    private final ImageView heroView;
-    private final double HERO_W = 48;
-    private final double HERO_H = 48;
-    private final double HERO_SPEED = 180.0;
-    private final Set<KeyCode> keys = new HashSet<>();
-    private AnimationTimer mover;
-
-    private final double VIEW_W = 800;
-    private final double VIEW_H = 600;
-    private double worldW = VIEW_W;
-    private double worldH = VIEW_H;
-
-    private Runnable onExitCallback;
     private Rectangle startRect;
     private Rectangle castleRect;
-    private final Game game;
 
     private final List<Rectangle> dungeonTriggerRects = new ArrayList<>();
     private final List<Rectangle> bossTriggerRects = new ArrayList<>();
@@ -66,13 +42,6 @@ public class SkyDungeon {
     // Inventario (si se abre desde aquí se pasa this)
     private InventoryScreen inventory;
 
-    // Direcciones del héroe (para depuración con tecla P)
-    public enum Direction {
-        NONE, N, NE, E, SE, S, SW, W, NW
-    }
-
-    private final Direction currentDirection = Direction.NONE;
-
     // Clase interna para obstáculos
     private static class Obstacle {
 
@@ -92,117 +61,34 @@ public class SkyDungeon {
     }
 
     public SkyDungeon(Game game) {
-        this.game = game;
-        root = new StackPane();
-        root.setPrefSize(VIEW_W, VIEW_H);
-
-        world = new Pane();
-        world.setPrefSize(VIEW_W, VIEW_H);
-
-        loadingOverlay = createLoadingOverlay();
-        root.getChildren().addAll(world, loadingOverlay);
-
-        heroView = createHeroView();
-        installInputHandlers();
-        createMover();
-
-        root.focusedProperty().addListener((obs, wasFocused, isFocused) -> {
-            if (!isFocused) {
-                clearInputState();
-            }
-        });
-    }
-
-    public StackPane getRoot() {
-        return root;
+        super(game, "Loading Sky Dungeon...");
     }
 
-    public Point2D getHeroMapTopLeft() {
-        return new Point2D(heroView.getLayoutX(), heroView.getLayoutY());
+    @Override
+    protected void startSceneMusic() {
+        startDungeonMusic("/Resources/music/skyFinalDungeon.mp3");
     }
 
-    public void showWithLoading(Runnable onLoaded, Runnable onExit) {
-        this.onExitCallback = onExit;
+    @Override
+    protected void buildWorld() {
+        loadBackgroundImage("/Resources/textures/SkyDungeon/skydungeon.png");
 
-        Platform.runLater(() -> {
-            FXGL.getGameScene().addUINode(root);
-            root.requestFocus();
-            showLoading(true);
-
-            boolean imageOk = loadBackgroundImage("/Resources/textures/SkyDungeon/skydungeon.png");
-            boolean musicOk = startDungeonMusic("/Resources/music/skyFinalDungeon.mp3");
-
-            populateSkyObstacles();
-            positionHeroAtEntrance();
-            createStartRectAtHeroStart();
-            createCastleRect();
-
-            PauseTransition wait = new PauseTransition(Duration.millis(600));
-            wait.setOnFinished(e -> {
-                showLoading(false);
-                fadeInContent();
-                startMover();
-                if (onLoaded != null) {
-                    onLoaded.run();
-                }
-            });
-            wait.play();
-        });
+        populateSkyObstacles();
+        positionHeroAtEntrance();
+        createStartRectAtHeroStart();
+        createCastleRect();
     }
 
-    public void hide() {
+    @Override
+    protected void stopSceneMusic() {
         stopDungeonMusic();
-        Platform.runLater(() -> {
-            stopMover();
-            try {
-                FXGL.getGameScene().removeUINode(root);
-            } catch (Throwable ignored) {
-            }
-        });
-    }
-
-    public void setHeroPosition(double x, double y) {
-        double nx = clamp(x, 0, Math.max(0, worldW - HERO_W));
-        double ny = clamp(y, 0, Math.max(0, worldH - HERO_H));
-        heroView.setLayoutX(nx);
-        heroView.setLayoutY(ny);
-        updateCamera();
     }
 
     // ---------------- internals / UI ----------------
-    private StackPane createLoadingOverlay() {
-        StackPane overlay = new StackPane();
-        overlay.setPickOnBounds(true);
-        Rectangle bg = new Rectangle(VIEW_W, VIEW_H);
-        bg.setFill(Color.rgb(0, 0, 0, 0.6));
-        Text label = new Text("Loading Sky Dungeon...");
-        label.setStyle("-fx-font-size: 24px; -fx-fill: #e0d090;");
-        overlay.getChildren().addAll(bg, label);
-        StackPane.setAlignment(label, Pos.CENTER);
-        overlay.setVisible(false);
-        return overlay;
-    }
-
-    private void showLoading(boolean show) {
-        loadingOverlay.setVisible(show);
-        if (show) {
-            loadingOverlay.toFront();
-        } else {
-            loadingOverlay.toBack();
-        }
-    }
-
-    private void fadeInContent() {
-        FadeTransition ft = new FadeTransition(Duration.millis(400), root);
-        ft.setFromValue(0.2);
-        ft.setToValue(1.0);
-        ft.play();
-    }
-
     private boolean loadBackgroundImage(String path) {
         boolean ret = false;
         try {
-            Image img = new Image(getClass().getResourceAsStream(path));
+            Image img = ImageCache.get(path);
             backgroundView = new ImageView(img);
             backgroundView.setPreserveRatio(false);
             backgroundView.setSmooth(true);
@@ -217,11 +103,7 @@ public class SkyDungeon {
             world.getChildren().clear();
             world.getChildren().add(backgroundView);
 
-            if (!world.getChildren().contains(heroView)) {
-                world.getChildren().add(heroView);
-            } else {
-                heroView.toFront();
-            }
+            layers.restack();
             ret = true;
         } catch (Throwable t) {
             Text err = new Text("No se pudo cargar la imagen del Sky Dungeon.");
@@ -231,28 +113,13 @@ public class SkyDungeon {
         return ret;
     }
 
-    private ImageView createHeroView() {
-        Image img;
-        try {
-            img = new Image(getClass().getResourceAsStream(game.getHero().getSpritePath()));
-        } catch (Throwable ignored) {
-            img = null;
-        }
-        ImageView iv = new ImageView(img);
-        iv.setPreserveRatio(true);
-        iv.setFitWidth(HERO_W);
-        iv.setFitHeight(HERO_H);
-        iv.setMouseTransparent(true);
-        return iv;
-    }
-
     //---------------------Musica-------------------------------
     private boolean startDungeonMusic(String path) {
         boolean started = false;
         try {
             URL res = getClass().getResource(path);
             if (res != null) {
-                Media media = new Media(res.toExternalForm());
+                Media media = AssetLoader.getMedia(res);
                 stopDungeonMusic();
                 // Crear y reproducir en hilo de JavaFX
                 javafx.application.Platform.runLater(() -> {
@@ -293,7 +160,7 @@ public class SkyDungeon {
             stopMapMusic();
             URL res = getClass().getResource("/Resources/music/skyFinalDungeon.mp3");
             if (res != null) {
-                Media media = new Media(res.toExternalForm());
+                Media media = AssetLoader.getMedia(res);
                 music = new MediaPlayer(media);
                 music.setCycleCount(MediaPlayer.INDEFINITE);
                 music.setVolume(MainScreen.getVolumeSetting());
@@ -322,51 +189,12 @@ public class SkyDungeon {
     private void populateSkyObstacles() {
         obstacles.clear();
 
-        double[][] COLLISIONS = new double[][]{
-            {717.7351259999998, 287.13436200000086},
-            {717.7351259999998, 238.7060280000008},
-            {768.0, 238.7060280000008},
-            {768.0, 290.52887400000077},
-            {768.0, 333.80650800000086},
-            {768.0, 384.6868560000005},
-            {719.1208360000004, 384.6868560000005},
-            {670.1118419999996, 390.49390800000043},
-            {624.6369839999993, 390.49390800000043},
-            {573.339593999999, 390.49390800000043},
-            {526.375613999999, 390.49390800000043},
-            {480.83185199999906, 390.49390800000043},
-            {480.83185199999906, 437.35874400000046},
-            {480.83185199999906, 486.51132600000045},
-            {427.29110399999905, 486.51132600000045},
-            {389.98649999999907, 486.51132600000045},
-            {338.296061999999, 486.51132600000045},
-            {284.2805999999989, 486.51132600000045},
-            {239.55682799999892, 486.51132600000045},
-            {228.3693599999989, 437.63603400000045},
-            {228.3693599999989, 383.6459160000004},
-            {228.3693599999989, 330.1172100000004},
-            {259.66583399999894, 330.1172100000004},
-            {291.4229639999989, 330.1172100000004},
-            {328.3293539999989, 330.1172100000004},
-            {359.86403999999897, 330.1172100000004},
-            {372.92935799999924, 319.3822980000002},
-            {380.7763679999993, 317.90570400000024},
-            {380.7763679999993, 291.91579200000035},
-            {380.7763679999993, 246.5644140000004},
-            {380.7763679999993, 227.16631800000044},
-            {430.0829399999992, 227.16631800000044},
-            {479.14735799999903, 235.76572800000048},
-            {524.2654559999991, 235.76572800000048},
-            {569.2706039999989, 235.76572800000048},
-            {615.1722599999989, 235.76572800000048},
-            {669.174041999999, 235.76572800000048},
-            {432.7197239999996, 437.3116380000006}
-        };
+        double[][] COLLISIONS = SceneGeometryLoader.load("/Resources/geometry/skyDungeon.geo").getMergedRects("collisions", 40, 40);
 
         int idx = 1;
         for (double[] p : COLLISIONS) {
             obstacles.add(new Obstacle(
-                    new Rectangle2D(p[0], p[1], 40, 40),
+                    new Rectangle2D(p[0], p[1], p[2], p[3]),
                     ObstacleType.BLOCK,
                     "SkyCollision" + idx
             ));
@@ -388,12 +216,14 @@ public class SkyDungeon {
         if (startRect != null) {
             world.getChildren().remove(startRect);
             startRect = null;
+            triggers.removeByTag("exit_area");
         }
         double rx = heroView.getLayoutX() - 4;
         double ry = heroView.getLayoutY() - 4;
         double rw = HERO_W + 8;
         double rh = HERO_H + 8;
         startRect = new Rectangle(rx, ry, rw, rh);
+        setTrigger("exit_area", startRect);
         startRect.setFill(Color.rgb(0, 120, 255, 0.28));
         startRect.setStroke(Color.rgb(0, 80, 200, 0.9));
         startRect.setMouseTransparent(true);
@@ -401,13 +231,14 @@ public class SkyDungeon {
             world.getChildren().add(startRect);
         }
         startRect.toBack();
-        heroView.toFront();
+        layers.restack();
     }
 
     private void createCastleRect() {
         if (castleRect != null) {
             world.getChildren().remove(castleRect);
             castleRect = null;
+            triggers.removeByTag("castle_area");
         }
         double[] xs = new double[]{
             337.19233799999984,
@@ -434,233 +265,62 @@ public class SkyDungeon {
         double ry = y - pad;
 
         castleRect = new Rectangle(rx, ry, rw, rh);
+        setTrigger("castle_area", castleRect);
         castleRect.setFill(Color.rgb(200, 120, 0, 0.28));
         castleRect.setStroke(Color.rgb(180, 80, 0, 0.9));
         castleRect.setMouseTransparent(true);
         castleRect.getProperties().put("tag", "castle_area");
+        prefetcher.watch("castle_area", rx, ry, rw, rh);
         if (!world.getChildren().contains(castleRect)) {
             world.getChildren().add(castleRect);
         }
         castleRect.toBack();
-        heroView.toFront();
+        layers.restack();
     }
 
-    private void installInputHandlers() {
-        root.addEventFilter(KeyEvent.KEY_PRESSED, ev -> {
-            KeyCode k = ev.getCode();
-
-            if (k == KeyCode.W || k == KeyCode.UP) {
-                keys.add(KeyCode.W);
-                heroView.setImage(game.getHero().getSpriteForDirection("Up"));
-            }
-            if (k == KeyCode.S || k == KeyCode.DOWN) {
-                keys.add(KeyCode.S);
-                heroView.setImage(game.getHero().getSpriteForDirection("Down"));
-            }
-            if (k == KeyCode.A || k == KeyCode.LEFT) {
-                keys.add(KeyCode.A);
-                heroView.setImage(game.getHero().getSpriteForDirection("Left"));
-            }
-            if (k == KeyCode.D || k == KeyCode.RIGHT) {
-                keys.add(KeyCode.D);
-                heroView.setImage(game.getHero().getSpriteForDirection("Right"));
-            }
-
-            if (k == KeyCode.P) {
-                System.out.println("Hero position (Zona): (" + heroView.getLayoutX() + ", " + heroView.getLayoutY() + ")");
-            }
-
-            if (k == KeyCode.I || k == KeyCode.ADD || k == KeyCode.PLUS) {
-                clearInputState();
-                openInventory();
-            }
-            if (k == KeyCode.B) {
-                clearInputState();
-                openDebugCombat();
-            }
-            if (k == KeyCode.R) {
-                debugEnabled = !debugEnabled;
-                if (debugEnabled) {
-                    drawDebugObstacles();
-                } else {
-                    world.getChildren().removeIf(n -> "obstacle_debug".equals(n.getProperties().get("tag")));
-                }
-                for (Task t : game.getHero().getCompletedTasks()) {
-                    System.out.print(t.getName());
-
-                }
-            }
-            if (k == KeyCode.ENTER) {
-                checkCastleTrigger();
-                checkExitTrigger();
-            }
-            ev.consume();
-        });
+    @Override
+    protected void onKeyPressed(KeyCode k) {
+        if (k == KeyCode.P) {
+            System.out.println("Hero position (Zona): (" + heroView.getLayoutX() + ", " + heroView.getLayoutY() + ")");
+        }
 
-        root.addEventFilter(KeyEvent.KEY_RELEASED, ev -> {
-            KeyCode k = ev.getCode();
-            if (k == KeyCode.W || k == KeyCode.UP) {
-                keys.remove(KeyCode.W);
-            }
-            if (k == KeyCode.S || k == KeyCode.DOWN) {
-                keys.remove(KeyCode.S);
-            }
-            if (k == KeyCode.A || k == KeyCode.LEFT) {
-                keys.remove(KeyCode.A);
-            }
-            if (k == KeyCode.D || k == KeyCode.RIGHT) {
-                keys.remove(KeyCode.D);
-            }
-            ev.consume();
-        });
-        root.setFocusTraversable(true);
-        root.sceneProperty().addListener((obs, oldScene, newScene) -> {
-            if (newScene != null) {
-                Platform.runLater(root::requestFocus);
+        if (k == KeyCode.I || k == KeyCode.ADD || k == KeyCode.PLUS) {
+            clearInputState();
+            openInventory();
+        }
+        if (k == KeyCode.B) {
+            clearInputState();
+            openDebugCombat();
+        }
+        if (k == KeyCode.R) {
+            debugEnabled = !debugEnabled;
+            if (debugEnabled) {
+                drawDebugObstacles();
             } else {
-                clearInputState();
+                world.getChildren().removeIf(n -> "obstacle_debug".equals(n.getProperties().get("tag")));
             }
-        });
-    }
-
-    private void createMover() {
-        mover = new AnimationTimer() {
-            private long last = -1;
-
-            @Override
-            public void handle(long now) {
-                if (last < 0) {
-                    last = now;
-                }
-                double dt = (now - last) / 1e9;
-                last = now;
+            for (Task t : game.getHero().getCompletedTasks()) {
+                System.out.print(t.getName());
 
-                if (root.getScene() == null || !root.isFocused()) {
-                    clearInputState();
-                } else {
-                    updateAndMove(dt);
-                }
             }
-        };
-    }
-
-    public void startMover() {
-        if (mover != null) {
-            mover.start();
         }
-    }
-
-    public void stopMover() {
-        if (mover != null) {
-            mover.stop();
+        if (k == KeyCode.ENTER) {
+            checkCastleTrigger();
+            checkExitTrigger();
         }
     }
 
-    private void updateAndMove(double dt) {
-        double vx = 0;
-        double vy = 0;
-        if (keys.contains(KeyCode.A)) {
-            vx -= HERO_SPEED;
-        }
-        if (keys.contains(KeyCode.D)) {
-            vx += HERO_SPEED;
-        }
-        if (keys.contains(KeyCode.W)) {
-            vy -= HERO_SPEED;
-        }
-        if (keys.contains(KeyCode.S)) {
-            vy += HERO_SPEED;
-        }
-
-        boolean shouldMove = !(vx == 0 && vy == 0);
-        if (shouldMove) {
-            moveHero(vx * dt, vy * dt);
-        }
-    }
-
-    private void moveHero(double dx, double dy) {
-
-        double curX = heroView.getLayoutX();
-        double curY = heroView.getLayoutY();
-
-        double proposedX = clamp(curX + dx, 0, Math.max(0, worldW - HERO_W));
-        double proposedY = clamp(curY + dy, 0, Math.max(0, worldH - HERO_H));
-
-        Rectangle2D heroRect = new Rectangle2D(proposedX, proposedY, HERO_W, HERO_H);
+    // ---------------- ganchos de ExplorationScene ----------------
+    @Override
+    protected boolean collides(Rectangle2D heroRect) {
         boolean collision = false;
-
         for (int i = 0; i < obstacles.size() && !collision; i++) {
             Obstacle ob = obstacles.get(i);
             if (ob != null && ob.collisionRect != null && heroRect.intersects(ob.collisionRect)) {
                 collision = true;
             }
         }
-
-        if (!collision) {
-            heroView.setLayoutX(proposedX);
-            heroView.setLayoutY(proposedY);
-        } else {
-            Rectangle2D heroRectX = new Rectangle2D(proposedX, curY, HERO_W, HERO_H);
-            Rectangle2D heroRectY = new Rectangle2D(curX, proposedY, HERO_W, HERO_H);
-
-            boolean canMoveX = true;
-            boolean canMoveY = true;
-
-            for (int i = 0; i < obstacles.size() && (canMoveX || canMoveY); i++) {
-                Obstacle ob = obstacles.get(i);
-                if (ob != null && ob.collisionRect != null) {
-                    if (heroRectX.intersects(ob.collisionRect)) {
-                        canMoveX = false;
-                    }
-                    if (heroRectY.intersects(ob.collisionRect)) {
-                        canMoveY = false;
-                    }
-                }
-            }
-
-            if (canMoveX) {
-                heroView.setLayoutX(proposedX);
-            }
-            if (canMoveY) {
-                heroView.setLayoutY(proposedY);
-            }
-        }
-
-        updateCamera();
-    }
-
-    private void updateCamera() {
-        double heroCenterX = heroView.getLayoutX() + HERO_W / 2.0;
-        double heroCenterY = heroView.getLayoutY() + HERO_H / 2.0;
-
-        double targetTx = VIEW_W / 2.0 - heroCenterX;
-        double targetTy = VIEW_H / 2.0 - heroCenterY;
-
-        double minTx = Math.min(0, VIEW_W - worldW);
-        double maxTx = 0;
-        double minTy = Math.min(0, VIEW_H - worldH);
-        double maxTy = 0;
-
-        double tx = clamp(targetTx, minTx, maxTx);
-        double ty = clamp(targetTy, minTy, maxTy);
-
-        world.setTranslateX(tx);
-        world.setTranslateY(ty);
-    }
-
-    private static double clamp(double v, double lo, double hi) {
-        double result = v;
-        if (v < lo) {
-            result = lo;
-        } else if (v > hi) {
-            result = hi;
-        }
-        return result;
-    }
-
-    private void clearInputState() {
-        keys.clear();
-
+        return collision;
     }
 
     //---------------Creacion de triggers y obstaculos---------------
@@ -676,7 +336,7 @@ public class SkyDungeon {
             debug.getProperties().put("id", ob.id);
             world.getChildren().add(debug);
         }
-        heroView.toFront();
+        layers.restack();
     }
 
     private void openInventory() {
@@ -751,72 +411,39 @@ public class SkyDungeon {
 
     // Método que comprueba si el héroe está en el área de salida
     private void checkExitTrigger() {
-        Rectangle2D heroRect = new Rectangle2D(
-                heroView.getLayoutX(),
-                heroView.getLayoutY(),
-                HERO_W,
-                HERO_H
-        );
-
-        if (startRect != null) {
-            Rectangle2D startArea = new Rectangle2D(
-                    startRect.getX(),
-                    startRect.getY(),
-                    startRect.getWidth(),
-                    startRect.getHeight()
-            );
-
-            if (heroRect.intersects(startArea)) {
-                clearInputState();
-                if (onExitCallback != null) {
-                    hide();
-                    onExitCallback.run(); // vuelve al mapa anterior
-                } else {
-                    hide();
-                }
+        if (startRect != null && heroInTrigger("exit_area")) {
+            clearInputState();
+            if (onExitCallback != null) {
+                hide();
+                onExitCallback.run(); // vuelve al mapa anterior
+            } else {
+                hide();
             }
         }
     }
 
     private void checkCastleTrigger() {
-        Rectangle2D heroRect = new Rectangle2D(
-                heroView.getLayoutX(),
-                heroView.getLayoutY(),
-                HERO_W,
-                HERO_H
-        );
-
-        if (castleRect != null) { // define castleRect igual que startRect
-            Rectangle2D castleArea = new Rectangle2D(
-                    castleRect.getX(),
-                    castleRect.getY(),
-                    castleRect.getWidth(),
-                    castleRect.getHeight()
-            );
-
-            if (heroRect.intersects(castleArea)) {
-                clearInputState();
-                hide(); // oculta SkyDungeon
-
-                CastleFirstFloor castle = new CastleFirstFloor(game);
-                castle.showWithLoading(null, () -> {
-                    Platform.runLater(() -> {
-                        try {
-                            // Volver a añadir la UI del SkyDungeon
-                            FXGL.getGameScene().addUINode(root);
-                        } catch (Throwable ignored) {
-                        }
-
-                        // Reiniciar la música del SkyDungeon
-                        startDungeonMusic("/Resources/music/skyFinalDungeon.mp3");
-
-                        // Reanudar movimiento y foco
-                        root.requestFocus();
-                        startMover();
-                    });
-                });
+        if (castleRect != null && heroInTrigger("castle_area")) { // define castleRect igual que startRect
+            clearInputState();
+            hide(); // oculta SkyDungeon
 
-            }
+            CastleFirstFloor castle = SceneRegistry.obtain(game, CastleFirstFloor.class, () -> new CastleFirstFloor(game));
+            castle.showWithLoading(null, () -> {
+                Platform.runLater(() -> {
+                    try {
+                        // Volver a añadir la UI del SkyDungeon
+                        FXGL.getGameScene().addUINode(root);
+                    } catch (Throwable ignored) {
+                    }
+
+                    // Reiniciar la música del SkyDungeon
+                    startDungeonMusic("/Resources/music/skyFinalDungeon.mp3");
+
+                    // Reanudar movimiento y foco
+                    root.requestFocus();
+                    startMover();
+                });
+            });
         }
     }
 }
@@ -0,0 +1,57 @@
+package GUI;
+
+import java.net.URL;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+
+/*
+ * Hoja de estilos comun (/Resources/css/theme.css). Las pantallas agregan la hoja a su root con
+ * apply y marcan los nodos con clases en lugar de armar cadenas CSS con setStyle: JavaFX parsea la
+ * hoja una sola vez y la comparte, mientras que cada setStyle se vuelve a parsear por nodo y cada
+ * vez que se reasigna (por ejemplo al mover la seleccion de un menu).
+ */
+public final class Theme {
+
+    public static final String STYLESHEET = "/Resources/css/theme.css";
+
+    private static String url = null;
+
+    private Theme() {
+    }
+
+    // URL externa de la hoja, resuelta una vez
+    public static String url() {
+        if (url == null) {
+            URL resource = Theme.class.getResource(STYLESHEET);
+            if (resource != null) {
+                url = resource.toExternalForm();
+            } else {
+                System.err.println("No se encontro la hoja de estilos " + STYLESHEET);
+                url = "";
+            }
+        }
+        return url;
+    }
+
+    public static void apply(Parent root) {
+        String sheet = url();
+        if (!sheet.isEmpty() && !root.getStylesheets().contains(sheet)) {
+            root.getStylesheets().add(sheet);
+        }
+    }
+
+    public static <T extends Node> T style(T node, String... classes) {
+        node.getStyleClass().addAll(classes);
+        return node;
+    }
+
+    // Agrega o quita una clase de estado sin duplicarla
+    public static void toggle(Node node, String styleClass, boolean on) {
+        boolean present = node.getStyleClass().contains(styleClass);
+        if (on && !present) {
+            node.getStyleClass().add(styleClass);
+        } else if (!on && present) {
+            node.getStyleClass().remove(styleClass);
+        }
+    }
+}
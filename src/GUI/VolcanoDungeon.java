@@ -2,6 +2,11 @@ package GUI;
 
 import Characters.Boss;
 import Characters.Hero;
+import Engine.AssetLoader;
+import Engine.ImageCache;
+import Engine.ParticleSystem;
+import Engine.NavigationGrid;
+import Engine.SceneGeometryLoader;
 import Logic.Game;
 import Misc.Task;
 import Runner.MainScreen;
@@ -9,22 +14,13 @@ import com.almasb.fxgl.dsl.FXGL;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import javafx.animation.AnimationTimer;
 import javafx.animation.FadeTransition;
-import javafx.animation.PauseTransition;
 import javafx.application.Platform;
-import javafx.geometry.Point2D;
-import javafx.geometry.Pos;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.input.KeyCode;
-import javafx.scene.input.KeyEvent;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javafx.scene.layout.Pane;
-import javafx.scene.layout.StackPane;
 import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
 import javafx.scene.paint.Color;
@@ -32,33 +28,17 @@ import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Text;
 import javafx.util.Duration;
 
-public class VolcanoDungeon {
+public class VolcanoDungeon extends ExplorationScene {
 
-    private final StackPane root;
-    private final Pane world;
-    private final StackPane loadingOverlay;
     private ImageView backgroundView;
     private MediaPlayer music;
 
-    private final ImageView heroView;
-    private final double HERO_W = 48;
-    private final double HERO_H = 48;
-    private final double HERO_SPEED = 180.0;
-    private final Set<KeyCode> keys = new HashSet<>();
-    private AnimationTimer mover;
     private Rectangle orbNode = null;
     private Rectangle2D orbTrigger = null;
     private Text orbHintText = null;
 
-    private final double VIEW_W = 800;
-    private final double VIEW_H = 600;
-    private double worldW = VIEW_W;
-    private double worldH = VIEW_H;
-
-    private Runnable onExitCallback;
     private Rectangle startRect;
     private Rectangle castleRect;
-    private final Game game;
 
     private ImageView bossView;
 
@@ -66,17 +46,12 @@ public class VolcanoDungeon {
     private final List<Obstacle> obstacles = new ArrayList<>();
     private boolean debugEnabled = false; // R para ver/ocultar áreas de trigger
 
+
     private InventoryScreen inventory;
 
     private final List<Rectangle> dungeonTriggerRects = new ArrayList<>();
     private final List<Rectangle> bossTriggerRects = new ArrayList<>();
 
-    // Direcciones del héroe (si quieres usarlas para depuración)
-    public enum Direction {
-        NONE, N, NE, E, SE, S, SW, W, NW
-    }
-    private Direction currentDirection = Direction.NONE;
-
     // Clase interna para obstáculos
     private static class Obstacle {
 
@@ -96,121 +71,46 @@ public class VolcanoDungeon {
     }
 
     public VolcanoDungeon(Game game) {
-        this.game = game;
-        root = new StackPane();
-        root.setPrefSize(VIEW_W, VIEW_H);
-
-        world = new Pane();
-        world.setPrefSize(VIEW_W, VIEW_H);
-
-        loadingOverlay = createLoadingOverlay();
-        root.getChildren().addAll(world, loadingOverlay);
-
-        heroView = createHeroView();
-        installInputHandlers();
-        createMover();
-
-        root.focusedProperty().addListener((obs, wasFocused, isFocused) -> {
-            if (!isFocused) {
-                clearInputState();
-            }
-        });
+        super(game, "Loading Volcano Dungeon..");
     }
 
-    public StackPane getRoot() {
-        return root;
+    // Al reusarla desde SceneRegistry
+    @Override
+    protected void onReset() {
+        orbNode = null;
+        orbTrigger = null;
+        orbHintText = null;
     }
 
-    public Point2D getHeroMapTopLeft() {
-        return new Point2D(heroView.getLayoutX(), heroView.getLayoutY());
+    @Override
+    protected void startSceneMusic() {
+        startMapMusic();
     }
 
-    public void showWithLoading(Runnable onLoaded, Runnable onExit) {
-        this.onExitCallback = onExit;
-
-        Platform.runLater(() -> {
-            FXGL.getGameScene().addUINode(root);
-            root.requestFocus();
-            showLoading(true);
-
-            boolean imageOk = loadBackgroundImage("/Resources/textures/volcanoDungeon/volcanoExterior.png");
-            startMapMusic();
-            if (!game.getHero().existsCompletedTask(game.searchTask("M004")) && !game.getHero().existsPendingTask(game.searchTask("M004"))) {
-                game.getHero().addTasks(game.searchTask("M004"));
-            }
-
-            populateCastleObstacles();
-            positionHeroAtEntrance();
-            createStartRectAtHeroStart();
-            createCastleRect();
-            drawBossDungeon();
-
-            PauseTransition wait = new PauseTransition(Duration.millis(600));
-            wait.setOnFinished(e -> {
-                showLoading(false);
-                fadeInContent();
-                startMover();
-                if (onLoaded != null) {
-                    onLoaded.run();
-                }
-            });
-            wait.play();
-        });
-    }
+    @Override
+    protected void buildWorld() {
+        loadBackgroundImage("/Resources/textures/volcanoDungeon/volcanoExterior.png");
+        if (!game.getHero().existsCompletedTask(game.searchTask("M004")) && !game.getHero().existsPendingTask(game.searchTask("M004"))) {
+            game.getHero().addTasks(game.searchTask("M004"));
+        }
 
-    public void hide() {
-        Platform.runLater(() -> {
-            stopMapMusic();
-            stopMover();
-            try {
-                FXGL.getGameScene().removeUINode(root);
-            } catch (Throwable ignored) {
-            }
-        });
+        populateCastleObstacles();
+        positionHeroAtEntrance();
+        createStartRectAtHeroStart();
+        createCastleRect();
+        drawBossDungeon();
     }
 
-    public void setHeroPosition(double x, double y) {
-        double nx = clamp(x, 0, Math.max(0, worldW - HERO_W));
-        double ny = clamp(y, 0, Math.max(0, worldH - HERO_H));
-        heroView.setLayoutX(nx);
-        heroView.setLayoutY(ny);
-        updateCamera();
+    @Override
+    protected void stopSceneMusic() {
+        stopMapMusic();
     }
 
     // ---------------- internals / UI ----------------
-    private StackPane createLoadingOverlay() {
-        StackPane overlay = new StackPane();
-        overlay.setPickOnBounds(true);
-        Rectangle bg = new Rectangle(VIEW_W, VIEW_H);
-        bg.setFill(Color.rgb(0, 0, 0, 0.6));
-        Text label = new Text("Loading Volcano Dungeon..");
-        label.setStyle("-fx-font-size: 24px; -fx-fill: #e0d090;");
-        overlay.getChildren().addAll(bg, label);
-        StackPane.setAlignment(label, Pos.CENTER);
-        overlay.setVisible(false);
-        return overlay;
-    }
-
-    private void showLoading(boolean show) {
-        loadingOverlay.setVisible(show);
-        if (show) {
-            loadingOverlay.toFront();
-        } else {
-            loadingOverlay.toBack();
-        }
-    }
-
-    private void fadeInContent() {
-        FadeTransition ft = new FadeTransition(Duration.millis(400), root);
-        ft.setFromValue(0.2);
-        ft.setToValue(1.0);
-        ft.play();
-    }
-
     private boolean loadBackgroundImage(String path) {
         boolean ret = false;
         try {
-            Image img = new Image(getClass().getResourceAsStream(path));
+            Image img = ImageCache.get(path);
             backgroundView = new ImageView(img);
             backgroundView.setPreserveRatio(false);
             backgroundView.setSmooth(true);
@@ -225,11 +125,7 @@ public class VolcanoDungeon {
             world.getChildren().clear();
             world.getChildren().add(backgroundView);
 
-            if (!world.getChildren().contains(heroView)) {
-                world.getChildren().add(heroView);
-            } else {
-                heroView.toFront();
-            }
+            layers.restack();
             ret = true;
         } catch (Throwable t) {
             Text err = new Text("No se pudo cargar la imagen");
@@ -244,7 +140,7 @@ public class VolcanoDungeon {
         try {
             URL res = getClass().getResource(path);
             if (res != null) {
-                Media media = new Media(res.toExternalForm());
+                Media media = AssetLoader.getMedia(res);
                 stopDungeonMusic();
                 music = new MediaPlayer(media);
                 music.setCycleCount(MediaPlayer.INDEFINITE);
@@ -269,24 +165,10 @@ public class VolcanoDungeon {
         }
     }
 
-    private ImageView createHeroView() {
-        Image img;
-        try {
-            img = new Image(getClass().getResourceAsStream(game.getHero().getSpritePath()));
-        } catch (Throwable ignored) {
-            img = null;
-        }
-        ImageView iv = new ImageView(img);
-        iv.setPreserveRatio(true);
-        iv.setFitWidth(HERO_W);
-        iv.setFitHeight(HERO_H);
-        iv.setMouseTransparent(true);
-        return iv;
-    }
-
     // ---------------- colisiones ----------------
     private void populateCastleObstacles() {
         obstacles.clear();
+        invalidateChaseField();
 
         double[][] COLLISIONS = new double[][]{};
 
@@ -301,21 +183,11 @@ public class VolcanoDungeon {
         }
 
         if (!(game.getHero().existsCompletedTask(game.searchTask("M004")))) {
-            double[][] COLLISIONS2 = new double[][]{
-                {1250.0244400000004, 345.49560000000133},
-                {1192.1942379999996, 345.49560000000133},
-                {1124.338071999999, 345.49560000000133},
-                {1069.9219839999992, 345.49560000000133},
-                {1015.4302239999992, 345.49560000000133},
-                {966.936135999999, 345.49560000000133},
-                {912.9653319999989, 345.49560000000133},
-                {858.2888739999987, 345.49560000000133},};
+            double[][] COLLISIONS2 = SceneGeometryLoader.load("/Resources/geometry/volcanoDungeon.geo").getMergedRects("bossBarrier", 30, 30);
 
             for (double[] p : COLLISIONS2) {
-                double x = p[0];
-                double y = p[1];
                 obstacles.add(new Obstacle(
-                        new Rectangle2D(x, y, 30, 30),
+                        new Rectangle2D(p[0], p[1], p[2], p[3]),
                         ObstacleType.PLANT,
                         "Colision" + idx
                 ));
@@ -324,6 +196,15 @@ public class VolcanoDungeon {
         }
     }
 
+    // Colisiones de la sala para el campo de persecucion (getChaseField)
+    @Override
+    protected void blockObstacles(NavigationGrid grid) {
+        for (Obstacle ob : obstacles) {
+            Rectangle2D r = ob.collisionRect;
+            grid.block(r.getMinX(), r.getMinY(), r.getWidth(), r.getHeight());
+        }
+    }
+
     // ---------------- movimiento y entradas ----------------
     private void positionHeroAtEntrance() {
         // Ajusta estas coordenadas al punto de entrada real del primer piso
@@ -339,6 +220,7 @@ public class VolcanoDungeon {
         if (startRect != null) {
             world.getChildren().remove(startRect);
             startRect = null;
+            triggers.removeByTag("exit_area");
         }
 
         // Coordenadas iniciales del héroe
@@ -358,6 +240,7 @@ public class VolcanoDungeon {
         double rh = HERO_H + 20;   // altura suficiente
 
         startRect = new Rectangle(rx, ry, rw, rh);
+        setTrigger("exit_area", startRect);
         startRect.setFill(Color.rgb(0, 120, 255, 0.28));
         startRect.setStroke(Color.rgb(0, 80, 200, 0.9));
         startRect.setMouseTransparent(true);
@@ -367,7 +250,7 @@ public class VolcanoDungeon {
             world.getChildren().add(startRect);
         }
         startRect.toBack();
-        heroView.toFront();
+        layers.restack();
     }
 
     private void createCastleRect() {
@@ -397,262 +280,65 @@ public class VolcanoDungeon {
         castleRect.setStroke(Color.rgb(180, 80, 0, 0.9));
         castleRect.setMouseTransparent(true);
         castleRect.getProperties().put("tag", "castle_area");
+        prefetcher.watch("castle_area", rx, ry, rw, rh);
 
         if (!world.getChildren().contains(castleRect)) {
             world.getChildren().add(castleRect);
         }
         castleRect.toBack();
-        heroView.toFront();
-    }
-
-    private void installInputHandlers() {
-        root.addEventFilter(KeyEvent.KEY_PRESSED, ev -> {
-            KeyCode k = ev.getCode();
-
-            if (k == KeyCode.W || k == KeyCode.UP) {
-                keys.add(KeyCode.W);
-                heroView.setImage(game.getHero().getSpriteForDirection("Up"));
-            }
-            if (k == KeyCode.S || k == KeyCode.DOWN) {
-                keys.add(KeyCode.S);
-                heroView.setImage(game.getHero().getSpriteForDirection("Down"));
-            }
-            if (k == KeyCode.A || k == KeyCode.LEFT) {
-                keys.add(KeyCode.A);
-                heroView.setImage(game.getHero().getSpriteForDirection("Left"));
-            }
-            if (k == KeyCode.D || k == KeyCode.RIGHT) {
-                keys.add(KeyCode.D);
-                heroView.setImage(game.getHero().getSpriteForDirection("Right"));
-            }
-
-            if (k == KeyCode.P) {
-                System.out.println("(" + heroView.getLayoutX() + ", " + heroView.getLayoutY() + ")");
-            }
-
-            if (k == KeyCode.I || k == KeyCode.ADD || k == KeyCode.PLUS) {
-                clearInputState();
-                openInventory();
-            }
-            if (k == KeyCode.B) {
-                clearInputState();
-                openDebugCombat();
-            }
-            if (k == KeyCode.R) {
-                debugEnabled = !debugEnabled;
-                if (debugEnabled) {
-                    drawDebugObstacles();
-                } else {
-                    world.getChildren().removeIf(n -> "obstacle_debug".equals(n.getProperties().get("tag")));
-                }
-
-            }
-
-            if (k == KeyCode.ENTER) {
-
-                if (bossView != null) {
-                    checkBossTriggers();
-                }
-                checkExitTrigger();
-
-            }
-
-            ev.consume();
-        });
-
-        root.addEventFilter(KeyEvent.KEY_RELEASED, ev -> {
-            KeyCode k = ev.getCode();
-            if (k == KeyCode.W || k == KeyCode.UP) {
-                keys.remove(KeyCode.W);
-            }
-            if (k == KeyCode.S || k == KeyCode.DOWN) {
-                keys.remove(KeyCode.S);
-            }
-            if (k == KeyCode.A || k == KeyCode.LEFT) {
-                keys.remove(KeyCode.A);
-            }
-            if (k == KeyCode.D || k == KeyCode.RIGHT) {
-                keys.remove(KeyCode.D);
-            }
-            ev.consume();
-        });
-
-        root.setFocusTraversable(true);
-        root.sceneProperty().addListener((obs, oldScene, newScene) -> {
-            if (newScene != null) {
-                Platform.runLater(root::requestFocus);
-            } else {
-                clearInputState();
-            }
-        });
-    }
-
-    private void createMover() {
-        mover = new AnimationTimer() {
-            private long last = -1;
-
-            @Override
-            public void handle(long now) {
-                if (last < 0) {
-                    last = now;
-                }
-                double dt = (now - last) / 1e9;
-                last = now;
-
-                boolean proceed = true;
-                if (root.getScene() == null || !root.isFocused()) {
-                    clearInputState();
-                    proceed = false;
-                }
-
-                if (proceed) {
-                    updateAndMove(dt);
-                }
-            }
-        };
-    }
-
-    public void startMover() {
-        if (mover != null) {
-            mover.start();
-        }
+        layers.restack();
     }
 
-    public void stopMover() {
-        if (mover != null) {
-            mover.stop();
+    @Override
+    protected void onKeyPressed(KeyCode k) {
+        if (k == KeyCode.P) {
+            System.out.println("(" + heroView.getLayoutX() + ", " + heroView.getLayoutY() + ")");
         }
-    }
 
-    private void updateAndMove(double dt) {
-        double vx = 0;
-        double vy = 0;
-        if (keys.contains(KeyCode.A)) {
-            vx -= HERO_SPEED;
-        }
-        if (keys.contains(KeyCode.D)) {
-            vx += HERO_SPEED;
-        }
-        if (keys.contains(KeyCode.W)) {
-            vy -= HERO_SPEED;
+        if (k == KeyCode.I || k == KeyCode.ADD || k == KeyCode.PLUS) {
+            clearInputState();
+            openInventory();
         }
-        if (keys.contains(KeyCode.S)) {
-            vy += HERO_SPEED;
+        if (k == KeyCode.B) {
+            clearInputState();
+            openDebugCombat();
         }
-
-        boolean shouldMove = !(vx == 0 && vy == 0);
-
-        if (shouldMove) {
-            moveHero(vx * dt, vy * dt);
-        }
-    }
-
-    private void moveHero(double dx, double dy) {
-        boolean proceed = true;
-        if (heroView == null) {
-            proceed = false;
-        }
-
-        double curX = 0, curY = 0;
-        if (proceed) {
-            curX = heroView.getLayoutX();
-            curY = heroView.getLayoutY();
-        }
-
-        double proposedX = curX;
-        double proposedY = curY;
-        if (proceed) {
-            proposedX = clamp(curX + dx, 0, Math.max(0, worldW - HERO_W));
-            proposedY = clamp(curY + dy, 0, Math.max(0, worldH - HERO_H));
-        }
-
-        Rectangle2D heroRect = new Rectangle2D(proposedX, proposedY, HERO_W, HERO_H);
-        boolean collision = false;
-
-        if (proceed && obstacles != null) {
-            for (Obstacle ob : obstacles) {
-                if (ob == null || ob.collisionRect == null) {
-                    continue;
-                }
-                if (heroRect.intersects(ob.collisionRect)) {
-                    collision = true;
-                    break;
-                }
+        if (k == KeyCode.R) {
+            debugEnabled = !debugEnabled;
+            if (debugEnabled) {
+                drawDebugObstacles();
+            } else {
+                world.getChildren().removeIf(n -> "obstacle_debug".equals(n.getProperties().get("tag")));
             }
-        }
-
-        if (proceed && !collision) {
-            heroView.setLayoutX(proposedX);
-            heroView.setLayoutY(proposedY);
-        } else if (proceed) {
-
-            Rectangle2D heroRectX = new Rectangle2D(proposedX, curY, HERO_W, HERO_H);
-            Rectangle2D heroRectY = new Rectangle2D(curX, proposedY, HERO_W, HERO_H);
 
-            boolean canMoveX = true;
-            boolean canMoveY = true;
+        }
 
-            if (obstacles != null) {
-                for (Obstacle ob : obstacles) {
-                    if (ob == null || ob.collisionRect == null) {
-                        continue;
-                    }
-                    if (heroRectX.intersects(ob.collisionRect)) {
-                        canMoveX = false;
-                    }
-                    if (heroRectY.intersects(ob.collisionRect)) {
-                        canMoveY = false;
-                    }
-                    if (!canMoveX && !canMoveY) {
-                        break;
-                    }
-                }
-            }
+        if (k == KeyCode.ENTER) {
 
-            if (canMoveX) {
-                heroView.setLayoutX(proposedX);
-            }
-            if (canMoveY) {
-                heroView.setLayoutY(proposedY);
+            if (bossView != null) {
+                checkBossTriggers();
             }
-        }
+            checkExitTrigger();
 
-        if (proceed) {
-            updateCamera();
         }
     }
 
-    private void updateCamera() {
-        double heroCenterX = heroView.getLayoutX() + HERO_W / 2.0;
-        double heroCenterY = heroView.getLayoutY() + HERO_H / 2.0;
-
-        double targetTx = VIEW_W / 2.0 - heroCenterX;
-        double targetTy = VIEW_H / 2.0 - heroCenterY;
-
-        double minTx = Math.min(0, VIEW_W - worldW);
-        double maxTx = 0;
-        double minTy = Math.min(0, VIEW_H - worldH);
-        double maxTy = 0;
-
-        double tx = clamp(targetTx, minTx, maxTx);
-        double ty = clamp(targetTy, minTy, maxTy);
-
-        world.setTranslateX(tx);
-        world.setTranslateY(ty);
-    }
-
-    private static double clamp(double v, double lo, double hi) {
-        double result = v;
-        if (v < lo) {
-            result = lo;
-        } else if (v > hi) {
-            result = hi;
+    // ---------------- ganchos de ExplorationScene ----------------
+    @Override
+    protected boolean collides(Rectangle2D heroRect) {
+        boolean collision = false;
+        for (int i = 0; i < obstacles.size() && !collision; i++) {
+            Obstacle ob = obstacles.get(i);
+            if (ob != null && ob.collisionRect != null && heroRect.intersects(ob.collisionRect)) {
+                collision = true;
+            }
         }
-        return result;
+        return collision;
     }
 
-    private void clearInputState() {
-        keys.clear();
+    @Override
+    protected ParticleSystem.Preset getAmbience() {
+        return ParticleSystem.Preset.EMBERS;
     }
 
     public void startMapMusic() {
@@ -661,7 +347,7 @@ public class VolcanoDungeon {
             URL res = getClass().getResource("/Resources/music/volcanoDungeon.mp3");
             boolean hasRes = res != null;
             if (hasRes) {
-                Media media = new Media(res.toExternalForm());
+                Media media = AssetLoader.getMedia(res);
                 music = new MediaPlayer(media);
                 music.setCycleCount(MediaPlayer.INDEFINITE);
                 music.setVolume(MainScreen.getVolumeSetting());
@@ -694,7 +380,7 @@ public class VolcanoDungeon {
         if (castleRect != null) {
             castleRect.setFill(debugEnabled ? Color.rgb(200, 120, 0, 0.42) : Color.rgb(200, 120, 0, 0.28));
         }
-        heroView.toFront();
+        layers.restack();
     }
 
     private void openInventory() {
@@ -768,43 +454,27 @@ public class VolcanoDungeon {
 
     // Trigger de salida: volver al mapa anterior
     private void checkExitTrigger() {
-        Rectangle2D heroRect = new Rectangle2D(
-                heroView.getLayoutX(),
-                heroView.getLayoutY(),
-                HERO_W,
-                HERO_H
-        );
-
-        if (startRect != null) {
-            Rectangle2D startArea = new Rectangle2D(
-                    startRect.getX(),
-                    startRect.getY(),
-                    startRect.getWidth(),
-                    startRect.getHeight()
-            );
-
-            if (heroRect.intersects(startArea)) {
-                clearInputState();
-                try {
-                    if (game != null && game.getHero() != null) {
-                        Hero h = game.getHero();
-                        h.setLastLocation(Hero.Location.SKY_DUNGEON);
-                        h.setLastPosX(heroView.getLayoutX());
-                        h.setLastPosY(heroView.getLayoutY());
-                        try {
-                            game.createSaveGame();
-                        } catch (Throwable ignored) {
-                        }
+        if (startRect != null && heroInTrigger("exit_area")) {
+            clearInputState();
+            try {
+                if (game != null && game.getHero() != null) {
+                    Hero h = game.getHero();
+                    h.setLastLocation(Hero.Location.SKY_DUNGEON);
+                    h.setLastPosX(heroView.getLayoutX());
+                    h.setLastPosY(heroView.getLayoutY());
+                    try {
+                        game.createSaveGame();
+                    } catch (Throwable ignored) {
                     }
-                } catch (Throwable ignored) {
                 }
+            } catch (Throwable ignored) {
+            }
 
-                if (onExitCallback != null) {
-                    hide();
-                    onExitCallback.run(); // vuelve al mapa anterior
-                } else {
-                    hide();
-                }
+            if (onExitCallback != null) {
+                hide();
+                onExitCallback.run(); // vuelve al mapa anterior
+            } else {
+                hide();
             }
         }
     }
@@ -816,16 +486,13 @@ public class VolcanoDungeon {
 
             boolean skipCreate = false;
             if (bossView != null) {
-                if (!world.getChildren().contains(bossView)) {
-                    world.getChildren().add(bossView);
-                }
-                bossView.toFront();
+                layers.addActor(bossView);
                 skipCreate = true;
             }
 
             if (!skipCreate) {
                 try {
-                    Image img = new Image(getClass().getResourceAsStream("/Resources/sprites/Monsters/volcanoBoss00.png"));
+                    Image img = ImageCache.get("/Resources/sprites/Monsters/volcanoBoss00.png");
                     bossView = new ImageView(img);
 
                     bossView.setPreserveRatio(true);
@@ -838,10 +505,7 @@ public class VolcanoDungeon {
 
                     bossView.getProperties().put("tag", "volcano_boss");
 
-                    if (!world.getChildren().contains(bossView)) {
-                        world.getChildren().add(bossView);
-                    }
-                    bossView.toFront();
+                    layers.addActor(bossView);
 
                 } catch (Exception t) {
                     System.err.println("No se pudo cargar la imagen del boss: " + t.getMessage());
@@ -851,7 +515,7 @@ public class VolcanoDungeon {
         } else {
             if (bossView != null) {
                 try {
-                    world.getChildren().remove(bossView);
+                    layers.remove(bossView);
                 } catch (Exception ignored) {
                 }
                 bossView = null;
@@ -868,13 +532,9 @@ public class VolcanoDungeon {
                 }
             }
             bossTriggerRects.clear();
+            triggers.removeByTag("boss_trigger");
 
-            double[][] TRIGGERS = new double[][]{
-                {1176.5769699999987, 348.5237580000012},
-                {1117.6297599999987, 348.5237580000012},
-                {1083.1165059999987, 348.5237580000012},
-                {1051.7367999999985, 348.5237580000012},
-                {1017.1041339999991, 348.5237580000012},};
+            double[][] TRIGGERS = SceneGeometryLoader.load("/Resources/geometry/volcanoDungeon.geo").getPoints("bossTriggers");
 
             for (int i = 0; i < TRIGGERS.length; i++) {
                 double x = TRIGGERS[i][0];
@@ -888,11 +548,12 @@ public class VolcanoDungeon {
                 r.getProperties().put("tag", "boss_trigger");
                 r.getProperties().put("id", "bossTRigger" + (i + 1));
                 bossTriggerRects.add(r);
+                addTrigger("boss_trigger", r);
                 if (!world.getChildren().contains(r)) {
                     world.getChildren().add(r);
                 }
             }
-            heroView.toFront();
+            layers.restack();
         }
     }
 
@@ -901,7 +562,7 @@ public class VolcanoDungeon {
             try {
                 if (bossView != null) {
                     try {
-                        world.getChildren().remove(bossView);
+                        layers.remove(bossView);
                     } catch (Throwable ignored) {
                     }
                     bossView = null;
@@ -912,15 +573,13 @@ public class VolcanoDungeon {
                         world.getChildren().remove(r);
                     }
                     bossTriggerRects.clear();
+                    triggers.removeByTag("boss_trigger");
                 } catch (Throwable ignored) {
                 }
 
                 obstacles.clear();
                 populateCastleObstacles();
-                if (!world.getChildren().contains(heroView)) {
-                    world.getChildren().add(heroView);
-                }
-                heroView.toFront();
+                layers.restack();
 
                 checkExitTrigger();
 
@@ -938,22 +597,7 @@ public class VolcanoDungeon {
     }
 
     private void checkBossTriggers() {
-        boolean combat = false;
-
-        if (bossView != null) {
-            double hx = heroView.getLayoutX();
-            double hy = heroView.getLayoutY();
-            Rectangle2D heroRect = new Rectangle2D(hx, hy, HERO_W, HERO_H);
-
-            for (Rectangle trigger : bossTriggerRects) {
-                Rectangle2D tr = new Rectangle2D(trigger.getX(), trigger.getY(), trigger.getWidth(), trigger.getHeight());
-                if (heroRect.intersects(tr)) {
-                    combat = true;
-                }
-            }
-        }
-
-        if (combat) {
+        if (bossView != null && heroInTrigger("boss_trigger")) {
             battleAgainstBoss((Boss) game.getCharacters().get(17));
 
         }
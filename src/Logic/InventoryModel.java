@@ -0,0 +1,113 @@
+package Logic;
+
+import Characters.Hero;
+import Items.Armor;
+import Items.Item;
+import Items.Wares;
+import Items.Weapon;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Inventario del heroe observable. Las acciones de la pantalla de inventario (usar, equipar) pasan
+ * por aqui: llaman a Game como antes y despues avisan a los oyentes que cambio exactamente
+ * (que objeto entro o salio de la lista, cual quedo equipado, si cambiaron las estadisticas), para
+ * que la vista corrija solo esas filas en lugar de volver a recorrer Hero.getItems() y rearmar
+ * todas las pestanas.
+ */
+public class InventoryModel {
+
+    public enum Change {
+        // El objeto entro a Hero.getItems()
+        ADDED,
+        // Salio una ocurrencia del objeto de Hero.getItems()
+        REMOVED,
+        // El objeto paso a ser el arma o armadura equipada
+        EQUIPPED,
+        // Vida, ataque o defensa del heroe cambiaron (item es null)
+        STATS
+    }
+
+    public interface Listener {
+
+        void inventoryChanged(Change change, Item item);
+    }
+
+    private final Game game;
+    private final List<Listener> listeners = new ArrayList<>();
+
+    public InventoryModel(Game game) {
+        this.game = game;
+    }
+
+    public Hero getHero() {
+        return game.getHero();
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public boolean useWare(Wares ware) {
+        boolean healed = game.heal(ware);
+        if (healed) {
+            game.getHero().getItems().remove(ware);
+            fire(Change.REMOVED, ware);
+            fire(Change.STATS, null);
+        }
+        return healed;
+    }
+
+    public boolean equipWeapon(Weapon weapon) {
+        Weapon previous = game.getHero().getActualWeapon();
+        boolean equipped = game.equipWeapon(weapon);
+        if (equipped) {
+            // Game devuelve el arma anterior a la lista y saca la nueva
+            if (previous != null) {
+                fire(Change.ADDED, previous);
+            }
+            fire(Change.REMOVED, weapon);
+            fire(Change.EQUIPPED, weapon);
+            fire(Change.STATS, null);
+        }
+        return equipped;
+    }
+
+    public boolean equipArmor(Armor armor) {
+        Armor previous = game.getHero().getArmor();
+        boolean equipped = game.equipArmor(armor);
+        // Game mueve las armaduras en la lista aunque setArmor falle; se informa lo que quedo
+        if (previous != null) {
+            fire(Change.ADDED, previous);
+        }
+        fire(Change.REMOVED, armor);
+        if (game.getHero().getArmor() != previous) {
+            fire(Change.EQUIPPED, game.getHero().getArmor());
+        }
+        fire(Change.STATS, null);
+        return equipped;
+    }
+
+    // Para cambios hechos fuera del modelo (compra, venta, regalos) con la pantalla abierta
+    public void itemAdded(Item item) {
+        fire(Change.ADDED, item);
+    }
+
+    public void itemRemoved(Item item) {
+        fire(Change.REMOVED, item);
+    }
+
+    private void fire(Change change, Item item) {
+        for (Listener l : new ArrayList<>(listeners)) {
+            try {
+                l.inventoryChanged(change, item);
+            } catch (Throwable t) {
+                System.err.println("Error notificando cambio de inventario " + change + ": " + t.getMessage());
+            }
+        }
+    }
+}
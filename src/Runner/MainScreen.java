@@ -1,6 +1,10 @@
 package Runner;
 
 import Characters.Hero;
+import Engine.AssetLoader;
+import Engine.ImageCache;
+import Engine.SceneGraph;
+import Engine.SceneRegistry;
 import static Characters.Hero.Location.SWAMP;
 import Logic.Game;
 import GUI.*;
@@ -10,7 +14,6 @@ import com.almasb.fxgl.app.GameSettings;
 import com.almasb.fxgl.dsl.FXGL;
 import javafx.animation.FadeTransition;
 import javafx.animation.Interpolator;
-import javafx.animation.PauseTransition;
 import javafx.animation.ScaleTransition;
 import javafx.animation.TranslateTransition;
 import javafx.application.Platform;
@@ -34,8 +37,6 @@ import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
 import javafx.util.Duration;
-import javafx.scene.effect.DropShadow;
-import javafx.scene.effect.BlurType;
 import javafx.scene.text.FontWeight;
 import java.io.File;
 import java.net.URL;
@@ -61,7 +62,8 @@ public class MainScreen extends GameApplication {
     private boolean configOpen = false;
     private static final double CURSOR_UP_OFFSET = 8.0;
     private GameMapScreen currentMapScreen;
-    private static final int DURACION_CARGA_MS = 600;
+    private static final double LOADING_BAR_W = 320;
+    private javafx.scene.shape.Rectangle loadingProgress;
     public static volatile boolean modalOpen = false;
     
     @Override
@@ -97,6 +99,9 @@ public class MainScreen extends GameApplication {
                 activateSelected();
             }
         });
+
+        // F3 panel de rendimiento, F4 exporta los tiempos de frame a CSV
+        ProfilerHud.install();
         
         FXGL.onKeyDown(KeyCode.W, () -> {
             boolean proceed = !MainScreen.isModalOpen() && !configOpen;
@@ -124,12 +129,13 @@ public class MainScreen extends GameApplication {
         game.createTasks();
         game.createVillagers();
         game.addShopItems();
-        
+
+        // La precarga de preload.txt se hace en segundo plano detras de la pantalla de carga (showLoadingThenMap)
     }
     
     @Override
     protected void initUI() {
-        Image bgImage = new Image(getClass().getResourceAsStream("/Resources/textures/Main/MainScreen.png"));
+        Image bgImage = ImageCache.get("/Resources/textures/Main/MainScreen.png");
         ImageView bgView = new ImageView(bgImage);
         bgView.setPreserveRatio(false);
         menuBox = new VBox(12);
@@ -137,8 +143,7 @@ public class MainScreen extends GameApplication {
         for (String text : labels) {
             Button b = new Button(text);
             b.setFocusTraversable(false);
-            b.setStyle("-fx-background-color: rgba(0,0,0,0.6); -fx-text-fill: white;");
-            b.setFont(Font.font(20));
+            b.getStyleClass().add("menu-button");
             b.setMinWidth(240);
             b.setMinHeight(44);
             menuBox.getChildren().add(b);
@@ -147,6 +152,7 @@ public class MainScreen extends GameApplication {
         cursor.setArcWidth(4);
         cursor.setArcHeight(4);
         rootPane = new StackPane();
+        Theme.apply(rootPane);
         rootPane.getChildren().addAll(bgView, menuBox);
         StackPane.setAlignment(menuBox, Pos.CENTER);
         FXGL.getGameScene().addUINode(rootPane);
@@ -164,9 +170,6 @@ public class MainScreen extends GameApplication {
                 if ("Continuar".equals(b.getText())) {
                     boolean saveExists = (game != null && game.getSave() != null && game.getSave().exists());
                     b.setDisable(!saveExists);
-                    if (b.isDisable()) {
-                        b.setStyle("-fx-background-color: rgba(80,80,80,0.5); -fx-text-fill: rgba(200,200,200,0.7);");
-                    }
                 }
             }
         }
@@ -227,19 +230,8 @@ public class MainScreen extends GameApplication {
                     b.setWrapText(true);
                     b.setAlignment(Pos.CENTER);
                     
-                    if (b.isDisable()) {
-                        b.setStyle("-fx-background-color: rgba(80,80,80,0.5); -fx-text-fill: rgba(200,200,200,0.7); -fx-background-radius: 6; -fx-padding: 8 12 8 12;");
-                        b.setEffect(null);
-                        b.setFont(Font.font(b.getFont().getFamily(), 20));
-                    } else if (i == selectedIndex) {
-                        b.setStyle("-fx-background-color: linear-gradient(#FFD54F, #FFC107); -fx-text-fill: black; -fx-font-weight: bold; -fx-border-color: #FFD700; -fx-border-width: 2; -fx-background-radius: 6; -fx-padding: 8 12 8 12;");
-                        b.setEffect(new DropShadow(BlurType.GAUSSIAN, Color.rgb(0, 0, 0, 0.45), 8, 0.3, 0, 2));
-                        b.setFont(Font.font(b.getFont().getFamily(), FontWeight.BOLD, 20));
-                    } else {
-                        b.setStyle("-fx-background-color: rgba(0,0,0,0.6); -fx-text-fill: white; -fx-background-radius: 6; -fx-padding: 8 12 8 12;");
-                        b.setEffect(null);
-                        b.setFont(Font.font(b.getFont().getFamily(), 20));
-                    }
+                    // El aspecto deshabilitado lo da :disabled en theme.css
+                    Theme.toggle(b, "selected", !b.isDisable() && i == selectedIndex);
                 } else {
                     
                 }
@@ -399,7 +391,6 @@ public class MainScreen extends GameApplication {
                                 Button b = (Button) n;
                                 if ("Continue".equals(b.getText())) {
                                     b.setDisable(true);
-                                    b.setStyle("-fx-background-color: rgba(80,80,80,0.5); -fx-text-fill: rgba(200,200,200,0.7);");
                                     
                                 }
                             }
@@ -425,11 +416,6 @@ public class MainScreen extends GameApplication {
                             Button b = (Button) n;
                             if ("Continue".equals(b.getText())) {
                                 b.setDisable(!saveExists);
-                                if (b.isDisable()) {
-                                    b.setStyle("-fx-background-color: rgba(80,80,80,0.5); -fx-text-fill: rgba(200,200,200,0.7);");
-                                } else {
-                                    b.setStyle("-fx-background-color: rgba(0,0,0,0.6); -fx-text-fill: white; -fx-background-radius: 6; -fx-padding: 8 12 8 12;");
-                                }
                             } else {
                                 b.setDisable(false);
                             }
@@ -471,7 +457,7 @@ public class MainScreen extends GameApplication {
             }
             
             if (shouldStart) {
-                Media media = new Media(res.toExternalForm());
+                Media media = AssetLoader.getMedia(res);
                 MediaPlayer player = new MediaPlayer(media);
                 player.setCycleCount(MediaPlayer.INDEFINITE);
                 player.setVolume(volumeSetting);
@@ -634,7 +620,6 @@ public class MainScreen extends GameApplication {
                                         Button b = (Button) n;
                                         if ("Continue".equals(b.getText())) {
                                             b.setDisable(false);
-                                            b.setStyle("-fx-background-color: rgba(0,0,0,0.6); -fx-text-fill: white; -fx-background-radius: 6; -fx-padding: 8 12 8 12;");
                                         }
                                     }
                                 }
@@ -669,24 +654,21 @@ public class MainScreen extends GameApplication {
         Label label = new Label("Loading Game..");
         label.setTextFill(Color.WHITE);
         label.setFont(Font.font(18));
-        javafx.scene.shape.Rectangle progBg = new javafx.scene.shape.Rectangle(320, 12, Color.rgb(255, 255, 255, 0.12));
+        javafx.scene.shape.Rectangle progBg = new javafx.scene.shape.Rectangle(LOADING_BAR_W, 12, Color.rgb(255, 255, 255, 0.12));
         progBg.setArcWidth(6);
         progBg.setArcHeight(6);
         javafx.scene.shape.Rectangle progFill = new javafx.scene.shape.Rectangle(0, 12, Color.web("#FFD54F"));
         progFill.setArcWidth(6);
         progFill.setArcHeight(6);
         StackPane bar = new StackPane(progBg, progFill);
-        bar.setMaxWidth(320);
+        StackPane.setAlignment(progFill, Pos.CENTER_LEFT);
+        bar.setMaxWidth(LOADING_BAR_W);
         VBox box = new VBox(12, label, bar);
         box.setAlignment(Pos.CENTER);
         overlay.getChildren().add(box);
         StackPane.setAlignment(box, Pos.CENTER);
-        javafx.animation.Timeline t = new javafx.animation.Timeline(
-                new javafx.animation.KeyFrame(Duration.ZERO, new javafx.animation.KeyValue(progFill.widthProperty(), 0)),
-                new javafx.animation.KeyFrame(Duration.millis(DURACION_CARGA_MS), new javafx.animation.KeyValue(progFill.widthProperty(), progBg.getWidth()))
-        );
-        t.setCycleCount(1);
-        t.play();
+        // El ancho lo fija el progreso real de AssetLoader (showLoadingThenMap)
+        loadingProgress = progFill;
         return overlay;
     }
     
@@ -706,8 +688,11 @@ public class MainScreen extends GameApplication {
         fadeOut.setInterpolator(Interpolator.EASE_IN);
         
         fadeIn.setOnFinished(e -> {
-            PauseTransition pause = new PauseTransition(Duration.millis(DURACION_CARGA_MS));
-            pause.setOnFinished(ev -> {
+            // Lo que usa casi toda partida (preload.txt) mas los recursos del mapa segun el grafo de escenas;
+            // el mapa se muestra en cuanto termina el lote, sin espera fija
+            AssetLoader.Batch assets = SceneGraph.batch("GameMapScreen")
+                    .imageList("/Resources/preload.txt");
+            assets.start(progress -> loadingProgress.setWidth(LOADING_BAR_W * progress), () -> {
                 try {
                     FXGL.getGameScene().removeUINode(rootPane);
                 } catch (Throwable ignored) {
@@ -729,7 +714,7 @@ public class MainScreen extends GameApplication {
                         case FIELD_VILLAGE -> {
                             double x = 665.5536599999996;
                             double y = 864.0;
-                            FieldVillage field = new FieldVillage(game);
+                            FieldVillage field = SceneRegistry.obtain(game, FieldVillage.class, () -> new FieldVillage(game));
                             field.showWithLoading(() -> {
                                 Platform.runLater(() -> field.setHeroPosition(lx, ly));
                             }, () -> {
@@ -745,7 +730,7 @@ public class MainScreen extends GameApplication {
                             });
                         }
                         case FOREST_HOUSE -> {
-                            ForestHouse fh = new ForestHouse(game);
+                            ForestHouse fh = SceneRegistry.obtain(game, ForestHouse.class, () -> new ForestHouse(game));
                             double startX = 384.0;
                             double startY = 576.0;
                             fh.showWithLoading(() -> {
@@ -767,7 +752,7 @@ public class MainScreen extends GameApplication {
                             currentMapScreen.show();
                         }
                         case SWAMP -> {
-                            Swamp swamp = new Swamp(game);
+                            Swamp swamp = SceneRegistry.obtain(game, Swamp.class, () -> new Swamp(game));
                             double startX = 2352.0;
                             double startY = 607.059;
                             swamp.showWithLoading(() -> {
@@ -785,7 +770,7 @@ public class MainScreen extends GameApplication {
                             });
                         }
                         case SWAMP_DUNGEON -> {
-                            SwampDungeon swamp = new SwampDungeon(game);
+                            SwampDungeon swamp = SceneRegistry.obtain(game, SwampDungeon.class, () -> new SwampDungeon(game));
                             double startX = 500.1253860000012;
                             double startY = 1200.0;
                             swamp.showWithLoading(() -> {
@@ -803,7 +788,7 @@ public class MainScreen extends GameApplication {
                             });
                         }
                         case KINGDOM_CASTLE -> {
-                            KingdomCastle kingdom = new KingdomCastle(game);
+                            KingdomCastle kingdom = SceneRegistry.obtain(game, KingdomCastle.class, () -> new KingdomCastle(game));
                             double startX = 480.87223200000005;
                             double startY = 768.0;
                             kingdom.showWithLoading(() -> {
@@ -821,7 +806,7 @@ public class MainScreen extends GameApplication {
                             });
                         }
                         case SKY_DUNGEON -> {
-                            SkyDungeon sky = new SkyDungeon(game);
+                            SkyDungeon sky = SceneRegistry.obtain(game, SkyDungeon.class, () -> new SkyDungeon(game));
                             double startX = 717.7351259999998;
                             double startY = 327.4755660000007;
                             sky.showWithLoading(() -> {
@@ -851,7 +836,6 @@ public class MainScreen extends GameApplication {
                 
                 fadeOut.play();
             });
-            pause.play();
         });
         
         fadeOut.setOnFinished(e2 -> {